@@ -0,0 +1,112 @@
+package com.example.benchmark;
+
+import com.example.model.entity.AuthorRef;
+import com.example.model.entity.Book;
+import com.example.model.entity.Review;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A page of books shaped like the stored catalog — one to three extended
+ * author references, a page category and {@code reviewsPerBook} embedded
+ * reviews — as entities, as {@code Document}s and as raw BSON. Built from a
+ * fixed seed, so every benchmark and every run sees the same data.
+ */
+public final class Payloads {
+
+    private static final long SEED = 42;
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final String[] WORDS = {
+            "silent", "river", "garden", "letter", "empire", "voyage", "orchard", "signal", "winter", "shadow"};
+
+    private Payloads() {
+    }
+
+    public static List<Book> books(int count, int reviewsPerBook) {
+        Random random = new Random(SEED);
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Book book = new Book();
+            book.id = id(random);
+            book.title = "The " + word(random) + " " + word(random);
+            book.pages = 80 + random.nextInt(900);
+            book.year = 1950 + random.nextInt(76);
+            book.pageCategory = book.pages <= 250 ? "short" : book.pages <= 500 ? "medium" : "long";
+            book.authors = new ArrayList<>();
+            for (int a = 0, n = 1 + random.nextInt(3); a < n; a++) {
+                book.authors.add(AuthorRef.of(id(random), "Author " + random.nextInt(1_000)));
+            }
+            book.reviews = reviews(random, book.id, reviewsPerBook);
+            books.add(book);
+        }
+        return books;
+    }
+
+    public static List<Review> reviews(int count) {
+        Random random = new Random(SEED);
+        return reviews(random, id(random), count);
+    }
+
+    /** What the driver decodes a stored book into when no entity or response codec is used. */
+    public static List<Document> bookDocuments(int count, int reviewsPerBook) {
+        return books(count, reviewsPerBook).stream().map(Payloads::document).toList();
+    }
+
+    /** The same books as the bytes a query result carries, before any decoding. */
+    public static List<RawBsonDocument> rawBooks(int count, int reviewsPerBook) {
+        DocumentCodec codec = new DocumentCodec();
+        return bookDocuments(count, reviewsPerBook).stream()
+                .map(document -> new RawBsonDocument(document, codec))
+                .toList();
+    }
+
+    private static Document document(Book book) {
+        return new Document("_id", book.id)
+                .append("title", book.title)
+                .append("pages", book.pages)
+                .append("year", book.year)
+                .append("pageCategory", book.pageCategory)
+                .append("authors", book.authors.stream()
+                        .map(ref -> new Document("authorId", ref.authorId).append("name", ref.name))
+                        .toList())
+                .append("reviews", book.reviews.stream()
+                        .map(review -> new Document("_id", review.id)
+                                .append("text", review.text)
+                                .append("user", review.user)
+                                .append("rating", review.rating)
+                                .append("createdAt", Date.from(review.createdAt)))
+                        .toList());
+    }
+
+    private static List<Review> reviews(Random random, String bookId, int count) {
+        List<Review> reviews = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Review review = new Review();
+            review.id = id(random);
+            review.bookId = bookId;
+            review.user = "reader" + random.nextInt(10_000);
+            review.rating = 1 + random.nextInt(5);
+            review.text = "A " + word(random) + " and " + word(random) + " read, " + word(random) + " throughout.";
+            review.createdAt = NOW.minus(random.nextInt(1_000), ChronoUnit.DAYS);
+            reviews.add(review);
+        }
+        return reviews;
+    }
+
+    private static String id(Random random) {
+        return new ObjectId(Date.from(NOW), random.nextInt(1 << 24)).toHexString();
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
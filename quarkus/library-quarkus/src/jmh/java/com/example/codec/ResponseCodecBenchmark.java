@@ -0,0 +1,68 @@
+package com.example.codec;
+
+import com.example.benchmark.Payloads;
+import com.example.dto.response.BookResponse;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding one page of books from the bytes of a query result: straight into
+ * {@link BookResponse} with the response codec (what the read paths do), and
+ * into a {@code Document} with the driver's default codec (the first half of
+ * the {@code Document}-then-map path the codecs replaced).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseCodecBenchmark {
+
+    @Param({"20"})
+    public int pageSize;
+
+    @Param({"0", "5", "20"})
+    public int reviewsPerBook;
+
+    private List<RawBsonDocument> books;
+    private Codec<BookResponse> responseCodec;
+    private DocumentCodec documentCodec;
+
+    @Setup
+    public void setUp() {
+        books = Payloads.rawBooks(pageSize, reviewsPerBook);
+        responseCodec = ResponseCodecs.codec(BookResponse.class);
+        documentCodec = new DocumentCodec();
+    }
+
+    @Benchmark
+    public void decodeResponse(Blackhole blackhole) {
+        for (RawBsonDocument book : books) {
+            blackhole.consume(book.decode(responseCodec));
+        }
+    }
+
+    @Benchmark
+    public void decodeDocument(Blackhole blackhole) {
+        for (RawBsonDocument book : books) {
+            blackhole.consume(book.decode(documentCodec));
+        }
+    }
+}
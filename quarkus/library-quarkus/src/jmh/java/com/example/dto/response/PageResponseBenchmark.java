@@ -0,0 +1,73 @@
+package com.example.dto.response;
+
+import com.example.benchmark.Payloads;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the pagination envelope and writing it as JSON, with the mapper
+ * configured like Quarkus' default one ({@code java.time} as ISO strings).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageResponseBenchmark {
+
+    @Param({"20"})
+    public int pageSize;
+
+    @Param({"0", "5", "20"})
+    public int reviewsPerBook;
+
+    private List<BookResponse> content;
+    private PageResponse<BookResponse> page;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        content = Payloads.books(pageSize, reviewsPerBook).stream()
+                .map(book -> new BookResponse(book.id, book.title, book.pages, book.year,
+                        book.authors.stream().map(author -> author.name).toList(),
+                        book.reviews.stream()
+                                .map(review -> new ReviewResponse(review.id, review.bookId, review.user,
+                                        review.rating, review.text, review.createdAt))
+                                .toList()))
+                .toList();
+        page = PageResponse.of(content, 3, pageSize, 10_000);
+        writer = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(PageResponse.class);
+    }
+
+    @Benchmark
+    public PageResponse<BookResponse> pageOf() {
+        return PageResponse.of(content, 3, pageSize, 10_000);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+}
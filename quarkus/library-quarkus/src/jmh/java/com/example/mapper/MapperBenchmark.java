@@ -0,0 +1,76 @@
+package com.example.mapper;
+
+import com.example.benchmark.Payloads;
+import com.example.config.PageCategorySettings;
+import com.example.dto.response.BookResponse;
+import com.example.dto.response.ReviewResponse;
+import com.example.model.entity.Book;
+import com.example.model.entity.Review;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Entity-to-response mapping of one listing page, as the services run it on every request. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"20"})
+    public int pageSize;
+
+    @Param({"0", "5", "20"})
+    public int reviewsPerBook;
+
+    private BookMapper bookMapper;
+    private ReviewMapper reviewMapper;
+    private List<Book> books;
+    private List<Review> reviews;
+
+    @Setup
+    public void setUp() {
+        reviewMapper = new ReviewMapper();
+        bookMapper = new BookMapper(reviewMapper, new PageCategorySettings() {
+            @Override
+            public int shortMaxPages() {
+                return 250;
+            }
+
+            @Override
+            public int mediumMaxPages() {
+                return 500;
+            }
+
+            @Override
+            public int migrationBatchSize() {
+                return 500;
+            }
+        });
+        books = Payloads.books(pageSize, reviewsPerBook);
+        reviews = Payloads.reviews(pageSize);
+    }
+
+    @Benchmark
+    public List<BookResponse> booksToResponseList() {
+        return bookMapper.toResponseList(books);
+    }
+
+    @Benchmark
+    public List<ReviewResponse> reviewsToResponseList() {
+        return reviewMapper.toResponseList(reviews);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.repository;
+
+import com.example.benchmark.Payloads;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code Document} helpers of {@link BookRepository} over one page of
+ * books: {@code idOf} (keyset paging by offset) and {@code authorsOf} (the
+ * author-reference migration, once per stored book).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocumentMapperBenchmark {
+
+    @Param({"20"})
+    public int pageSize;
+
+    private List<Document> books;
+
+    @Setup
+    public void setUp() {
+        books = Payloads.bookDocuments(pageSize, 5);
+    }
+
+    @Benchmark
+    public void idOf(Blackhole blackhole) {
+        for (Document book : books) {
+            blackhole.consume(BookRepository.idOf(book));
+        }
+    }
+
+    @Benchmark
+    public void authorsOf(Blackhole blackhole) {
+        for (Document book : books) {
+            blackhole.consume(BookRepository.authorsOf(book));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.admission;
+
+import com.example.config.AdmissionSettings;
+import org.jboss.logging.Logger;
+
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD concurrency limit of one workload. Calls that complete within the
+ * latency target while at least half the limit is in use raise the limit by
+ * one per round trip — the smoothed latency of those calls — however many of
+ * them complete in it; a slower call or a driver timeout multiplies it by the
+ * backoff ratio, at most once per latency target so one burst of slow calls
+ * counts as one signal. The limit stays within the budget's bounds.
+ */
+final class AdaptiveLimiter {
+
+    private static final Logger LOG = Logger.getLogger(AdaptiveLimiter.class);
+
+    private final Workload workload;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+    private final LongSupplier clock;
+
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+    private long lastIncreaseNanos;
+    /** Smoothed latency of calls within the target: the window of one increase. */
+    private long roundTripNanos;
+
+    AdaptiveLimiter(Workload workload, AdmissionSettings.Budget budget, double backoffRatio) {
+        this(workload, budget, backoffRatio, System::nanoTime);
+    }
+
+    AdaptiveLimiter(Workload workload, AdmissionSettings.Budget budget, double backoffRatio, LongSupplier clock) {
+        this.workload = workload;
+        this.clock = clock;
+        this.minLimit = budget.minLimit();
+        this.maxLimit = budget.maxLimit();
+        this.latencyTargetNanos = budget.latencyTarget().toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.clamp(budget.initialLimit(), minLimit, maxLimit);
+        this.roundTripNanos = latencyTargetNanos;
+        long now = clock.getAsLong();
+        this.lastDecreaseNanos = now - latencyTargetNanos;
+        this.lastIncreaseNanos = now - roundTripNanos;
+    }
+
+    synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    synchronized void release(long elapsedNanos, boolean overloaded) {
+        boolean saturated = inFlight * 2 >= limit;
+        inFlight--;
+        long now = clock.getAsLong();
+        if (overloaded || elapsedNanos > latencyTargetNanos) {
+            if (now - lastDecreaseNanos >= latencyTargetNanos) {
+                double previous = limit;
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = now;
+                LOG.debugf("%s limit %.1f -> %.1f after a %d ms call%s", workload.tag(), previous, limit,
+                        elapsedNanos / 1_000_000, overloaded ? " that timed out" : "");
+            }
+            return;
+        }
+        // Exponentially weighted, 1/8 per sample as for TCP's smoothed round-trip time.
+        roundTripNanos += (elapsedNanos - roundTripNanos) / 8;
+        if (saturated && now - lastIncreaseNanos >= roundTripNanos) {
+            limit = Math.min(maxLimit, limit + 1);
+            lastIncreaseNanos = now;
+        }
+    }
+
+    synchronized int limit() {
+        return (int) limit;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+}
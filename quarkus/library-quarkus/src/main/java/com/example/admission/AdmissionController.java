@@ -0,0 +1,87 @@
+package com.example.admission;
+
+import com.example.config.AdmissionSettings;
+import com.example.exception.ServiceOverloadedException;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The {@link AdaptiveLimiter} of every {@link Workload}, with
+ * {@code library.admission.limit}, {@code in-flight} and {@code rejected}
+ * meters tagged by workload.
+ */
+@ApplicationScoped
+public class AdmissionController {
+
+    private final AdmissionSettings settings;
+    private final Map<Workload, AdaptiveLimiter> limiters = new EnumMap<>(Workload.class);
+    private final Map<Workload, Counter> rejected = new EnumMap<>(Workload.class);
+
+    @Inject
+    AdmissionController(AdmissionSettings settings, MeterRegistry registry) {
+        this.settings = settings;
+        for (Workload workload : Workload.values()) {
+            AdaptiveLimiter limiter = new AdaptiveLimiter(
+                    workload, workload.budget(settings), settings.backoffRatio());
+            limiters.put(workload, limiter);
+            Gauge.builder("library.admission.limit", limiter, AdaptiveLimiter::limit)
+                    .description("Current concurrency limit")
+                    .tag("workload", workload.tag())
+                    .register(registry);
+            Gauge.builder("library.admission.in-flight", limiter, AdaptiveLimiter::inFlight)
+                    .description("Calls holding a permit")
+                    .tag("workload", workload.tag())
+                    .register(registry);
+            rejected.put(workload, Counter.builder("library.admission.rejected")
+                    .description("Calls rejected with 503")
+                    .tag("workload", workload.tag())
+                    .register(registry));
+        }
+    }
+
+    /** A permit of {@code workload}'s budget; throws {@link ServiceOverloadedException} when none is left. */
+    public Permit acquire(Workload workload) {
+        if (!settings.enabled()) {
+            return Permit.NONE;
+        }
+        AdaptiveLimiter limiter = limiters.get(workload);
+        if (!limiter.tryAcquire()) {
+            rejected.get(workload).increment();
+            throw new ServiceOverloadedException(workload.tag(), settings.retryAfter());
+        }
+        return new Permit(limiter, System.nanoTime());
+    }
+
+    /** Held for the duration of one admitted call. */
+    public static final class Permit {
+
+        static final Permit NONE = new Permit(null, 0);
+
+        private final AdaptiveLimiter limiter;
+        private final long startNanos;
+
+        private Permit(AdaptiveLimiter limiter, long startNanos) {
+            this.limiter = limiter;
+            this.startNanos = startNanos;
+        }
+
+        /** Returns the permit; {@code failure} is the call's error, if any. */
+        public void release(Throwable failure) {
+            if (limiter != null) {
+                limiter.release(System.nanoTime() - startNanos, isTimeout(failure));
+            }
+        }
+
+        private static boolean isTimeout(Throwable failure) {
+            return failure instanceof MongoTimeoutException || failure instanceof MongoExecutionTimeoutException;
+        }
+    }
+}
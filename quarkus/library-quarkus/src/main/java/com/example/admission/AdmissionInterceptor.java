@@ -0,0 +1,44 @@
+package com.example.admission;
+
+import com.example.admission.AdmissionController.Permit;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+/** Applies {@link Admitted}: holds a permit of the workload's budget for the duration of the call. */
+@Admitted(Workload.POINT_READ)
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class AdmissionInterceptor {
+
+    @Inject
+    AdmissionController controller;
+
+    @AroundInvoke
+    Object admit(InvocationContext context) throws Exception {
+        // The effective binding: the method's, or the class's when only the class is annotated.
+        Workload workload = context.getInterceptorBinding(Admitted.class).value();
+        if (Uni.class.isAssignableFrom(context.getMethod().getReturnType())) {
+            Uni<?> call = (Uni<?>) context.proceed();
+            return Uni.createFrom().deferred(() -> {
+                Permit permit = controller.acquire(workload);
+                return call.onTermination().invoke((item, failure, cancelled) -> permit.release(failure));
+            });
+        }
+
+        Permit permit = controller.acquire(workload);
+        Throwable failure = null;
+        try {
+            return context.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            // Also on an Error, so no permit is ever leaked.
+            permit.release(failure);
+        }
+    }
+}
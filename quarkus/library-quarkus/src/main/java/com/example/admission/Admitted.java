@@ -0,0 +1,24 @@
+package com.example.admission;
+
+import jakarta.enterprise.util.Nonbinding;
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the method within the concurrency budget of a {@link Workload}. The
+ * method must be blocking or return a {@code Uni}; a {@code Uni} holds its
+ * permit from subscription to termination. On a class it applies to every
+ * business method; a method's own {@code @Admitted} takes precedence.
+ */
+@InterceptorBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Admitted {
+
+    @Nonbinding
+    Workload value();
+}
@@ -0,0 +1,27 @@
+package com.example.admission;
+
+import com.example.config.AdmissionSettings;
+
+/** The kinds of service calls that get their own concurrency budget. */
+public enum Workload {
+
+    POINT_READ("point-read"),
+    AGGREGATION("aggregation");
+
+    private final String tag;
+
+    Workload(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    AdmissionSettings.Budget budget(AdmissionSettings settings) {
+        return switch (this) {
+            case POINT_READ -> settings.pointRead();
+            case AGGREGATION -> settings.aggregation();
+        };
+    }
+}
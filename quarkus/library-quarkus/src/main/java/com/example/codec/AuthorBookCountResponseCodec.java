@@ -0,0 +1,31 @@
+package com.example.codec;
+
+import com.example.dto.response.AuthorBookCountResponse;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.codecs.DecoderContext;
+
+/** A {@code $group} result of books per author: the author name as {@code _id} plus {@code totalBooks}. */
+final class AuthorBookCountResponseCodec extends ResponseCodec<AuthorBookCountResponse> {
+
+    AuthorBookCountResponseCodec() {
+        super(AuthorBookCountResponse.class);
+    }
+
+    @Override
+    public AuthorBookCountResponse decode(BsonReader reader, DecoderContext decoderContext) {
+        String author = null;
+        int totalBooks = 0;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id" -> author = BsonValues.readString(reader);
+                case "totalBooks" -> totalBooks = BsonValues.readInt(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return new AuthorBookCountResponse(author, totalBooks);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.codec;
+
+import com.example.dto.response.AverageRatingResponse;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.codecs.DecoderContext;
+
+/** A {@code $group} result of one book's ratings: the book id as {@code _id} plus {@code averageRating} and {@code totalReviews}. */
+final class AverageRatingResponseCodec extends ResponseCodec<AverageRatingResponse> {
+
+    AverageRatingResponseCodec() {
+        super(AverageRatingResponse.class);
+    }
+
+    @Override
+    public AverageRatingResponse decode(BsonReader reader, DecoderContext decoderContext) {
+        String bookId = null;
+        double averageRating = 0.0;
+        int totalReviews = 0;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id" -> bookId = BsonValues.readString(reader);
+                case "averageRating" -> averageRating = BsonValues.readDouble(reader);
+                case "totalReviews" -> totalReviews = BsonValues.readInt(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return new AverageRatingResponse(bookId, averageRating, totalReviews);
+    }
+}
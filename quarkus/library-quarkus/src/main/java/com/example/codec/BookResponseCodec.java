@@ -0,0 +1,95 @@
+package com.example.codec;
+
+import com.example.dto.response.BookCategoryResponse;
+import com.example.dto.response.BookResponse;
+import com.example.dto.response.BookWithReviewsResponse;
+import com.example.dto.response.ReviewResponse;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.codecs.DecoderContext;
+
+import java.util.List;
+
+/**
+ * Decodes a book document straight into one of the book response records,
+ * reading only the fields that record has: the reviews of {@code reviewsField}
+ * are decoded (or skipped, when it is {@code null}), authors are reduced to
+ * their names, everything else is skipped.
+ */
+final class BookResponseCodec<T> extends ResponseCodec<T> {
+
+    /** Builds the response from the decoded fields. */
+    @FunctionalInterface
+    interface Factory<T> {
+        T create(String id, String title, int pages, int year, List<String> authors,
+                 String pageCategory, List<ReviewResponse> reviews);
+    }
+
+    private final String reviewsField;
+    private final Factory<T> factory;
+    private final ReviewResponseCodec reviewCodec;
+
+    private BookResponseCodec(Class<T> type, String reviewsField, Factory<T> factory, ReviewResponseCodec reviewCodec) {
+        super(type);
+        this.reviewsField = reviewsField;
+        this.factory = factory;
+        this.reviewCodec = reviewCodec;
+    }
+
+    /** A book with its embedded review subset. */
+    static BookResponseCodec<BookResponse> books(ReviewResponseCodec reviewCodec) {
+        return new BookResponseCodec<>(BookResponse.class, "reviews",
+                (id, title, pages, year, authors, pageCategory, reviews) ->
+                        new BookResponse(id, title, pages, year, authors, reviews),
+                reviewCodec);
+    }
+
+    /** A book with its persisted page category; reviews are skipped. */
+    static BookResponseCodec<BookCategoryResponse> categories(ReviewResponseCodec reviewCodec) {
+        return new BookResponseCodec<>(BookCategoryResponse.class, null,
+                (id, title, pages, year, authors, pageCategory, reviews) ->
+                        new BookCategoryResponse(id, title, pages, year, authors, pageCategory),
+                reviewCodec);
+    }
+
+    /** A book joined to its latest reviews as {@code allReviews} by {@code /books/with-reviews}. */
+    static BookResponseCodec<BookWithReviewsResponse> withReviews(ReviewResponseCodec reviewCodec) {
+        return new BookResponseCodec<>(BookWithReviewsResponse.class, "allReviews",
+                (id, title, pages, year, authors, pageCategory, reviews) ->
+                        new BookWithReviewsResponse(id, title, pages, year, authors, reviews),
+                reviewCodec);
+    }
+
+    @Override
+    public T decode(BsonReader reader, DecoderContext decoderContext) {
+        String id = null;
+        String title = null;
+        int pages = 0;
+        int year = 0;
+        List<String> authors = List.of();
+        String pageCategory = null;
+        List<ReviewResponse> reviews = List.of();
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            switch (name) {
+                case "_id" -> id = BsonValues.readId(reader);
+                case "title" -> title = BsonValues.readString(reader);
+                case "pages" -> pages = BsonValues.readInt(reader);
+                case "year" -> year = BsonValues.readInt(reader);
+                case "authors" -> authors = BsonValues.readAuthorNames(reader);
+                case "pageCategory" -> pageCategory = BsonValues.readString(reader);
+                default -> {
+                    if (name.equals(reviewsField)) {
+                        reviews = BsonValues.readList(reader, reviewCodec, decoderContext);
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+            }
+        }
+        reader.readEndDocument();
+        return factory.create(id, title, pages, year, authors, pageCategory, reviews);
+    }
+}
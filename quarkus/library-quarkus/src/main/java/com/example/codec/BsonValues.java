@@ -0,0 +1,123 @@
+package com.example.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.codecs.Decoder;
+import org.bson.codecs.DecoderContext;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lenient readers for the value the {@link BsonReader} is positioned on. A
+ * value of an unexpected type is skipped and read as the Java default, the
+ * way {@code Document} getters with a default behave for a missing field.
+ */
+final class BsonValues {
+
+    private BsonValues() {
+    }
+
+    /** {@code _id} as a string; ObjectIds are rendered as hex. */
+    static String readId(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case STRING -> reader.readString();
+            case OBJECT_ID -> reader.readObjectId().toHexString();
+            default -> skip(reader, null);
+        };
+    }
+
+    static String readString(BsonReader reader) {
+        return reader.getCurrentBsonType() == BsonType.STRING ? reader.readString() : skip(reader, null);
+    }
+
+    static int readInt(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> (int) reader.readInt64();
+            case DOUBLE -> (int) reader.readDouble();
+            default -> skip(reader, 0);
+        };
+    }
+
+    static long readLong(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> reader.readInt64();
+            case DOUBLE -> (long) reader.readDouble();
+            default -> skip(reader, 0L);
+        };
+    }
+
+    static double readDouble(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> reader.readInt64();
+            case DOUBLE -> reader.readDouble();
+            case DECIMAL128 -> reader.readDecimal128().doubleValue();
+            default -> skip(reader, 0.0);
+        };
+    }
+
+    static Instant readInstant(BsonReader reader) {
+        return reader.getCurrentBsonType() == BsonType.DATE_TIME
+                ? Instant.ofEpochMilli(reader.readDateTime())
+                : skip(reader, null);
+    }
+
+    /** Author names from an array of extended references or of legacy plain names. */
+    static List<String> readAuthorNames(BsonReader reader) {
+        if (reader.getCurrentBsonType() != BsonType.ARRAY) {
+            return skip(reader, List.of());
+        }
+        List<String> names = new ArrayList<>();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.getCurrentBsonType()) {
+                case STRING -> names.add(reader.readString());
+                case DOCUMENT -> names.add(readAuthorName(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndArray();
+        return names;
+    }
+
+    /** Array of sub-documents, each decoded by {@code decoder}. */
+    static <T> List<T> readList(BsonReader reader, Decoder<T> decoder, DecoderContext context) {
+        if (reader.getCurrentBsonType() != BsonType.ARRAY) {
+            return skip(reader, List.of());
+        }
+        List<T> values = new ArrayList<>();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (reader.getCurrentBsonType() == BsonType.DOCUMENT) {
+                values.add(decoder.decode(reader, context));
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.readEndArray();
+        return values;
+    }
+
+    private static String readAuthorName(BsonReader reader) {
+        String name = null;
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if ("name".equals(reader.readName())) {
+                name = readString(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return name;
+    }
+
+    private static <T> T skip(BsonReader reader, T value) {
+        reader.skipValue();
+        return value;
+    }
+}
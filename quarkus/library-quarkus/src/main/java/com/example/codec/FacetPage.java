@@ -0,0 +1,29 @@
+package com.example.codec;
+
+import com.example.dto.response.PageResponse;
+
+import java.util.List;
+
+/**
+ * The single result document of a paginating {@code $facet}: the {@code data}
+ * branch (already decoded into {@code T}) and the total from the
+ * {@code count} branch.
+ */
+public record FacetPage<T>(List<T> data, long total) {
+
+    private static final FacetPage<?> EMPTY = new FacetPage<>(List.of(), 0);
+
+    @SuppressWarnings("unchecked")
+    public static <T> FacetPage<T> empty() {
+        return (FacetPage<T>) EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Class<FacetPage<T>> type() {
+        return (Class<FacetPage<T>>) (Class<?>) FacetPage.class;
+    }
+
+    public PageResponse<T> toPage(int page, int size) {
+        return PageResponse.of(data, page, size, total);
+    }
+}
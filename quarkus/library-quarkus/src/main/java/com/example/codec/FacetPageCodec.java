@@ -0,0 +1,63 @@
+package com.example.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+
+import java.util.List;
+
+/** Decodes {@code {data: [...], count: [{total: n}]}} with {@code elementCodec} for every {@code data} entry. */
+final class FacetPageCodec<T> extends ResponseCodec<FacetPage<T>> {
+
+    private final Codec<T> elementCodec;
+
+    FacetPageCodec(Codec<T> elementCodec) {
+        super(FacetPage.type());
+        this.elementCodec = elementCodec;
+    }
+
+    @Override
+    public FacetPage<T> decode(BsonReader reader, DecoderContext decoderContext) {
+        List<T> data = List.of();
+        long total = 0;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "data" -> data = BsonValues.readList(reader, elementCodec, decoderContext);
+                case "count" -> total = readTotal(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return new FacetPage<>(data, total);
+    }
+
+    /** {@code $count} emits one {@code {total: n}} document, or none when nothing matched. */
+    private static long readTotal(BsonReader reader) {
+        if (reader.getCurrentBsonType() != BsonType.ARRAY) {
+            reader.skipValue();
+            return 0;
+        }
+        long total = 0;
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (reader.getCurrentBsonType() != BsonType.DOCUMENT) {
+                reader.skipValue();
+                continue;
+            }
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                if ("total".equals(reader.readName())) {
+                    total = BsonValues.readLong(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.readEndDocument();
+        }
+        reader.readEndArray();
+        return total;
+    }
+}
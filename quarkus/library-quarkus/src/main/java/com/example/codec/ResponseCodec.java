@@ -0,0 +1,25 @@
+package com.example.codec;
+
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.EncoderContext;
+
+/** Codec of a response record: read models are decoded straight from query results and never written back. */
+abstract class ResponseCodec<T> implements Codec<T> {
+
+    private final Class<T> type;
+
+    ResponseCodec(Class<T> type) {
+        this.type = type;
+    }
+
+    @Override
+    public final void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+        throw new UnsupportedOperationException(type.getSimpleName() + " is read-only");
+    }
+
+    @Override
+    public final Class<T> getEncoderClass() {
+        return type;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.codec;
+
+import com.example.dto.response.AuthorBookCountResponse;
+import com.example.dto.response.AverageRatingResponse;
+import com.example.dto.response.BookCategoryResponse;
+import com.example.dto.response.BookResponse;
+import com.example.dto.response.BookWithReviewsResponse;
+import com.example.dto.response.ReviewResponse;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import java.util.Map;
+
+/**
+ * Hand-written codecs that decode query results straight into response
+ * records, instead of into a {@code Document} or an entity that is then mapped.
+ *
+ * <p>Quarkus discovers {@code CodecProvider} implementations at build time and
+ * adds them to the client's codec registry, so
+ * {@code collection.withDocumentClass(BookResponse.class)} works on any
+ * collection; {@link ResponseCodecs} also wires them in explicitly.
+ */
+public class ResponseCodecProvider implements CodecProvider {
+
+    private final Map<Class<?>, Codec<?>> codecs;
+
+    public ResponseCodecProvider() {
+        ReviewResponseCodec reviews = new ReviewResponseCodec();
+        this.codecs = Map.of(
+                ReviewResponse.class, reviews,
+                BookResponse.class, BookResponseCodec.books(reviews),
+                BookCategoryResponse.class, BookResponseCodec.categories(reviews),
+                BookWithReviewsResponse.class, BookResponseCodec.withReviews(reviews),
+                AuthorBookCountResponse.class, new AuthorBookCountResponseCodec(),
+                AverageRatingResponse.class, new AverageRatingResponseCodec());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+        return (Codec<T>) codecs.get(clazz);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.codec;
+
+import com.mongodb.client.MongoCollection;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+
+/**
+ * Views of a collection whose results decode straight into response records
+ * ({@link #responses}) or into the {@link FacetPage} of a paginating
+ * {@code $facet} ({@link #pages}). The views share the source's namespace,
+ * read preference and concerns; create them once, they are immutable.
+ */
+public final class ResponseCodecs {
+
+    private static final ResponseCodecProvider PROVIDER = new ResponseCodecProvider();
+    private static final CodecRegistry RESPONSES = CodecRegistries.fromProviders(PROVIDER);
+
+    private ResponseCodecs() {
+    }
+
+    public static <T> MongoCollection<T> responses(MongoCollection<?> source, Class<T> type) {
+        return source.withDocumentClass(type).withCodecRegistry(registry(source.getCodecRegistry()));
+    }
+
+    public static <T> MongoCollection<FacetPage<T>> pages(MongoCollection<?> source, Class<T> type) {
+        return source.withDocumentClass(FacetPage.<T>type()).withCodecRegistry(pageRegistry(source.getCodecRegistry(), type));
+    }
+
+    public static <T> ReactiveMongoCollection<T> responses(ReactiveMongoCollection<?> source, Class<T> type) {
+        return source.withDocumentClass(type).withCodecRegistry(registry(source.getCodecRegistry()));
+    }
+
+    public static <T> ReactiveMongoCollection<FacetPage<T>> pages(ReactiveMongoCollection<?> source, Class<T> type) {
+        return source.withDocumentClass(FacetPage.<T>type()).withCodecRegistry(pageRegistry(source.getCodecRegistry(), type));
+    }
+
+    /** Codec of one response record, e.g. to decode a {@code RawBsonDocument}. */
+    public static <T> Codec<T> codec(Class<T> type) {
+        return RESPONSES.get(type);
+    }
+
+    private static CodecRegistry registry(CodecRegistry source) {
+        return CodecRegistries.fromRegistries(RESPONSES, source);
+    }
+
+    private static <T> CodecRegistry pageRegistry(CodecRegistry source, Class<T> type) {
+        return CodecRegistries.fromRegistries(
+                CodecRegistries.fromCodecs(new FacetPageCodec<>(codec(type))), RESPONSES, source);
+    }
+}
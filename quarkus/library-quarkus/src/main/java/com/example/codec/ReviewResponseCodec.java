@@ -0,0 +1,41 @@
+package com.example.codec;
+
+import com.example.dto.response.ReviewResponse;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.codecs.DecoderContext;
+
+import java.time.Instant;
+
+/** A review document, or a review embedded on a book (which has no {@code bookId}). */
+final class ReviewResponseCodec extends ResponseCodec<ReviewResponse> {
+
+    ReviewResponseCodec() {
+        super(ReviewResponse.class);
+    }
+
+    @Override
+    public ReviewResponse decode(BsonReader reader, DecoderContext decoderContext) {
+        String id = null;
+        String bookId = null;
+        String user = null;
+        double rating = 0.0;
+        String text = null;
+        Instant createdAt = null;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id" -> id = BsonValues.readId(reader);
+                case "bookId" -> bookId = BsonValues.readString(reader);
+                case "user" -> user = BsonValues.readString(reader);
+                case "rating" -> rating = BsonValues.readDouble(reader);
+                case "text" -> text = BsonValues.readString(reader);
+                case "createdAt" -> createdAt = BsonValues.readInstant(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return new ReviewResponse(id, bookId, user, rating, text, createdAt);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+
+/**
+ * Adaptive admission control in front of the service layer: each workload
+ * gets a concurrency limit that grows while calls stay under its latency
+ * target and shrinks (AIMD) when they do not. Calls over the limit are
+ * rejected with {@code 503} instead of queueing for a pooled connection.
+ */
+@ConfigMapping(prefix = "library.admission")
+public interface AdmissionSettings {
+
+    @WithDefault("true")
+    boolean enabled();
+
+    /** Sent as {@code Retry-After} with rejected calls. */
+    @WithDefault("1s")
+    Duration retryAfter();
+
+    /** Factor applied to a limit on a sign of overload. */
+    @WithDefault("0.9")
+    double backoffRatio();
+
+    /** Single-document lookups by id. */
+    Budget pointRead();
+
+    /** Aggregations over the whole catalog. */
+    Budget aggregation();
+
+    interface Budget {
+        @WithDefault("20")
+        int initialLimit();
+
+        @WithDefault("1")
+        int minLimit();
+
+        @WithDefault("100")
+        int maxLimit();
+
+        /** Calls slower than this, like driver timeouts, count as overload. */
+        @WithDefault("100ms")
+        Duration latencyTarget();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.config;
+
+import com.example.health.StartupTask;
+import com.example.health.StartupTasks;
+import com.example.repository.BookRepository;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Converts books that still store author names as plain strings into
+ * {@code {authorId, name}} extended references, in batches. Runs in the
+ * background as the {@code author-refs} {@link StartupTask}, so startup does
+ * not wait for it.
+ */
+@ApplicationScoped
+public class AuthorReferenceMigration {
+
+    private static final Logger LOG = Logger.getLogger(AuthorReferenceMigration.class);
+
+    private final BookRepository bookRepository;
+    private final StartupTasks startupTasks;
+    private final int batchSize;
+
+    @Inject
+    AuthorReferenceMigration(BookRepository bookRepository, StartupTasks startupTasks,
+                             @ConfigProperty(name = "library.books.author-refs.migration-batch-size", defaultValue = "500")
+                             int batchSize) {
+        this.bookRepository = bookRepository;
+        this.startupTasks = startupTasks;
+        this.batchSize = batchSize;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        startupTasks.start("author-refs", task -> migrate());
+    }
+
+    void migrate() {
+        long converted = bookRepository.backfillAuthorRefs(batchSize);
+        if (converted > 0) {
+            LOG.infof("Author references backfilled on %d books.", converted);
+        }
+    }
+}
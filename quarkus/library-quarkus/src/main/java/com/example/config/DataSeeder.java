@@ -1,56 +1,155 @@
 package com.example.config;
 
+import com.example.deadline.Deadlines;
+import com.example.health.StartupTask;
+import com.example.health.StartupTasks;
+import com.example.mapper.BookMapper;
 import com.example.model.entity.Author;
+import com.example.model.entity.AuthorRef;
 import com.example.model.entity.Book;
+import com.example.model.entity.JobCheckpoint;
 import com.example.model.entity.Review;
 import com.example.repository.BookRepository;
+import com.example.repository.JobCheckpointRepository;
 import com.example.repository.ReviewRepository;
 import io.quarkus.runtime.StartupEvent;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
+import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.jboss.logging.Logger;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Seeds an empty database with a small catalog. Runs on a background thread
+ * so startup does not wait for it; the {@code seed} {@link StartupTask} keeps
+ * the readiness check DOWN (with progress) until the data is in.
+ *
+ * <p>A {@link JobCheckpoint} marks the seed as started before the first write
+ * and as done after the last. A run that failed or crashed in between is
+ * finished by the retry or the next start, which insert only the authors,
+ * books and reviews still missing; a database that already had books before
+ * any seed started is left alone.
+ */
 @ApplicationScoped
 public class DataSeeder {
 
     private static final Logger LOG = Logger.getLogger(DataSeeder.class);
+    private static final String JOB_ID = "seed";
+    private static final String FINGERPRINT = "catalog=1";
 
     private final BookRepository bookRepository;
     private final ReviewRepository reviewRepository;
+    private final BookMapper bookMapper;
+    private final JobCheckpointRepository checkpoints;
+    private final StartupTasks startupTasks;
+    private final Deadlines deadlines;
 
     @Inject
-    DataSeeder(BookRepository bookRepository, ReviewRepository reviewRepository) {
+    DataSeeder(BookRepository bookRepository, ReviewRepository reviewRepository, BookMapper bookMapper,
+               JobCheckpointRepository checkpoints, StartupTasks startupTasks, Deadlines deadlines) {
         this.bookRepository = bookRepository;
         this.reviewRepository = reviewRepository;
+        this.bookMapper = bookMapper;
+        this.checkpoints = checkpoints;
+        this.startupTasks = startupTasks;
+        this.deadlines = deadlines;
     }
 
     void onStart(@Observes StartupEvent event) {
-        if (bookRepository.count() > 0) {
+        startupTasks.start("seed", this::seed);
+    }
+
+    private void seed(StartupTask task) {
+        task.step("checking for earlier runs", 0);
+        JobCheckpoint checkpoint = checkpoints.findByIdOptional(JOB_ID).orElse(null);
+        if (checkpoint != null && checkpoint.completed) {
+            LOG.debug("Seed skipped — already done.");
+            return;
+        }
+        if (checkpoint == null && bookRepository.countBooks() > 0) {
             LOG.info("Seed skipped — collection already has data.");
+            checkpoints.save(JOB_ID, FINGERPRINT, null, true);
             return;
         }
+        // Every step below only adds what an interrupted run left out, so a retry finishes the seed.
+        checkpoints.save(JOB_ID, FINGERPRINT, null, false);
 
-        LOG.info("Seeding authors...");
-        // Author uses the Active Record pattern → persist/count via the entity.
-        Author.persist(seedAuthors());
-        LOG.infof("%d authors inserted.", Author.count());
+        List<Author> authors = missingAuthors(seedAuthors());
+        task.step("authors", authors.size());
+        if (!authors.isEmpty()) {
+            // Author uses the Active Record pattern → persist via the entity.
+            Author.persist(authors);
+        }
+        task.progress(authors.size());
+        LOG.infof("%d authors inserted.", authors.size());
 
-        LOG.info("Seeding books...");
         List<Book> books = seedBooks();
-        bookRepository.persist(books);
-        LOG.infof("%d books inserted.", books.size());
+        List<Book> missingBooks = storedOrMissing(books);
+        task.step("books", missingBooks.size());
+        linkAuthors(missingBooks);
+        if (!missingBooks.isEmpty()) {
+            bookRepository.persist(missingBooks);
+        }
+        task.progress(missingBooks.size());
+        LOG.infof("%d books inserted.", missingBooks.size());
+
+        Map<String, List<Review>> reviewsByBook = seedReviews(books).stream()
+                .collect(Collectors.groupingBy(r -> r.bookId, LinkedHashMap::new, Collectors.toList()));
+        task.step("reviews", reviewsByBook.values().stream().mapToInt(List::size).sum());
+        int inserted = 0;
+        for (List<Review> reviews : reviewsByBook.values()) {
+            List<Review> missing = missingReviews(reviews);
+            reviewRepository.insertAll(missing);
+            inserted += missing.size();
+            task.progress(inserted);
+        }
+        // One rebuild of the embedded reviews per seeded book instead of an update per review.
+        bookRepository.reconcileEmbeddedReviewsOfBooks(reviewsByBook.keySet(), List.of());
+        checkpoints.save(JOB_ID, FINGERPRINT, null, true);
+        LOG.infof("Seed complete — %d reviews inserted.", inserted);
+    }
 
-        LOG.info("Seeding reviews...");
-        seedReviews(books);
-        LOG.infof("Seed complete — %d reviews inserted.", reviewRepository.count());
+    private List<Author> missingAuthors(List<Author> authors) {
+        Set<String> stored = Author.idsByName(deadlines, authors.stream().map(a -> a.name).toList()).keySet();
+        return authors.stream().filter(a -> !stored.contains(a.name)).toList();
+    }
+
+    /**
+     * The books of {@code books} not stored yet. Those already stored take
+     * their stored id, so the reviews seeded for them are attached to it.
+     */
+    private List<Book> storedOrMissing(List<Book> books) {
+        List<String> titles = books.stream().map(b -> b.title).toList();
+        Map<String, String> stored = bookRepository.list(new Document("title", new Document("$in", titles))).stream()
+                .collect(Collectors.toMap(b -> b.title, b -> b.id, (first, second) -> first));
+        List<Book> missing = new ArrayList<>();
+        for (Book book : books) {
+            String id = stored.get(book.title);
+            if (id != null) {
+                book.id = id;
+            } else {
+                missing.add(book);
+            }
+        }
+        return missing;
+    }
+
+    /** The reviews of one book whose user has not reviewed it yet. */
+    private List<Review> missingReviews(List<Review> reviews) {
+        Set<String> reviewed = reviewRepository.findByBook(reviews.get(0).bookId, null, null, reviews.size()).stream()
+                .map(r -> r.user)
+                .collect(Collectors.toSet());
+        return reviews.stream().filter(r -> !reviewed.contains(r.user)).toList();
     }
 
     private List<Author> seedAuthors() {
@@ -132,68 +231,80 @@ public class DataSeeder {
             book("Soft Skills",                                        504,  2014, List.of("John Sonmez"))
         );
     }
-    private void seedReviews(List<Book> books) {
+    private List<Review> seedReviews(List<Book> books) {
         Map<String, String> id = books.stream()
                 .collect(Collectors.toMap(b -> b.title, b -> b.id));
+        List<Review> reviews = new ArrayList<>();
 
         String cc = id.get("Clean Code");
-        createReview(cc, "alice",   5.0, "A must-read for every developer.",               90);
-        createReview(cc, "bob",     4.0, "Great principles, some examples feel dated.",    75);
-        createReview(cc, "carol",   5.0, "Changed how I think about naming.",              60);
-        createReview(cc, "dave",    3.5, "Useful but too Java-centric.",                   45);
-        createReview(cc, "eve",     4.5, "The chapter on functions alone is worth it.",    30);
-        createReview(cc, "frank",   4.0, "Classic. Re-read it every year.",                12);
-        createReview(cc, "grace",   5.0, "Best book on clean code practices.",              2);
+        reviews.add(review(cc, "alice",   5.0, "A must-read for every developer.",               90));
+        reviews.add(review(cc, "bob",     4.0, "Great principles, some examples feel dated.",    75));
+        reviews.add(review(cc, "carol",   5.0, "Changed how I think about naming.",              60));
+        reviews.add(review(cc, "dave",    3.5, "Useful but too Java-centric.",                   45));
+        reviews.add(review(cc, "eve",     4.5, "The chapter on functions alone is worth it.",    30));
+        reviews.add(review(cc, "frank",   4.0, "Classic. Re-read it every year.",                12));
+        reviews.add(review(cc, "grace",   5.0, "Best book on clean code practices.",              2));
 
         String pp = id.get("The Pragmatic Programmer");
-        createReview(pp, "heidi",   5.0, "Timeless advice for software craftsmen.",        80);
-        createReview(pp, "ivan",    4.5, "DRY and KISS principles explained perfectly.",   55);
-        createReview(pp, "judy",    4.0, "A bit dated but still very relevant.",           35);
-        createReview(pp, "karl",    5.0, "Required reading at our company.",               18);
-        createReview(pp, "laura",   4.5, "Covers so much more than just programming.",      4);
+        reviews.add(review(pp, "heidi",   5.0, "Timeless advice for software craftsmen.",        80));
+        reviews.add(review(pp, "ivan",    4.5, "DRY and KISS principles explained perfectly.",   55));
+        reviews.add(review(pp, "judy",    4.0, "A bit dated but still very relevant.",           35));
+        reviews.add(review(pp, "karl",    5.0, "Required reading at our company.",               18));
+        reviews.add(review(pp, "laura",   4.5, "Covers so much more than just programming.",      4));
 
         String ddia = id.get("Designing Data-Intensive Applications");
-        createReview(ddia, "mike",   5.0, "The best book on distributed systems.",         70);
-        createReview(ddia, "nancy",  5.0, "Dense but incredibly rewarding.",               55);
-        createReview(ddia, "oscar",  4.5, "Essential for any backend engineer.",           40);
-        createReview(ddia, "paula",  5.0, "Explains CAP theorem better than anyone.",      25);
-        createReview(ddia, "quinn",  4.0, "Great reference, not beginner-friendly.",       11);
-        createReview(ddia, "rachel", 5.0, "Should be mandatory in CS degrees.",             2);
+        reviews.add(review(ddia, "mike",   5.0, "The best book on distributed systems.",         70));
+        reviews.add(review(ddia, "nancy",  5.0, "Dense but incredibly rewarding.",               55));
+        reviews.add(review(ddia, "oscar",  4.5, "Essential for any backend engineer.",           40));
+        reviews.add(review(ddia, "paula",  5.0, "Explains CAP theorem better than anyone.",      25));
+        reviews.add(review(ddia, "quinn",  4.0, "Great reference, not beginner-friendly.",       11));
+        reviews.add(review(ddia, "rachel", 5.0, "Should be mandatory in CS degrees.",             2));
 
         String ddd = id.get("Domain-Driven Design");
-        createReview(ddd, "sam",    4.0, "Heavy read but foundational.",                   65);
-        createReview(ddd, "tina",   3.5, "Great concepts, very dry examples.",             40);
-        createReview(ddd, "ursula", 4.5, "Finally understood bounded contexts.",           20);
-        createReview(ddd, "victor", 5.0, "Changed how I design entire systems.",            5);
+        reviews.add(review(ddd, "sam",    4.0, "Heavy read but foundational.",                   65));
+        reviews.add(review(ddd, "tina",   3.5, "Great concepts, very dry examples.",             40));
+        reviews.add(review(ddd, "ursula", 4.5, "Finally understood bounded contexts.",           20));
+        reviews.add(review(ddd, "victor", 5.0, "Changed how I design entire systems.",            5));
 
         String ref = id.get("Refactoring");
-        createReview(ref, "wendy",  5.0, "The refactoring catalog is invaluable.",         50);
-        createReview(ref, "xavier", 4.0, "2nd edition updated to JavaScript examples.",    35);
-        createReview(ref, "yvonne", 4.5, "Changed how I approach messy code.",             18);
-        createReview(ref, "zach",   5.0, "Pair this with Working Effectively with Legacy Code.", 4);
+        reviews.add(review(ref, "wendy",  5.0, "The refactoring catalog is invaluable.",         50));
+        reviews.add(review(ref, "xavier", 4.0, "2nd edition updated to JavaScript examples.",    35));
+        reviews.add(review(ref, "yvonne", 4.5, "Changed how I approach messy code.",             18));
+        reviews.add(review(ref, "zach",   5.0, "Pair this with Working Effectively with Legacy Code.", 4));
 
         String gof = id.get("Design Patterns");
-        createReview(gof, "alice",  4.0, "Dense but essential reference.",                100);
-        createReview(gof, "bob",    3.5, "Academic but the patterns are timeless.",        72);
-        createReview(gof, "carol",  4.5, "The Gang of Four classic — still relevant.",     38);
-        createReview(gof, "dave",   5.0, "Every pattern explained with clarity.",           9);
+        reviews.add(review(gof, "alice",  4.0, "Dense but essential reference.",                100));
+        reviews.add(review(gof, "bob",    3.5, "Academic but the patterns are timeless.",        72));
+        reviews.add(review(gof, "carol",  4.5, "The Gang of Four classic — still relevant.",     38));
+        reviews.add(review(gof, "dave",   5.0, "Every pattern explained with clarity.",           9));
 
         String ej = id.get("Effective Java");
-        createReview(ej, "eve",    5.0, "Best Java book ever written.",                    45);
-        createReview(ej, "frank",  4.5, "Bloch distills years of JDK experience.",         28);
-        createReview(ej, "grace",  5.0, "Every item is a lesson in good API design.",      12);
-        createReview(ej, "heidi",  4.0, "A must for any serious Java developer.",           3);
+        reviews.add(review(ej, "eve",    5.0, "Best Java book ever written.",                    45));
+        reviews.add(review(ej, "frank",  4.5, "Bloch distills years of JDK experience.",         28));
+        reviews.add(review(ej, "grace",  5.0, "Every item is a lesson in good API design.",      12));
+        reviews.add(review(ej, "heidi",  4.0, "A must for any serious Java developer.",           3));
 
         String ms = id.get("Building Microservices");
-        createReview(ms, "ivan",   5.0, "The definitive guide to microservices.",          33);
-        createReview(ms, "judy",   4.0, "2nd edition adds great Kubernetes coverage.",      16);
-        createReview(ms, "karl",   4.5, "Practical, thorough, and well-structured.",         7);
+        reviews.add(review(ms, "ivan",   5.0, "The definitive guide to microservices.",          33));
+        reviews.add(review(ms, "judy",   4.0, "2nd edition adds great Kubernetes coverage.",      16));
+        reviews.add(review(ms, "karl",   4.5, "Practical, thorough, and well-structured.",         7));
 
         String phoenix = id.get("The Phoenix Project");
-        createReview(phoenix, "laura",  5.0, "The DevOps novel. Couldn't put it down.",    55);
-        createReview(phoenix, "mike",   4.5, "Teaches DevOps principles through story.",   38);
-        createReview(phoenix, "nancy",  4.0, "Great for managers and developers alike.",   20);
-        createReview(phoenix, "oscar",  5.0, "Every IT team should read this together.",    8);
+        reviews.add(review(phoenix, "laura",  5.0, "The DevOps novel. Couldn't put it down.",    55));
+        reviews.add(review(phoenix, "mike",   4.5, "Teaches DevOps principles through story.",   38));
+        reviews.add(review(phoenix, "nancy",  4.0, "Great for managers and developers alike.",   20));
+        reviews.add(review(phoenix, "oscar",  5.0, "Every IT team should read this together.",    8));
+        return reviews;
+    }
+
+    /** Fills the authorId of each extended reference from the stored authors. */
+    private void linkAuthors(List<Book> books) {
+        Set<String> names = books.stream()
+                .flatMap(b -> b.authors.stream())
+                .map(ref -> ref.name)
+                .collect(Collectors.toSet());
+        Map<String, String> ids = Author.idsByName(deadlines, names);
+        books.forEach(b -> b.authors.forEach(ref -> ref.authorId = ids.get(ref.name)));
     }
 
     private Author author(String name, String nationality, int birthYear) {
@@ -211,11 +322,12 @@ public class DataSeeder {
         b.title = title;
         b.pages = pages;
         b.year = year;
-        b.authors = authors;
+        b.authors = authors.stream().map(name -> AuthorRef.of(null, name)).toList();
+        b.pageCategory = bookMapper.pageCategoryOf(pages);
         return b;
     }
 
-    private void createReview(String bookId, String user, double rating, String text, int daysAgo) {
+    private Review review(String bookId, String user, double rating, String text, int daysAgo) {
         Review r = new Review();
         r.id = new ObjectId().toHexString();
         r.bookId = bookId;
@@ -223,8 +335,6 @@ public class DataSeeder {
         r.rating = rating;
         r.text = text;
         r.createdAt = Instant.now().minus(daysAgo, ChronoUnit.DAYS);
-
-        reviewRepository.persist(r);
-        bookRepository.embedReview(r);
+        return r;
     }
 }
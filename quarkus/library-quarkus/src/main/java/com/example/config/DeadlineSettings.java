@@ -0,0 +1,28 @@
+package com.example.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import io.smallrye.config.WithName;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Latency budget of each REST endpoint. The budget starts when the request is
+ * matched and bounds every driver call made for it, so the server stops
+ * working on a request the client has given up on.
+ */
+@ConfigMapping(prefix = "library.deadlines")
+public interface DeadlineSettings {
+
+    @WithDefault("true")
+    boolean enabled();
+
+    /** Budget of endpoints without an entry in {@link #endpoints()}. */
+    @WithName("default")
+    @WithDefault("10s")
+    Duration defaultBudget();
+
+    /** Budgets by path template, e.g. {@code library.deadlines.endpoints."/books/with-reviews"=2s}. */
+    Map<String, Duration> endpoints();
+}
@@ -0,0 +1,73 @@
+package com.example.config;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadConcernLevel;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoCollection;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves the named durability profiles of {@link MongoSettings#durability()}
+ * into write and read concerns, so repositories can pick one per operation
+ * instead of paying the client-wide default everywhere: catalog writes wait for
+ * a journaled majority, review inserts can be acknowledged by the primary alone.
+ */
+@ApplicationScoped
+public class DurabilityProfiles {
+
+    /** Books and authors — the catalog must survive a failover. */
+    public static final String CATALOG = "catalog";
+    /** Reviews and the subset embedded on books — high volume, a lost write is tolerable. */
+    public static final String REVIEWS = "reviews";
+    /** Copies into {@code reviews_archive}, which precede deleting the hot original. */
+    public static final String ARCHIVE = "archive";
+
+    private final Map<String, WriteConcern> writeConcerns = new HashMap<>();
+    private final Map<String, ReadConcern> readConcerns = new HashMap<>();
+
+    @Inject
+    DurabilityProfiles(MongoSettings settings) {
+        settings.durability().forEach((name, profile) -> {
+            writeConcerns.put(name, writeConcern(profile.writeConcern(), profile.journal()));
+            readConcerns.put(name, readConcern(profile.readConcern()));
+        });
+    }
+
+    /** {@code collection} with the concerns of {@code profile}, or unchanged if it is not configured. */
+    public <T> MongoCollection<T> apply(MongoCollection<T> collection, String profile) {
+        WriteConcern writeConcern = writeConcerns.get(profile);
+        if (writeConcern == null) {
+            return collection;
+        }
+        return collection.withWriteConcern(writeConcern).withReadConcern(readConcerns.get(profile));
+    }
+
+    /** Same as {@link #apply(MongoCollection, String)}, for the reactive client. */
+    public <T> ReactiveMongoCollection<T> apply(ReactiveMongoCollection<T> collection, String profile) {
+        WriteConcern writeConcern = writeConcerns.get(profile);
+        if (writeConcern == null) {
+            return collection;
+        }
+        return collection.withWriteConcern(writeConcern).withReadConcern(readConcerns.get(profile));
+    }
+
+    /** {@code w} is a number of members or a mode such as {@code majority}; it must not be blank. */
+    public static WriteConcern writeConcern(String w, boolean journal) {
+        if (w == null || w.isBlank()) {
+            throw new IllegalArgumentException("write-concern must be a number of members or a mode, not blank");
+        }
+        WriteConcern writeConcern = w.chars().allMatch(Character::isDigit)
+                ? new WriteConcern(Integer.parseInt(w))
+                : new WriteConcern(w);
+        return writeConcern.withJournal(journal);
+    }
+
+    public static ReadConcern readConcern(String level) {
+        return new ReadConcern(ReadConcernLevel.fromString(level));
+    }
+}
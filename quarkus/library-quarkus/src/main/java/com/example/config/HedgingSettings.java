@@ -0,0 +1,43 @@
+package com.example.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hedged point reads: a read that has not answered within the rolling
+ * {@code percentile} latency of its operation is cut there and sent again
+ * with {@code read-preference}. Hedges are paid for out of a {@code budget}
+ * per read, so they cannot double the load.
+ */
+@ConfigMapping(prefix = "library.hedging")
+public interface HedgingSettings {
+
+    @WithDefault("false")
+    boolean enabled();
+
+    /** Latency percentile of recent reads after which the hedge is sent. */
+    @WithDefault("0.95")
+    double percentile();
+
+    /** Never hedge sooner than this, however fast recent reads were. */
+    @WithDefault("5ms")
+    Duration minDelay();
+
+    /** Hedges earned per read, e.g. {@code 0.1}: at most 10 % more reads. */
+    @WithDefault("0.1")
+    double budget();
+
+    /**
+     * Read preference of the hedge. The primary is never staler than the
+     * first attempt; {@code nearest} or a secondary preference reaches
+     * another member, but may read behind the primary.
+     */
+    @WithDefault("primary")
+    String readPreference();
+
+    /** How far a secondary the hedge reads from may lag, at least 90; unbounded when unset. */
+    OptionalLong maxStalenessSeconds();
+}
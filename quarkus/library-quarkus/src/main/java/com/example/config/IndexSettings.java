@@ -0,0 +1,31 @@
+package com.example.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+
+/**
+ * Startup reconciliation of the {@code @MongoIndex} declarations with the
+ * indexes that exist: missing ones are built one at a time in the background,
+ * unused and redundant ones are reported (never dropped).
+ */
+@ConfigMapping(prefix = "library.indexes")
+public interface IndexSettings {
+
+    /** Compare declared and existing indexes at startup and log the findings. */
+    @WithDefault("true")
+    boolean reconcile();
+
+    /** Build missing declared indexes; when off they are only reported. */
+    @WithDefault("true")
+    boolean createMissing();
+
+    /**
+     * An index with no recorded access is reported as unused only once its
+     * {@code $indexStats} have been collected for this long (they restart with
+     * the server and with the index).
+     */
+    @WithDefault("7d")
+    Duration unusedAfter();
+}
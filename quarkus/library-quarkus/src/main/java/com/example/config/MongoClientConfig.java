@@ -1,9 +1,13 @@
 package com.example.config;
 
+import com.example.metrics.ConnectionPoolMetrics;
+import com.example.pool.PoolTuner;
 import com.mongodb.MongoClientSettings;
 import com.mongodb.ReadPreference;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoDatabase;
+import io.quarkus.mongodb.reactive.ReactiveMongoClient;
+import io.quarkus.mongodb.reactive.ReactiveMongoDatabase;
 import io.quarkus.mongodb.runtime.MongoClientCustomizer;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Produces;
@@ -18,6 +22,12 @@ public class MongoClientConfig implements MongoClientCustomizer {
     @Inject
     MongoSettings settings;
 
+    @Inject
+    ConnectionPoolMetrics poolMetrics;
+
+    @Inject
+    PoolTuner poolTuner;
+
     @ConfigProperty(name = "quarkus.mongodb.database", defaultValue = "library")
     String databaseName;
 
@@ -27,6 +37,13 @@ public class MongoClientConfig implements MongoClientCustomizer {
         return client.getDatabase(databaseName);
     }
 
+    /** Same database on the reactive client, used when {@code library.execution.mode=reactive}. */
+    @Produces
+    @ApplicationScoped
+    ReactiveMongoDatabase libraryReactiveDatabase(ReactiveMongoClient client) {
+        return client.getDatabase(databaseName);
+    }
+
     @Override
     public MongoClientSettings.Builder customize(MongoClientSettings.Builder builder) {
         MongoSettings.Pool pool = settings.pool();
@@ -38,7 +55,9 @@ public class MongoClientConfig implements MongoClientCustomizer {
                     p.maxSize(pool.maxSize())
                      .minSize(pool.minSize())
                      .maxConnectionIdleTime(pool.maxConnectionIdleTimeMs(), TimeUnit.MILLISECONDS)
-                     .maxConnectionLifeTime(pool.maxConnectionLifeTimeMs(), TimeUnit.MILLISECONDS);
+                     .maxConnectionLifeTime(pool.maxConnectionLifeTimeMs(), TimeUnit.MILLISECONDS)
+                     .addConnectionPoolListener(poolMetrics)
+                     .addConnectionPoolListener(poolTuner);
                     if (pool.maxWaitTimeMs() > 0) {
                         p.maxWaitTime(pool.maxWaitTimeMs(), TimeUnit.MILLISECONDS);
                     }
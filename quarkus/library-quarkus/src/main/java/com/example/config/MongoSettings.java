@@ -3,6 +3,12 @@ package com.example.config;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
 @ConfigMapping(prefix = "mongodb")
 public interface MongoSettings {
 
@@ -14,6 +20,20 @@ public interface MongoSettings {
 
     Pool pool();
 
+    /**
+     * Named durability profiles ({@code mongodb.durability.<name>.*}); each
+     * repository operation picks one through {@link DurabilityProfiles}.
+     * Operations whose profile is not configured use the client defaults.
+     */
+    Map<String, Durability> durability();
+
+    /**
+     * Named read profiles ({@code mongodb.read-profiles.<name>.*}); repository
+     * methods pick one through {@link ReadProfiles}. Methods whose profile is
+     * not configured read with {@link #readPreference()}.
+     */
+    Map<String, ReadProfile> readProfiles();
+
     interface Pool {
         @WithDefault("100")
         int maxSize();
@@ -29,5 +49,72 @@ public interface MongoSettings {
 
         @WithDefault("0")
         long maxWaitTimeMs();
+
+        AutoTune autoTune();
+    }
+
+    /**
+     * Optional self-tuning of effective concurrency: the driver pool cannot be
+     * resized while running, so a permit layer in front of the repositories
+     * is resized instead, between {@code min-permits} and {@code max-permits}
+     * (at most {@code max-size}).
+     */
+    interface AutoTune {
+        @WithDefault("false")
+        boolean enabled();
+
+        @WithDefault("10")
+        int initialPermits();
+
+        @WithDefault("4")
+        int minPermits();
+
+        @WithDefault("100")
+        int maxPermits();
+
+        /** How often the tuner looks at the last interval and decides. */
+        @WithDefault("5s")
+        Duration interval();
+
+        /** Average wait for a permit or a pooled connection above which permits are added. */
+        @WithDefault("5ms")
+        Duration waitTarget();
+
+        /** Server latency over its baseline by this factor removes permits. */
+        @WithDefault("2.0")
+        double latencyTolerance();
+
+        /** Longest a blocking call waits for a permit before it is rejected with 503. */
+        @WithDefault("1s")
+        Duration maxWait();
+    }
+
+    interface Durability {
+        /** {@code majority}, a number of members, or a custom write concern tag. */
+        @WithDefault("majority")
+        String writeConcern();
+
+        @WithDefault("true")
+        boolean journal();
+
+        /** {@code local}, {@code available}, {@code majority}, {@code linearizable} or {@code snapshot}. */
+        @WithDefault("local")
+        String readConcern();
+    }
+
+    interface ReadProfile {
+        /** {@code primary}, {@code primaryPreferred}, {@code secondary}, {@code secondaryPreferred} or {@code nearest}. */
+        @WithDefault("primary")
+        String readPreference();
+
+        /** How far a secondary may lag behind the primary, at least 90; unbounded when unset. */
+        OptionalLong maxStalenessSeconds();
+
+        /**
+         * Tag sets in order of preference, each made of {@code key:value} pairs
+         * joined by {@code ;}, e.g. {@code usage:analytics;dc:east,usage:analytics}.
+         * {@code *} is the empty tag set, which matches any member.
+         */
+        Optional<List<String>> tagSets();
     }
 }
@@ -0,0 +1,65 @@
+package com.example.config;
+
+import com.example.health.StartupTask;
+import com.example.health.StartupTasks;
+import com.example.model.entity.JobCheckpoint;
+import com.example.repository.BookRepository;
+import com.example.repository.JobCheckpointRepository;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+/**
+ * Makes sure every book carries a persisted {@code pageCategory} computed
+ * with the current thresholds. Books written before the category was
+ * persisted are backfilled in batches, so the migration never holds a
+ * long-running update. The thresholds the categories were computed with are
+ * kept as a {@link JobCheckpoint}; when they change, every book whose
+ * category no longer matches is rewritten. Runs in the background as the
+ * {@code page-category} {@link StartupTask}, so startup does not wait for it.
+ */
+@ApplicationScoped
+public class PageCategoryMigration {
+
+    private static final Logger LOG = Logger.getLogger(PageCategoryMigration.class);
+    private static final String JOB_ID = "page-category";
+
+    private final BookRepository bookRepository;
+    private final JobCheckpointRepository checkpoints;
+    private final StartupTasks startupTasks;
+    private final PageCategorySettings settings;
+
+    @Inject
+    PageCategoryMigration(BookRepository bookRepository, JobCheckpointRepository checkpoints,
+                          StartupTasks startupTasks, PageCategorySettings settings) {
+        this.bookRepository = bookRepository;
+        this.checkpoints = checkpoints;
+        this.startupTasks = startupTasks;
+        this.settings = settings;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        startupTasks.start(JOB_ID, task -> migrate());
+    }
+
+    void migrate() {
+        JobCheckpoint checkpoint = checkpoints.findByIdOptional(JOB_ID).orElse(null);
+        String fingerprint = settings.fingerprint();
+        if (checkpoint != null && checkpoint.completed && fingerprint.equals(checkpoint.fingerprint)) {
+            long updated = bookRepository.backfillPageCategory(
+                    settings.shortMaxPages(), settings.mediumMaxPages(), settings.migrationBatchSize());
+            if (updated > 0) {
+                LOG.infof("Page category backfilled on %d books.", updated);
+            }
+            return;
+        }
+
+        LOG.infof("Recomputing page categories (%s).", fingerprint);
+        long updated = bookRepository.recategorizePages(
+                settings.shortMaxPages(), settings.mediumMaxPages(), settings.migrationBatchSize());
+        checkpoints.save(JOB_ID, fingerprint, null, true);
+        LOG.infof("Page category recomputed on %d books.", updated);
+    }
+}
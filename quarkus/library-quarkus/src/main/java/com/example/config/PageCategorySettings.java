@@ -0,0 +1,41 @@
+package com.example.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+/**
+ * Thresholds used to classify a book as {@code short}, {@code medium} or
+ * {@code long}. The category is computed when a book is written and persisted
+ * on the document, so it can be filtered and indexed.
+ */
+@ConfigMapping(prefix = "library.books.page-category")
+public interface PageCategorySettings {
+
+    /** Books with at most this many pages are {@code short}. */
+    @WithDefault("250")
+    int shortMaxPages();
+
+    /** Books with at most this many pages (and more than {@link #shortMaxPages()}) are {@code medium}. */
+    @WithDefault("500")
+    int mediumMaxPages();
+
+    /** Number of books updated per round trip by the startup backfill. */
+    @WithDefault("500")
+    int migrationBatchSize();
+
+    /** The category of a book with {@code pages} pages. */
+    default String categoryOf(int pages) {
+        if (pages <= shortMaxPages()) {
+            return "short";
+        }
+        if (pages <= mediumMaxPages()) {
+            return "medium";
+        }
+        return "long";
+    }
+
+    /** The thresholds, as persisted with the categories they produced; books are recategorized when it changes. */
+    default String fingerprint() {
+        return "short-max-pages=%d;medium-max-pages=%d".formatted(shortMaxPages(), mediumMaxPages());
+    }
+}
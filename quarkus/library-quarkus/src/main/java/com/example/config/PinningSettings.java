@@ -0,0 +1,31 @@
+package com.example.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+
+/**
+ * Virtual-thread pinning diagnostics: records the JFR
+ * {@code jdk.VirtualThreadPinned} event (a virtual thread that blocked while
+ * holding its carrier, e.g. inside a {@code synchronized} block or a native
+ * frame) and aggregates it by stack.
+ */
+@ConfigMapping(prefix = "library.diagnostics.pinning")
+public interface PinningSettings {
+
+    @WithDefault("false")
+    boolean enabled();
+
+    /** Pins shorter than this are not recorded. */
+    @WithDefault("20ms")
+    Duration threshold();
+
+    /** Top frames that identify a pinning site. */
+    @WithDefault("8")
+    int stackDepth();
+
+    /** Distinct pinning sites kept; later ones are counted under {@code <other>}. */
+    @WithDefault("200")
+    int maxSites();
+}
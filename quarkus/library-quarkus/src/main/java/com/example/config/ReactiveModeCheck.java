@@ -0,0 +1,40 @@
+package com.example.config;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Fails startup when a reactive resource that reads reviews
+ * ({@code library.execution.books} or {@code library.execution.reviews} set to
+ * {@code reactive}) is combined with a review layout the reactive repositories
+ * do not implement, instead of failing on the first request.
+ */
+@ApplicationScoped
+public class ReactiveModeCheck {
+
+    private static final String REACTIVE = "reactive";
+
+    private final ReviewStorageSettings storage;
+    private final String booksMode;
+    private final String reviewsMode;
+
+    @Inject
+    ReactiveModeCheck(ReviewStorageSettings storage,
+                      @ConfigProperty(name = "library.execution.books", defaultValue = "blocking") String booksMode,
+                      @ConfigProperty(name = "library.execution.reviews", defaultValue = "blocking") String reviewsMode) {
+        this.storage = storage;
+        this.booksMode = booksMode;
+        this.reviewsMode = reviewsMode;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        boolean reactiveReviews = REACTIVE.equals(booksMode) || REACTIVE.equals(reviewsMode);
+        if (reactiveReviews && storage.layout() == ReviewStorageSettings.Layout.BUCKET) {
+            throw new IllegalStateException(
+                    "Reactive book and review endpoints support library.reviews.storage.layout=document only");
+        }
+    }
+}
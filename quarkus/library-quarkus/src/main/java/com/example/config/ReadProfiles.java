@@ -0,0 +1,74 @@
+package com.example.config;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.Tag;
+import com.mongodb.TagSet;
+import com.mongodb.client.MongoCollection;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves the named read profiles of {@link MongoSettings#readProfiles()}
+ * into read preferences, so heavy aggregations can be routed to secondaries
+ * while point reads and writes stay on the primary (the client-wide
+ * {@code mongodb.read-preference}).
+ */
+@ApplicationScoped
+public class ReadProfiles {
+
+    /** Catalog-wide aggregations and rating averages — may read slightly stale data. */
+    public static final String ANALYTICS = "analytics";
+
+    private final Map<String, ReadPreference> readPreferences = new HashMap<>();
+
+    @Inject
+    ReadProfiles(MongoSettings settings) {
+        settings.readProfiles().forEach((name, profile) -> readPreferences.put(name, readPreference(profile)));
+    }
+
+    /** {@code collection} reading with the preference of {@code profile}, or unchanged if it is not configured. */
+    public <T> MongoCollection<T> apply(MongoCollection<T> collection, String profile) {
+        ReadPreference readPreference = readPreferences.get(profile);
+        return readPreference == null ? collection : collection.withReadPreference(readPreference);
+    }
+
+    /** Same as {@link #apply(MongoCollection, String)}, for the reactive client. */
+    public <T> ReactiveMongoCollection<T> apply(ReactiveMongoCollection<T> collection, String profile) {
+        ReadPreference readPreference = readPreferences.get(profile);
+        return readPreference == null ? collection : collection.withReadPreference(readPreference);
+    }
+
+    public static ReadPreference readPreference(MongoSettings.ReadProfile profile) {
+        List<TagSet> tagSets = profile.tagSets().orElse(List.of()).stream().map(ReadProfiles::tagSet).toList();
+        if (profile.maxStalenessSeconds().isPresent()) {
+            return ReadPreference.valueOf(
+                    profile.readPreference(), tagSets, profile.maxStalenessSeconds().getAsLong(), TimeUnit.SECONDS);
+        }
+        return tagSets.isEmpty()
+                ? ReadPreference.valueOf(profile.readPreference())
+                : ReadPreference.valueOf(profile.readPreference(), tagSets);
+    }
+
+    /** {@code dc:east;usage:analytics}, or {@code *} for the empty tag set. */
+    static TagSet tagSet(String spec) {
+        if (spec.isBlank() || spec.trim().equals("*")) {
+            return new TagSet();
+        }
+        return new TagSet(Arrays.stream(spec.split(";"))
+                .map(pair -> {
+                    int colon = pair.indexOf(':');
+                    if (colon <= 0) {
+                        throw new IllegalArgumentException("Tag '" + pair + "' must be written key:value");
+                    }
+                    return new Tag(pair.substring(0, colon).trim(), pair.substring(colon + 1).trim());
+                })
+                .toList());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+
+/**
+ * Settings of the job that rebuilds the embedded review subset on books from
+ * the full review collection.
+ */
+@ConfigMapping(prefix = "library.reviews.reconciler")
+public interface ReconcilerSettings {
+
+    /** Run (or resume) the full rebuild in the background at startup. */
+    @WithDefault("true")
+    boolean enabled();
+
+    /** Books rebuilt per aggregation. */
+    @WithDefault("200")
+    int batchSize();
+
+    /** Minimum pause between two batches. */
+    @WithDefault("100")
+    long pauseMs();
+
+    /**
+     * Upper bound on the share of wall-clock time the job spends running
+     * batches; after a batch that took {@code t}, it sleeps at least
+     * {@code t * (1 / maxDutyCycle - 1)}. In {@code (0, 1]}.
+     */
+    @WithDefault("0.25")
+    @DecimalMin(value = "0", inclusive = false)
+    @DecimalMax("1")
+    double maxDutyCycle();
+
+    /**
+     * How long a book whose reviews changed waits for further changes before
+     * its subset is rebuilt, so a burst of review writes costs one
+     * aggregation instead of one per write.
+     */
+    @WithDefault("50")
+    long coalesceMs();
+}
@@ -0,0 +1,34 @@
+package com.example.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+
+/**
+ * Hot/cold tiering of reviews: reviews older than {@link #afterDays()} are moved
+ * from {@code reviews} to {@code reviews_archive}, so the hot collection and its
+ * indexes stay small enough to remain in memory.
+ */
+@ConfigMapping(prefix = "library.reviews.archive")
+public interface ReviewArchiveSettings {
+
+    @WithDefault("false")
+    boolean enabled();
+
+    /** Age after which a review moves to the archive. */
+    @WithDefault("180")
+    int afterDays();
+
+    /** Reviews moved per {@code insertMany}/{@code deleteMany} round. */
+    @WithDefault("1000")
+    int batchSize();
+
+    /** Pause between two rounds, so the move never saturates the primary. */
+    @WithDefault("100")
+    long pauseMs();
+
+    /** How often the tiering job looks for reviews to archive. */
+    @WithDefault("1h")
+    Duration interval();
+}
@@ -0,0 +1,84 @@
+package com.example.config;
+
+import com.example.health.StartupTask;
+import com.example.health.StartupTasks;
+import com.example.model.entity.JobCheckpoint;
+import com.example.repository.JobCheckpointRepository;
+import com.example.repository.ReviewBucketMigrator;
+import com.example.repository.ReviewBucketStore;
+import com.mongodb.client.MongoDatabase;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+/**
+ * Prepares the bucket layout when {@code library.reviews.storage.layout=bucket}:
+ * if {@code migrate-on-start} is set, copies the existing {@code reviews} into
+ * buckets. The copy runs on a background thread as the {@code review-buckets}
+ * {@link StartupTask}, and records the last fully migrated book as a
+ * {@link JobCheckpoint} after every batch, so a run that crashed resumes
+ * where it stopped on the next attempt or start.
+ */
+@ApplicationScoped
+public class ReviewStorageMigration {
+
+    private static final Logger LOG = Logger.getLogger(ReviewStorageMigration.class);
+    private static final String JOB_ID = "review-buckets";
+
+    private final MongoDatabase database;
+    private final ReviewBucketStore bucketStore;
+    private final JobCheckpointRepository checkpoints;
+    private final StartupTasks startupTasks;
+    private final ReviewStorageSettings settings;
+
+    @Inject
+    ReviewStorageMigration(MongoDatabase database, ReviewBucketStore bucketStore, JobCheckpointRepository checkpoints,
+                           StartupTasks startupTasks, ReviewStorageSettings settings) {
+        this.database = database;
+        this.bucketStore = bucketStore;
+        this.checkpoints = checkpoints;
+        this.startupTasks = startupTasks;
+        this.settings = settings;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (settings.layout() != ReviewStorageSettings.Layout.BUCKET || !settings.migrateOnStart()) {
+            return;
+        }
+        startupTasks.start(JOB_ID, this::migrate);
+    }
+
+    private void migrate(StartupTask task) {
+        task.step("checking for earlier runs", 0);
+        String fingerprint = "bucket-size=%d".formatted(settings.bucketSize());
+        JobCheckpoint checkpoint = checkpoints.findByIdOptional(JOB_ID).orElse(null);
+        String afterBookId = null;
+        if (checkpoint != null) {
+            if (checkpoint.completed) {
+                LOG.debug("Reviews already migrated to review_buckets.");
+                return;
+            }
+            if (!fingerprint.equals(checkpoint.fingerprint)) {
+                throw new IllegalStateException("An interrupted bucket migration ran with %s, not %s; restore that setting to resume it."
+                        .formatted(checkpoint.fingerprint, fingerprint));
+            }
+            afterBookId = checkpoint.lastKey;
+            LOG.infof("Resuming the bucket migration after book %s.", afterBookId);
+        } else if (!bucketStore.isEmpty()) {
+            LOG.info("Bucket migration skipped — review_buckets already has data.");
+            return;
+        }
+
+        // Recorded before the first write, so even a crash in the first batch is resumed, not skipped.
+        checkpoints.save(JOB_ID, fingerprint, afterBookId, false);
+        task.step("reviews", 0);
+        new ReviewBucketMigrator(database, settings.bucketSize()).migrate(settings.migrationBatchSize(), afterBookId,
+                (bookId, migrated) -> {
+                    checkpoints.save(JOB_ID, fingerprint, bookId, false);
+                    task.progress(migrated);
+                });
+        checkpoints.save(JOB_ID, fingerprint, null, true);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+/**
+ * How reviews are stored.
+ *
+ * <ul>
+ *   <li>{@code document} — one document per review in {@code reviews} (default).</li>
+ *   <li>{@code bucket} — BUCKET PATTERN: reviews are packed into per-book
+ *       documents in {@code review_buckets}, each holding up to
+ *       {@link #bucketSize()} reviews plus precomputed {@code count}/{@code sum}/
+ *       {@code min}/{@code max}.</li>
+ * </ul>
+ */
+@ConfigMapping(prefix = "library.reviews.storage")
+public interface ReviewStorageSettings {
+
+    @WithDefault("document")
+    Layout layout();
+
+    /** Maximum number of reviews per bucket document. */
+    @WithDefault("50")
+    int bucketSize();
+
+    /** Copy {@code reviews} into {@code review_buckets} at startup when the bucket collection is empty. */
+    @WithDefault("false")
+    boolean migrateOnStart();
+
+    /** Number of buckets written per {@code insertMany} by the migration. */
+    @WithDefault("500")
+    int migrationBatchSize();
+
+    enum Layout {
+        DOCUMENT,
+        BUCKET
+    }
+}
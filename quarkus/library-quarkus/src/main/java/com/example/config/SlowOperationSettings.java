@@ -0,0 +1,34 @@
+package com.example.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+
+/**
+ * Client-side slow-operation log: driver commands slower than a threshold are
+ * grouped by query shape (the command with its literals removed), so hot
+ * shapes can be found without turning on the server profiler. Off by
+ * default: turn it on while looking for a slow shape.
+ */
+@ConfigMapping(prefix = "library.diagnostics.slow-ops")
+public interface SlowOperationSettings {
+
+    @WithDefault("false")
+    boolean enabled();
+
+    /** Commands faster than this are not recorded. */
+    @WithDefault("100ms")
+    Duration threshold();
+
+    /**
+     * Fraction of commands whose shape and truncated sample are kept until they
+     * complete (the cost of the recorder); only those can be recorded when slow.
+     */
+    @WithDefault("0.1")
+    double sampleRate();
+
+    /** Shapes reported, by total time; twice as many are tracked before the slowest are kept. */
+    @WithDefault("50")
+    int maxShapes();
+}
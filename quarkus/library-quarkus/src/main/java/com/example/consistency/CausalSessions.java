@@ -0,0 +1,67 @@
+package com.example.consistency;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import io.quarkus.arc.Arc;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Causally consistent sessions for read-your-writes flows. A request that
+ * writes something its client will read back (see {@code ReviewService.create})
+ * calls {@link #begin()}; the repositories run their calls in
+ * {@link #current()} when there is one, and {@link CausalTokenFilter} returns
+ * the session's {@link CausalToken}. A later request that presents the token
+ * resumes from that point in time, so its reads, even from a lagging
+ * secondary, wait until they include the write.
+ *
+ * <p>Blocking client only; outside a request there is never a session.
+ */
+@ApplicationScoped
+public class CausalSessions {
+
+    private static final ClientSessionOptions CAUSAL = ClientSessionOptions.builder().causallyConsistent(true).build();
+
+    @Inject
+    MongoClient client;
+
+    @Inject
+    RequestSession requestSession;
+
+    /** The session of the current request, or {@code null} if none was started. */
+    public ClientSession current() {
+        return Arc.container().requestContext().isActive() ? requestSession.get() : null;
+    }
+
+    /** The session of the current request, started if needed; {@code null} outside a request. */
+    public ClientSession begin() {
+        if (!Arc.container().requestContext().isActive()) {
+            return null;
+        }
+        ClientSession session = requestSession.get();
+        if (session == null) {
+            session = client.startSession(CAUSAL);
+            requestSession.set(session);
+        }
+        return session;
+    }
+
+    /** Begins the request's session at the point in time of {@code token}. */
+    void resume(CausalToken token) {
+        ClientSession session = begin();
+        if (token.clusterTime() != null) {
+            session.advanceClusterTime(token.clusterTime());
+        }
+        session.advanceOperationTime(token.operationTime());
+    }
+
+    /** What the current session has observed, or {@code null} if it has not run anything. */
+    CausalToken token() {
+        ClientSession session = current();
+        if (session == null || session.getOperationTime() == null) {
+            return null;
+        }
+        return new CausalToken(session.getOperationTime(), session.getClusterTime());
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.consistency;
+
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+import java.util.Base64;
+
+/**
+ * The point in time a client has observed: the operation time of its last
+ * write and the (signed) cluster time gossiped with it. Travels as an opaque
+ * URL-safe Base64 string of the BSON document
+ * {@code {operationTime, clusterTime}}.
+ */
+public record CausalToken(BsonTimestamp operationTime, BsonDocument clusterTime) {
+
+    public String encode() {
+        BsonDocument token = new BsonDocument("operationTime", operationTime);
+        if (clusterTime != null) {
+            token.append("clusterTime", clusterTime);
+        }
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        new BsonDocumentCodec().encode(new BsonBinaryWriter(buffer), token, EncoderContext.builder().build());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.toByteArray());
+    }
+
+    /** @throws IllegalArgumentException if {@code encoded} was not produced by {@link #encode()} */
+    public static CausalToken decode(String encoded) {
+        try {
+            RawBsonDocument token = new RawBsonDocument(Base64.getUrlDecoder().decode(encoded));
+            BsonValue operationTime = token.get("operationTime");
+            BsonValue clusterTime = token.get("clusterTime");
+            if (operationTime == null || !operationTime.isTimestamp()
+                    || clusterTime != null && !clusterTime.isDocument()) {
+                throw new IllegalArgumentException("Not a causal consistency token");
+            }
+            return new CausalToken(operationTime.asTimestamp(), clusterTime != null ? clusterTime.asDocument() : null);
+        } catch (RuntimeException e) {
+            throw e instanceof IllegalArgumentException illegal ? illegal : new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.consistency;
+
+import com.example.exception.ApiError;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.ServerResponseFilter;
+
+/**
+ * Carries {@link CausalToken}s over HTTP in {@value #HEADER}: responses of
+ * requests that ran in a causally consistent session return one, requests
+ * that send one back resume from it. A token that cannot be decoded answers
+ * {@code 400}.
+ */
+public class CausalTokenFilter {
+
+    public static final String HEADER = "X-Causal-Token";
+
+    @Inject
+    CausalSessions sessions;
+
+    @ServerRequestFilter
+    public Response resume(ContainerRequestContext request) {
+        String token = request.getHeaderString(HEADER);
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            sessions.resume(CausalToken.decode(token.trim()));
+            return null;
+        } catch (IllegalArgumentException e) {
+            ApiError error = ApiError.of(Response.Status.BAD_REQUEST.getStatusCode(), "Bad Request",
+                    HEADER + " must be a token returned by this API");
+            return Response.status(Response.Status.BAD_REQUEST).type(MediaType.APPLICATION_JSON).entity(error).build();
+        }
+    }
+
+    @ServerResponseFilter
+    public void issue(ContainerResponseContext response) {
+        CausalToken token = sessions.token();
+        if (token != null) {
+            response.getHeaders().putSingle(HEADER, token.encode());
+        }
+    }
+}
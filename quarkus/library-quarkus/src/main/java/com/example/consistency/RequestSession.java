@@ -0,0 +1,27 @@
+package com.example.consistency;
+
+import com.mongodb.client.ClientSession;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.RequestScoped;
+
+/** Holds the causally consistent session of the current request, if {@link CausalSessions} started one. */
+@RequestScoped
+public class RequestSession {
+
+    private ClientSession session;
+
+    ClientSession get() {
+        return session;
+    }
+
+    void set(ClientSession session) {
+        this.session = session;
+    }
+
+    @PreDestroy
+    void close() {
+        if (session != null) {
+            session.close();
+        }
+    }
+}
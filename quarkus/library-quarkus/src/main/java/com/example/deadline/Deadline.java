@@ -0,0 +1,30 @@
+package com.example.deadline;
+
+/** The latency budget of one request: when it runs out, and whether the client has gone away. */
+final class Deadline {
+
+    private final String endpoint;
+    private final long expiresAtNanos;
+    private volatile boolean cancelled;
+
+    Deadline(String endpoint, long budgetNanos) {
+        this.endpoint = endpoint;
+        this.expiresAtNanos = System.nanoTime() + budgetNanos;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    long remainingMillis() {
+        return (expiresAtNanos - System.nanoTime()) / 1_000_000;
+    }
+
+    boolean cancelled() {
+        return cancelled;
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.deadline;
+
+import com.example.config.DeadlineSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Response;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.ServerResponseFilter;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Starts the {@link Deadline} of every matched request with the budget of its
+ * path template, cancels it when the connection closes before the response
+ * is sent, and counts requests that ended in {@code 504} as
+ * {@code library.deadline.exceeded} by endpoint.
+ */
+public class DeadlineFilter {
+
+    private final Map<Method, String> templates = new ConcurrentHashMap<>();
+
+    @Inject
+    DeadlineSettings settings;
+
+    @Inject
+    RequestDeadline requestDeadline;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ServerRequestFilter
+    public void start(ResourceInfo resourceInfo, RoutingContext routingContext) {
+        if (!settings.enabled() || resourceInfo.getResourceMethod() == null) {
+            return;
+        }
+        String endpoint = templates.computeIfAbsent(resourceInfo.getResourceMethod(),
+                method -> templateOf(resourceInfo.getResourceClass(), method));
+        Deadline deadline = new Deadline(
+                endpoint, settings.endpoints().getOrDefault(endpoint, settings.defaultBudget()).toNanos());
+        requestDeadline.set(deadline);
+        routingContext.addEndHandler(result -> {
+            if (result.failed()) {
+                deadline.cancel();
+            }
+        });
+    }
+
+    @ServerResponseFilter
+    public void count(ContainerResponseContext response) {
+        Deadline deadline = requestDeadline.get();
+        if (deadline != null && response.getStatus() == Response.Status.GATEWAY_TIMEOUT.getStatusCode()) {
+            registry.counter("library.deadline.exceeded", "endpoint", deadline.endpoint()).increment();
+        }
+    }
+
+    /** {@code /books/{id}} for {@code @Path("/books")} and {@code @Path("/{id}")}, inherited ones included. */
+    static String templateOf(Class<?> resource, Method method) {
+        String template = pathOf(resource, null) + "/" + pathOf(resource, method);
+        return ("/" + template).replaceAll("/+", "/").replaceAll("(.)/$", "$1");
+    }
+
+    private static String pathOf(Class<?> resource, Method method) {
+        for (Class<?> type = resource; type != null; type = type.getSuperclass()) {
+            Path path = method == null ? type.getAnnotation(Path.class) : declaredPath(type, method);
+            if (path != null) {
+                return path.value();
+            }
+        }
+        return "";
+    }
+
+    private static Path declaredPath(Class<?> type, Method method) {
+        try {
+            return type.getDeclaredMethod(method.getName(), method.getParameterTypes()).getAnnotation(Path.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.deadline;
+
+import com.example.exception.DeadlineExceededException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.EstimatedDocumentCountOptions;
+import io.quarkus.arc.Arc;
+import io.quarkus.mongodb.AggregateOptions;
+import io.quarkus.mongodb.FindOptions;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds driver calls by the deadline of the current request. Repositories
+ * wrap the collection of every call made on the request path:
+ * {@code deadlines.bound(collection).find(...)} sets the driver's client-side
+ * operation timeout ({@code timeoutMS}) to what is left of the budget; the
+ * reactive client takes {@code maxTime} through {@link #findOptions()},
+ * {@link #aggregateOptions()} and the count options below. Outside a request
+ * (startup, background jobs) nothing is bound.
+ *
+ * <p>A call that would start after the budget is spent, or after the client
+ * disconnected, fails with {@link DeadlineExceededException} instead.
+ */
+@ApplicationScoped
+public class Deadlines {
+
+    private static final long UNBOUNDED = -1;
+
+    @Inject
+    RequestDeadline requestDeadline;
+
+    public <T> MongoCollection<T> bound(MongoCollection<T> collection) {
+        long remaining = remainingMillis();
+        return remaining == UNBOUNDED ? collection : collection.withTimeout(remaining, TimeUnit.MILLISECONDS);
+    }
+
+    /** {@link #bound(FindOptions)} of new options. */
+    public FindOptions findOptions() {
+        return bound(new FindOptions());
+    }
+
+    public FindOptions bound(FindOptions options) {
+        long remaining = remainingMillis();
+        return remaining == UNBOUNDED ? options : options.maxTime(remaining, TimeUnit.MILLISECONDS);
+    }
+
+    public AggregateOptions aggregateOptions() {
+        AggregateOptions options = new AggregateOptions();
+        long remaining = remainingMillis();
+        return remaining == UNBOUNDED ? options : options.maxTime(remaining, TimeUnit.MILLISECONDS);
+    }
+
+    public CountOptions bound(CountOptions options) {
+        long remaining = remainingMillis();
+        return remaining == UNBOUNDED ? options : options.maxTime(remaining, TimeUnit.MILLISECONDS);
+    }
+
+    public EstimatedDocumentCountOptions estimatedCountOptions() {
+        EstimatedDocumentCountOptions options = new EstimatedDocumentCountOptions();
+        long remaining = remainingMillis();
+        return remaining == UNBOUNDED ? options : options.maxTime(remaining, TimeUnit.MILLISECONDS);
+    }
+
+    private long remainingMillis() {
+        if (!Arc.container().requestContext().isActive()) {
+            return UNBOUNDED;
+        }
+        Deadline deadline = requestDeadline.get();
+        if (deadline == null) {
+            return UNBOUNDED;
+        }
+        if (deadline.cancelled()) {
+            throw new DeadlineExceededException(deadline.endpoint(), "the client closed the connection");
+        }
+        long remaining = deadline.remainingMillis();
+        if (remaining <= 0) {
+            throw new DeadlineExceededException(deadline.endpoint(), "its latency budget is spent");
+        }
+        return remaining;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.deadline;
+
+import jakarta.enterprise.context.RequestScoped;
+
+/** Holds the {@link Deadline} of the current request, set by {@link DeadlineFilter}. */
+@RequestScoped
+public class RequestDeadline {
+
+    private Deadline deadline;
+
+    Deadline get() {
+        return deadline;
+    }
+
+    void set(Deadline deadline) {
+        this.deadline = deadline;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.diagnostics;
+
+import jakarta.enterprise.util.Nonbinding;
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/** Records every method of the bean as a {@link RepositoryOperationEvent}. */
+@InterceptorBinding
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FlightRecorded {
+
+    /** Collection reported when the commands cannot be observed (reactive calls). */
+    @Nonbinding
+    String collection();
+}
@@ -0,0 +1,138 @@
+package com.example.diagnostics;
+
+import com.example.config.PinningSettings;
+import com.example.dto.response.PinningReportResponse;
+import com.example.dto.response.PinningSiteResponse;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.jboss.logging.Logger;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Streams {@code jdk.VirtualThreadPinned} JFR events in-process and aggregates
+ * them by pinning site (the top frames of the pinned thread's stack), so one
+ * can check whether connection-pool waits or driver monitors pin carrier
+ * threads while endpoints run on virtual threads. Each new site is logged once
+ * with its full stack.
+ */
+@ApplicationScoped
+public class PinningMonitor {
+
+    private static final Logger LOG = Logger.getLogger(PinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String OTHER_SITES = "<other>";
+
+    private final PinningSettings settings;
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private final LongAdder events = new LongAdder();
+
+    private volatile RecordingStream stream;
+
+    @Inject
+    PinningMonitor(PinningSettings settings) {
+        this.settings = settings;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!settings.enabled()) {
+            return;
+        }
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(settings.threshold()).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::record);
+        recording.startAsync();
+        stream = recording;
+        LOG.infof("Recording virtual-thread pinning longer than %d ms", settings.threshold().toMillis());
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        RecordingStream recording = stream;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    public PinningReportResponse report() {
+        List<PinningSiteResponse> bySite = sites.entrySet().stream()
+                .map(entry -> entry.getValue().toResponse(entry.getKey()))
+                .sorted(Comparator.comparingDouble(PinningSiteResponse::totalMs).reversed())
+                .toList();
+        double totalMs = bySite.stream().mapToDouble(PinningSiteResponse::totalMs).sum();
+        return new PinningReportResponse(
+                settings.enabled(), settings.threshold().toMillis(), events.sum(), totalMs, bySite);
+    }
+
+    public void reset() {
+        sites.clear();
+        events.reset();
+    }
+
+    private void record(RecordedEvent event) {
+        events.increment();
+        String key = siteOf(event.getStackTrace());
+        if (!sites.containsKey(key) && sites.size() >= settings.maxSites()) {
+            key = OTHER_SITES;
+        }
+        Site site = sites.computeIfAbsent(key, newKey -> {
+            LOG.warnf("Virtual thread pinned for %d ms at%n%s",
+                    event.getDuration().toMillis(), fullStack(event.getStackTrace()));
+            return new Site();
+        });
+        site.add(event.getDuration().toNanos());
+    }
+
+    private String siteOf(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return OTHER_SITES;
+        }
+        return stackTrace.getFrames().stream()
+                .limit(settings.stackDepth())
+                .map(PinningMonitor::frameOf)
+                .collect(Collectors.joining(" <- "));
+    }
+
+    private static String fullStack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t<no stack trace>";
+        }
+        return stackTrace.getFrames().stream()
+                .map(frame -> "\t" + frameOf(frame))
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    private static String frameOf(RecordedFrame frame) {
+        return "%s.%s:%d".formatted(
+                frame.getMethod().getType().getName(), frame.getMethod().getName(), frame.getLineNumber());
+    }
+
+    /** Counters of one pinning site. */
+    private static final class Site {
+
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        synchronized void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        synchronized PinningSiteResponse toResponse(String stack) {
+            return new PinningSiteResponse(stack, count, totalNanos / 1_000_000.0, maxNanos / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.diagnostics;
+
+import com.example.metrics.DriverCommands;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The shape of a driver command: the command with the literals of its
+ * predicates, written values and page bounds replaced by {@code "?"}, and
+ * without the fields the driver adds. Two executions that differ only in the
+ * values they look for (another page, another book id) share a shape; sort
+ * orders, projections, pipeline stages and field paths are kept, since they
+ * decide the plan.
+ *
+ * @param json        the normalized command as relaxed extended JSON
+ * @param fingerprint a short digest of {@code json}
+ */
+record QueryShape(String command, String collection, String json, String fingerprint) {
+
+    private static final BsonString PLACEHOLDER = new BsonString("?");
+
+    /** Per-execution options left once {@link DriverCommands#DRIVER_FIELDS} are removed. */
+    private static final Set<String> EXECUTION_FIELDS = Set.of("maxTimeMS", "cursor", "batchSize", "comment");
+
+    /** Fields whose whole subtree holds application values: filters, updates, inserted documents. */
+    private static final Set<String> LITERAL_CONTEXTS = Set.of(
+            "filter", "query", "q", "u", "update", "$match", "documents");
+
+    /** Page bounds: their value changes with the page, the shape does not. */
+    private static final Set<String> BOUNDS = Set.of("limit", "skip", "$limit", "$skip");
+
+    /** Batches of statements: every distinct statement shape is kept once. */
+    private static final Set<String> BATCHES = Set.of("documents", "updates", "deletes");
+
+    static QueryShape of(String commandName, BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        for (Map.Entry<String, BsonValue> field : command.entrySet()) {
+            String key = field.getKey();
+            if (DriverCommands.DRIVER_FIELDS.contains(key) || EXECUTION_FIELDS.contains(key)) {
+                continue;
+            }
+            BsonValue value = field.getValue();
+            if (key.equals(commandName)) {
+                // {find: "books"} keeps the collection; {getMore: <cursor id>} does not.
+                shape.put(key, value.isString() ? value : PLACEHOLDER);
+            } else {
+                shape.put(key, normalize(key, value, false));
+            }
+        }
+        String json = shape.toJson();
+        String collection = DriverCommands.collectionOf(commandName, command);
+        return new QueryShape(commandName, collection != null ? collection : DriverCommands.NO_COLLECTION,
+                json, fingerprint(json));
+    }
+
+    private static BsonValue normalize(String key, BsonValue value, boolean inLiterals) {
+        boolean literals = inLiterals || LITERAL_CONTEXTS.contains(key);
+        if (value.isDocument()) {
+            BsonDocument normalized = new BsonDocument();
+            value.asDocument().forEach((name, nested) -> normalized.put(name, normalize(name, nested, literals)));
+            return normalized;
+        }
+        if (value.isArray()) {
+            return normalize(key, value.asArray(), literals);
+        }
+        if (BOUNDS.contains(key)) {
+            return PLACEHOLDER;
+        }
+        boolean fieldPath = value.isString() && value.asString().getValue().startsWith("$");
+        return literals && !fieldPath ? PLACEHOLDER : value;
+    }
+
+    private static BsonValue normalize(String key, BsonArray array, boolean literals) {
+        if (literals && array.stream().noneMatch(BsonValue::isDocument)) {
+            // {$in: [...]} of any length is one shape.
+            return new BsonArray(List.of(PLACEHOLDER));
+        }
+        if (BATCHES.contains(key)) {
+            Set<BsonValue> distinct = new LinkedHashSet<>();
+            array.forEach(element -> distinct.add(normalize(key, element, literals)));
+            return new BsonArray(List.copyOf(distinct));
+        }
+        BsonArray normalized = new BsonArray();
+        array.forEach(element -> normalized.add(normalize(key, element, literals)));
+        return normalized;
+    }
+
+    private static String fingerprint(String json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
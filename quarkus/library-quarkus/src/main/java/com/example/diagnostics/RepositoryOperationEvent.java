@@ -0,0 +1,44 @@
+package com.example.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call of a {@link FlightRecorded} repository method. Disabled unless a
+ * recording turns it on (see {@code src/main/jfr/library.jfc}); when off, the
+ * interceptor does nothing beyond checking {@link #isEnabled()}.
+ */
+@Name("com.example.RepositoryOperation")
+@Label("Repository Operation")
+@Category({"Library", "MongoDB"})
+@Description("A repository method and the MongoDB replies it received")
+@Enabled(false)
+@StackTrace(false)
+class RepositoryOperationEvent extends Event {
+
+    @Label("Operation")
+    @Description("Repository class and method, e.g. BookRepository.findPage")
+    String operation;
+
+    @Label("Collection")
+    @Description("Collections the commands targeted, or the repository's collection when they are not observed")
+    String collection;
+
+    @Label("Documents Returned")
+    @Description("Documents in the cursor batches of the replies; reactive calls count the items emitted")
+    long docsReturned;
+
+    @Label("Bytes Decoded")
+    @Description("Size of the replies decoded; not measured for reactive calls")
+    @DataAmount
+    long bytesDecoded;
+
+    /** Not recorded: whether {@link #collection} was observed rather than declared. */
+    transient boolean collectionObserved;
+}
@@ -0,0 +1,98 @@
+package com.example.diagnostics;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Wraps {@link FlightRecorded} repository methods in a
+ * {@link RepositoryOperationEvent}. Blocking calls are timed around the call
+ * and collect their replies through {@link RepositoryReplyListener}; reactive
+ * ones get one event per subscription, timed from subscription to
+ * termination, so building the {@code Uni} or {@code Multi} is not recorded.
+ */
+@FlightRecorded(collection = "")
+@Interceptor
+@Priority(Interceptor.Priority.LIBRARY_AFTER)
+public class RepositoryOperationInterceptor {
+
+    @AroundInvoke
+    Object record(InvocationContext context) throws Exception {
+        Class<?> returnType = context.getMethod().getReturnType();
+        if (Uni.class.isAssignableFrom(returnType)) {
+            Uni<?> uni = (Uni<?>) context.proceed();
+            // Each subscription runs the operation again, so each gets its own event.
+            return Uni.createFrom().deferred(() -> {
+                RepositoryOperationEvent event = event(context);
+                if (!event.isEnabled()) {
+                    return uni;
+                }
+                event.begin();
+                return uni
+                        .onItem().invoke(item -> event.docsReturned = itemsIn(item))
+                        .onTermination().invoke(event::commit);
+            });
+        }
+        if (Multi.class.isAssignableFrom(returnType)) {
+            Multi<?> multi = (Multi<?>) context.proceed();
+            return Multi.createFrom().deferred(() -> {
+                RepositoryOperationEvent event = event(context);
+                if (!event.isEnabled()) {
+                    return multi;
+                }
+                event.begin();
+                return multi
+                        .onItem().invoke(item -> event.docsReturned++)
+                        .onTermination().invoke(event::commit);
+            });
+        }
+
+        RepositoryOperationEvent event = event(context);
+        if (!event.isEnabled()) {
+            return context.proceed();
+        }
+        RepositoryOperationEvent outer = RepositoryReplyListener.enter(event);
+        event.begin();
+        try {
+            return context.proceed();
+        } finally {
+            RepositoryReplyListener.exit(outer);
+            event.commit();
+        }
+    }
+
+    private static RepositoryOperationEvent event(InvocationContext context) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        if (event.isEnabled()) {
+            Class<?> repository = beanClass(context.getTarget());
+            event.operation = repository.getSimpleName() + "." + context.getMethod().getName();
+            event.collection = repository.getAnnotation(FlightRecorded.class).collection();
+        }
+        return event;
+    }
+
+    private static long itemsIn(Object item) {
+        if (item instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (item instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return item != null ? 1 : 0;
+    }
+
+    /** The repository class behind the subclass Arc generates to apply interceptors. */
+    private static Class<?> beanClass(Object target) {
+        Class<?> type = target.getClass();
+        while (type.getAnnotation(FlightRecorded.class) == null && type.getSuperclass() != null) {
+            type = type.getSuperclass();
+        }
+        return type;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.diagnostics;
+
+import com.example.metrics.DriverCommands;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.bson.BsonArray;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+/**
+ * Adds the commands and replies of a blocking repository call to its
+ * {@link RepositoryOperationEvent}. The sync driver notifies listeners on the
+ * calling thread, so the event in progress is kept in a thread local; nothing
+ * is measured when no recording has the event enabled.
+ */
+@ApplicationScoped
+public class RepositoryReplyListener implements CommandListener {
+
+    private static final ThreadLocal<RepositoryOperationEvent> CURRENT = new ThreadLocal<>();
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+
+    static RepositoryOperationEvent enter(RepositoryOperationEvent event) {
+        RepositoryOperationEvent outer = CURRENT.get();
+        CURRENT.set(event);
+        return outer;
+    }
+
+    static void exit(RepositoryOperationEvent outer) {
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        RepositoryOperationEvent operation = CURRENT.get();
+        if (operation == null) {
+            return;
+        }
+        String collection = DriverCommands.collectionOf(event.getCommandName(), event.getCommand());
+        if (collection != null) {
+            synchronized (operation) {
+                operation.collection = observed(operation, collection);
+            }
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        RepositoryOperationEvent operation = CURRENT.get();
+        if (operation == null) {
+            return;
+        }
+        BsonDocument reply = event.getResponse();
+        long size = sizeOf(reply);
+        BsonDocument cursor = reply.getDocument("cursor", null);
+        int docs = cursor == null ? 0
+                : cursor.getArray("firstBatch", cursor.getArray("nextBatch", new BsonArray())).size();
+        synchronized (operation) {
+            operation.bytesDecoded += size;
+            operation.docsReturned += docs;
+        }
+    }
+
+    /** The first collection a call touches replaces the declared one; others (archive, buckets) are appended. */
+    private static String observed(RepositoryOperationEvent operation, String collection) {
+        if (!operation.collectionObserved) {
+            operation.collectionObserved = true;
+            return collection;
+        }
+        return ("," + operation.collection + ",").contains("," + collection + ",")
+                ? operation.collection
+                : operation.collection + "," + collection;
+    }
+
+    private static long sizeOf(BsonDocument reply) {
+        if (reply instanceof RawBsonDocument raw) {
+            return raw.getByteBuffer().remaining();
+        }
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        CODEC.encode(new BsonBinaryWriter(buffer), reply, EncoderContext.builder().build());
+        return buffer.getPosition();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One REST request, from the matched resource method to the response; recorded by {@link ResourceRequestFilter}. */
+@Name("com.example.ResourceRequest")
+@Label("Resource Request")
+@Category({"Library", "HTTP"})
+@Description("A REST request served by a resource method")
+@Enabled(false)
+@StackTrace(false)
+class ResourceRequestEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Path")
+    String path;
+
+    @Label("Endpoint")
+    @Description("Resource class and method, e.g. BookResource.findAll")
+    String endpoint;
+
+    @Label("Status")
+    int status;
+}
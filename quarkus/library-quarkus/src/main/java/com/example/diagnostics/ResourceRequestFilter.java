@@ -0,0 +1,48 @@
+package com.example.diagnostics;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Records matched REST requests as {@link ResourceRequestEvent}s, from the
+ * request filter to the response filter. Does nothing unless a recording has
+ * the event enabled.
+ */
+@Provider
+public class ResourceRequestFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String EVENT = ResourceRequestEvent.class.getName();
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        ResourceRequestEvent event = new ResourceRequestEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.begin();
+        request.setProperty(EVENT, event);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (!(request.getProperty(EVENT) instanceof ResourceRequestEvent event)) {
+            return;
+        }
+        event.method = request.getMethod();
+        event.path = request.getUriInfo().getPath();
+        if (resourceInfo.getResourceMethod() != null) {
+            event.endpoint = resourceInfo.getResourceClass().getSimpleName()
+                    + "." + resourceInfo.getResourceMethod().getName();
+        }
+        event.status = response.getStatus();
+        event.commit();
+    }
+}
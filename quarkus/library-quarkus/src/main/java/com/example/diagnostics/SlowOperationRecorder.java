@@ -0,0 +1,186 @@
+package com.example.diagnostics;
+
+import com.example.config.SlowOperationSettings;
+import com.example.dto.response.QueryShapeResponse;
+import com.example.dto.response.SlowOperationReportResponse;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.bson.json.JsonWriterSettings;
+import org.jboss.logging.Logger;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sampled client-side slow-operation log, off by default. A
+ * {@code sample-rate} fraction of driver commands is followed from start to
+ * completion; those that succeed slower than the threshold are grouped by
+ * {@link QueryShape}, e.g. every page of {@code BookRepository.paginate} over
+ * one category is a single shape.
+ *
+ * <p>The command document can only be read while it is being started, so a
+ * sampled command keeps just its shape and a JSON sample cut at
+ * {@value #SAMPLE_MAX_CHARS} characters until it completes, never a copy of
+ * the command: a large {@code insertMany} costs no more than a point read.
+ * Failed commands are dropped.
+ *
+ * <p>Twice {@code max-shapes} shapes are tracked; when full, only the
+ * {@code max-shapes} with the most total time are kept, so a burst of one-off
+ * shapes cannot push out the hot ones. Each new shape is logged once.
+ */
+@ApplicationScoped
+public class SlowOperationRecorder implements CommandListener {
+
+    private static final Logger LOG = Logger.getLogger(SlowOperationRecorder.class);
+    private static final int SAMPLE_MAX_CHARS = 4096;
+    private static final JsonWriterSettings SAMPLE_JSON = JsonWriterSettings.builder()
+            .maxLength(SAMPLE_MAX_CHARS)
+            .build();
+
+    private final SlowOperationSettings settings;
+    private final Map<Integer, Started> started = new ConcurrentHashMap<>();
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder slow = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    @Inject
+    SlowOperationRecorder(SlowOperationSettings settings) {
+        this.settings = settings;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!settings.enabled() || ThreadLocalRandom.current().nextDouble() >= settings.sampleRate()) {
+            return;
+        }
+        sampled.increment();
+        // The event's document is only readable during the callback.
+        started.put(event.getRequestId(), new Started(
+                QueryShape.of(event.getCommandName(), event.getCommand()), event.getCommand().toJson(SAMPLE_JSON)));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Started command = started.remove(event.getRequestId());
+        long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (command != null && nanos >= settings.threshold().toNanos()) {
+            record(command, nanos);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        started.remove(event.getRequestId());
+    }
+
+    public SlowOperationReportResponse report() {
+        List<QueryShapeResponse> top = shapes.values().stream()
+                .map(Shape::toResponse)
+                .sorted(Comparator.comparingDouble(QueryShapeResponse::totalMs).reversed())
+                .limit(settings.maxShapes())
+                .toList();
+        return new SlowOperationReportResponse(settings.enabled(), settings.threshold().toMillis(),
+                settings.sampleRate(), sampled.sum(), slow.sum(), evicted.sum(), top);
+    }
+
+    public void reset() {
+        shapes.clear();
+        sampled.reset();
+        slow.reset();
+        evicted.reset();
+    }
+
+    private void record(Started command, long nanos) {
+        slow.increment();
+        QueryShape queryShape = command.shape();
+        Shape shape = shapes.computeIfAbsent(queryShape.fingerprint(), fingerprint -> {
+            LOG.infof("Slow query shape %s on %s (%d ms): %s", fingerprint, queryShape.collection(),
+                    TimeUnit.NANOSECONDS.toMillis(nanos), queryShape.json());
+            return new Shape(queryShape);
+        });
+        shape.add(nanos, command.sample());
+        if (shapes.size() > 2 * settings.maxShapes()) {
+            prune();
+        }
+    }
+
+    /** Keeps the {@code max-shapes} shapes with the most total time. */
+    private synchronized void prune() {
+        int excess = shapes.size() - settings.maxShapes();
+        if (excess <= settings.maxShapes()) {
+            return;
+        }
+        shapes.values().stream()
+                .sorted(Comparator.comparingLong(Shape::totalNanos))
+                .limit(excess)
+                .toList()
+                .forEach(shape -> {
+                    shapes.remove(shape.queryShape.fingerprint());
+                    evicted.increment();
+                });
+    }
+
+    /** What a sampled command keeps until it completes: its shape and a truncated sample. */
+    private record Started(QueryShape shape, String sample) {
+    }
+
+    /** Latencies of one shape: totals, plus the last {@link #WINDOW} executions for the percentiles. */
+    private static final class Shape {
+
+        private static final int WINDOW = 256;
+
+        private final QueryShape queryShape;
+        private final long[] window = new long[WINDOW];
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private String slowest;
+
+        Shape(QueryShape queryShape) {
+            this.queryShape = queryShape;
+        }
+
+        synchronized void add(long nanos, String sample) {
+            window[(int) (count % WINDOW)] = nanos;
+            count++;
+            totalNanos += nanos;
+            if (nanos >= maxNanos) {
+                maxNanos = nanos;
+                slowest = sample;
+            }
+        }
+
+        synchronized long totalNanos() {
+            return totalNanos;
+        }
+
+        synchronized QueryShapeResponse toResponse() {
+            long[] recent = Arrays.copyOf(window, (int) Math.min(count, WINDOW));
+            Arrays.sort(recent);
+            String sample = slowest.length() >= SAMPLE_MAX_CHARS ? slowest + "..." : slowest;
+            return new QueryShapeResponse(queryShape.fingerprint(), queryShape.command(), queryShape.collection(),
+                    queryShape.json(), count, millis(totalNanos), millis(percentile(recent, 50)),
+                    millis(percentile(recent, 99)), millis(maxNanos), sample);
+        }
+
+        private static long percentile(long[] sorted, int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, index)];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.dto.response;
+
+public record AuthorBookStatsResponse(
+        int totalBooks,
+        long totalPages,
+        double averagePages,
+        int firstYear,
+        int lastYear
+) {
+
+    public static AuthorBookStatsResponse empty() {
+        return new AuthorBookStatsResponse(0, 0, 0.0, 0, 0);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.dto.response;
+
+public record AuthorBooksResponse(
+        AuthorResponse author,
+        AuthorBookStatsResponse stats,
+        CursorPageResponse<BookResponse> books
+) {
+}
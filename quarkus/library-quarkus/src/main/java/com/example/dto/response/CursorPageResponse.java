@@ -0,0 +1,33 @@
+package com.example.dto.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset (cursor) pagination envelope. Instead of a page number the client
+ * passes back {@link #nextCursor} as the {@code after} parameter to fetch the
+ * next page, so every page is an index range scan — no {@code $skip}, and no
+ * total count.
+ *
+ * @param <T> the type of the items in {@link #content}
+ */
+public record CursorPageResponse<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean last
+) {
+
+    /**
+     * Builds a cursor page from a result that was fetched with a limit of
+     * {@code size + 1}: the extra element only signals that another page
+     * exists and is not returned.
+     */
+    public static <T> CursorPageResponse<T> of(List<T> fetched, int size, Function<T, String> cursorOf) {
+        if (fetched.size() <= size) {
+            return new CursorPageResponse<>(fetched, size, null, true);
+        }
+        List<T> content = fetched.subList(0, size);
+        return new CursorPageResponse<>(content, size, cursorOf.apply(content.get(size - 1)), false);
+    }
+}
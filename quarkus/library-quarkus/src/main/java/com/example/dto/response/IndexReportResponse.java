@@ -0,0 +1,11 @@
+package com.example.dto.response;
+
+import java.util.List;
+
+public record IndexReportResponse(
+        int missing,
+        int unused,
+        int redundant,
+        List<IndexUsageResponse> indexes
+) {
+}
@@ -0,0 +1,20 @@
+package com.example.dto.response;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One index of a collection: existing, declared, or both. {@code ops} and
+ * {@code since} come from {@code $indexStats} and are {@code null} when the
+ * index does not exist or stats are not available.
+ */
+public record IndexUsageResponse(
+        String collection,
+        String name,
+        String keys,
+        boolean declared,
+        Long ops,
+        Instant since,
+        List<String> findings
+) {
+}
@@ -0,0 +1,12 @@
+package com.example.dto.response;
+
+import java.util.List;
+
+public record PinningReportResponse(
+        boolean enabled,
+        long thresholdMs,
+        long events,
+        double totalMs,
+        List<PinningSiteResponse> sites
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.dto.response;
+
+/** One place where virtual threads were pinned, identified by its top stack frames. */
+public record PinningSiteResponse(
+        String stack,
+        long events,
+        double totalMs,
+        double maxMs
+) {
+}
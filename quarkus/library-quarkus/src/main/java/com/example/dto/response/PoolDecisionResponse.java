@@ -0,0 +1,11 @@
+package com.example.dto.response;
+
+import java.time.Instant;
+
+public record PoolDecisionResponse(
+        Instant at,
+        int from,
+        int to,
+        String reason
+) {
+}
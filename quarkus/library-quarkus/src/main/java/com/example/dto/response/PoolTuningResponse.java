@@ -0,0 +1,13 @@
+package com.example.dto.response;
+
+import java.util.List;
+
+public record PoolTuningResponse(
+        boolean enabled,
+        int limit,
+        int minPermits,
+        int maxPermits,
+        int inUse,
+        List<PoolDecisionResponse> decisions
+) {
+}
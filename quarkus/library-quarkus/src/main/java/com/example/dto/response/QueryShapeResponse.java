@@ -0,0 +1,20 @@
+package com.example.dto.response;
+
+/**
+ * One query shape of the slow-operation log: a command with its literals
+ * replaced by {@code "?"}, and the latencies of its recorded executions.
+ * {@code sample} is the slowest execution with its literals intact.
+ */
+public record QueryShapeResponse(
+        String fingerprint,
+        String command,
+        String collection,
+        String shape,
+        long count,
+        double totalMs,
+        double p50Ms,
+        double p99Ms,
+        double maxMs,
+        String sample
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.dto.response;
+
+import java.util.List;
+
+public record SlowOperationReportResponse(
+        boolean enabled,
+        long thresholdMs,
+        double sampleRate,
+        long sampled,
+        long slow,
+        long evictedShapes,
+        List<QueryShapeResponse> shapes
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.exception;
+
+/** A request whose latency budget ran out before its next MongoDB call. */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String endpoint, String reason) {
+        super("%s was abandoned: %s".formatted(endpoint, reason));
+    }
+}
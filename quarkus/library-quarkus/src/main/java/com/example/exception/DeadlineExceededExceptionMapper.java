@@ -0,0 +1,28 @@
+package com.example.exception;
+
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * {@code 504} for requests that ran out of their latency budget, whether
+ * before a driver call ({@link DeadlineExceededException}) or during one
+ * (driver timeouts, via {@link GenericExceptionMapper}).
+ */
+@Provider
+public class DeadlineExceededExceptionMapper implements ExceptionMapper<DeadlineExceededException> {
+
+    @Override
+    public Response toResponse(DeadlineExceededException exception) {
+        return gatewayTimeout(exception.getMessage());
+    }
+
+    static Response gatewayTimeout(String message) {
+        ApiError error = ApiError.of(
+                Response.Status.GATEWAY_TIMEOUT.getStatusCode(),
+                "Gateway Timeout",
+                message
+        );
+        return Response.status(Response.Status.GATEWAY_TIMEOUT).entity(error).build();
+    }
+}
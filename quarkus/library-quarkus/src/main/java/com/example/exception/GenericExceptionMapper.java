@@ -1,5 +1,7 @@
 package com.example.exception;
 
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoOperationTimeoutException;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
@@ -16,6 +18,10 @@ public class GenericExceptionMapper implements ExceptionMapper<Throwable> {
         if (exception instanceof WebApplicationException webException) {
             return webException.getResponse();
         }
+        if (exception instanceof MongoOperationTimeoutException || exception instanceof MongoExecutionTimeoutException) {
+            // The request's deadline (timeoutMS / maxTimeMS) ran out on the server or in the driver.
+            return DeadlineExceededExceptionMapper.gatewayTimeout("The operation exceeded its latency budget.");
+        }
 
         LOG.error("Unhandled exception while processing request", exception);
 
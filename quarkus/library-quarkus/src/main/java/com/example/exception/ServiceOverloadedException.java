@@ -0,0 +1,18 @@
+package com.example.exception;
+
+import java.time.Duration;
+
+/** A call rejected by admission control; the client should retry after {@link #retryAfter()}. */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String workload, Duration retryAfter) {
+        super("Too many concurrent %s requests, retry later".formatted(workload));
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.exception;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+@Provider
+public class ServiceOverloadedExceptionMapper implements ExceptionMapper<ServiceOverloadedException> {
+
+    @Override
+    public Response toResponse(ServiceOverloadedException exception) {
+        ApiError error = ApiError.of(
+                Response.Status.SERVICE_UNAVAILABLE.getStatusCode(),
+                "Service Unavailable",
+                exception.getMessage()
+        );
+        long retryAfterSeconds = Math.max(1, (exception.retryAfter().toMillis() + 999) / 1000);
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                .entity(error)
+                .build();
+    }
+}
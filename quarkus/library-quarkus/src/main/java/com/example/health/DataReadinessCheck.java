@@ -0,0 +1,28 @@
+package com.example.health;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * {@code /q/health/ready} is DOWN until every {@link StartupTask} is done,
+ * with each task's progress as data. Liveness does not depend on it, so the
+ * process is live as soon as it listens.
+ */
+@Readiness
+@ApplicationScoped
+public class DataReadinessCheck implements HealthCheck {
+
+    @Inject
+    StartupTasks startupTasks;
+
+    @Override
+    public HealthCheckResponse call() {
+        HealthCheckResponseBuilder response = HealthCheckResponse.named("data").status(startupTasks.ready());
+        startupTasks.tasks().forEach(task -> response.withData(task.name(), task.describe()));
+        return response.build();
+    }
+}
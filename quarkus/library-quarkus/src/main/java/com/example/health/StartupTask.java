@@ -0,0 +1,78 @@
+package com.example.health;
+
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+
+/**
+ * Progress of one background startup task (seeding, index builds), as
+ * reported by the readiness check. The task's thread updates it; readers see
+ * a consistent enough snapshot through the volatile fields. A failed task is
+ * retried by {@link StartupTasks} and reports when it will run again.
+ */
+public final class StartupTask {
+
+    private static final Logger LOG = Logger.getLogger(StartupTask.class);
+
+    enum State { RUNNING, DONE, FAILED }
+
+    private final String name;
+    private volatile State state = State.RUNNING;
+    private volatile String step = "starting";
+    private volatile long done;
+    private volatile long total;
+    private volatile String failure;
+    private volatile int attempt = 1;
+
+    StartupTask(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** Starts a new step of {@code total} units, e.g. {@code ("reviews", 44)}. */
+    public void step(String step, long total) {
+        this.step = step;
+        this.total = total;
+        this.done = 0;
+        LOG.infof("%s: %s (%d)", name, step, total);
+    }
+
+    public void progress(long done) {
+        this.done = done;
+    }
+
+    public void complete() {
+        state = State.DONE;
+        LOG.infof("%s: done", name);
+    }
+
+    /** Failed during the current step; {@link StartupTasks} runs the task again after {@code retryIn}. */
+    void fail(Throwable cause, Duration retryIn) {
+        failure = "%s (attempt %d, retrying in %d s)".formatted(cause, attempt, retryIn.toSeconds());
+        state = State.FAILED;
+        LOG.errorf(cause, "%s: attempt %d failed during %s, retrying in %d s", name, attempt, step, retryIn.toSeconds());
+    }
+
+    void retry() {
+        attempt++;
+        step("retrying", 0);
+        failure = null;
+        state = State.RUNNING;
+    }
+
+    public boolean isDone() {
+        return state == State.DONE;
+    }
+
+    /** {@code "reviews 20/44"}, {@code "done"} or {@code "failed: ..."}. */
+    String describe() {
+        return switch (state) {
+            case DONE -> "done";
+            case FAILED -> "failed: " + failure;
+            case RUNNING -> total > 0 ? "%s %d/%d".formatted(step, done, total) : step;
+        };
+    }
+}
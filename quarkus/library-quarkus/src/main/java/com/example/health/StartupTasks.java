@@ -0,0 +1,80 @@
+package com.example.health;
+
+import io.quarkus.runtime.ShutdownEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Background work the data depends on after startup. Tasks register on
+ * {@code StartupEvent}, before traffic is accepted, and run on their own
+ * threads; {@link DataReadinessCheck} stays DOWN until all of them are done.
+ *
+ * <p>A task started with {@link #start} that fails is run again after a
+ * backoff that doubles from {@value #INITIAL_BACKOFF_SECONDS} s up to
+ * {@value #MAX_BACKOFF_SECONDS} s, until it succeeds or the application
+ * stops. A failure that passes (MongoDB not reachable yet, an election) then
+ * delays readiness instead of keeping it DOWN until the next restart; the
+ * work must be safe to run again after a partial run.
+ */
+@ApplicationScoped
+public class StartupTasks {
+
+    static final long INITIAL_BACKOFF_SECONDS = 1;
+    static final long MAX_BACKOFF_SECONDS = 60;
+
+    private final List<StartupTask> tasks = new CopyOnWriteArrayList<>();
+    private volatile boolean stopped;
+
+    public StartupTask register(String name) {
+        StartupTask task = new StartupTask(name);
+        tasks.add(task);
+        return task;
+    }
+
+    /** Registers {@code name} and runs {@code work} on a daemon thread until it succeeds, retrying as above. */
+    public StartupTask start(String name, Consumer<StartupTask> work) {
+        StartupTask task = register(name);
+        Thread.ofPlatform().name("startup-" + name).daemon(true).start(() -> runUntilDone(task, work));
+        return task;
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        stopped = true;
+    }
+
+    public List<StartupTask> tasks() {
+        return List.copyOf(tasks);
+    }
+
+    public boolean ready() {
+        return tasks.stream().allMatch(StartupTask::isDone);
+    }
+
+    private void runUntilDone(StartupTask task, Consumer<StartupTask> work) {
+        Duration backoff = Duration.ofSeconds(INITIAL_BACKOFF_SECONDS);
+        while (!stopped) {
+            try {
+                work.accept(task);
+                task.complete();
+                return;
+            } catch (RuntimeException e) {
+                task.fail(e, backoff);
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoff = backoff.multipliedBy(2).compareTo(Duration.ofSeconds(MAX_BACKOFF_SECONDS)) > 0
+                    ? Duration.ofSeconds(MAX_BACKOFF_SECONDS)
+                    : backoff.multipliedBy(2);
+            task.retry();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.hedge;
+
+/**
+ * Token bucket shared by all hedged operations: every read deposits
+ * {@code ratio} of a token, every hedge spends one. The balance is capped so
+ * a quiet period cannot save up for a burst of hedges.
+ */
+final class HedgeBudget {
+
+    private static final double MAX_BALANCE = 10;
+
+    private final double ratio;
+    private double balance;
+
+    HedgeBudget(double ratio) {
+        this.ratio = ratio;
+    }
+
+    synchronized void deposit() {
+        balance = Math.min(MAX_BALANCE, balance + ratio);
+    }
+
+    /** Whether a hedge could be paid for now; {@link #tryWithdraw()} decides. */
+    synchronized boolean available() {
+        return balance >= 1;
+    }
+
+    synchronized boolean tryWithdraw() {
+        if (balance < 1) {
+            return false;
+        }
+        balance--;
+        return true;
+    }
+}
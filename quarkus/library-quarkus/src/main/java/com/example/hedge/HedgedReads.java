@@ -0,0 +1,159 @@
+package com.example.hedge;
+
+import com.example.config.HedgingSettings;
+import com.example.consistency.CausalSessions;
+import com.mongodb.MongoOperationTimeoutException;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoCollection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Hedges idempotent point reads against a slow replica set member. With
+ * {@code library.hedging.enabled}, {@link #read} runs the query on the
+ * calling thread with its operation timeout ({@code timeoutMS}) cut to the
+ * operation's rolling p95 (see {@link HedgingSettings}). A read that answers
+ * in time is returned as is. One that does not is cancelled by that timeout,
+ * which also stops it on the server, and, if the {@link HedgeBudget} allows,
+ * the same query is sent again with the hedge read preference; otherwise it
+ * is sent again as it was. Either way the second attempt gets what is left of
+ * the caller's own timeout.
+ *
+ * <p>The first attempt is only cut when a hedge could follow: while the
+ * budget is spent, or the caller's deadline is shorter than the threshold,
+ * reads run untouched. Attempts never overlap, so a hedged read holds the
+ * caller's pool permit and connection, one at a time, and both attempts add
+ * their replies to the caller's {@code RepositoryOperation} event.
+ *
+ * <p>Per {@code operation}, {@code library.hedge.reads}, {@code sent},
+ * {@code wins} (the hedge answered) and {@code suppressed} (the first attempt
+ * was cut, but the budget was spent by then) are counted and
+ * {@code library.hedge.threshold} is the current delay in milliseconds; the
+ * hedge rate is {@code sent / reads}.
+ *
+ * <p>Hedges read with {@code library.hedging.read-preference}, the primary by
+ * default, so they are never staler than the first attempt. A secondary
+ * preference trades that for another member, at most
+ * {@code max-staleness-seconds} behind; reads in a causally consistent
+ * session are then not hedged, as the hedge would not see its writes.
+ */
+@ApplicationScoped
+public class HedgedReads {
+
+    private final HedgingSettings settings;
+    private final CausalSessions sessions;
+    private final MeterRegistry registry;
+    private final ReadPreference hedgePreference;
+    private final HedgeBudget budget;
+    private final long minDelayNanos;
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    @Inject
+    HedgedReads(HedgingSettings settings, CausalSessions sessions, MeterRegistry registry) {
+        this.settings = settings;
+        this.sessions = sessions;
+        this.registry = registry;
+        this.hedgePreference = hedgePreference(settings);
+        this.budget = new HedgeBudget(settings.budget());
+        this.minDelayNanos = settings.minDelay().toNanos();
+    }
+
+    /**
+     * {@code query} applied to {@code collection}, hedged as described above.
+     * {@code query} must be idempotent; bind the deadline into
+     * {@code collection} beforehand, the hedge threshold is cut out of it.
+     */
+    public <T, R> R read(String operation, MongoCollection<T> collection, Function<MongoCollection<T>, R> query) {
+        if (!settings.enabled() || hedgePreference.isSecondaryOk() && sessions.current() != null) {
+            return query.apply(collection);
+        }
+        Operation stats = operations.computeIfAbsent(operation, this::operation);
+        stats.reads().increment();
+        budget.deposit();
+
+        Long timeoutMillis = collection.getTimeout(TimeUnit.MILLISECONDS);
+        long thresholdNanos = stats.thresholdNanos();
+        long thresholdMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(thresholdNanos + 999_999));
+        long start = System.nanoTime();
+        if (thresholdNanos == Long.MAX_VALUE || !budget.available()
+                || timeoutMillis != null && timeoutMillis != 0 && timeoutMillis <= thresholdMillis) {
+            R value = query.apply(collection);
+            stats.latencies().record(System.nanoTime() - start);
+            return value;
+        }
+
+        try {
+            R value = query.apply(collection.withTimeout(thresholdMillis, TimeUnit.MILLISECONDS));
+            stats.latencies().record(System.nanoTime() - start);
+            return value;
+        } catch (MongoOperationTimeoutException cut) {
+            // Slower than the threshold: the sample keeps the threshold from drifting down.
+            stats.latencies().record(System.nanoTime() - start);
+        }
+
+        MongoCollection<T> rest = remainder(collection, timeoutMillis, start);
+        if (!budget.tryWithdraw()) {
+            stats.suppressed().increment();
+            return query.apply(rest);
+        }
+        stats.sent().increment();
+        R value = query.apply(rest.withReadPreference(hedgePreference));
+        stats.wins().increment();
+        return value;
+    }
+
+    /** {@code collection} with what is left of its timeout since {@code start}; unbounded stays unbounded. */
+    private static <T> MongoCollection<T> remainder(MongoCollection<T> collection, Long timeoutMillis, long start) {
+        if (timeoutMillis == null || timeoutMillis == 0) {
+            return collection;
+        }
+        long left = timeoutMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (left <= 0) {
+            throw new MongoOperationTimeoutException("The read used up its timeout before the hedge");
+        }
+        return collection.withTimeout(left, TimeUnit.MILLISECONDS);
+    }
+
+    private static ReadPreference hedgePreference(HedgingSettings settings) {
+        if (settings.maxStalenessSeconds().isEmpty() || settings.readPreference().equals("primary")) {
+            return ReadPreference.valueOf(settings.readPreference());
+        }
+        return ReadPreference.valueOf(
+                settings.readPreference(), List.of(), settings.maxStalenessSeconds().getAsLong(), TimeUnit.SECONDS);
+    }
+
+    private Operation operation(String name) {
+        Operation operation = new Operation(new LatencyWindow(settings.percentile()), minDelayNanos,
+                counter("library.hedge.reads", "Hedgeable reads", name),
+                counter("library.hedge.sent", "Reads that sent a hedge", name),
+                counter("library.hedge.wins", "Hedges that answered", name),
+                counter("library.hedge.suppressed", "Hedges not sent because the budget was spent", name));
+        Gauge.builder("library.hedge.threshold", operation, op -> op.thresholdNanos() / 1e6)
+                .description("Delay after which a read is hedged, in milliseconds")
+                .tag("operation", name)
+                .register(registry);
+        return operation;
+    }
+
+    private Counter counter(String name, String description, String operation) {
+        return Counter.builder(name).description(description).tag("operation", operation).register(registry);
+    }
+
+    private record Operation(LatencyWindow latencies, long minDelayNanos,
+                             Counter reads, Counter sent, Counter wins, Counter suppressed) {
+
+        long thresholdNanos() {
+            long percentile = latencies.percentileNanos();
+            return percentile < 0 ? Long.MAX_VALUE : Math.max(minDelayNanos, percentile);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.hedge;
+
+import java.util.Arrays;
+
+/**
+ * The latencies of the last {@value #SIZE} reads of one operation, with a
+ * percentile that is recomputed every {@value #REFRESH} samples rather than
+ * on every read.
+ */
+final class LatencyWindow {
+
+    static final int SIZE = 512;
+    private static final int REFRESH = 32;
+
+    private final double percentile;
+    private final long[] samples = new long[SIZE];
+    private int count;
+    private int next;
+    private volatile long percentileNanos = -1;
+
+    LatencyWindow(double percentile) {
+        this.percentile = percentile;
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % SIZE;
+        count = Math.min(count + 1, SIZE);
+        if (count >= REFRESH && next % REFRESH == 0) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            percentileNanos = sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+        }
+    }
+
+    /** The percentile of the window, or {@code -1} until {@value #REFRESH} reads were recorded. */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.index;
+
+/** One declared index: where it lives, its keys, and the class that declared it. */
+public record IndexDefinition(String collection, IndexKeys keys, boolean unique, String declaredBy) {
+
+    @Override
+    public String toString() {
+        return collection + " " + keys + (unique ? " unique" : "");
+    }
+}
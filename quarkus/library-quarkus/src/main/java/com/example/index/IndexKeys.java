@@ -0,0 +1,78 @@
+package com.example.index;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ordered key pattern of an index as {@code field:direction} terms, e.g.
+ * {@code [bookId:1, createdAt:-1]}. Compared in order, unlike a
+ * {@code Document}, since {@code {a:1, b:1}} and {@code {b:1, a:1}} are
+ * different indexes.
+ */
+public record IndexKeys(List<String> terms) {
+
+    /** From {@link MongoIndex#keys()}: {@code "-createdAt"} is descending. */
+    static IndexKeys declared(String[] keys) {
+        List<String> terms = new ArrayList<>(keys.length);
+        for (String key : keys) {
+            terms.add(key.startsWith("-") ? key.substring(1) + ":-1" : key + ":1");
+        }
+        return new IndexKeys(List.copyOf(terms));
+    }
+
+    /** From the {@code key} document of {@code listIndexes} or {@code $indexStats}. */
+    static IndexKeys of(Document key) {
+        List<String> terms = new ArrayList<>(key.size());
+        // Directions come back as int, long or double depending on who created the index.
+        key.forEach((field, direction) -> terms.add(field + ":"
+                + (direction instanceof Number number ? Integer.toString(number.intValue()) : direction)));
+        return new IndexKeys(List.copyOf(terms));
+    }
+
+    /** The key pattern, as {@code createIndex} takes it. */
+    public Document toDocument() {
+        Document key = new Document();
+        for (String term : terms) {
+            int separator = term.lastIndexOf(':');
+            String direction = term.substring(separator + 1);
+            key.append(term.substring(0, separator), isNumeric(direction) ? Integer.parseInt(direction) : direction);
+        }
+        return key;
+    }
+
+    /**
+     * Whether every query this index serves is served as well by {@code other}:
+     * the terms are a leading prefix of {@code other}'s, in the same or in all
+     * reversed directions (an index can be walked backwards). Text, hashed and
+     * other special indexes never cover each other.
+     */
+    boolean coveredBy(IndexKeys other) {
+        if (terms.size() > other.terms.size() || !terms.stream().allMatch(IndexKeys::isOrdered)) {
+            return false;
+        }
+        List<String> prefix = other.terms.subList(0, terms.size());
+        return terms.equals(prefix) || reversed().terms.equals(prefix);
+    }
+
+    IndexKeys reversed() {
+        return new IndexKeys(terms.stream()
+                .map(term -> term.endsWith(":-1") ? term.substring(0, term.length() - 2) + "1"
+                        : term.substring(0, term.length() - 1) + "-1")
+                .toList());
+    }
+
+    @Override
+    public String toString() {
+        return "{" + String.join(", ", terms) + "}";
+    }
+
+    private static boolean isOrdered(String term) {
+        return term.endsWith(":1") || term.endsWith(":-1");
+    }
+
+    private static boolean isNumeric(String direction) {
+        return direction.matches("-?\\d+");
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.index;
+
+import com.example.config.IndexSettings;
+import com.example.dto.response.IndexReportResponse;
+import com.example.dto.response.IndexUsageResponse;
+import com.example.health.StartupTask;
+import com.example.health.StartupTasks;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.jboss.logging.Logger;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reconciles the {@link IndexRegistry} with the indexes that exist.
+ *
+ * <p>At startup, declared indexes that are missing are built on a background
+ * thread, one after the other, so startup never waits for a build and the
+ * server only runs one build at a time (queries keep working meanwhile, just
+ * without the new index). The {@code indexes} {@link StartupTask} reports the
+ * builds and keeps the readiness check DOWN until they are done. Indexes are
+ * never dropped: existing indexes that are
+ * unused according to {@code $indexStats}, redundant with another index, or
+ * not declared are reported in the log and by {@link #report()}.
+ */
+@ApplicationScoped
+public class IndexReconciler {
+
+    private static final Logger LOG = Logger.getLogger(IndexReconciler.class);
+    private static final String ID_INDEX = "_id_";
+
+    static final String MISSING = "missing";
+    static final String UNUSED = "unused";
+    static final String REDUNDANT = "redundant";
+    static final String UNDECLARED = "undeclared";
+
+    private final MongoDatabase database;
+    private final IndexRegistry registry;
+    private final IndexSettings settings;
+    private final StartupTasks startupTasks;
+
+    private volatile boolean stopped;
+
+    @Inject
+    IndexReconciler(MongoDatabase database, IndexRegistry registry, IndexSettings settings,
+                    StartupTasks startupTasks) {
+        this.database = database;
+        this.registry = registry;
+        this.settings = settings;
+        this.startupTasks = startupTasks;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!settings.reconcile()) {
+            return;
+        }
+        startupTasks.start("indexes", this::reconcile);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        stopped = true;
+    }
+
+    /**
+     * Declared indexes with no existing index of the same key pattern and
+     * options: a non-unique index does not enforce a declared {@code unique},
+     * and a sparse or partial one does not serve every query.
+     */
+    public List<IndexDefinition> missing() {
+        List<IndexDefinition> missing = new ArrayList<>();
+        Map<String, List<ExistingIndex>> existing = new HashMap<>();
+        for (IndexDefinition index : registry.declared()) {
+            boolean exists = existing.computeIfAbsent(index.collection(), this::existingIndexes).stream()
+                    .anyMatch(candidate -> candidate.matches(index));
+            if (!exists) {
+                missing.add(index);
+            }
+        }
+        return missing;
+    }
+
+    public IndexReportResponse report() {
+        List<IndexUsageResponse> indexes = new ArrayList<>();
+        for (String collection : registry.collections()) {
+            indexes.addAll(report(collection));
+        }
+        return new IndexReportResponse(
+                count(indexes, MISSING), count(indexes, UNUSED), count(indexes, REDUNDANT), indexes);
+    }
+
+    private void reconcile(StartupTask task) {
+        task.step("listing indexes", 0);
+        List<IndexDefinition> missing = missing();
+        if (missing.isEmpty() || !settings.createMissing()) {
+            missing.forEach(index -> LOG.warnf("Declared index %s (%s) does not exist", index, index.declaredBy()));
+            logFindings();
+            return;
+        }
+        task.step("building", missing.size());
+        for (int i = 0; i < missing.size() && !stopped; i++) {
+            IndexDefinition index = missing.get(i);
+            ExistingIndex conflicting = conflicting(index);
+            if (conflicting != null) {
+                // createIndex would fail: the server keeps one index per key pattern.
+                LOG.warnf("Declared index %s (%s) exists as %s with other options; drop it to have it rebuilt",
+                        index, index.declaredBy(), conflicting);
+                task.progress(i + 1);
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                database.getCollection(index.collection())
+                        .createIndex(index.keys().toDocument(), new IndexOptions().unique(index.unique()));
+                LOG.infof("Built index %s in %d ms", index, (System.nanoTime() - start) / 1_000_000);
+            } catch (MongoException e) {
+                LOG.errorf(e, "Could not build index %s declared by %s", index, index.declaredBy());
+            }
+            task.progress(i + 1);
+        }
+        if (!stopped) {
+            logFindings();
+        }
+    }
+
+    private void logFindings() {
+        for (IndexUsageResponse index : report().indexes()) {
+            if (!index.findings().isEmpty()) {
+                LOG.warnf("Index %s %s on %s: %s",
+                        Objects.requireNonNullElse(index.name(), "(not built)"), index.keys(), index.collection(),
+                        String.join(", ", index.findings()));
+            }
+        }
+    }
+
+    private List<IndexUsageResponse> report(String collection) {
+        List<IndexDefinition> declared = registry.declared().stream()
+                .filter(index -> index.collection().equals(collection))
+                .toList();
+        List<ExistingIndex> existing = existingIndexes(collection);
+        Map<String, Usage> usage = usage(collection);
+        Instant usedSince = Instant.now().minus(settings.unusedAfter());
+
+        List<IndexUsageResponse> report = new ArrayList<>();
+        for (ExistingIndex index : existing) {
+            boolean isDeclared = index.name().equals(ID_INDEX) || declared.stream().anyMatch(index::matches);
+            Usage used = usage.get(index.name());
+
+            List<String> findings = new ArrayList<>();
+            existing.stream()
+                    .filter(other -> other != index && index.redundantWith(other))
+                    .findFirst()
+                    .ifPresent(other -> findings.add(REDUNDANT + " with " + other.name()));
+            if (used != null && used.ops() == 0 && used.since().isBefore(usedSince) && !index.name().equals(ID_INDEX)) {
+                findings.add(UNUSED + " since " + used.since());
+            }
+            if (!isDeclared) {
+                findings.add(UNDECLARED);
+            }
+            report.add(new IndexUsageResponse(collection, index.name(), index.keys().toString(), isDeclared,
+                    used != null ? used.ops() : null, used != null ? used.since() : null, findings));
+        }
+        for (IndexDefinition index : declared) {
+            if (existing.stream().noneMatch(candidate -> candidate.matches(index))) {
+                String finding = existing.stream()
+                        .filter(candidate -> candidate.keys().equals(index.keys()))
+                        .findFirst()
+                        .map(other -> MISSING + ", " + other.name() + " has the keys with other options")
+                        .orElse(MISSING);
+                report.add(new IndexUsageResponse(
+                        collection, null, index.keys().toString(), true, null, null, List.of(finding)));
+            }
+        }
+        return report;
+    }
+
+    private ExistingIndex conflicting(IndexDefinition index) {
+        return existingIndexes(index.collection()).stream()
+                .filter(candidate -> candidate.keys().equals(index.keys()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private List<ExistingIndex> existingIndexes(String collection) {
+        return database.getCollection(collection).listIndexes()
+                .map(ExistingIndex::of)
+                .into(new ArrayList<>());
+    }
+
+    /** Accesses per index name, summed over the hosts {@code $indexStats} reports. */
+    private Map<String, Usage> usage(String collection) {
+        MongoCollection<Document> target = database.getCollection(collection);
+        Map<String, Usage> usage = new HashMap<>();
+        try {
+            for (Document stats : target.aggregate(List.of(new Document("$indexStats", new Document())))) {
+                Document accesses = stats.get("accesses", Document.class);
+                Usage host = new Usage(
+                        ((Number) accesses.get("ops")).longValue(), accesses.getDate("since").toInstant());
+                usage.merge(stats.getString("name"), host, Usage::merge);
+            }
+        } catch (MongoException e) {
+            LOG.debugf("$indexStats not available on %s: %s", collection, e.getMessage());
+        }
+        return usage;
+    }
+
+    private static int count(List<IndexUsageResponse> indexes, String finding) {
+        return (int) indexes.stream()
+                .filter(index -> index.findings().stream().anyMatch(f -> f.startsWith(finding)))
+                .count();
+    }
+
+    private record Usage(long ops, Instant since) {
+
+        Usage merge(Usage other) {
+            return new Usage(ops + other.ops, since.isBefore(other.since) ? since : other.since);
+        }
+    }
+
+    /** An index as {@code listIndexes} describes it, with the options that decide what it can replace. */
+    private record ExistingIndex(String name, IndexKeys keys, boolean unique, boolean filtered, Object collation) {
+
+        static ExistingIndex of(Document spec) {
+            boolean filtered = spec.getBoolean("sparse", false) || spec.containsKey("partialFilterExpression");
+            return new ExistingIndex(spec.getString("name"), IndexKeys.of(spec.get("key", Document.class)),
+                    spec.getBoolean("unique", false), filtered, spec.get("collation"));
+        }
+
+        /** Whether this is the declared index: same keys, uniqueness, no filter and the default collation. */
+        boolean matches(IndexDefinition declared) {
+            return keys.equals(declared.keys()) && unique == declared.unique() && !filtered && collation == null;
+        }
+
+        @Override
+        public String toString() {
+            return name + " " + keys + (unique ? " unique" : "") + (filtered ? " filtered" : "")
+                    + (collation != null ? " collation " + collation : "");
+        }
+
+        /**
+         * Whether {@code other} serves every query this index serves. Unique
+         * and filtered indexes do more than speed up queries and are kept.
+         */
+        boolean redundantWith(ExistingIndex other) {
+            if (name.equals(ID_INDEX) || unique || filtered || other.filtered
+                    || !Objects.equals(collation, other.collation)) {
+                return false;
+            }
+            // Of two identical patterns (e.g. {a:1} and {a:-1}) only the later-named one is reported.
+            if (keys.terms().size() == other.keys.terms().size() && !other.unique && name.compareTo(other.name) < 0) {
+                return false;
+            }
+            return keys.coveredBy(other.keys);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.index;
+
+import io.quarkus.mongodb.panache.common.MongoEntity;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.Config;
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationTarget;
+import org.jboss.jandex.CompositeIndex;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Every index the application needs, read from the {@link MongoIndex}
+ * declarations of the classes in the Jandex index that the
+ * {@code jandex-maven-plugin} writes at build time, so a class declaring its
+ * first index needs no registration. Declarations whose
+ * {@link MongoIndex#ifProperty()} does not match the configuration (e.g. the
+ * bucket indexes with the document layout) are left out.
+ */
+@ApplicationScoped
+public class IndexRegistry {
+
+    static final String JANDEX_INDEX = "META-INF/jandex.idx";
+    private static final DotName MONGO_INDEX = DotName.createSimple(MongoIndex.class);
+    private static final DotName MONGO_INDEXES = DotName.createSimple(MongoIndexes.class);
+
+    private final List<IndexDefinition> declared;
+
+    /** The declarations that apply to {@code config}; outside the container, pass the app's configuration. */
+    @Inject
+    public IndexRegistry(Config config) {
+        List<IndexDefinition> definitions = new ArrayList<>();
+        for (Class<?> type : declaringClasses(Thread.currentThread().getContextClassLoader())) {
+            for (MongoIndex index : type.getAnnotationsByType(MongoIndex.class)) {
+                if (applies(index, config)) {
+                    definitions.add(new IndexDefinition(
+                            collectionOf(index, type), IndexKeys.declared(index.keys()), index.unique(), type.getSimpleName()));
+                }
+            }
+        }
+        this.declared = List.copyOf(definitions);
+    }
+
+    public List<IndexDefinition> declared() {
+        return declared;
+    }
+
+    public List<String> collections() {
+        return declared.stream().map(IndexDefinition::collection).distinct().toList();
+    }
+
+    /**
+     * Classes annotated with {@link MongoIndex}, or with its container when
+     * they repeat it, in every build-time index on the class path, by name.
+     */
+    static List<Class<?>> declaringClasses(ClassLoader loader) {
+        IndexView index = buildTimeIndex(loader);
+        return Stream.of(MONGO_INDEX, MONGO_INDEXES)
+                .flatMap(name -> index.getAnnotations(name).stream())
+                .map(AnnotationInstance::target)
+                .filter(target -> target.kind() == AnnotationTarget.Kind.CLASS)
+                .map(target -> target.asClass().name().toString())
+                .distinct()
+                .sorted()
+                .<Class<?>>map(name -> load(name, loader))
+                .toList();
+    }
+
+    private static IndexView buildTimeIndex(ClassLoader loader) {
+        List<IndexView> indexes = new ArrayList<>();
+        try {
+            for (URL resource : Collections.list(loader.getResources(JANDEX_INDEX))) {
+                try (InputStream in = resource.openStream()) {
+                    indexes.add(new IndexReader(in).read());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + JANDEX_INDEX, e);
+        }
+        if (indexes.isEmpty()) {
+            throw new IllegalStateException(
+                    JANDEX_INDEX + " is not on the class path; the jandex-maven-plugin writes it at build time");
+        }
+        return CompositeIndex.create(indexes);
+    }
+
+    private static Class<?> load(String name, ClassLoader loader) {
+        try {
+            return Class.forName(name, false, loader);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("@MongoIndex class " + name + " is indexed but cannot be loaded", e);
+        }
+    }
+
+    private static boolean applies(MongoIndex index, Config config) {
+        if (index.ifProperty().isEmpty()) {
+            return true;
+        }
+        return config.getOptionalValue(index.ifProperty(), String.class)
+                .map(value -> value.equalsIgnoreCase(index.havingValue()))
+                .orElse(false);
+    }
+
+    private static String collectionOf(MongoIndex index, Class<?> type) {
+        if (!index.collection().isEmpty()) {
+            return index.collection();
+        }
+        MongoEntity entity = type.getAnnotation(MongoEntity.class);
+        if (entity == null || entity.collection().isEmpty()) {
+            throw new IllegalStateException(
+                    "@MongoIndex on " + type.getName() + " needs a collection: it is not a @MongoEntity with one");
+        }
+        return entity.collection();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.index;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares an index the application relies on. Put it on the entity of the
+ * collection, or on the repository that owns a collection without an entity
+ * (with {@link #collection()} set). {@link IndexReconciler} creates declared
+ * indexes that are missing at startup.
+ *
+ * <pre>
+ * &#64;MongoIndex(keys = {"bookId", "-createdAt", "-_id"})
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Repeatable(MongoIndexes.class)
+public @interface MongoIndex {
+
+    /** Key fields in order; a leading {@code -} makes a field descending. */
+    String[] keys();
+
+    /** Collection of the index; defaults to the {@code @MongoEntity} collection of the annotated class. */
+    String collection() default "";
+
+    boolean unique() default false;
+
+    /** Config property that must equal {@link #havingValue()} for the index to be needed; empty means always. */
+    String ifProperty() default "";
+
+    String havingValue() default "true";
+}
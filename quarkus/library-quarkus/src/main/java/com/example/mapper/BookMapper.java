@@ -1,7 +1,10 @@
 package com.example.mapper;
 
+import com.example.config.PageCategorySettings;
 import com.example.dto.request.BookRequest;
+import com.example.dto.response.BookCategoryResponse;
 import com.example.dto.response.BookResponse;
+import com.example.model.entity.AuthorRef;
 import com.example.model.entity.Book;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -12,10 +15,13 @@ import java.util.List;
 public class BookMapper {
 
     private final ReviewMapper reviewMapper;
+    private final PageCategorySettings pageCategorySettings;
 
+    /** Public so that tools outside the container, like the playground benchmarks, can build one. */
     @Inject
-    BookMapper(ReviewMapper reviewMapper) {
+    public BookMapper(ReviewMapper reviewMapper, PageCategorySettings pageCategorySettings) {
         this.reviewMapper = reviewMapper;
+        this.pageCategorySettings = pageCategorySettings;
     }
 
     public Book toEntity(BookRequest request) {
@@ -28,7 +34,22 @@ public class BookMapper {
         book.title = request.title();
         book.pages = request.pages();
         book.year = request.year();
-        book.authors = request.authors();
+        // Extended reference: names only here, ids are resolved by the service.
+        book.authors = request.authors().stream().map(name -> AuthorRef.of(null, name)).toList();
+        // Computed Pattern: the category is derived once, on write, instead of
+        // with a $switch on every read.
+        book.pageCategory = pageCategoryOf(book.pages);
+    }
+
+    public String pageCategoryOf(int pages) {
+        return pageCategorySettings.categoryOf(pages);
+    }
+
+    public List<String> authorNames(List<AuthorRef> authors) {
+        if (authors == null) {
+            return List.of();
+        }
+        return authors.stream().map(author -> author.name).toList();
     }
 
     public BookResponse toResponse(Book book) {
@@ -37,7 +58,7 @@ public class BookMapper {
                 book.title,
                 book.pages,
                 book.year,
-                book.authors,
+                authorNames(book.authors),
                 reviewMapper.toResponseList(book.reviews)
         );
     }
@@ -45,4 +66,19 @@ public class BookMapper {
     public List<BookResponse> toResponseList(List<Book> books) {
         return books.stream().map(this::toResponse).toList();
     }
+
+    public BookCategoryResponse toCategoryResponse(Book book) {
+        return new BookCategoryResponse(
+                book.id,
+                book.title,
+                book.pages,
+                book.year,
+                authorNames(book.authors),
+                book.pageCategory
+        );
+    }
+
+    public List<BookCategoryResponse> toCategoryResponseList(List<Book> books) {
+        return books.stream().map(this::toCategoryResponse).toList();
+    }
 }
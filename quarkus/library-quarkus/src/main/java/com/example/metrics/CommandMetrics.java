@@ -0,0 +1,70 @@
+package com.example.metrics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every command the driver sends, as {@code mongodb.command} tagged with
+ * the command name, the collection it targets and its outcome. Quarkus
+ * registers {@code CommandListener} beans on the client.
+ *
+ * <p>The collection is only part of the started event, so it is kept per
+ * request id until the command completes.
+ */
+@ApplicationScoped
+public class CommandMetrics implements CommandListener {
+
+    private final MeterRegistry registry;
+    private final Map<Integer, String> collections = new ConcurrentHashMap<>();
+    private final Map<Key, Timer> timers = new ConcurrentHashMap<>();
+
+    @Inject
+    CommandMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String collection = DriverCommands.collectionOf(event.getCommandName(), event.getCommand());
+        collections.put(event.getRequestId(), collection != null ? collection : DriverCommands.NO_COLLECTION);
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        record(event.getRequestId(), event.getCommandName(), "success", event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        record(event.getRequestId(), event.getCommandName(), "failure", event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void record(int requestId, String command, String outcome, long nanos) {
+        String collection = collections.remove(requestId);
+        Key key = new Key(command, collection != null ? collection : DriverCommands.NO_COLLECTION, outcome);
+        timers.computeIfAbsent(key, this::timer).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(Key key) {
+        return Timer.builder("mongodb.command")
+                .description("Round trip of MongoDB commands, as seen by the driver")
+                .tag("command", key.command())
+                .tag("collection", key.collection())
+                .tag("outcome", key.outcome())
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private record Key(String command, String collection, String outcome) {
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.metrics;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Saturation of the driver's connection pools, one set of meters per server
+ * ({@code server} tag):
+ * <ul>
+ *   <li>gauges {@code mongodb.pool.size}, {@code mongodb.pool.checked-out},
+ *       {@code mongodb.pool.wait-queue} and {@code mongodb.pool.max-size};</li>
+ *   <li>{@code mongodb.pool.checkout.wait}, how long successful checkouts
+ *       waited for a connection;</li>
+ *   <li>{@code mongodb.pool.checkout.failures} by {@code reason}, where
+ *       {@code timeout} means {@code mongodb.pool.max-wait-time-ms} ran out.</li>
+ * </ul>
+ * Registered on the pool settings by {@code MongoClientConfig}.
+ */
+@ApplicationScoped
+public class ConnectionPoolMetrics implements ConnectionPoolListener {
+
+    private final MeterRegistry registry;
+    private final Map<ServerId, Pool> pools = new ConcurrentHashMap<>();
+
+    @Inject
+    ConnectionPoolMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+        pool(event.getServerId()).maxSize.set(event.getSettings().getMaxSize());
+    }
+
+    @Override
+    public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+        Pool pool = pools.remove(event.getServerId());
+        if (pool != null) {
+            pool.meters.forEach(registry::remove);
+        }
+    }
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        pool(event.getConnectionId().getServerId()).size.incrementAndGet();
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        pool(event.getConnectionId().getServerId()).size.decrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        pool(event.getServerId()).waiting.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        Pool pool = pool(event.getConnectionId().getServerId());
+        pool.waiting.decrementAndGet();
+        pool.checkedOut.incrementAndGet();
+        pool.checkoutWait.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        Pool pool = pool(event.getServerId());
+        pool.waiting.decrementAndGet();
+        pool.failures.computeIfAbsent(event.getReason(), reason -> pool.register(
+                Counter.builder("mongodb.pool.checkout.failures")
+                        .description("Connection checkouts that failed, by reason")
+                        .tags(pool.tags)
+                        .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                        .register(registry)))
+                .increment();
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        pool(event.getConnectionId().getServerId()).checkedOut.decrementAndGet();
+    }
+
+    private Pool pool(ServerId serverId) {
+        return pools.computeIfAbsent(serverId, id -> new Pool(registry, id));
+    }
+
+    private static final class Pool {
+
+        final Tags tags;
+        final AtomicInteger size = new AtomicInteger();
+        final AtomicInteger checkedOut = new AtomicInteger();
+        final AtomicInteger waiting = new AtomicInteger();
+        final AtomicInteger maxSize = new AtomicInteger();
+        final Timer checkoutWait;
+        final Map<ConnectionCheckOutFailedEvent.Reason, Counter> failures = new ConcurrentHashMap<>();
+        final List<Meter> meters = new CopyOnWriteArrayList<>();
+
+        Pool(MeterRegistry registry, ServerId serverId) {
+            this.tags = Tags.of("server", serverId.getAddress().toString());
+            gauge(registry, "mongodb.pool.size", "Open connections", size);
+            gauge(registry, "mongodb.pool.checked-out", "Connections in use", checkedOut);
+            gauge(registry, "mongodb.pool.wait-queue", "Threads waiting for a connection", waiting);
+            gauge(registry, "mongodb.pool.max-size", "Configured maximum pool size", maxSize);
+            this.checkoutWait = register(Timer.builder("mongodb.pool.checkout.wait")
+                    .description("Time successful checkouts waited for a connection")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+
+        private void gauge(MeterRegistry registry, String name, String description, AtomicInteger value) {
+            register(Gauge.builder(name, value, AtomicInteger::get)
+                    .description(description)
+                    .tags(tags)
+                    .register(registry));
+        }
+
+        <M extends Meter> M register(M meter) {
+            meters.add(meter);
+            return meter;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.metrics;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.Set;
+
+/**
+ * What the command listeners (metrics, diagnostics, the plan tests) need to
+ * know about the commands the driver sends.
+ */
+public final class DriverCommands {
+
+    /** Tag value of commands without a collection. */
+    public static final String NO_COLLECTION = "none";
+
+    /**
+     * Session, routing and concern fields the driver adds to every command;
+     * not part of what the application asked for, and rejected or ignored by
+     * {@code explain}.
+     */
+    public static final Set<String> DRIVER_FIELDS = Set.of(
+            "$db", "lsid", "$clusterTime", "$readPreference", "txnNumber", "autocommit", "startTransaction",
+            "readConcern", "writeConcern", "apiVersion", "apiStrict", "apiDeprecationErrors");
+
+    private DriverCommands() {
+    }
+
+    /**
+     * The collection of a CRUD or index command: the value of the command
+     * name field ({@code {find: "books", ...}}), or {@code collection} for
+     * {@code getMore}. {@code null} for database-level commands
+     * ({@code hello}, {@code aggregate: 1}, ...).
+     */
+    public static String collectionOf(String commandName, BsonDocument command) {
+        BsonValue value = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+        return value != null && value.isString() ? value.asString().getValue() : null;
+    }
+}
@@ -1,10 +1,21 @@
 package com.example.model.entity;
 
+import com.example.config.DurabilityProfiles;
+import com.example.deadline.Deadlines;
+import com.example.index.MongoIndex;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
 import io.quarkus.mongodb.panache.PanacheMongoEntityBase;
 import io.quarkus.mongodb.panache.common.MongoEntity;
 import org.bson.codecs.pojo.annotations.BsonId;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Persistence model for an author.
@@ -18,8 +29,18 @@ import java.util.List;
  * production code. {@link PanacheMongoEntityBase} (rather than
  * {@code PanacheMongoEntity}) is used so the document keeps a {@code String}
  * {@code _id} instead of the default {@code ObjectId}.
+ *
+ * <p>Writes go through {@link #insert}, {@link #save} and
+ * {@link #deleteAuthor}, which apply the catalog profile of the
+ * {@link DurabilityProfiles} the caller passes in (Panache's own
+ * {@code persist()} always uses the client default). Every query and write
+ * here is bound by the {@link Deadlines} the caller passes in, which Panache's
+ * own finders cannot be.
  */
 @MongoEntity(collection = "authors")
+// Name resolution of book authors and the listing sorted by name.
+@MongoIndex(keys = "name")
+@MongoIndex(keys = "nationality")
 public class Author extends PanacheMongoEntityBase {
 
     @BsonId
@@ -28,7 +49,54 @@ public class Author extends PanacheMongoEntityBase {
     public String nationality;
     public int birthYear;
 
-    public static List<Author> findByNationality(String nationality) {
-        return list("nationality", nationality);
+    public static Author findAuthor(Deadlines deadlines, String id) {
+        return authors(deadlines).find(Filters.eq("_id", id)).first();
+    }
+
+    /** One page of the authors sorted by name. */
+    public static List<Author> page(Deadlines deadlines, int page, int size) {
+        return authors(deadlines).find()
+                .sort(Sorts.ascending("name"))
+                .skip(page * size)
+                .limit(size)
+                .into(new ArrayList<>(size));
+    }
+
+    public static long countAuthors(Deadlines deadlines) {
+        return authors(deadlines).countDocuments();
+    }
+
+    public static List<Author> findByNationality(Deadlines deadlines, String nationality) {
+        return authors(deadlines).find(Filters.eq("nationality", nationality)).into(new ArrayList<>());
+    }
+
+    /** Resolves author names to ids; names without a matching author are absent from the map. */
+    public static Map<String, String> idsByName(Deadlines deadlines, Collection<String> names) {
+        if (names.isEmpty()) {
+            return Map.of();
+        }
+        List<Author> authors = authors(deadlines).find(Filters.in("name", names)).into(new ArrayList<>());
+        return authors.stream().collect(Collectors.toMap(a -> a.name, a -> a.id, (first, second) -> first));
+    }
+
+    public void insert(DurabilityProfiles durability, Deadlines deadlines) {
+        catalog(durability, deadlines).insertOne(this);
+    }
+
+    /** Inserts or replaces this author. */
+    public void save(DurabilityProfiles durability, Deadlines deadlines) {
+        catalog(durability, deadlines).replaceOne(Filters.eq("_id", id), this, new ReplaceOptions().upsert(true));
+    }
+
+    public static boolean deleteAuthor(DurabilityProfiles durability, Deadlines deadlines, String id) {
+        return catalog(durability, deadlines).deleteOne(Filters.eq("_id", id)).getDeletedCount() > 0;
+    }
+
+    private static MongoCollection<Author> authors(Deadlines deadlines) {
+        return deadlines.bound(mongoCollection());
+    }
+
+    private static MongoCollection<Author> catalog(DurabilityProfiles durability, Deadlines deadlines) {
+        return deadlines.bound(durability.apply(mongoCollection(), DurabilityProfiles.CATALOG));
     }
 }
@@ -0,0 +1,20 @@
+package com.example.model.entity;
+
+/**
+ * Extended reference to an {@link Author}, embedded on a book: the author's
+ * {@code _id} for indexed lookups plus the name, copied so a book can be shown
+ * without a join. {@code authorId} is {@code null} when no author with that
+ * name exists (yet).
+ */
+public class AuthorRef {
+
+    public String authorId;
+    public String name;
+
+    public static AuthorRef of(String authorId, String name) {
+        AuthorRef ref = new AuthorRef();
+        ref.authorId = authorId;
+        ref.name = name;
+        return ref;
+    }
+}
@@ -1,11 +1,24 @@
 package com.example.model.entity;
 
+import com.example.index.MongoIndex;
 import io.quarkus.mongodb.panache.common.MongoEntity;
 import org.bson.codecs.pojo.annotations.BsonId;
 
 import java.util.List;
 
 @MongoEntity(collection = "books")
+// Sort of the paginated listing.
+@MongoIndex(keys = "title")
+// findByYear and the sort by year.
+@MongoIndex(keys = "year")
+// findByPagesGreaterThan and the longest books (walked backwards).
+@MongoIndex(keys = "pages")
+// Keyset pages of one page category.
+@MongoIndex(keys = {"pageCategory", "_id"})
+// Keyset pages of one author's books (multikey).
+@MongoIndex(keys = {"authors.authorId", "_id"})
+// linkAuthor: references stored by name before the author existed (multikey).
+@MongoIndex(keys = "authors.name")
 public class Book {
 
     @BsonId
@@ -13,6 +26,7 @@ public class Book {
     public String title;
     public int pages;
     public int year;
-    public List<String> authors;
+    public String pageCategory;
+    public List<AuthorRef> authors;
     public List<Review> reviews;
 }
@@ -0,0 +1,22 @@
+package com.example.model.entity;
+
+import io.quarkus.mongodb.panache.common.MongoEntity;
+import org.bson.codecs.pojo.annotations.BsonId;
+
+import java.time.Instant;
+
+/**
+ * Progress of a resumable background job: the last key it fully processed and
+ * the configuration it was running with. A job restarts from scratch when its
+ * {@code fingerprint} no longer matches the current configuration.
+ */
+@MongoEntity(collection = "job_checkpoints")
+public class JobCheckpoint {
+
+    @BsonId
+    public String id;
+    public String fingerprint;
+    public String lastKey;
+    public boolean completed;
+    public Instant updatedAt;
+}
@@ -1,11 +1,18 @@
 package com.example.model.entity;
 
+import com.example.index.MongoIndex;
 import io.quarkus.mongodb.panache.common.MongoEntity;
 import org.bson.codecs.pojo.annotations.BsonId;
 
 import java.time.Instant;
 
 @MongoEntity(collection = "reviews")
+// Latest reviews of a book (reconciler, joins from books, keyset pages of a
+// book) and the average rating; _id breaks ties within a millisecond.
+@MongoIndex(keys = {"bookId", "-createdAt", "-_id"})
+// Recent-first listing (keyset into the archive after its last review), and
+// the oldest-first scan of the archiver (walked forwards).
+@MongoIndex(keys = {"-createdAt", "-_id"})
 public class Review {
 
     @BsonId
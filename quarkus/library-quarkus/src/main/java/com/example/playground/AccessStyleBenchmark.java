@@ -0,0 +1,480 @@
+package com.example.playground;
+
+import com.example.codec.ResponseCodecProvider;
+import com.example.config.PageCategorySettings;
+import com.example.config.ReviewStorageSettings;
+import com.example.dto.response.AuthorResponse;
+import com.example.dto.response.AverageRatingResponse;
+import com.example.dto.response.BookResponse;
+import com.example.dto.response.BookWithReviewsResponse;
+import com.example.dto.response.ReviewResponse;
+import com.example.index.IndexDefinition;
+import com.example.index.IndexRegistry;
+import com.example.mapper.AuthorMapper;
+import com.example.mapper.BookMapper;
+import com.example.mapper.ReviewMapper;
+import com.example.model.entity.Author;
+import com.example.model.entity.Book;
+import com.example.model.entity.Review;
+import com.example.repository.BookQueries;
+import com.example.repository.ReviewRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.MongoIterable;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import io.smallrye.config.SmallRyeConfig;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.codecs.pojo.PojoCodecProvider;
+import org.bson.conversions.Bson;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.example.playground.PlaygroundSupport.appConfig;
+import static com.example.playground.PlaygroundSupport.arg;
+import static com.example.playground.PlaygroundSupport.percentile;
+
+/**
+ * Runs the same logical queries through each access style the app uses and
+ * measures what each costs end to end:
+ * <ul>
+ *   <li>{@code panache} — decoded into the entity ({@code Book}, {@code Review},
+ *       Active Record {@code Author}) by the driver's POJO codec, as Panache
+ *       does, then mapped to the response record by the app's mappers;</li>
+ *   <li>{@code document} — decoded into a {@code Document} and mapped by hand,
+ *       as the aggregation read paths used to;</li>
+ *   <li>{@code codec} — decoded straight into the response record by
+ *       {@link ResponseCodecProvider} (no codec exists for authors).</li>
+ * </ul>
+ * Besides the finds, two aggregations are measured in the {@code document}
+ * and {@code codec} styles (Panache does not map aggregation results): a
+ * {@code /books/with-reviews} page and the rating average of one book. They
+ * run the pipelines of {@link BookQueries} and {@link ReviewRepository} for
+ * the document review layout without archive, and the page seeks its
+ * reviewed book ids first, as {@code BookRepository.findBooksWithReviews}
+ * does. Entities are mapped by the app's mappers, built from the app's
+ * configuration. Panache's own query-string parsing is not included: it runs
+ * once per call and does not depend on the result size.
+ *
+ * <p>For every query and style it reports throughput, p50/p99 latency and
+ * bytes allocated per operation over {@code threads} clients, then the CPU
+ * time and allocation of decoding alone, on the same pre-fetched raw results.
+ * Results are printed and written as JSON to {@code report}. Run against a
+ * database filled by {@link SyntheticDataGenerator}; the indexes the app
+ * declares ({@link IndexRegistry}) are created if missing:
+ * <pre>
+ * java ... com.example.playground.AccessStyleBenchmark "$MONGODB_URI" library_10m 10 4 target/access-styles.json
+ * </pre>
+ */
+public class AccessStyleBenchmark {
+
+    private static final long SEED = 42;
+    private static final int WARM_UP_SECONDS = 3;
+    private static final int DECODE_SECONDS = 2;
+    private static final int SAMPLES = 1_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_PAGE = 50;
+
+    private static final CodecRegistry DOCUMENTS = MongoClientSettings.getDefaultCodecRegistry();
+    private static final CodecRegistry ENTITIES = CodecRegistries.fromRegistries(
+            DOCUMENTS, CodecRegistries.fromProviders(PojoCodecProvider.builder().automatic(true).build()));
+    private static final CodecRegistry RESPONSES = CodecRegistries.fromRegistries(
+            CodecRegistries.fromProviders(new ResponseCodecProvider()), DOCUMENTS);
+
+    private static final ReviewMapper REVIEW_MAPPER = new ReviewMapper();
+    private static final AuthorMapper AUTHOR_MAPPER = new AuthorMapper();
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Keeps the JIT from dropping responses nobody reads.
+    private static volatile Object sink;
+
+    /**
+     * One call: a {@code find}, or an aggregation when {@code pipeline} is
+     * set. The pipeline is built when the call runs, so the reads it takes to
+     * build it are measured with the call.
+     */
+    private record Call(Bson filter, Bson sort, int skip, int limit, Supplier<List<Bson>> pipeline) {
+
+        static Call find(Bson filter, Bson sort, int skip, int limit) {
+            return new Call(filter, sort, skip, limit, null);
+        }
+
+        static Call aggregate(Supplier<List<Bson>> pipeline, int limit) {
+            return new Call(null, null, 0, limit, pipeline);
+        }
+
+        <T> MongoIterable<T> on(MongoCollection<T> collection) {
+            return pipeline != null
+                    ? collection.aggregate(pipeline.get())
+                    : collection.find(filter).sort(sort).skip(skip).limit(limit);
+        }
+    }
+
+    /** How results are decoded and turned into the response record. */
+    private record Style<T>(String name, Class<T> type, CodecRegistry registry, Function<T, ?> toResponse) {
+
+        Object decode(RawBsonDocument raw, Codec<T> codec) {
+            return toResponse.apply(raw.decode(codec));
+        }
+    }
+
+    private record Query(String name, String collection, Function<SplittableRandom, Call> next, List<Style<?>> styles) {
+    }
+
+    public record Result(String query, String style, int threads, long ops, double opsPerSecond,
+                         double p50Millis, double p99Millis, long allocatedBytesPerOp,
+                         double resultBytesPerOp, double decodeCpuMicrosPerOp, long decodeAllocatedBytesPerOp) {
+    }
+
+    public record Report(String startedAt, String database, long books, long reviews, long authors,
+                         int seconds, int threads, List<Result> results) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String uri = arg(args, 0, System.getenv().getOrDefault("MONGODB_URI", "mongodb://localhost:28000"));
+        String dbName = arg(args, 1, "library");
+        int seconds = Integer.parseInt(arg(args, 2, "10"));
+        int threads = Integer.parseInt(arg(args, 3, "4"));
+        Path reportPath = Path.of(arg(args, 4, "access-styles.json"));
+        String startedAt = Instant.now().toString();
+
+        try (MongoClient client = MongoClients.create(uri)) {
+            MongoDatabase database = client.getDatabase(dbName);
+            MongoCollection<Document> books = database.getCollection("books");
+            MongoCollection<Document> reviews = database.getCollection("reviews");
+            MongoCollection<Document> authors = database.getCollection("authors");
+            if (books.estimatedDocumentCount() == 0) {
+                System.out.println("books is empty — fill the database with SyntheticDataGenerator first.");
+                return;
+            }
+            SmallRyeConfig config = appConfig();
+            for (IndexDefinition index : new IndexRegistry(config).declared()) {
+                database.getCollection(index.collection())
+                        .createIndex(index.keys().toDocument(), new IndexOptions().unique(index.unique()));
+            }
+
+            List<Query> queries = queries(database, config);
+            System.out.printf("%d clients, %d s per query and style%n%n", threads, seconds);
+            System.out.printf("%-22s %-9s %10s %10s %10s %12s %10s %12s %12s%n",
+                    "query", "style", "ops/s", "p50(ms)", "p99(ms)", "alloc(B/op)", "result(B)", "decode(us)",
+                    "decode(B/op)");
+
+            List<Result> results = new ArrayList<>();
+            for (Query query : queries) {
+                MongoCollection<Document> source = database.getCollection(query.collection());
+                List<List<RawBsonDocument>> raw = fetchRaw(source, query);
+                for (Style<?> style : query.styles()) {
+                    Result result = measure(source, query, style, raw, seconds, threads);
+                    results.add(result);
+                    System.out.printf("%-22s %-9s %10.0f %10.3f %10.3f %12d %10.0f %12.1f %12d%n",
+                            result.query(), result.style(), result.opsPerSecond(), result.p50Millis(),
+                            result.p99Millis(), result.allocatedBytesPerOp(), result.resultBytesPerOp(),
+                            result.decodeCpuMicrosPerOp(), result.decodeAllocatedBytesPerOp());
+                }
+            }
+
+            Report report = new Report(startedAt, dbName, books.estimatedDocumentCount(),
+                    reviews.estimatedDocumentCount(), authors.estimatedDocumentCount(), seconds, threads, results);
+            write(report, reportPath);
+            System.out.printf("%nReport written to %s%n", reportPath.toAbsolutePath());
+        }
+    }
+
+    /** The logical queries, with parameters drawn from the data so every call finds something. */
+    private static List<Query> queries(MongoDatabase database, SmallRyeConfig config) {
+        BookMapper bookMapper = new BookMapper(REVIEW_MAPPER, config.getConfigMapping(PageCategorySettings.class));
+        BookQueries bookQueries = new BookQueries(
+                config.getValue("library.reviews.max-embedded", Integer.class),
+                config.getValue("library.reviews.lookup-limit", Integer.class),
+                ReviewStorageSettings.Layout.DOCUMENT,
+                config.getValue("library.reviews.storage.bucket-size", Integer.class),
+                false);
+        MongoCollection<Document> reviews = database.getCollection("reviews");
+        List<String> bookIds = sample(database.getCollection("books"), "_id");
+        List<String> reviewedBookIds = sample(reviews, "bookId");
+        List<Integer> years = database.getCollection("books").distinct("year", Integer.class).into(new ArrayList<>());
+        List<String> nationalities =
+                database.getCollection("authors").distinct("nationality", String.class).into(new ArrayList<>());
+
+        List<Style<?>> bookStyles = List.of(
+                new Style<>("panache", Book.class, ENTITIES, bookMapper::toResponse),
+                new Style<>("document", Document.class, DOCUMENTS, AccessStyleBenchmark::bookResponse),
+                new Style<>("codec", BookResponse.class, RESPONSES, Function.identity()));
+        List<Style<?>> reviewStyles = List.of(
+                new Style<>("panache", Review.class, ENTITIES, REVIEW_MAPPER::toResponse),
+                new Style<>("document", Document.class, DOCUMENTS, AccessStyleBenchmark::reviewResponse),
+                new Style<>("codec", ReviewResponse.class, RESPONSES, Function.identity()));
+        List<Style<?>> reviewedBookStyles = List.of(
+                new Style<>("document", Document.class, DOCUMENTS, AccessStyleBenchmark::bookWithReviewsResponse),
+                new Style<>("codec", BookWithReviewsResponse.class, RESPONSES, Function.identity()));
+        List<Style<?>> averageRatingStyles = List.of(
+                new Style<>("document", Document.class, DOCUMENTS,
+                        doc -> ReviewRepository.toAverageRating(doc).orElseThrow()),
+                new Style<>("codec", AverageRatingResponse.class, RESPONSES, Function.identity()));
+        List<Style<?>> authorStyles = List.of(
+                new Style<>("panache", Author.class, ENTITIES, AUTHOR_MAPPER::toResponse),
+                new Style<>("document", Document.class, DOCUMENTS, AccessStyleBenchmark::authorResponse));
+
+        List<Query> queries = new ArrayList<>();
+        queries.add(new Query("books.findPage", "books", random -> Call.find(
+                new Document(), Sorts.ascending("title"), random.nextInt(MAX_PAGE) * PAGE_SIZE, PAGE_SIZE),
+                bookStyles));
+        if (!years.isEmpty()) {
+            queries.add(new Query("books.findByYear", "books", random -> Call.find(
+                    Filters.eq("year", pick(random, years)), null, 0, 50), bookStyles));
+        }
+        queries.add(new Query("books.findById", "books", random -> Call.find(
+                Filters.eq("_id", pick(random, bookIds)), null, 0, 1), bookStyles));
+        if (!reviewedBookIds.isEmpty()) {
+            queries.add(new Query("reviews.findByBook", "reviews", random -> Call.find(
+                    Filters.eq("bookId", pick(random, reviewedBookIds)), Sorts.descending("createdAt", "_id"),
+                    0, PAGE_SIZE), reviewStyles));
+            queries.add(new Query("books.withReviews", "books", random -> {
+                String afterId = pick(random, reviewedBookIds);
+                return Call.aggregate(() -> bookQueries.reviewedBooksPagePipeline(reviewedBookIdsAfter(reviews, afterId)),
+                        PAGE_SIZE);
+            }, reviewedBookStyles));
+            queries.add(new Query("reviews.avgRating", "reviews", random -> {
+                List<Bson> pipeline = ReviewRepository.averageRatingPipeline(pick(random, reviewedBookIds), false);
+                return Call.aggregate(() -> pipeline, 1);
+            }, averageRatingStyles));
+        }
+        if (!nationalities.isEmpty()) {
+            queries.add(new Query("authors.byNationality", "authors", random -> Call.find(
+                    Filters.eq("nationality", pick(random, nationalities)), null, 0, 50), authorStyles));
+        }
+        return queries;
+    }
+
+    /**
+     * The ids of the page's reviewed books after {@code afterId}, one
+     * {@code bookId > previous} seek each, as
+     * {@code BookRepository.findBooksWithReviews} finds them: one more than
+     * the page is read to tell whether it is the last, and left out.
+     */
+    private static List<String> reviewedBookIdsAfter(MongoCollection<Document> reviews, String afterId) {
+        List<String> bookIds = new ArrayList<>(PAGE_SIZE + 1);
+        String after = afterId;
+        while (bookIds.size() <= PAGE_SIZE) {
+            Document next = reviews.find(Filters.gt("bookId", after))
+                    .projection(Projections.fields(Projections.include("bookId"), Projections.excludeId()))
+                    .sort(Sorts.ascending("bookId"))
+                    .limit(1)
+                    .first();
+            if (next == null) {
+                break;
+            }
+            after = next.getString("bookId");
+            bookIds.add(after);
+        }
+        return bookIds.subList(0, Math.min(PAGE_SIZE, bookIds.size()));
+    }
+
+    private static <T> Result measure(MongoCollection<Document> source, Query query, Style<T> style,
+                                      List<List<RawBsonDocument>> raw, int seconds, int threads) throws Exception {
+        MongoCollection<T> collection = source.withDocumentClass(style.type()).withCodecRegistry(style.registry());
+        run(collection, query, style, WARM_UP_SECONDS, threads);
+        List<Worker> workers = run(collection, query, style, seconds, threads);
+
+        long[] latencies = workers.stream().flatMapToLong(worker -> Arrays.stream(worker.latencies, 0, worker.ops))
+                .sorted().toArray();
+        long allocated = workers.stream().mapToLong(worker -> worker.allocatedBytes).sum();
+        long ops = latencies.length;
+        double resultBytes = raw.stream()
+                .mapToLong(result -> result.stream().mapToLong(doc -> doc.getByteBuffer().remaining()).sum())
+                .average().orElse(0);
+        Decode decode = decode(style, raw);
+        return new Result(query.name(), style.name(), threads, ops, ops / (double) seconds,
+                percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6,
+                ops == 0 ? 0 : allocated / ops, resultBytes, decode.cpuMicrosPerOp(), decode.allocatedBytesPerOp());
+    }
+
+    private static <T> List<Worker> run(MongoCollection<T> collection, Query query, Style<T> style,
+                                        int seconds, int threads) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Worker>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                SplittableRandom random = new SplittableRandom(SEED + i);
+                futures.add(executor.submit(() -> new Worker().run(collection, query, style, random, deadline)));
+            }
+            List<Worker> workers = new ArrayList<>();
+            for (Future<Worker> future : futures) {
+                workers.add(future.get());
+            }
+            return workers;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /** One client: runs the query until the deadline, recording latencies and what its thread allocated. */
+    private static final class Worker {
+
+        long[] latencies = new long[4096];
+        int ops;
+        long allocatedBytes;
+
+        <T> Worker run(MongoCollection<T> collection, Query query, Style<T> style, SplittableRandom random,
+                       long deadline) {
+            long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+            while (System.nanoTime() < deadline) {
+                Call call = query.next().apply(random);
+                long start = System.nanoTime();
+                List<Object> responses = new ArrayList<>(call.limit());
+                for (T result : call.on(collection)) {
+                    responses.add(style.toResponse().apply(result));
+                }
+                long elapsed = System.nanoTime() - start;
+                sink = responses;
+                if (ops == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, ops * 2);
+                }
+                latencies[ops++] = elapsed;
+            }
+            allocatedBytes = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            return this;
+        }
+    }
+
+    private record Decode(double cpuMicrosPerOp, long allocatedBytesPerOp) {
+    }
+
+    /** Results of {@link #SAMPLES} calls, as raw bytes, so decoding can be measured apart from the round trip. */
+    private static List<List<RawBsonDocument>> fetchRaw(MongoCollection<Document> source, Query query) {
+        MongoCollection<RawBsonDocument> raw = source.withDocumentClass(RawBsonDocument.class);
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<List<RawBsonDocument>> results = new ArrayList<>(SAMPLES);
+        for (int i = 0; i < SAMPLES; i++) {
+            results.add(query.next().apply(random).on(raw).into(new ArrayList<>()));
+        }
+        return results;
+    }
+
+    /** CPU time and allocation of decoding and mapping one call's results, on this thread only. */
+    private static <T> Decode decode(Style<T> style, List<List<RawBsonDocument>> raw) {
+        Codec<T> codec = style.registry().get(style.type());
+        long warmUpEnd = System.nanoTime() + WARM_UP_SECONDS * 1_000_000_000L;
+        while (System.nanoTime() < warmUpEnd) {
+            decodeAll(style, codec, raw);
+        }
+        long deadline = System.nanoTime() + DECODE_SECONDS * 1_000_000_000L;
+        long cpuBefore = THREADS.getCurrentThreadCpuTime();
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long ops = 0;
+        while (System.nanoTime() < deadline) {
+            ops += decodeAll(style, codec, raw);
+        }
+        long cpu = THREADS.getCurrentThreadCpuTime() - cpuBefore;
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Decode(cpu / 1e3 / ops, allocated / ops);
+    }
+
+    private static <T> int decodeAll(Style<T> style, Codec<T> codec, List<List<RawBsonDocument>> raw) {
+        for (List<RawBsonDocument> result : raw) {
+            List<Object> responses = new ArrayList<>(result.size());
+            for (RawBsonDocument doc : result) {
+                responses.add(style.decode(doc, codec));
+            }
+            sink = responses;
+        }
+        return raw.size();
+    }
+
+    // Document mapping as the read paths did it before the response codecs.
+
+    private static BookResponse bookResponse(Document doc) {
+        List<Document> reviews = doc.getList("reviews", Document.class, List.of());
+        return new BookResponse(
+                String.valueOf(doc.get("_id")),
+                doc.getString("title"),
+                doc.getInteger("pages", 0),
+                doc.getInteger("year", 0),
+                authorNames(doc),
+                reviews.stream().map(AccessStyleBenchmark::reviewResponse).toList());
+    }
+
+    private static BookWithReviewsResponse bookWithReviewsResponse(Document doc) {
+        List<Document> reviews = doc.getList("allReviews", Document.class, List.of());
+        return new BookWithReviewsResponse(
+                String.valueOf(doc.get("_id")),
+                doc.getString("title"),
+                doc.getInteger("pages", 0),
+                doc.getInteger("year", 0),
+                authorNames(doc),
+                reviews.stream().map(AccessStyleBenchmark::reviewResponse).toList());
+    }
+
+    private static List<String> authorNames(Document doc) {
+        List<?> authors = doc.get("authors", List.class);
+        return authors == null ? List.of() : authors.stream()
+                .map(author -> author instanceof Document ref ? ref.getString("name") : (String) author)
+                .toList();
+    }
+
+    private static ReviewResponse reviewResponse(Document doc) {
+        Date createdAt = doc.getDate("createdAt");
+        return new ReviewResponse(
+                String.valueOf(doc.get("_id")),
+                doc.getString("bookId"),
+                doc.getString("user"),
+                doc.get("rating") instanceof Number rating ? rating.doubleValue() : 0,
+                doc.getString("text"),
+                createdAt != null ? createdAt.toInstant() : null);
+    }
+
+    private static AuthorResponse authorResponse(Document doc) {
+        return new AuthorResponse(
+                String.valueOf(doc.get("_id")),
+                doc.getString("name"),
+                doc.getString("nationality"),
+                doc.getInteger("birthYear", 0));
+    }
+
+    private static List<String> sample(MongoCollection<Document> collection, String field) {
+        return collection.aggregate(List.of(
+                        Aggregates.sample(SAMPLES),
+                        Aggregates.project(Projections.include(field))))
+                .map(doc -> String.valueOf(doc.get(field)))
+                .into(new ArrayList<>());
+    }
+
+    private static void write(Report report, Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+    }
+
+    private static <T> T pick(SplittableRandom random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
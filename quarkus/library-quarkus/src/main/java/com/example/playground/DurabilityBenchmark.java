@@ -0,0 +1,142 @@
+package com.example.playground;
+
+import com.example.config.DurabilityProfiles;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.PushOptions;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.example.playground.PlaygroundSupport.arg;
+import static com.example.playground.PlaygroundSupport.percentile;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Updates.pushEach;
+
+/**
+ * Throughput of the writes behind {@code ReviewService.create} — insert the
+ * review, then push it onto the book's embedded subset — under several write
+ * concerns, e.g. the {@code catalog} profile ({@code majority}, journaled)
+ * against the {@code reviews} profile ({@code w:1}, not journaled).
+ *
+ * <p>Writes go to scratch collections ({@code bench_reviews},
+ * {@code bench_books}) that are dropped afterwards. The difference only shows
+ * against a replica set:
+ * <pre>
+ * java ... com.example.playground.DurabilityBenchmark "$MONGODB_URI" library 10 16
+ * </pre>
+ */
+public class DurabilityBenchmark {
+
+    private static final int BOOKS = 1_000;
+    private static final int MAX_EMBEDDED = 5;
+
+    private record Profile(String name, WriteConcern writeConcern) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String uri = arg(args, 0, System.getenv().getOrDefault("MONGODB_URI", "mongodb://localhost:28000"));
+        String dbName = arg(args, 1, "library");
+        int seconds = Integer.parseInt(arg(args, 2, "10"));
+        int threads = Integer.parseInt(arg(args, 3, "16"));
+
+        List<Profile> profiles = List.of(
+                new Profile("w:majority,j:true", DurabilityProfiles.writeConcern("majority", true)),
+                new Profile("w:1,j:true", DurabilityProfiles.writeConcern("1", true)),
+                new Profile("w:1,j:false", DurabilityProfiles.writeConcern("1", false)));
+
+        try (MongoClient client = MongoClients.create(uri)) {
+            MongoDatabase database = client.getDatabase(dbName);
+            MongoCollection<Document> reviews = database.getCollection("bench_reviews");
+            MongoCollection<Document> books = database.getCollection("bench_books");
+            try {
+                reviews.drop();
+                books.drop();
+                reviews.createIndex(Indexes.compoundIndex(
+                        Indexes.ascending("bookId"), Indexes.descending("createdAt"), Indexes.descending("_id")));
+                List<Document> seed = new ArrayList<>(BOOKS);
+                for (int i = 0; i < BOOKS; i++) {
+                    seed.add(new Document("_id", "book-" + i).append("title", "Book " + i).append("reviews", List.of()));
+                }
+                books.insertMany(seed);
+
+                System.out.printf("%d threads, %d s per profile%n%n", threads, seconds);
+                System.out.printf("%-20s %10s %10s %10s %10s%n", "profile", "ops", "ops/s", "p50(ms)", "p99(ms)");
+                for (Profile profile : profiles) {
+                    run(profile, reviews.withWriteConcern(profile.writeConcern()),
+                            books.withWriteConcern(profile.writeConcern()), seconds, threads);
+                }
+            } finally {
+                reviews.drop();
+                books.drop();
+            }
+        }
+    }
+
+    private static void run(Profile profile, MongoCollection<Document> reviews, MongoCollection<Document> books,
+                            int seconds, int threads) throws Exception {
+        // Warm up connections and caches without timing.
+        createReviews(reviews, books, System.nanoTime() + 1_000_000_000L);
+
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<double[]>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(executor.submit(() -> createReviews(reviews, books, deadline)));
+        }
+        List<double[]> perThread = new ArrayList<>();
+        for (Future<double[]> worker : workers) {
+            perThread.add(worker.get());
+        }
+        executor.shutdown();
+
+        double[] latencies = perThread.stream().flatMapToDouble(Arrays::stream).sorted().toArray();
+        System.out.printf("%-20s %10d %10.0f %10.3f %10.3f%n",
+                profile.name(),
+                latencies.length,
+                latencies.length / (double) seconds,
+                percentile(latencies, 0.50),
+                percentile(latencies, 0.99));
+    }
+
+    /** What {@code ReviewService.create} writes, repeated until {@code deadline}; returns per-call latencies. */
+    private static double[] createReviews(MongoCollection<Document> reviews, MongoCollection<Document> books,
+                                          long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double[] latencies = new double[1024];
+        int count = 0;
+        while (System.nanoTime() < deadline) {
+            String bookId = "book-" + random.nextInt(BOOKS);
+            Document review = new Document("_id", new ObjectId().toHexString())
+                    .append("text", "Benchmark review")
+                    .append("user", "bench")
+                    .append("rating", random.nextInt(1, 6))
+                    .append("bookId", bookId)
+                    .append("createdAt", new Date());
+
+            long start = System.nanoTime();
+            reviews.insertOne(review);
+            Document embedded = new Document(review);
+            embedded.remove("bookId");
+            books.updateOne(eq("_id", bookId), pushEach("reviews", List.of(embedded),
+                    new PushOptions().sortDocument(new Document("createdAt", 1)).slice(-MAX_EMBEDDED)));
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+}
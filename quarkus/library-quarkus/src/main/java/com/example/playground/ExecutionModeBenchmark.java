@@ -0,0 +1,180 @@
+package com.example.playground;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.example.playground.PlaygroundSupport.arg;
+import static com.example.playground.PlaygroundSupport.percentile;
+
+/**
+ * Closed-loop HTTP load against the same app built in different execution
+ * modes ({@code library.execution.mode=blocking | virtual-thread | reactive}),
+ * all backed by the same local {@code mongod}. For every mode and endpoint it
+ * reports throughput, p50, p99 and errors.
+ *
+ * <p>The mode is fixed at build time, so start one instance per mode on its own
+ * port, e.g.
+ * <pre>
+ * ./mvnw package -Dlibrary.execution.mode=virtual-thread
+ * java -Dquarkus.http.port=8081 -jar target/quarkus-app/quarkus-run.jar
+ * </pre>
+ * then pass them as {@code name=baseUrl}; targets that are not running are
+ * skipped. Every run uses the same seed, so each mode sees the same request
+ * sequence:
+ * <pre>
+ * java ... com.example.playground.ExecutionModeBenchmark 200 20 \
+ *     blocking=http://localhost:8080 virtual-thread=http://localhost:8081 reactive=http://localhost:8082
+ * </pre>
+ */
+public class ExecutionModeBenchmark {
+
+    private static final long SEED = 42;
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+    private static final Pattern BOOK_ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.parseInt(arg(args, 0, "200"));
+        int seconds = Integer.parseInt(arg(args, 1, "20"));
+        Map<String, String> targets = new LinkedHashMap<>();
+        for (int i = 2; i < args.length; i++) {
+            String[] target = args[i].split("=", 2);
+            targets.put(target[0], target[1]);
+        }
+        if (targets.isEmpty()) {
+            targets.put("blocking", "http://localhost:8080");
+        }
+
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        System.out.printf("%d concurrent clients, %d s per endpoint and mode%n%n", concurrency, seconds);
+        System.out.printf("%-16s %-28s %10s %10s %10s %10s %8s%n",
+                "mode", "endpoint", "requests", "req/s", "p50(ms)", "p99(ms)", "errors");
+        for (Map.Entry<String, String> target : targets.entrySet()) {
+            String baseUrl = target.getValue();
+            List<String> bookIds;
+            try {
+                bookIds = bookIds(http, baseUrl);
+            } catch (IOException e) {
+                System.out.printf("%-16s not reachable at %s — skipped%n", target.getKey(), baseUrl);
+                continue;
+            }
+            if (bookIds.isEmpty()) {
+                System.out.printf("%-16s has no books — skipped%n", target.getKey());
+                continue;
+            }
+
+            Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+            endpoints.put("GET /books/{id}", random -> "/books/" + pick(bookIds, random));
+            endpoints.put("GET /books?size=20", random -> "/books?page=" + random.nextInt(5) + "&size=20");
+            endpoints.put("GET /reviews/avgRating/{id}", random -> "/reviews/avgRating/" + pick(bookIds, random));
+            endpoints.put("GET /books/with-reviews", random -> "/books/with-reviews?size=10");
+
+            for (Map.Entry<String, Endpoint> endpoint : endpoints.entrySet()) {
+                run(http, baseUrl, endpoint.getValue(), concurrency, WARM_UP);
+                Result result = run(http, baseUrl, endpoint.getValue(), concurrency, Duration.ofSeconds(seconds));
+                System.out.printf("%-16s %-28s %10d %10.0f %10.3f %10.3f %8d%n",
+                        target.getKey(),
+                        endpoint.getKey(),
+                        result.latencies().length,
+                        result.latencies().length / (double) seconds,
+                        percentile(result.latencies(), 0.50),
+                        percentile(result.latencies(), 0.99),
+                        result.errors());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        String path(Random random);
+    }
+
+    private record Result(double[] latencies, long errors) {
+    }
+
+    private static Result run(HttpClient http, String baseUrl, Endpoint endpoint, int concurrency, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Result>> clients = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                Random random = new Random(SEED + i);
+                clients.add(executor.submit(() -> client(http, baseUrl, endpoint, random, deadline)));
+            }
+            List<double[]> latencies = new ArrayList<>(concurrency);
+            long errors = 0;
+            for (Future<Result> client : clients) {
+                Result result = client.get();
+                latencies.add(result.latencies());
+                errors += result.errors();
+            }
+            double[] all = latencies.stream().flatMapToDouble(Arrays::stream).sorted().toArray();
+            return new Result(all, errors);
+        }
+    }
+
+    /** One client: sends the next request as soon as the previous response arrives. */
+    private static Result client(HttpClient http, String baseUrl, Endpoint endpoint, Random random, long deadline) {
+        double[] latencies = new double[256];
+        int count = 0;
+        long errors = 0;
+        while (System.nanoTime() < deadline) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.path(random)))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 500) {
+                    errors++;
+                    continue;
+                }
+            } catch (IOException e) {
+                errors++;
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        return new Result(Arrays.copyOf(latencies, count), errors);
+    }
+
+    private static List<String> bookIds(HttpClient http, String baseUrl) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/books?page=0&size=100")).GET().build();
+        String body = http.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = BOOK_ID.matcher(body);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    private static String pick(List<String> ids, Random random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
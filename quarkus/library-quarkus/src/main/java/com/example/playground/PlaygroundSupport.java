@@ -0,0 +1,61 @@
+package com.example.playground;
+
+import com.example.config.PageCategorySettings;
+import io.smallrye.config.PropertiesConfigSource;
+import io.smallrye.config.SmallRyeConfig;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import org.bson.Document;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+
+/** Configuration, argument parsing and statistics shared by the playground tools. */
+final class PlaygroundSupport {
+
+    private PlaygroundSupport() {
+    }
+
+    /**
+     * The configuration the app runs with: its {@code application.properties},
+     * overridden by {@code -D} system properties, as Quarkus resolves them.
+     */
+    static SmallRyeConfig appConfig() {
+        SmallRyeConfigBuilder config = new SmallRyeConfigBuilder()
+                .addDefaultSources()
+                .withMapping(PageCategorySettings.class);
+        URL properties = PlaygroundSupport.class.getClassLoader().getResource("application.properties");
+        if (properties != null) {
+            try {
+                config.withSources(new PropertiesConfigSource(properties));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read " + properties, e);
+            }
+        }
+        return config.build();
+    }
+
+    /** The positional argument at {@code index}, or {@code defaultValue} when there are fewer arguments. */
+    static String arg(String[] args, int index, String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+
+    /** The nearest-rank {@code p} percentile of ascending {@code sorted}; 0 when empty. */
+    static double percentile(double[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[rank(sorted.length, p)];
+    }
+
+    /** {@link #percentile(double[], double)} of nanosecond latencies. */
+    static double percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[rank(sorted.length, p)];
+    }
+
+    /** A numeric field of a server reply, whatever its BSON number type; 0 when absent. */
+    static long number(Document doc, String key) {
+        return doc.get(key) instanceof Number n ? n.longValue() : 0;
+    }
+
+    private static int rank(int length, double p) {
+        return (int) Math.min(length - 1, Math.ceil(p * length) - 1);
+    }
+}
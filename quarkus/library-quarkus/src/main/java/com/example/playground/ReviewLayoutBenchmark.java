@@ -0,0 +1,143 @@
+package com.example.playground;
+
+import com.example.repository.ReviewBucketMigrator;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Indexes;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.playground.PlaygroundSupport.arg;
+import static com.example.playground.PlaygroundSupport.number;
+import static com.example.playground.PlaygroundSupport.percentile;
+import static com.mongodb.client.model.Accumulators.avg;
+import static com.mongodb.client.model.Accumulators.sum;
+import static com.mongodb.client.model.Aggregates.group;
+import static com.mongodb.client.model.Aggregates.limit;
+import static com.mongodb.client.model.Aggregates.match;
+import static com.mongodb.client.model.Aggregates.sort;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Sorts.descending;
+
+/**
+ * Compares the one-document-per-review layout ({@code reviews}) with the
+ * bucket layout ({@code review_buckets}): collection and index size, the
+ * documents and index keys touched by the average-rating aggregation for the
+ * most reviewed book (its working set), and the latency of that aggregation.
+ *
+ * <p>Buckets are built from {@code reviews} first if {@code review_buckets} is
+ * empty. Run against a database with a realistic review volume:
+ * <pre>
+ * java ... com.example.playground.ReviewLayoutBenchmark "$MONGODB_URI" library 500 50
+ * </pre>
+ */
+public class ReviewLayoutBenchmark {
+
+    public static void main(String[] args) {
+        String uri = arg(args, 0, System.getenv().getOrDefault("MONGODB_URI", "mongodb://localhost:28000"));
+        String dbName = arg(args, 1, "library");
+        int iterations = Integer.parseInt(arg(args, 2, "500"));
+        int bucketSize = Integer.parseInt(arg(args, 3, "50"));
+
+        try (MongoClient client = MongoClients.create(uri)) {
+            MongoDatabase database = client.getDatabase(dbName);
+            MongoCollection<Document> reviews = database.getCollection("reviews");
+            MongoCollection<Document> buckets = database.getCollection("review_buckets");
+
+            new ReviewBucketMigrator(database, bucketSize).migrate(500);
+            reviews.createIndex(Indexes.ascending("bookId"));
+            buckets.createIndex(Indexes.ascending("bookId", "count"));
+
+            Document hottest = reviews.aggregate(List.of(
+                    group("$bookId", sum("n", 1)),
+                    sort(descending("n")),
+                    limit(1))).first();
+            if (hottest == null) {
+                System.out.println("reviews is empty — nothing to compare.");
+                return;
+            }
+            String bookId = hottest.getString("_id");
+            System.out.printf("Most reviewed book: %s (%d reviews)%n%n", bookId, hottest.getInteger("n"));
+
+            List<Bson> documentPipeline = List.of(
+                    match(eq("bookId", bookId)),
+                    group("$bookId", avg("averageRating", "$rating"), sum("totalReviews", 1)));
+            List<Bson> bucketPipeline = List.of(
+                    match(eq("bookId", bookId)),
+                    group("$bookId", sum("sum", "$sum"), sum("totalReviews", "$count")));
+
+            System.out.printf("%-16s %12s %12s %14s %10s %10s %10s %10s %10s%n",
+                    "layout", "documents", "dataSize", "indexSize", "keysExam", "docsExam", "avg(ms)", "p50(ms)", "p99(ms)");
+            report(database, "reviews", documentPipeline, iterations);
+            report(database, "review_buckets", bucketPipeline, iterations);
+        }
+    }
+
+    private static void report(MongoDatabase database, String collection, List<Bson> pipeline, int iterations) {
+        Document storage = database.getCollection(collection)
+                .aggregate(List.of(new Document("$collStats", new Document("storageStats", new Document()))))
+                .first()
+                .get("storageStats", Document.class);
+
+        Document explain = database.runCommand(new Document("explain", new Document("aggregate", collection)
+                .append("pipeline", pipeline.stream().map(Bson::toBsonDocument).toList())
+                .append("cursor", new Document()))
+                .append("verbosity", "executionStats"));
+        Document stats = findExecutionStats(explain);
+
+        double[] latencies = measure(database.getCollection(collection), pipeline, iterations);
+
+        System.out.printf("%-16s %12d %12d %14d %10d %10d %10.3f %10.3f %10.3f%n",
+                collection,
+                number(storage, "count"),
+                number(storage, "size"),
+                number(storage, "totalIndexSize"),
+                stats != null ? number(stats, "totalKeysExamined") : -1,
+                stats != null ? number(stats, "totalDocsExamined") : -1,
+                Arrays.stream(latencies).average().orElse(0),
+                percentile(latencies, 0.50),
+                percentile(latencies, 0.99));
+    }
+
+    private static double[] measure(MongoCollection<Document> collection, List<Bson> pipeline, int iterations) {
+        for (int i = 0; i < Math.min(50, iterations); i++) {
+            collection.aggregate(pipeline).first();
+        }
+        double[] latencies = new double[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            collection.aggregate(pipeline).first();
+            latencies[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    /** Explain output nests {@code executionStats} differently depending on how much of the pipeline was pushed down. */
+    private static Document findExecutionStats(Document explain) {
+        if (explain.containsKey("executionStats")) {
+            return explain.get("executionStats", Document.class);
+        }
+        List<Document> nested = new ArrayList<>();
+        for (Object value : explain.values()) {
+            if (value instanceof Document doc) {
+                nested.add(doc);
+            } else if (value instanceof List<?> list) {
+                list.stream().filter(Document.class::isInstance).map(Document.class::cast).forEach(nested::add);
+            }
+        }
+        for (Document doc : nested) {
+            Document found = findExecutionStats(doc);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+}
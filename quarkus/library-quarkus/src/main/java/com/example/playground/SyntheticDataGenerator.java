@@ -0,0 +1,409 @@
+package com.example.playground;
+
+import com.example.config.DurabilityProfiles;
+import com.example.config.PageCategorySettings;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.InsertManyOptions;
+import org.bson.Document;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.example.playground.PlaygroundSupport.appConfig;
+import static com.example.playground.PlaygroundSupport.arg;
+
+/**
+ * Fills an empty database with a synthetic catalog in the app's document
+ * layout — {@code authors}, {@code books} with their {@code authors}
+ * references, {@code pageCategory} and embedded review subset, and
+ * {@code reviews} — at a volume {@code DataSeeder} cannot reach.
+ *
+ * <p>The data is skewed like a real catalog: reviews per book follow a Zipf
+ * distribution over a ranking of the books (a few books have most of the
+ * reviews, most have a handful or none), and both authors per book and users
+ * per review are drawn from Zipf distributions, so a few authors are prolific
+ * and most wrote one book. The ranking deals the books out to the chunks
+ * round-robin, hottest first, at a scattered position within each chunk, so
+ * every chunk gets the same share of hot books and no worker is left alone
+ * with most of the reviews.
+ *
+ * <p>Books are generated in chunks on {@code threads} workers, one connection
+ * each. A chunk generates its books' reviews, keeps the latest
+ * {@code max-embedded} per book while it goes, and writes both with unordered
+ * {@code insertMany} batches ({@code w:1}, not journaled: a lost load is
+ * regenerated, not recovered). Every chunk draws from its own random stream
+ * derived from the seed, so the same arguments produce the same documents
+ * whatever the thread scheduling; {@code createdAt} values are relative to the
+ * start of the current day (UTC).
+ *
+ * <p>No indexes are created: the app builds its declared indexes in the
+ * background on its next start, which is faster than maintaining them during
+ * the load. Run against a database that has no books:
+ * <pre>
+ * java ... com.example.playground.SyntheticDataGenerator "$MONGODB_URI" library_10m 10000000 100000000 42 16
+ * </pre>
+ */
+public class SyntheticDataGenerator {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final int CHUNK_BOOKS = 1_000;
+    private static final long REVIEW_SPAN_SECONDS = ChronoUnit.DAYS.getDuration().getSeconds() * 3 * 365;
+
+    private static final int AUTHOR = 0xa;
+    private static final int BOOK = 0xb;
+    private static final int REVIEW = 0xc;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final String[] FIRST_NAMES = {
+            "Ada", "Ben", "Clara", "David", "Elena", "Farid", "Grace", "Hiro", "Ines", "Jonas",
+            "Kira", "Luca", "Maya", "Nils", "Olga", "Pablo", "Quinn", "Rosa", "Sami", "Tara",
+            "Umar", "Vera", "Wen", "Xavier", "Yara", "Zoe"};
+    private static final String[] LAST_NAMES = {
+            "Almeida", "Brandt", "Castillo", "Dubois", "Eriksen", "Fischer", "Garcia", "Haddad", "Ito", "Jensen",
+            "Kowalski", "Larsen", "Moreau", "Nakamura", "Okafor", "Petrov", "Quist", "Rossi", "Schmidt", "Tanaka",
+            "Urban", "Varga", "Weber", "Xu", "Yilmaz", "Zimmermann"};
+    private static final String[] NATIONALITIES = {
+            "American", "British", "Brazilian", "French", "German", "Indian", "Italian", "Japanese",
+            "Nigerian", "Polish", "Portuguese", "Spanish", "Swedish", "Turkish"};
+    private static final String[] ADJECTIVES = {
+            "Silent", "Hidden", "Last", "Broken", "Golden", "Distant", "Burning", "Forgotten", "Endless", "Quiet",
+            "Crimson", "Hollow", "Northern", "Secret", "Wandering", "Winter"};
+    private static final String[] NOUNS = {
+            "River", "Garden", "City", "Letter", "Mountain", "Harbor", "Empire", "Voyage", "Orchard", "Signal",
+            "Library", "Machine", "Island", "Kingdom", "Shadow", "Season"};
+    private static final String[] OPINIONS = {
+            "Could not put it down.", "A slow start, but worth it.", "Beautifully written.", "Not for me.",
+            "The ending felt rushed.", "Characters I will remember.", "Too long by half.", "A modern classic.",
+            "Solid, if predictable.", "Read it twice in a row."};
+    // Weights of ratings 1 to 5: reviews lean positive.
+    private static final double[] RATING_CDF = {0.05, 0.13, 0.30, 0.65, 1.0};
+
+    private record Settings(long authors, long books, long reviews, long users, long seed,
+                            double reviewSkew, double authorSkew, int maxEmbedded, Instant end,
+                            PageCategorySettings pageCategories) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String uri = arg(args, 0, System.getenv().getOrDefault("MONGODB_URI", "mongodb://localhost:28000"));
+        String dbName = arg(args, 1, "library");
+        long books = Long.parseLong(arg(args, 2, "1000000"));
+        long reviews = Long.parseLong(arg(args, 3, "10000000"));
+        long seed = Long.parseLong(arg(args, 4, "42"));
+        int threads = Integer.parseInt(arg(args, 5, String.valueOf(Runtime.getRuntime().availableProcessors())));
+        long authors = Long.parseLong(arg(args, 6, String.valueOf(Math.max(1, books / 10))));
+        double reviewSkew = Double.parseDouble(arg(args, 7, "0.9"));
+        double authorSkew = Double.parseDouble(arg(args, 8, "1.1"));
+        int maxEmbedded = Integer.parseInt(arg(args, 9, "5"));
+
+        Settings settings = new Settings(authors, books, reviews, Math.max(1_000, reviews / 20), seed,
+                reviewSkew, authorSkew, maxEmbedded, Instant.now().truncatedTo(ChronoUnit.DAYS),
+                appConfig().getConfigMapping(PageCategorySettings.class));
+        MongoClientSettings clientSettings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .applyToConnectionPoolSettings(pool -> pool.maxSize(threads))
+                .writeConcern(DurabilityProfiles.writeConcern("1", false))
+                .build();
+
+        try (MongoClient client = MongoClients.create(clientSettings)) {
+            MongoDatabase database = client.getDatabase(dbName);
+            if (database.getCollection("books").estimatedDocumentCount() > 0) {
+                System.out.printf("%s already has books — use an empty database.%n", dbName);
+                return;
+            }
+            System.out.printf("%d authors, %d books, ~%d reviews, seed %d, %d threads%n%n",
+                    authors, books, reviews, seed, threads);
+
+            Generator generator = new Generator(database, settings);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                System.out.printf("%-10s %14s %10s %12s%n", "phase", "documents", "seconds", "docs/s");
+                generator.run(executor, "authors", chunks(authors, BATCH_SIZE), generator::authors);
+                generator.run(executor, "books", chunks(books, CHUNK_BOOKS), generator::books);
+            } finally {
+                executor.shutdown();
+            }
+            System.out.printf("%nInserted %d authors, %d books, %d reviews.%n",
+                    generator.authorsInserted.sum(), generator.booksInserted.sum(), generator.reviewsInserted.sum());
+        }
+    }
+
+    private static long chunks(long total, int chunkSize) {
+        return (total + chunkSize - 1) / chunkSize;
+    }
+
+    private interface Chunk {
+        void generate(long chunk);
+    }
+
+    private static final class Generator {
+
+        private final Settings settings;
+        private final MongoCollection<Document> authors;
+        private final MongoCollection<Document> books;
+        private final MongoCollection<Document> reviews;
+        private final long chunks;
+        private final long slotStride;
+        private final double harmonic;
+        private final LongAdder authorsInserted = new LongAdder();
+        private final LongAdder booksInserted = new LongAdder();
+        private final LongAdder reviewsInserted = new LongAdder();
+
+        Generator(MongoDatabase database, Settings settings) {
+            this.settings = settings;
+            this.authors = database.getCollection("authors");
+            this.books = database.getCollection("books");
+            this.reviews = database.getCollection("reviews");
+            this.chunks = chunks(settings.books(), CHUNK_BOOKS);
+            this.slotStride = coprimeStride(CHUNK_BOOKS);
+            this.harmonic = harmonic();
+        }
+
+        void run(ExecutorService executor, String phase, long chunks, Chunk chunk) throws Exception {
+            long start = System.nanoTime();
+            long before = authorsInserted.sum() + booksInserted.sum() + reviewsInserted.sum();
+            List<Future<?>> futures = new ArrayList<>();
+            for (long i = 0; i < chunks; i++) {
+                long index = i;
+                futures.add(executor.submit(() -> chunk.generate(index)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long documents = authorsInserted.sum() + booksInserted.sum() + reviewsInserted.sum() - before;
+            System.out.printf("%-10s %14d %10.1f %12.0f%n", phase, documents, seconds, documents / seconds);
+        }
+
+        void authors(long chunk) {
+            SplittableRandom random = random(AUTHOR, chunk);
+            List<Document> batch = new ArrayList<>(BATCH_SIZE);
+            long end = Math.min(settings.authors(), (chunk + 1) * BATCH_SIZE);
+            for (long index = chunk * BATCH_SIZE; index < end; index++) {
+                batch.add(new Document("_id", id(AUTHOR, index, 0))
+                        .append("name", authorName(index))
+                        .append("nationality", pick(random, NATIONALITIES))
+                        .append("birthYear", 1990 - (int) Math.min(150, Math.abs(random.nextGaussian()) * 35)));
+            }
+            insert(authors, batch, authorsInserted);
+        }
+
+        /** One chunk of books and all of their reviews; each book carries its latest reviews embedded. */
+        void books(long chunk) {
+            SplittableRandom random = random(BOOK, chunk);
+            List<Document> bookBatch = new ArrayList<>(CHUNK_BOOKS);
+            List<Document> reviewBatch = new ArrayList<>(BATCH_SIZE);
+            long end = Math.min(settings.books(), (chunk + 1) * CHUNK_BOOKS);
+            for (long index = chunk * CHUNK_BOOKS; index < end; index++) {
+                String bookId = id(BOOK, index, 0);
+                Latest latest = new Latest(settings.maxEmbedded());
+                long count = reviewCount(random, index);
+                for (long n = 0; n < count; n++) {
+                    Document review = review(random, bookId, index, n);
+                    latest.offer(review);
+                    reviewBatch.add(review);
+                    if (reviewBatch.size() == BATCH_SIZE) {
+                        insert(reviews, reviewBatch, reviewsInserted);
+                        reviewBatch = new ArrayList<>(BATCH_SIZE);
+                    }
+                }
+                bookBatch.add(book(random, bookId, latest.oldestFirst()));
+            }
+            insert(reviews, reviewBatch, reviewsInserted);
+            insert(books, bookBatch, booksInserted);
+        }
+
+        private Document book(SplittableRandom random, String bookId, List<Document> embedded) {
+            int pages = (int) Math.max(40, Math.min(2_000, Math.round(Math.exp(5.6 + 0.5 * random.nextGaussian()))));
+            int authorCount = random.nextDouble() < 0.8 ? 1 : random.nextDouble() < 0.75 ? 2 : 3;
+            List<Document> refs = new ArrayList<>(authorCount);
+            for (int i = 0; i < authorCount; i++) {
+                long author = zipf(random, settings.authors(), settings.authorSkew());
+                refs.add(new Document("authorId", id(AUTHOR, author, 0)).append("name", authorName(author)));
+            }
+            return new Document("_id", bookId)
+                    .append("title", "The " + pick(random, ADJECTIVES) + " " + pick(random, NOUNS)
+                            + (random.nextInt(4) == 0 ? " of the " + pick(random, NOUNS) : ""))
+                    .append("pages", pages)
+                    .append("year", 2025 - (int) Math.min(200, Math.abs(random.nextGaussian()) * 30))
+                    .append("pageCategory", settings.pageCategories().categoryOf(pages))
+                    .append("authors", refs)
+                    .append("reviews", embedded);
+        }
+
+        private Document review(SplittableRandom random, String bookId, long book, long n) {
+            double draw = random.nextDouble();
+            int rating = 1;
+            while (draw > RATING_CDF[rating - 1]) {
+                rating++;
+            }
+            return new Document("_id", id(REVIEW, book, n))
+                    .append("text", pick(random, OPINIONS))
+                    .append("user", "reader" + zipf(random, settings.users(), 1.0))
+                    .append("rating", (double) rating)
+                    .append("bookId", bookId)
+                    .append("createdAt", Date.from(settings.end().minusSeconds(random.nextLong(REVIEW_SPAN_SECONDS))));
+        }
+
+        /**
+         * Reviews of the book at {@code index}: its share of the total under a
+         * Zipf law over the book's rank, rounded up or down at random so the
+         * totals add up on average.
+         */
+        private long reviewCount(SplittableRandom random, long index) {
+            double expected = settings.reviews() * Math.pow(rank(index) + 1, -settings.reviewSkew()) / harmonic;
+            long count = (long) expected;
+            return random.nextDouble() < expected - count ? count + 1 : count;
+        }
+
+        /**
+         * The popularity rank of the book at {@code index}: rank {@code r}
+         * goes to chunk {@code r mod chunks}, at a slot of that chunk shuffled
+         * by a stride coprime with the chunk size. Ranks whose slot falls past
+         * the end of a short last chunk are not used.
+         */
+        private long rank(long index) {
+            long slot = index % CHUNK_BOOKS * slotStride % CHUNK_BOOKS;
+            return slot * chunks + index / CHUNK_BOOKS;
+        }
+
+        /** The Zipf normalization over the ranks in use, so the expected counts add up to the total. */
+        private double harmonic() {
+            double sum = 0;
+            for (long index = settings.books() - 1; index >= 0; index--) {
+                sum += Math.pow(rank(index) + 1, -settings.reviewSkew());
+            }
+            return sum;
+        }
+
+        private SplittableRandom random(int kind, long chunk) {
+            return new SplittableRandom(mix(settings.seed() ^ mix(((long) kind << 56) ^ chunk)));
+        }
+
+        private static void insert(MongoCollection<Document> collection, List<Document> batch, LongAdder inserted) {
+            if (!batch.isEmpty()) {
+                collection.insertMany(batch, new InsertManyOptions().ordered(false));
+                inserted.add(batch.size());
+            }
+        }
+    }
+
+    /** The latest {@code max} reviews offered so far, by {@code createdAt}. */
+    private static final class Latest {
+
+        private static final Comparator<Document> BY_CREATED_AT = Comparator.comparing(review -> review.getDate("createdAt"));
+
+        private final Document[] reviews;
+        private int size;
+
+        Latest(int max) {
+            this.reviews = new Document[max];
+        }
+
+        /** Keeps {@link #reviews} sorted oldest first, replacing the oldest once full. */
+        void offer(Document review) {
+            if (reviews.length == 0) {
+                return;
+            }
+            if (size == reviews.length) {
+                if (BY_CREATED_AT.compare(review, reviews[0]) <= 0) {
+                    return;
+                }
+                System.arraycopy(reviews, 1, reviews, 0, --size);
+            }
+            int at = size;
+            while (at > 0 && BY_CREATED_AT.compare(reviews[at - 1], review) > 0) {
+                reviews[at] = reviews[at - 1];
+                at--;
+            }
+            reviews[at] = review;
+            size++;
+        }
+
+        /** What {@code BookQueries.embedReviewUpdate} would have left: latest reviews, oldest first, without {@code bookId}. */
+        List<Document> oldestFirst() {
+            return Arrays.stream(reviews, 0, size)
+                    .map(review -> new Document("_id", review.get("_id"))
+                            .append("text", review.get("text"))
+                            .append("user", review.get("user"))
+                            .append("rating", review.get("rating"))
+                            .append("createdAt", review.get("createdAt")))
+                    .toList();
+        }
+    }
+
+    /** Unique, stable name for the author at {@code index}; names repeat with a numeric suffix past 676 authors. */
+    private static String authorName(long index) {
+        int combinations = FIRST_NAMES.length * LAST_NAMES.length;
+        String name = FIRST_NAMES[(int) (index % FIRST_NAMES.length)] + " "
+                + LAST_NAMES[(int) (index / FIRST_NAMES.length % LAST_NAMES.length)];
+        return index < combinations ? name : name + " " + (index / combinations + 1);
+    }
+
+    /** A 24-digit hex id (a valid {@code ObjectId} string) from a kind and two counters. */
+    private static String id(int kind, long high, long low) {
+        char[] hex = new char[24];
+        put(hex, 0, kind, 4);
+        put(hex, 4, high, 10);
+        put(hex, 14, low, 10);
+        return new String(hex);
+    }
+
+    private static void put(char[] hex, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            hex[i] = HEX[(int) (value & 0xf)];
+            value >>>= 4;
+        }
+    }
+
+    /**
+     * A rank in {@code [0, n)}, rank {@code k} about {@code (k + 1)^-skew} as
+     * likely as rank 0: the inverse CDF of the continuous power law, which is
+     * close enough to a discrete Zipf law for test data.
+     */
+    private static long zipf(SplittableRandom random, long n, double skew) {
+        double u = random.nextDouble();
+        double x = Math.abs(skew - 1) < 1e-9
+                ? Math.exp(u * Math.log(n + 1.0))
+                : Math.pow((Math.pow(n + 1.0, 1 - skew) - 1) * u + 1, 1 / (1 - skew));
+        return Math.min(n - 1, Math.max(0, (long) x - 1));
+    }
+
+    /** A stride coprime with {@code n}, so {@code index * stride mod n} shuffles {@code [0, n)} without repeats. */
+    private static long coprimeStride(long n) {
+        long stride = Math.max(1, (long) (n * 0.6180339887));
+        while (gcd(stride, n) != 1) {
+            stride++;
+        }
+        return stride;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /** SplitMix64 finalizer: decorrelates seeds that differ in a few bits. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
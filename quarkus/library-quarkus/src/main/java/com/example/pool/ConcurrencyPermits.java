@@ -0,0 +1,162 @@
+package com.example.pool;
+
+import com.example.config.MongoSettings;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A resizable semaphore in front of the driver pool: how many repository
+ * calls may use MongoDB at once. {@link PoolTuner} resizes it; shrinking
+ * takes effect as permits are returned. Also counts, per tuning interval, how
+ * long callers waited, how many were queued and how many non-blocking callers
+ * found no permit free.
+ */
+@ApplicationScoped
+public class ConcurrencyPermits {
+
+    private final boolean enabled;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private int limit;
+    private int inUse;
+    private int waiting;
+    private long waits;
+    private long waitNanos;
+    private long rejections;
+    private int peakInUse;
+    private int peakWaiting;
+
+    @Inject
+    ConcurrencyPermits(MongoSettings settings) {
+        MongoSettings.AutoTune autoTune = settings.pool().autoTune();
+        this.enabled = autoTune.enabled();
+        this.limit = autoTune.initialPermits();
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /** Waits up to {@code timeoutNanos} for a permit; {@code false} if none was granted in time. */
+    public boolean acquire(long timeoutNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            if (inUse < limit) {
+                grant();
+                return true;
+            }
+            long start = System.nanoTime();
+            long remaining = timeoutNanos;
+            waiting++;
+            peakWaiting = Math.max(peakWaiting, waiting);
+            try {
+                while (inUse >= limit) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                grant();
+                return true;
+            } finally {
+                waiting--;
+                waits++;
+                waitNanos += System.nanoTime() - start;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** A permit if one is free right now; for callers that must not block. */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inUse >= limit) {
+                rejections++;
+                return false;
+            }
+            grant();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release() {
+        lock.lock();
+        try {
+            inUse--;
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inUse() {
+        lock.lock();
+        try {
+            return inUse;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void resize(int newLimit) {
+        lock.lock();
+        try {
+            limit = newLimit;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Usage since the previous call. */
+    Interval drain() {
+        lock.lock();
+        try {
+            Interval interval = new Interval(waits, waitNanos, rejections,
+                    Math.max(peakInUse, inUse), Math.max(peakWaiting, waiting));
+            waits = 0;
+            waitNanos = 0;
+            rejections = 0;
+            peakInUse = inUse;
+            peakWaiting = waiting;
+            return interval;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void grant() {
+        inUse++;
+        peakInUse = Math.max(peakInUse, inUse);
+    }
+
+    /**
+     * @param waits      blocking callers that had to wait, however long
+     * @param rejections {@link #tryAcquire()} callers that found no permit; they
+     *                   did not wait, so they are not part of {@link #averageWaitMillis()}
+     */
+    record Interval(long waits, long waitNanos, long rejections, int peakInUse, int peakWaiting) {
+
+        double averageWaitMillis() {
+            return waits == 0 ? 0 : waitNanos / (double) waits / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
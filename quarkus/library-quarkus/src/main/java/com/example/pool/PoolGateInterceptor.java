@@ -0,0 +1,119 @@
+package com.example.pool;
+
+import com.example.config.MongoSettings;
+import com.example.exception.ServiceOverloadedException;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies {@link PoolGated}. A thread already holding a permit does not take
+ * another for nested repository calls, and synchronous methods running on an
+ * event loop (pipeline builders the reactive repositories borrow) are not
+ * gated: they do no I/O and must not block.
+ *
+ * <p>{@code Uni} and {@code Multi} calls are re-entrant per subscription: the
+ * first one subscribed takes the permit, calls subscribed while it runs
+ * (nested ones included) share it through the Mutiny subscription context,
+ * and the last one to terminate releases it.
+ *
+ * <p>The two paths treat a full gate differently. A blocking call waits up to
+ * {@code mongodb.pool.auto-tune.max-wait} for a permit; a reactive one takes
+ * a free permit or fails at once with 503, because waiting would park the
+ * event loop that subscribed it. Under the same burst the reactive side
+ * therefore sees rejections where the blocking side queues; {@link PoolTuner}
+ * reads each rejection as a missed wait target and adds permits on its next
+ * interval.
+ */
+@PoolGated
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION + 10)
+public class PoolGateInterceptor {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+    private static final ThreadLocal<Boolean> HOLDING = new ThreadLocal<>();
+    private static final String HOLDERS = PoolGateInterceptor.class.getName() + ".holders";
+
+    @Inject
+    ConcurrencyPermits permits;
+
+    @Inject
+    MongoSettings settings;
+
+    @AroundInvoke
+    Object gate(InvocationContext context) throws Exception {
+        if (!permits.enabled()) {
+            return context.proceed();
+        }
+        Class<?> returnType = context.getMethod().getReturnType();
+        if (Uni.class.isAssignableFrom(returnType)) {
+            Uni<?> call = (Uni<?>) context.proceed();
+            return Uni.createFrom().context(subscription -> {
+                AtomicInteger holders = holdersOf(subscription);
+                acquireNow(holders);
+                return call.onTermination().invoke(() -> releaseLast(holders));
+            });
+        }
+        if (Multi.class.isAssignableFrom(returnType)) {
+            Multi<?> call = (Multi<?>) context.proceed();
+            return Multi.createFrom().context(subscription -> {
+                AtomicInteger holders = holdersOf(subscription);
+                acquireNow(holders);
+                return call.onTermination().invoke(() -> releaseLast(holders));
+            });
+        }
+        if (HOLDING.get() != null || Context.isOnEventLoopThread()) {
+            return context.proceed();
+        }
+
+        if (!permits.acquire(settings.pool().autoTune().maxWait().toNanos())) {
+            throw overloaded();
+        }
+        HOLDING.set(Boolean.TRUE);
+        try {
+            return context.proceed();
+        } finally {
+            HOLDING.remove();
+            permits.release();
+        }
+    }
+
+    /** Calls of this subscription currently sharing its permit. */
+    private static AtomicInteger holdersOf(io.smallrye.mutiny.Context subscription) {
+        synchronized (subscription) {
+            if (!subscription.contains(HOLDERS)) {
+                subscription.put(HOLDERS, new AtomicInteger());
+            }
+            return subscription.get(HOLDERS);
+        }
+    }
+
+    /** Takes a free permit unless the subscription already holds one. */
+    private void acquireNow(AtomicInteger holders) {
+        if (holders.getAndIncrement() > 0) {
+            return;
+        }
+        if (!permits.tryAcquire()) {
+            holders.decrementAndGet();
+            throw overloaded();
+        }
+    }
+
+    private void releaseLast(AtomicInteger holders) {
+        if (holders.decrementAndGet() == 0) {
+            permits.release();
+        }
+    }
+
+    private static ServiceOverloadedException overloaded() {
+        return new ServiceOverloadedException("MongoDB", RETRY_AFTER);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.pool;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Holds one of the {@link ConcurrencyPermits} while the method uses MongoDB,
+ * when {@code mongodb.pool.auto-tune.enabled} is set. Blocking methods wait up
+ * to {@code max-wait}; {@code Uni} and {@code Multi} results take a free
+ * permit at subscription or fail.
+ */
+@InterceptorBinding
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PoolGated {
+}
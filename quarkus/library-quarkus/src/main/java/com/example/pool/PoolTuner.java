@@ -0,0 +1,245 @@
+package com.example.pool;
+
+import com.example.config.MongoSettings;
+import com.example.dto.response.PoolDecisionResponse;
+import com.example.dto.response.PoolTuningResponse;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resizes the {@link ConcurrencyPermits} from what the driver reports: pool
+ * checkouts (wait time and connections in use, as a
+ * {@code ConnectionPoolListener} registered by {@code MongoClientConfig}) and
+ * server round trips (as a {@code CommandListener}).
+ *
+ * <p>Once per {@code interval}, in this order:
+ * <ol>
+ *   <li>average command latency more than {@code latency-tolerance} times its
+ *       baseline: the server is saturated, remove a quarter of the permits;</li>
+ *   <li>callers waited on average longer than {@code wait-target} for a permit
+ *       or a connection, or reactive callers found no permit free (they cannot
+ *       wait, so any rejection misses the target): add a quarter more permits;</li>
+ *   <li>fewer than half the permits' worth of connections were in use at peak
+ *       and nobody queued or was rejected: give back half of the spare permits;</li>
+ *   <li>otherwise hold.</li>
+ * </ol>
+ * The baseline follows lower latencies at once and higher ones slowly, so it
+ * stays near the unloaded round trip. Changes are logged at INFO and kept for
+ * {@link #report()}; holds are logged at DEBUG.
+ *
+ * <p>Blocking callers wait up to {@code max-wait} for a permit, reactive ones
+ * are rejected at once (see {@link PoolGateInterceptor}); that is why a
+ * rejection counts as a missed wait target in step 2.
+ */
+@ApplicationScoped
+public class PoolTuner implements ConnectionPoolListener, CommandListener {
+
+    private static final Logger LOG = Logger.getLogger(PoolTuner.class);
+    private static final int MAX_DECISIONS = 50;
+    private static final double BASELINE_DRIFT = 0.05;
+
+    private final MongoSettings.AutoTune settings;
+    private final ConcurrencyPermits permits;
+    private final MeterRegistry registry;
+    private final int minPermits;
+    private final int maxPermits;
+
+    private final AtomicInteger checkedOut = new AtomicInteger();
+    private final AtomicInteger peakCheckedOut = new AtomicInteger();
+    private final LongAdder checkouts = new LongAdder();
+    private final LongAdder checkoutWaitNanos = new LongAdder();
+    private final LongAdder commands = new LongAdder();
+    private final LongAdder commandNanos = new LongAdder();
+    private final Deque<PoolDecisionResponse> decisions = new ArrayDeque<>();
+
+    /** Only read and written by {@link #tune()}, under its lock. */
+    private double baselineNanos = Double.NaN;
+    private volatile boolean stopped;
+
+    @Inject
+    PoolTuner(MongoSettings settings, ConcurrencyPermits permits, MeterRegistry registry) {
+        this(settings.pool().autoTune(), settings.pool().maxSize(), permits, registry);
+    }
+
+    PoolTuner(MongoSettings.AutoTune settings, int poolMaxSize, ConcurrencyPermits permits, MeterRegistry registry) {
+        this.settings = settings;
+        this.permits = permits;
+        this.registry = registry;
+        this.maxPermits = Math.max(1, Math.min(settings.maxPermits(), poolMaxSize));
+        this.minPermits = Math.max(1, Math.min(settings.minPermits(), maxPermits));
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!settings.enabled()) {
+            return;
+        }
+        int initial = clamp(settings.initialPermits());
+        permits.resize(initial);
+        Gauge.builder("mongodb.pool.permits", permits, ConcurrencyPermits::limit)
+                .description("Concurrent MongoDB operations the pool tuner currently allows")
+                .register(registry);
+        Gauge.builder("mongodb.pool.permits.in-use", permits, ConcurrencyPermits::inUse)
+                .description("Permits held by running repository calls")
+                .register(registry);
+        LOG.infof("Pool auto-tuning: %d permits, between %d and %d, every %d ms",
+                initial, minPermits, maxPermits, settings.interval().toMillis());
+        Thread.ofPlatform().name("pool-tuner").daemon(true).start(this::run);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        stopped = true;
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        peakCheckedOut.accumulateAndGet(checkedOut.incrementAndGet(), Math::max);
+        checkouts.increment();
+        checkoutWaitNanos.add(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        checkedOut.decrementAndGet();
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        recordCommand(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        recordCommand(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    void recordCommand(long elapsedNanos) {
+        commands.increment();
+        commandNanos.add(elapsedNanos);
+    }
+
+    public PoolTuningResponse report() {
+        List<PoolDecisionResponse> recent;
+        synchronized (decisions) {
+            recent = List.copyOf(decisions);
+        }
+        return new PoolTuningResponse(
+                settings.enabled(), permits.limit(), minPermits, maxPermits, permits.inUse(), recent);
+    }
+
+    private void run() {
+        long intervalMillis = settings.interval().toMillis();
+        while (!stopped) {
+            try {
+                Thread.sleep(intervalMillis);
+                tune();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOG.warnf(e, "Pool tuning failed, keeping %d permits", permits.limit());
+            }
+        }
+    }
+
+    /**
+     * One tuning decision. Synchronized so that the counters are drained and
+     * the baseline moves one interval at a time, also when it is called
+     * outside the tuner thread (as the tests do).
+     */
+    synchronized void tune() {
+        ConcurrencyPermits.Interval usage = permits.drain();
+        long intervalCommands = commands.sumThenReset();
+        long intervalCommandNanos = commandNanos.sumThenReset();
+        long intervalCheckouts = checkouts.sumThenReset();
+        long intervalCheckoutWaitNanos = checkoutWaitNanos.sumThenReset();
+        int inUsePeak = peakCheckedOut.getAndSet(checkedOut.get());
+
+        int limit = permits.limit();
+        if (intervalCommands == 0 && usage.waits() == 0 && usage.rejections() == 0) {
+            LOG.debugf("Pool tuning: idle, holding %d permits", limit);
+            return;
+        }
+
+        double latencyNanos = intervalCommands == 0 ? Double.NaN : intervalCommandNanos / (double) intervalCommands;
+        double latencyRatio = updateBaseline(latencyNanos);
+        double checkoutWaitMillis = intervalCheckouts == 0
+                ? 0 : intervalCheckoutWaitNanos / (double) intervalCheckouts / TimeUnit.MILLISECONDS.toNanos(1);
+        double waitMillis = Math.max(usage.averageWaitMillis(), checkoutWaitMillis);
+        double waitTargetMillis = settings.waitTarget().toNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+
+        if (latencyRatio > settings.latencyTolerance() && limit > minPermits) {
+            change(limit, clamp(limit - Math.max(1, limit / 4)),
+                    "command latency %.1f ms is %.1fx the %.1f ms baseline".formatted(
+                            millis(latencyNanos), latencyRatio, millis(baselineNanos)));
+        } else if (usage.rejections() > 0 && limit < maxPermits) {
+            change(limit, clamp(limit + Math.max(1, limit / 4)),
+                    "%d callers found no permit free, latency %.1fx baseline".formatted(
+                            usage.rejections(), latencyRatio));
+        } else if (waitMillis > waitTargetMillis && limit < maxPermits) {
+            change(limit, clamp(limit + Math.max(1, limit / 4)),
+                    "callers waited %.1f ms on average (%d waits, %d queued at peak), latency %.1fx baseline".formatted(
+                            waitMillis, usage.waits(), usage.peakWaiting(), latencyRatio));
+        } else if (inUsePeak * 2 < limit && usage.peakWaiting() == 0 && usage.rejections() == 0 && limit > minPermits) {
+            change(limit, clamp(limit - Math.max(1, (limit - inUsePeak * 2) / 2)),
+                    "at most %d connections in use".formatted(inUsePeak));
+        } else {
+            LOG.debugf("Pool tuning: holding %d permits (wait %.1f ms, %d in use at peak, latency %.1fx baseline)",
+                    limit, waitMillis, inUsePeak, latencyRatio);
+        }
+    }
+
+    /** Latency over the baseline, after moving the baseline towards this interval's latency. */
+    private double updateBaseline(double latencyNanos) {
+        if (Double.isNaN(latencyNanos)) {
+            return 1;
+        }
+        if (Double.isNaN(baselineNanos) || latencyNanos < baselineNanos) {
+            baselineNanos = latencyNanos;
+        } else {
+            baselineNanos += (latencyNanos - baselineNanos) * BASELINE_DRIFT;
+        }
+        return baselineNanos > 0 ? latencyNanos / baselineNanos : 1;
+    }
+
+    private void change(int from, int to, String reason) {
+        if (from == to) {
+            return;
+        }
+        permits.resize(to);
+        LOG.infof("Pool tuning: %d -> %d permits, %s", from, to, reason);
+        synchronized (decisions) {
+            if (decisions.size() == MAX_DECISIONS) {
+                decisions.removeFirst();
+            }
+            decisions.addLast(new PoolDecisionResponse(Instant.now(), from, to, reason));
+        }
+    }
+
+    private int clamp(int value) {
+        return Math.max(minPermits, Math.min(maxPermits, value));
+    }
+
+    private static double millis(double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
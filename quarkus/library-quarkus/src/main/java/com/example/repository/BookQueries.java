@@ -0,0 +1,205 @@
+package com.example.repository;
+
+import com.example.config.ReviewArchiveSettings;
+import com.example.config.ReviewStorageSettings;
+import com.example.model.entity.Review;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.MergeOptions;
+import com.mongodb.client.model.PushOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Pipelines and updates over books that depend on the review configuration,
+ * shared by {@link BookRepository} and {@link ReactiveBookRepository} so both
+ * execution modes run the same queries. A plain bean without the
+ * repositories' interceptors: building a pipeline is not timed, recorded or
+ * gated as if it were a database call.
+ */
+@Singleton
+public class BookQueries {
+
+    private static final String BOOKS_COLLECTION = "books";
+    private static final String REVIEWS_COLLECTION = "reviews";
+
+    private final int maxEmbeddedReviews;
+    private final int reviewLookupLimit;
+    private final int reviewBucketSize;
+    private final boolean bucketedReviews;
+    private final boolean archivedReviews;
+
+    @Inject
+    BookQueries(@ConfigProperty(name = "library.reviews.max-embedded", defaultValue = "5")
+                int maxEmbeddedReviews,
+                @ConfigProperty(name = "library.reviews.lookup-limit", defaultValue = "10")
+                int reviewLookupLimit,
+                ReviewStorageSettings reviewStorage,
+                ReviewArchiveSettings reviewArchive) {
+        this(maxEmbeddedReviews, reviewLookupLimit, reviewStorage.layout(), reviewStorage.bucketSize(),
+                reviewArchive.enabled());
+    }
+
+    /** For callers outside the container, such as the playground benchmarks. */
+    public BookQueries(int maxEmbeddedReviews, int reviewLookupLimit, ReviewStorageSettings.Layout layout,
+                       int reviewBucketSize, boolean archiveEnabled) {
+        this.maxEmbeddedReviews = maxEmbeddedReviews;
+        this.reviewLookupLimit = reviewLookupLimit;
+        this.reviewBucketSize = reviewBucketSize;
+        this.bucketedReviews = layout == ReviewStorageSettings.Layout.BUCKET;
+        this.archivedReviews = archiveEnabled && !bucketedReviews;
+    }
+
+    /** Collection the reviews are stored in, depending on the layout. */
+    String reviewsCollection() {
+        return bucketedReviews ? ReviewBucketStore.BUCKETS_COLLECTION : REVIEWS_COLLECTION;
+    }
+
+    boolean bucketedReviews() {
+        return bucketedReviews;
+    }
+
+    /** Whether reviews may also be in {@code reviews_archive}; never with the bucket layout. */
+    boolean archivedReviews() {
+        return archivedReviews;
+    }
+
+    /**
+     * The given reviewed books that exist, in {@code _id} order, with their
+     * latest reviews (see {@link BookRepository#findBooksWithReviews}).
+     */
+    public List<Bson> reviewedBooksPagePipeline(List<String> bookIds) {
+        List<Bson> pipeline = new ArrayList<>();
+        pipeline.add(Aggregates.match(Filters.in("_id", bookIds)));
+        pipeline.add(Aggregates.sort(Sorts.ascending("_id")));
+        pipeline.addAll(latestReviewsPageStages());
+        return pipeline;
+    }
+
+    /** Joins a page of reviewed books to their latest reviews. */
+    private List<Bson> latestReviewsPageStages() {
+        List<Bson> pageStages = new ArrayList<>();
+        pageStages.add(latestReviewsLookup(reviewsCollection(), latestReviewsPipeline(), "latest"));
+        Document latest = new Document("$ifNull", List.of("$latest", List.of()));
+        if (archivedReviews) {
+            pageStages.add(latestReviewsLookup(ReviewRepository.ARCHIVE_COLLECTION, latestReviewsPipeline(), "archived"));
+            latest = new Document("$slice", List.of(new Document("$sortArray", new Document()
+                    .append("input", new Document("$concatArrays", List.of(latest, "$archived")))
+                    .append("sortBy", new Document("createdAt", -1))), reviewLookupLimit));
+        }
+        pageStages.add(new Document("$set", new Document("allReviews", latest)));
+        pageStages.add(new Document("$unset", List.of("reviews", "latest", "archived")));
+        return pageStages;
+    }
+
+    /** Latest {@code reviewLookupLimit} reviews of one book, for a {@code $lookup} on {@code bookId}. */
+    private List<Bson> latestReviewsPipeline() {
+        if (bucketedReviews) {
+            return ReviewBucketStore.latestReviews(reviewLookupLimit, reviewBucketSize);
+        }
+        return List.of(
+                Aggregates.sort(Sorts.descending("createdAt")),
+                Aggregates.limit(reviewLookupLimit));
+    }
+
+    /** {@code $push} keeping only the latest {@code maxEmbeddedReviews}, oldest first. */
+    Bson embedReviewUpdate(Review review) {
+        Document embedded = new Document()
+                .append("_id", review.id)
+                .append("text", review.text)
+                .append("user", review.user)
+                .append("rating", review.rating)
+                .append("createdAt", Date.from(review.createdAt));
+
+        return Updates.pushEach("reviews", List.of(embedded),
+                new PushOptions()
+                        .sortDocument(new Document("createdAt", 1))
+                        .slice(-maxEmbeddedReviews));
+    }
+
+    /**
+     * Rebuilds {@code reviews} on the books matching {@code bookFilter} (see
+     * {@link BookRepository#reconcileEmbeddedReviewsOfBooks}).
+     */
+    List<Bson> reconcilePipeline(Bson bookFilter, Collection<String> deletedReviewIds) {
+        Document latest = new Document("$group", new Document()
+                .append("_id", null)
+                .append("top", new Document("$topN", new Document()
+                        .append("n", maxEmbeddedReviews)
+                        .append("sortBy", new Document("createdAt", -1).append("_id", -1))
+                        .append("output", new Document()
+                                .append("_id", "$_id")
+                                .append("text", "$text")
+                                .append("user", "$user")
+                                .append("rating", "$rating")
+                                .append("createdAt", "$createdAt")))));
+
+        List<Document> reviewsPipeline = bucketedReviews
+                ? List.of(new Document("$unwind", "$reviews"), new Document("$replaceWith", "$reviews"), latest)
+                : List.of(latest);
+
+        List<Bson> pipeline = new ArrayList<>();
+        pipeline.add(Aggregates.match(bookFilter));
+        pipeline.add(latestReviewsLookup(reviewsCollection(), reviewsPipeline, "latest"));
+        Document rebuilt = new Document("$ifNull", List.of(new Document("$first", "$latest.top"), List.of()));
+        if (archivedReviews) {
+            // Books whose recent reviews are all old enough to be archived keep
+            // their subset: the archive is looked up the same way and merged.
+            pipeline.add(latestReviewsLookup(ReviewRepository.ARCHIVE_COLLECTION, reviewsPipeline, "archived"));
+            rebuilt = new Document("$concatArrays", List.of(rebuilt,
+                    new Document("$ifNull", List.of(new Document("$first", "$archived.top"), List.of()))));
+        }
+        pipeline.add(Aggregates.project(new Document("reviews", new Document("$lastN", new Document()
+                .append("n", maxEmbeddedReviews)
+                .append("input", new Document("$sortArray", new Document()
+                        .append("input", rebuilt)
+                        .append("sortBy", new Document("createdAt", 1))))))));
+        pipeline.add(Aggregates.merge(BOOKS_COLLECTION, new MergeOptions()
+                .uniqueIdentifier("_id")
+                .whenMatched(MergeOptions.WhenMatched.PIPELINE)
+                .whenMatchedPipeline(List.of(keepReviewsEmbeddedSince(deletedReviewIds)))
+                .whenNotMatched(MergeOptions.WhenNotMatched.DISCARD)));
+        return pipeline;
+    }
+
+    private static Document latestReviewsLookup(String from, List<? extends Bson> reviewsPipeline, String as) {
+        return new Document("$lookup", new Document()
+                .append("from", from)
+                .append("localField", "_id")
+                .append("foreignField", "bookId")
+                .append("pipeline", reviewsPipeline)
+                .append("as", as));
+    }
+
+    /**
+     * {@code $merge} update for a rebuilt subset: reviews embedded on the book
+     * after the aggregation read {@code reviews} (newer than anything rebuilt)
+     * are kept, so a concurrent {@link BookRepository#embedReview} is never lost. The
+     * copies of {@code deletedReviewIds} are not among them.
+     */
+    private Document keepReviewsEmbeddedSince(Collection<String> deletedReviewIds) {
+        Document newestRebuilt = new Document("$ifNull", List.of(new Document("$max", "$$new.reviews.createdAt"), new Date(0)));
+        Document newer = new Document("$gt", List.of("$$r.createdAt", newestRebuilt));
+        Document embeddedSince = new Document("$filter", new Document()
+                .append("input", new Document("$ifNull", List.of("$reviews", List.of())))
+                .append("as", "r")
+                .append("cond", deletedReviewIds.isEmpty() ? newer : new Document("$and", List.of(newer,
+                        new Document("$not", List.of(new Document("$in", List.of("$$r._id", List.copyOf(deletedReviewIds)))))))));
+
+        return new Document("$set", new Document("reviews", new Document("$lastN", new Document()
+                .append("n", maxEmbeddedReviews)
+                .append("input", new Document("$sortArray", new Document()
+                        .append("input", new Document("$concatArrays", List.of("$$new.reviews", embeddedSince)))
+                        .append("sortBy", new Document("createdAt", 1)))))));
+    }
+}
@@ -1,188 +1,561 @@
 package com.example.repository;
 
+import com.example.codec.FacetPage;
+import com.example.codec.ResponseCodecs;
+import com.example.config.DurabilityProfiles;
+import com.example.config.ReadProfiles;
+import com.example.consistency.CausalSessions;
+import com.example.deadline.Deadlines;
+import com.example.diagnostics.FlightRecorded;
 import com.example.dto.response.AuthorBookCountResponse;
+import com.example.dto.response.AuthorBookStatsResponse;
 import com.example.dto.response.BookCategoryResponse;
+import com.example.dto.response.BookResponse;
 import com.example.dto.response.BookWithReviewsResponse;
+import com.example.dto.response.CursorPageResponse;
 import com.example.dto.response.PageResponse;
-import com.example.dto.response.ReviewResponse;
+import com.example.hedge.HedgedReads;
+import com.example.model.entity.Author;
 import com.example.model.entity.Book;
 import com.example.model.entity.Review;
+import com.example.pool.PoolGated;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Accumulators;
 import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Facet;
 import com.mongodb.client.model.Filters;
-import com.mongodb.client.model.PushOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
 import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import io.micrometer.core.annotation.Timed;
 import io.quarkus.mongodb.panache.PanacheMongoRepositoryBase;
-import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.bson.BsonType;
 import org.bson.Document;
 import org.bson.conversions.Bson;
-import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.function.Function;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @ApplicationScoped
+@Timed(value = "library.repository", histogram = true)
+@FlightRecorded(collection = "books")
+@PoolGated
 public class BookRepository implements PanacheMongoRepositoryBase<Book, String> {
 
     private static final String BOOKS_COLLECTION = "books";
-    private static final String REVIEWS_COLLECTION = "reviews";
+    /** Index-only projection of the reviewed-book seeks of {@link #findBooksWithReviews}. */
+    static final Bson ID_ONLY = Projections.include("_id");
+    static final Bson BOOK_ID_ONLY = Projections.fields(Projections.include("bookId"), Projections.excludeId());
 
     private final MongoCollection<Document> books;
-    private final int maxEmbeddedReviews;
+    private final MongoCollection<Book> catalog;
+    private final MongoCollection<Document> embeddedReviews;
+    private final MongoCollection<BookResponse> bookResponses;
+    private final MongoCollection<FacetPage<BookCategoryResponse>> categoryPages;
+    private final MongoCollection<FacetPage<AuthorBookCountResponse>> authorCountPages;
+    private final MongoCollection<BookWithReviewsResponse> reviewedBooks;
+    private final MongoCollection<Document> reviewedBookIds;
+    private final MongoCollection<Document> archivedBookIds;
+    private final CausalSessions sessions;
+    private final HedgedReads hedging;
+    private final Deadlines deadlines;
+    private final BookQueries queries;
 
     @Inject
     BookRepository(MongoDatabase database,
-                   @ConfigProperty(name = "library.reviews.max-embedded", defaultValue = "5")
-                   int maxEmbeddedReviews) {
-        this.books = database.getCollection(BOOKS_COLLECTION);
-        this.maxEmbeddedReviews = maxEmbeddedReviews;
+                   BookQueries queries,
+                   DurabilityProfiles durability,
+                   ReadProfiles readProfiles,
+                   CausalSessions sessions,
+                   HedgedReads hedging,
+                   Deadlines deadlines) {
+        // Book writes and catalog maintenance use the catalog profile; the
+        // embedded review subset follows the (cheaper) profile of reviews.
+        this.books = durability.apply(database.getCollection(BOOKS_COLLECTION), DurabilityProfiles.CATALOG);
+        this.catalog = durability.apply(database.getCollection(BOOKS_COLLECTION, Book.class), DurabilityProfiles.CATALOG);
+        this.embeddedReviews = durability.apply(database.getCollection(BOOKS_COLLECTION), DurabilityProfiles.REVIEWS);
+        this.queries = queries;
+        // Read paths decode straight into the response records (see ResponseCodecProvider).
+        this.bookResponses = ResponseCodecs.responses(books, BookResponse.class);
+        // Catalog-wide aggregations read with the analytics profile (secondaries), off the primary.
+        MongoCollection<Document> analyticBooks = readProfiles.apply(books, ReadProfiles.ANALYTICS);
+        this.categoryPages = ResponseCodecs.pages(analyticBooks, BookCategoryResponse.class);
+        this.authorCountPages = ResponseCodecs.pages(analyticBooks, AuthorBookCountResponse.class);
+        this.reviewedBookIds = readProfiles.apply(database.getCollection(queries.reviewsCollection()), ReadProfiles.ANALYTICS);
+        this.archivedBookIds = readProfiles.apply(
+                database.getCollection(ReviewRepository.ARCHIVE_COLLECTION), ReadProfiles.ANALYTICS);
+        this.reviewedBooks = ResponseCodecs.responses(analyticBooks, BookWithReviewsResponse.class);
+        this.sessions = sessions;
+        this.hedging = hedging;
+        // Calls made while serving a request are bounded by its deadline.
+        this.deadlines = deadlines;
     }
 
-    public List<Book> findPage(int page, int size) {
-        return findAll(Sort.by("title")).page(page, size).list();
+    public void insert(Book book) {
+        deadlines.bound(catalog).insertOne(book);
+    }
+
+    public boolean deleteBook(String id) {
+        return deadlines.bound(catalog).deleteOne(Filters.eq("_id", id)).getDeletedCount() > 0;
+    }
+
+    /** Whether the book exists, from the {@code _id} index alone. */
+    public boolean exists(String id) {
+        return deadlines.bound(books).find(Filters.eq("_id", id)).projection(ID_ONLY).first() != null;
+    }
+
+    public Optional<Book> findBook(String id) {
+        return Optional.ofNullable(deadlines.bound(catalog).find(Filters.eq("_id", id)).first());
+    }
+
+    /** The collection count from its metadata, as the page total of {@link #findPage}. */
+    public long countBooks() {
+        return deadlines.bound(books).estimatedDocumentCount();
+    }
+
+    public List<BookResponse> findPage(int page, int size) {
+        return deadlines.bound(bookResponses).find()
+                .sort(Sorts.ascending("title"))
+                .skip(page * size)
+                .limit(size)
+                .into(new ArrayList<>());
+    }
+
+    /** Hedged when {@code library.hedging.enabled} (see {@link HedgedReads}). */
+    public Optional<BookResponse> findResponseById(String id) {
+        return Optional.ofNullable(hedging.read("books.findById", deadlines.bound(bookResponses),
+                responses -> responses.find(Filters.eq("_id", id)).first()));
     }
 
     public List<Book> findByPagesGreaterThan(int minPages) {
-        return find("pages > ?1", minPages).list();
+        return deadlines.bound(mongoCollection()).find(Filters.gt("pages", minPages)).into(new ArrayList<>());
     }
 
     public List<Book> findByYear(int year) {
-        return list("year", year);
+        return deadlines.bound(mongoCollection()).find(Filters.eq("year", year)).into(new ArrayList<>());
     }
 
     public List<Book> findSortedByYear(boolean ascending) {
-        Sort.Direction direction = ascending ? Sort.Direction.Ascending : Sort.Direction.Descending;
-        return listAll(Sort.by("year", direction));
+        return deadlines.bound(mongoCollection()).find()
+                .sort(ascending ? Sorts.ascending("year") : Sorts.descending("year"))
+                .into(new ArrayList<>());
     }
 
     public List<Book> findLongest(int limit) {
-        return findAll(Sort.by("pages", Sort.Direction.Descending)).page(0, limit).list();
+        return deadlines.bound(mongoCollection()).find()
+                .sort(Sorts.descending("pages"))
+                .limit(limit)
+                .into(new ArrayList<>(limit));
     }
 
     public void update(Book book) {
-        persistOrUpdate(book);
+        deadlines.bound(catalog).replaceOne(Filters.eq("_id", book.id), book, new ReplaceOptions().upsert(true));
     }
 
+    /**
+     * Pages over every book with its persisted {@code pageCategory}. The
+     * category is computed on write (see {@code BookMapper}), so no
+     * {@code $switch} runs at query time.
+     */
     public PageResponse<BookCategoryResponse> classifyByPageCount(int page, int size) {
-        Document setStage = new Document("$set", new Document("pageCategory",
-                new Document("$switch", new Document()
-                        .append("branches", List.of(
-                                new Document("case", new Document("$lte", List.of("$pages", 250))).append("then", "short"),
-                                new Document("case", new Document("$lte", List.of("$pages", 500))).append("then", "medium")
-                        ))
-                        .append("default", "long"))));
-
-        return paginate(List.of(setStage), page, size, doc -> new BookCategoryResponse(
-                idOf(doc),
-                doc.getString("title"),
-                doc.getInteger("pages", 0),
-                doc.getInteger("year", 0),
-                authorsOf(doc),
-                doc.getString("pageCategory")));
+        return paginate(deadlines.bound(categoryPages), List.of(), List.of(), page, size);
+    }
+
+    /**
+     * Keyset page of the books in one category, served from the
+     * {@code (pageCategory, _id)} index: equality on the category, range on
+     * {@code _id} after the cursor. Fetches {@code size + 1} so the caller can
+     * tell whether another page exists.
+     */
+    public List<Book> findByPageCategory(String category, String afterId, int size) {
+        return keysetPage(new Document("pageCategory", category), afterId, size);
+    }
+
+    /**
+     * Persists {@code pageCategory} on books written before it was computed on
+     * write. Works in batches of {@code batchSize} ids so each round trip is a
+     * short update; the {@code $switch} lives here now, run once per book
+     * instead of on every read. Returns the number of books updated.
+     */
+    public long backfillPageCategory(int shortMaxPages, int mediumMaxPages, int batchSize) {
+        return rewritePageCategory(Filters.eq("pageCategory", null),
+                pageCategorySwitch(shortMaxPages, mediumMaxPages), batchSize);
+    }
+
+    /**
+     * Rewrites {@code pageCategory} on every book whose stored category (or
+     * lack of one) differs from what the given thresholds give, after the
+     * thresholds changed. The comparison is an {@code $expr}, so this visits
+     * the whole catalog; it runs once per threshold change, in batches like
+     * {@link #backfillPageCategory}. Returns the number of books updated.
+     */
+    public long recategorizePages(int shortMaxPages, int mediumMaxPages, int batchSize) {
+        Document category = pageCategorySwitch(shortMaxPages, mediumMaxPages);
+        return rewritePageCategory(Filters.expr(new Document("$ne", List.of("$pageCategory", category))),
+                category, batchSize);
+    }
+
+    private static Document pageCategorySwitch(int shortMaxPages, int mediumMaxPages) {
+        return new Document("$switch", new Document()
+                .append("branches", List.of(
+                        new Document("case", new Document("$lte", List.of("$pages", shortMaxPages))).append("then", "short"),
+                        new Document("case", new Document("$lte", List.of("$pages", mediumMaxPages))).append("then", "medium")
+                ))
+                .append("default", "long"));
+    }
+
+    private long rewritePageCategory(Bson stale, Document category, int batchSize) {
+        List<Bson> setCategory = List.of(new Document("$set", new Document("pageCategory", category)));
+
+        long updated = 0;
+        while (true) {
+            List<Object> ids = books.find(stale)
+                    .projection(Projections.include("_id"))
+                    .limit(batchSize)
+                    .map(doc -> doc.get("_id"))
+                    .into(new ArrayList<>());
+            if (ids.isEmpty()) {
+                return updated;
+            }
+
+            long modified = books.updateMany(Filters.in("_id", ids), setCategory).getModifiedCount();
+            if (modified == 0) {
+                return updated;
+            }
+            updated += modified;
+        }
+    }
+
+    /**
+     * Keyset page of an author's books from the multikey
+     * {@code (authors.authorId, _id)} index. Fetches {@code size + 1} so the
+     * caller can tell whether another page exists.
+     */
+    public List<Book> findByAuthorId(String authorId, String afterId, int size) {
+        return keysetPage(new Document("authors.authorId", authorId), afterId, size);
+    }
+
+    /** The {@code size + 1} books matching {@code query} after {@code afterId}, in {@code _id} order. */
+    private List<Book> keysetPage(Document query, String afterId, int size) {
+        if (afterId != null) {
+            query.append("_id", new Document("$gt", afterId));
+        }
+        return deadlines.bound(mongoCollection()).find(query)
+                .sort(Sorts.ascending("_id"))
+                .limit(size + 1)
+                .into(new ArrayList<>(size + 1));
+    }
+
+    /** Book count, page totals and publication span of one author, matched on the same index. */
+    public AuthorBookStatsResponse authorStats(String authorId) {
+        return toAuthorStats(deadlines.bound(books).aggregate(authorStatsPipeline(authorId)).first());
+    }
+
+    static List<Bson> authorStatsPipeline(String authorId) {
+        return List.of(
+                Aggregates.match(Filters.eq("authors.authorId", authorId)),
+                Aggregates.group(null,
+                        Accumulators.sum("totalBooks", 1),
+                        Accumulators.sum("totalPages", "$pages"),
+                        Accumulators.avg("averagePages", "$pages"),
+                        Accumulators.min("firstYear", "$year"),
+                        Accumulators.max("lastYear", "$year")));
+    }
+
+    static AuthorBookStatsResponse toAuthorStats(Document result) {
+        if (result == null) {
+            return AuthorBookStatsResponse.empty();
+        }
+        return new AuthorBookStatsResponse(
+                result.getInteger("totalBooks", 0),
+                ((Number) result.get("totalPages")).longValue(),
+                ((Number) result.get("averagePages")).doubleValue(),
+                result.getInteger("firstYear", 0),
+                result.getInteger("lastYear", 0));
+    }
+
+    /** Keeps the name copied into every extended reference in sync after an author is renamed. */
+    public void renameAuthor(String authorId, String name) {
+        deadlines.bound(books).updateMany(Filters.eq("authors.authorId", authorId), Updates.set("authors.$[a].name", name), authorRefOptions(authorId));
+    }
+
+    /** Array filter selecting the references to {@code authorId}. */
+    static UpdateOptions authorRefOptions(String authorId) {
+        return new UpdateOptions().arrayFilters(List.of(Filters.eq("a.authorId", authorId)));
+    }
+
+    /** Links references that were stored by name only, before an author with that name existed. */
+    public void linkAuthor(String authorId, String name) {
+        deadlines.bound(books).updateMany(unlinkedAuthor(name), Updates.set("authors.$[a].authorId", authorId), linkAuthorOptions(name));
+    }
+
+    /**
+     * Clears the id of a deleted author from the references on its books. The
+     * name stays, so the books show the author as before and are linked again
+     * if an author with that name is created.
+     */
+    public void unlinkAuthor(String authorId) {
+        deadlines.bound(books).updateMany(Filters.eq("authors.authorId", authorId), Updates.set("authors.$[a].authorId", null), authorRefOptions(authorId));
+    }
+
+    static Bson unlinkedAuthor(String name) {
+        return Filters.elemMatch("authors", Filters.and(Filters.eq("name", name), Filters.eq("authorId", null)));
+    }
+
+    static UpdateOptions linkAuthorOptions(String name) {
+        return new UpdateOptions().arrayFilters(List.of(
+                Filters.and(Filters.eq("a.name", name), Filters.eq("a.authorId", null))));
+    }
+
+    /**
+     * Converts books whose {@code authors} are still plain names into extended
+     * references, resolving each name against the {@code authors} collection.
+     * Works in batches of {@code batchSize} books with one name lookup and one
+     * {@code bulkWrite} per batch. Returns the number of books converted.
+     */
+    public long backfillAuthorRefs(int batchSize) {
+        Bson legacyAuthors = Filters.type("authors", BsonType.STRING);
+
+        long converted = 0;
+        while (true) {
+            List<Document> batch = books.find(legacyAuthors)
+                    .projection(Projections.include("authors"))
+                    .limit(batchSize)
+                    .into(new ArrayList<>());
+            if (batch.isEmpty()) {
+                return converted;
+            }
+
+            Set<String> names = new HashSet<>();
+            batch.forEach(doc -> names.addAll(authorsOf(doc)));
+            Map<String, String> ids = Author.idsByName(deadlines, names);
+
+            List<WriteModel<Document>> writes = batch.stream()
+                    .<WriteModel<Document>>map(doc -> new UpdateOneModel<>(
+                            Filters.eq("_id", doc.get("_id")),
+                            Updates.set("authors", authorsOf(doc).stream()
+                                    .map(name -> new Document("authorId", ids.get(name)).append("name", name))
+                                    .toList())))
+                    .toList();
+            converted += books.bulkWrite(writes, new BulkWriteOptions().ordered(false)).getModifiedCount();
+        }
     }
 
     public PageResponse<AuthorBookCountResponse> countBooksPerAuthor(int page, int size) {
-        List<Bson> stages = List.of(
+        return paginate(deadlines.bound(authorCountPages), booksPerAuthorStages(), List.of(), page, size);
+    }
+
+    static List<Bson> booksPerAuthorStages() {
+        return List.of(
                 Aggregates.unwind("$authors"),
-                Aggregates.group("$authors", Accumulators.sum("totalBooks", 1)),
+                Aggregates.group("$authors.name", Accumulators.sum("totalBooks", 1)),
                 Aggregates.sort(Sorts.descending("totalBooks")));
+    }
+
+    /**
+     * Books that have at least one review, in {@code _id} order, each with its
+     * latest {@code library.reviews.lookup-limit} reviews; pass
+     * {@code nextCursor} back as {@code afterId} for the next page.
+     *
+     * <p>Driven from the review side without a blocking sort: the page's
+     * reviewed {@code bookId}s come from a loose scan of the {@code bookId}
+     * index, one {@code bookId > previous} seek per book the way a
+     * {@code DISTINCT_SCAN} walks it, instead of grouping every reviewed book
+     * and sorting the groups. Only those books are then read and joined to a
+     * {@code $limit}-ed sub-pipeline of their latest reviews. A review whose
+     * book was deleted moves the cursor on but takes no row, so a page can
+     * hold fewer than {@code size} books. Runs in the request's causal
+     * session, if it has one.
+     */
+    public CursorPageResponse<BookWithReviewsResponse> findBooksWithReviews(String afterId, int size) {
+        List<String> bookIds = new ArrayList<>(size + 1);
+        String after = afterId;
+        while (bookIds.size() <= size) {
+            String next = nextReviewedBookId(after);
+            if (next == null) {
+                break;
+            }
+            bookIds.add(next);
+            after = next;
+        }
+        List<String> pageIds = bookIds.subList(0, Math.min(size, bookIds.size()));
+        List<BookWithReviewsResponse> content = pageIds.isEmpty()
+                ? List.of()
+                : aggregate(deadlines.bound(reviewedBooks), queries.reviewedBooksPagePipeline(pageIds)).into(new ArrayList<>(size));
+        return reviewedBooksPage(content, bookIds, size);
+    }
+
+    /** The smallest reviewed {@code bookId} after {@code afterId} in either tier, or {@code null}. */
+    private String nextReviewedBookId(String afterId) {
+        String next = firstBookId(reviewedBookIds, afterId);
+        return queries.archivedReviews() ? earlierBookId(next, firstBookId(archivedBookIds, afterId)) : next;
+    }
 
-        return paginate(stages, page, size, doc -> new AuthorBookCountResponse(
-                doc.getString("_id"),
-                doc.getInteger("totalBooks", 0)));
+    private String firstBookId(MongoCollection<Document> source, String afterId) {
+        MongoCollection<Document> bounded = deadlines.bound(source);
+        ClientSession session = sessions.current();
+        Bson filter = reviewedBookAfter(afterId);
+        FindIterable<Document> seek = session != null ? bounded.find(session, filter) : bounded.find(filter);
+        Document first = seek.projection(BOOK_ID_ONLY).sort(Sorts.ascending("bookId")).limit(1).first();
+        return first != null ? first.getString("bookId") : null;
     }
 
-    public PageResponse<BookWithReviewsResponse> findBooksWithReviews(int page, int size) {
-        List<Bson> stages = List.of(
-                Aggregates.lookup(REVIEWS_COLLECTION, "_id", "bookId", "allReviews"),
-                Aggregates.match(Filters.not(Filters.size("allReviews", 0))));
+    static Bson reviewedBookAfter(String afterId) {
+        return afterId != null ? Filters.gt("bookId", afterId) : new Document();
+    }
 
-        return paginate(stages, page, size, doc -> new BookWithReviewsResponse(
-                idOf(doc),
-                doc.getString("title"),
-                doc.getInteger("pages", 0),
-                doc.getInteger("year", 0),
-                authorsOf(doc),
-                toReviewResponses(doc.getList("allReviews", Document.class))));
+    static String earlierBookId(String first, String second) {
+        if (first == null || second == null) {
+            return first != null ? first : second;
+        }
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+
+    /**
+     * The cursor page for the books of {@code bookIds}, which were fetched with
+     * a limit of {@code size + 1}: the cursor is the last reviewed book id of
+     * the page, whether or not that book still exists.
+     */
+    static CursorPageResponse<BookWithReviewsResponse> reviewedBooksPage(List<BookWithReviewsResponse> content,
+                                                                         List<String> bookIds, int size) {
+        boolean last = bookIds.size() <= size;
+        return new CursorPageResponse<>(content, size, last ? null : bookIds.get(size - 1), last);
     }
 
     /**
      * Paginates an aggregation server-side with a single {@code $facet} stage:
      * the {@code data} branch applies {@code $skip}/{@code $limit} for the page,
      * the {@code count} branch computes the total — one round trip, no second
-     * count query.
+     * count query. {@code pageStages} run in the {@code data} branch after
+     * {@code $limit}, so any join they do only touches the page. The result is
+     * decoded by the {@code FacetPage} codec of {@code source}, straight into
+     * the response records. Runs in the request's causal session, if it has one.
      */
-    private <T> PageResponse<T> paginate(List<Bson> stages, int page, int size,
-                                         Function<Document, T> mapper) {
-        Facet dataFacet = new Facet("data", Aggregates.skip(page * size), Aggregates.limit(size));
+    private <T> PageResponse<T> paginate(MongoCollection<FacetPage<T>> source, List<Bson> stages,
+                                         List<Bson> pageStages, int page, int size) {
+        FacetPage<T> result = aggregate(source, facetPipeline(stages, pageStages, page, size)).first();
+        return (result != null ? result : FacetPage.<T>empty()).toPage(page, size);
+    }
+
+    /**
+     * Aggregates in the request's causally consistent session, if it has one,
+     * so a read with a causal token waits on a lagging secondary until it
+     * includes the write the token was issued for.
+     */
+    private <T> AggregateIterable<T> aggregate(MongoCollection<T> source, List<Bson> pipeline) {
+        ClientSession session = sessions.current();
+        return session != null ? source.aggregate(session, pipeline) : source.aggregate(pipeline);
+    }
+
+    static List<Bson> facetPipeline(List<Bson> stages, List<Bson> pageStages, int page, int size) {
+        List<Bson> data = new ArrayList<>();
+        data.add(Aggregates.skip(page * size));
+        data.add(Aggregates.limit(size));
+        data.addAll(pageStages);
+        Facet dataFacet = new Facet("data", data);
         Facet countFacet = new Facet("count", Aggregates.count("total"));
 
         List<Bson> pipeline = new ArrayList<>(stages);
         pipeline.add(Aggregates.facet(dataFacet, countFacet));
+        return pipeline;
+    }
 
-        Document result = books.aggregate(pipeline).first();
-        if (result == null) {
-            return PageResponse.of(List.of(), page, size, 0);
+    /** Runs in the request's causally consistent session, if it has one (see {@code ReviewService.create}). */
+    public void embedReview(Review review) {
+        ClientSession session = sessions.current();
+        Bson byId = Filters.eq("_id", review.bookId);
+        if (session != null) {
+            deadlines.bound(embeddedReviews).updateOne(session, byId, queries.embedReviewUpdate(review));
+        } else {
+            deadlines.bound(embeddedReviews).updateOne(byId, queries.embedReviewUpdate(review));
+        }
+    }
+
+    /**
+     * Id of the book {@code offset} positions after {@code afterId} in
+     * {@code _id} order ({@code afterId == null} starts at the first book), or
+     * {@code null} when there are fewer books left. Used to cut the catalog
+     * into batches with a stable upper bound.
+     */
+    public String findBookIdAfter(String afterId, int offset) {
+        Bson filter = afterId == null ? new Document() : Filters.gt("_id", afterId);
+        Document doc = books.find(filter)
+                .projection(Projections.include("_id"))
+                .sort(Sorts.ascending("_id"))
+                .skip(offset - 1)
+                .limit(1)
+                .first();
+        return doc != null ? idOf(doc) : null;
+    }
+
+    /**
+     * Rebuilds the embedded review subset of the books with
+     * {@code afterId < _id <= upToId} ({@code null} bounds are open).
+     */
+    public void reconcileEmbeddedReviews(String afterId, String upToId) {
+        List<Bson> range = new ArrayList<>();
+        if (afterId != null) {
+            range.add(Filters.gt("_id", afterId));
         }
+        if (upToId != null) {
+            range.add(Filters.lte("_id", upToId));
+        }
+        reconcileBooks(range.isEmpty() ? new Document() : Filters.and(range), Set.of());
+    }
 
-        List<Document> data = result.getList("data", Document.class, List.of());
-        List<Document> countDocs = result.getList("count", Document.class, List.of());
-        long total = countDocs.isEmpty() ? 0 : ((Number) countDocs.get(0).get("total")).longValue();
+    /**
+     * Rebuilds the subsets of the given books in one aggregation.
+     * {@code deletedReviewIds} are reviews of these books deleted since their
+     * subset was last rebuilt: an embedded copy is newer than everything
+     * rebuilt when it was the latest review, and must not be kept as a
+     * concurrent embed.
+     */
+    public void reconcileEmbeddedReviewsOfBooks(Collection<String> bookIds, Collection<String> deletedReviewIds) {
+        reconcileBooks(Filters.in("_id", bookIds), deletedReviewIds);
+    }
 
-        List<T> content = data.stream().map(mapper).toList();
-        return PageResponse.of(content, page, size, total);
+    /**
+     * One aggregation rebuilds {@code reviews} on every matched book: a
+     * {@code $lookup} picks the latest {@code maxEmbeddedReviews} reviews with
+     * {@code $topN} (an empty list for books without reviews, which clears
+     * phantom copies), the archive tier is consulted as well when archiving is
+     * on, the result is put back in ascending order as
+     * {@link #embedReview} keeps them, and {@code $merge} writes only that
+     * field back into {@code books}.
+     */
+    private void reconcileBooks(Bson bookFilter, Collection<String> deletedReviewIds) {
+        embeddedReviews.aggregate(queries.reconcilePipeline(bookFilter, deletedReviewIds)).toCollection();
     }
 
-    public void embedReview(Review review) {
-        Document embedded = new Document()
-                .append("_id", review.id)
-                .append("text", review.text)
-                .append("user", review.user)
-                .append("rating", review.rating)
-                .append("createdAt", Date.from(review.createdAt));
-
-        books.updateOne(
-                Filters.eq("_id", review.bookId),
-                Updates.pushEach("reviews", List.of(embedded),
-                        new PushOptions()
-                                .sortDocument(new Document("createdAt", 1))
-                                .slice(-maxEmbeddedReviews)));
-    }
-
-    private static String idOf(Document doc) {
+    static String idOf(Document doc) {
         Object id = doc.get("_id");
         return id != null ? id.toString() : null;
     }
 
-    @SuppressWarnings("unchecked")
-    private static List<String> authorsOf(Document doc) {
-        return doc.getList("authors", String.class, List.of());
-    }
-
-    private static List<ReviewResponse> toReviewResponses(List<Document> reviewDocs) {
-        if (reviewDocs == null) {
+    /** Author names from either an extended reference or a legacy plain-name entry. */
+    static List<String> authorsOf(Document doc) {
+        List<?> authors = doc.get("authors", List.class);
+        if (authors == null) {
             return List.of();
         }
-        return reviewDocs.stream().map(BookRepository::toReviewResponse).toList();
-    }
-
-    private static ReviewResponse toReviewResponse(Document doc) {
-        Date createdAt = doc.getDate("createdAt");
-        double rating = doc.get("rating") instanceof Number number ? number.doubleValue() : 0.0;
-        return new ReviewResponse(
-                idOf(doc),
-                doc.getString("bookId"),
-                doc.getString("user"),
-                rating,
-                doc.getString("text"),
-                createdAt != null ? createdAt.toInstant() : null);
+        return authors.stream()
+                .map(author -> author instanceof Document ref ? ref.getString("name") : (String) author)
+                .toList();
     }
 }
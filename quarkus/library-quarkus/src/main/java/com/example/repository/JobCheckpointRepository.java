@@ -0,0 +1,21 @@
+package com.example.repository;
+
+import com.example.model.entity.JobCheckpoint;
+import io.quarkus.mongodb.panache.PanacheMongoRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.Instant;
+
+@ApplicationScoped
+public class JobCheckpointRepository implements PanacheMongoRepositoryBase<JobCheckpoint, String> {
+
+    public void save(String jobId, String fingerprint, String lastKey, boolean completed) {
+        JobCheckpoint checkpoint = new JobCheckpoint();
+        checkpoint.id = jobId;
+        checkpoint.fingerprint = fingerprint;
+        checkpoint.lastKey = lastKey;
+        checkpoint.completed = completed;
+        checkpoint.updatedAt = Instant.now();
+        persistOrUpdate(checkpoint);
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.repository;
+
+import com.example.codec.FacetPage;
+import com.example.codec.ResponseCodecs;
+import com.example.config.DurabilityProfiles;
+import com.example.config.ReadProfiles;
+import com.example.deadline.Deadlines;
+import com.example.diagnostics.FlightRecorded;
+import com.example.dto.response.AuthorBookCountResponse;
+import com.example.dto.response.AuthorBookStatsResponse;
+import com.example.dto.response.BookCategoryResponse;
+import com.example.dto.response.BookResponse;
+import com.example.dto.response.BookWithReviewsResponse;
+import com.example.dto.response.CursorPageResponse;
+import com.example.dto.response.PageResponse;
+import com.example.model.entity.Book;
+import com.example.model.entity.Review;
+import com.example.pool.PoolGated;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import io.micrometer.core.annotation.Timed;
+import io.quarkus.mongodb.AggregateOptions;
+import io.quarkus.mongodb.FindOptions;
+import io.quarkus.mongodb.panache.reactive.ReactivePanacheMongoRepositoryBase;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
+import io.quarkus.mongodb.reactive.ReactiveMongoDatabase;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Non-blocking counterpart of {@link BookRepository} for
+ * {@code library.execution.mode=reactive}, on the reactive client. The
+ * pipelines, updates and result mapping are the ones {@link BookQueries} and
+ * the static builders of {@link BookRepository} produce, so both modes run
+ * exactly the same queries; only the execution differs.
+ */
+@ApplicationScoped
+@Timed(value = "library.repository", histogram = true)
+@FlightRecorded(collection = "books")
+@PoolGated
+public class ReactiveBookRepository implements ReactivePanacheMongoRepositoryBase<Book, String> {
+
+    private static final String BOOKS_COLLECTION = "books";
+
+    private final BookQueries queries;
+    private final ReactiveMongoCollection<Document> books;
+    private final ReactiveMongoCollection<Book> catalog;
+    private final ReactiveMongoCollection<Document> embeddedReviews;
+    private final ReactiveMongoCollection<BookResponse> bookResponses;
+    private final ReactiveMongoCollection<FacetPage<BookCategoryResponse>> categoryPages;
+    private final ReactiveMongoCollection<FacetPage<AuthorBookCountResponse>> authorCountPages;
+    private final ReactiveMongoCollection<Document> reviewedBookIds;
+    private final ReactiveMongoCollection<Document> archivedBookIds;
+    private final ReactiveMongoCollection<BookWithReviewsResponse> reviewedBooks;
+    private final Deadlines deadlines;
+
+    @Inject
+    ReactiveBookRepository(ReactiveMongoDatabase database, BookQueries queries, DurabilityProfiles durability,
+                           ReadProfiles readProfiles, Deadlines deadlines) {
+        this.queries = queries;
+        this.deadlines = deadlines;
+        this.books = durability.apply(database.getCollection(BOOKS_COLLECTION), DurabilityProfiles.CATALOG);
+        this.catalog = durability.apply(database.getCollection(BOOKS_COLLECTION, Book.class), DurabilityProfiles.CATALOG);
+        this.embeddedReviews = durability.apply(database.getCollection(BOOKS_COLLECTION), DurabilityProfiles.REVIEWS);
+        ReactiveMongoCollection<Document> reviewsSource =
+                durability.apply(database.getCollection(queries.reviewsCollection()), DurabilityProfiles.REVIEWS);
+        this.bookResponses = ResponseCodecs.responses(books, BookResponse.class);
+        ReactiveMongoCollection<Document> analyticBooks = readProfiles.apply(books, ReadProfiles.ANALYTICS);
+        this.categoryPages = ResponseCodecs.pages(analyticBooks, BookCategoryResponse.class);
+        this.authorCountPages = ResponseCodecs.pages(analyticBooks, AuthorBookCountResponse.class);
+        this.reviewedBookIds = readProfiles.apply(reviewsSource, ReadProfiles.ANALYTICS);
+        this.archivedBookIds = readProfiles.apply(
+                database.getCollection(ReviewRepository.ARCHIVE_COLLECTION), ReadProfiles.ANALYTICS);
+        this.reviewedBooks = ResponseCodecs.responses(analyticBooks, BookWithReviewsResponse.class);
+    }
+
+    public Uni<Void> insert(Book book) {
+        return catalog.insertOne(book).replaceWithVoid();
+    }
+
+    public Uni<Void> update(Book book) {
+        return catalog.replaceOne(Filters.eq("_id", book.id), book, new ReplaceOptions().upsert(true)).replaceWithVoid();
+    }
+
+    public Uni<Boolean> deleteBook(String id) {
+        return catalog.deleteOne(Filters.eq("_id", id)).map(result -> result.getDeletedCount() > 0);
+    }
+
+    /** See {@link BookRepository#exists}. */
+    public Uni<Boolean> exists(String id) {
+        FindOptions options = new FindOptions().projection(BookRepository.ID_ONLY).limit(1);
+        return books.find(Filters.eq("_id", id), deadlines.bound(options)).collect().first().map(Objects::nonNull);
+    }
+
+    public Uni<Optional<Book>> findBook(String id) {
+        return catalog.find(Filters.eq("_id", id), deadlines.findOptions()).collect().first().map(Optional::ofNullable);
+    }
+
+    /** See {@link BookRepository#countBooks}. */
+    public Uni<Long> countBooks() {
+        return books.estimatedDocumentCount(deadlines.estimatedCountOptions());
+    }
+
+    public Uni<List<BookResponse>> findPage(int page, int size) {
+        FindOptions options = new FindOptions().sort(Sorts.ascending("title")).skip(page * size).limit(size);
+        return bookResponses.find(new Document(), deadlines.bound(options)).collect().asList();
+    }
+
+    public Uni<Optional<BookResponse>> findResponseById(String id) {
+        return bookResponses.find(Filters.eq("_id", id), deadlines.findOptions()).collect().first().map(Optional::ofNullable);
+    }
+
+    public Multi<Book> findByPagesGreaterThan(int minPages) {
+        return catalog.find(Filters.gt("pages", minPages), deadlines.findOptions());
+    }
+
+    public Multi<Book> findByYear(int year) {
+        return catalog.find(Filters.eq("year", year), deadlines.findOptions());
+    }
+
+    public Multi<Book> findSortedByYear(boolean ascending) {
+        FindOptions options = new FindOptions().sort(ascending ? Sorts.ascending("year") : Sorts.descending("year"));
+        return catalog.find(new Document(), deadlines.bound(options));
+    }
+
+    public Multi<Book> findLongest(int limit) {
+        FindOptions options = new FindOptions().sort(Sorts.descending("pages")).limit(limit);
+        return catalog.find(new Document(), deadlines.bound(options));
+    }
+
+    public Uni<PageResponse<BookCategoryResponse>> classifyByPageCount(int page, int size) {
+        return paginate(categoryPages, List.of(), List.of(), page, size, deadlines.aggregateOptions());
+    }
+
+    /** See {@link BookRepository#findByPageCategory}. */
+    public Uni<List<Book>> findByPageCategory(String category, String afterId, int size) {
+        return keysetPage(new Document("pageCategory", category), afterId, size);
+    }
+
+    /** See {@link BookRepository#findByAuthorId}. */
+    public Uni<List<Book>> findByAuthorId(String authorId, String afterId, int size) {
+        return keysetPage(new Document("authors.authorId", authorId), afterId, size);
+    }
+
+    private Uni<List<Book>> keysetPage(Document query, String afterId, int size) {
+        if (afterId != null) {
+            query.append("_id", new Document("$gt", afterId));
+        }
+        FindOptions options = new FindOptions().sort(Sorts.ascending("_id")).limit(size + 1);
+        return catalog.find(query, deadlines.bound(options)).collect().asList();
+    }
+
+    public Uni<AuthorBookStatsResponse> authorStats(String authorId) {
+        return books.aggregate(BookRepository.authorStatsPipeline(authorId), deadlines.aggregateOptions())
+                .collect().first()
+                .map(BookRepository::toAuthorStats);
+    }
+
+    public Uni<Void> renameAuthor(String authorId, String name) {
+        return books.updateMany(
+                        Filters.eq("authors.authorId", authorId),
+                        Updates.set("authors.$[a].name", name),
+                        BookRepository.authorRefOptions(authorId))
+                .replaceWithVoid();
+    }
+
+    public Uni<Void> linkAuthor(String authorId, String name) {
+        return books.updateMany(
+                        BookRepository.unlinkedAuthor(name),
+                        Updates.set("authors.$[a].authorId", authorId),
+                        BookRepository.linkAuthorOptions(name))
+                .replaceWithVoid();
+    }
+
+    public Uni<Void> unlinkAuthor(String authorId) {
+        return books.updateMany(
+                        Filters.eq("authors.authorId", authorId),
+                        Updates.set("authors.$[a].authorId", null),
+                        BookRepository.authorRefOptions(authorId))
+                .replaceWithVoid();
+    }
+
+    public Uni<PageResponse<AuthorBookCountResponse>> countBooksPerAuthor(int page, int size) {
+        return paginate(authorCountPages, BookRepository.booksPerAuthorStages(), List.of(), page, size,
+                deadlines.aggregateOptions());
+    }
+
+    /** See {@link BookRepository#findBooksWithReviews}. */
+    public Uni<CursorPageResponse<BookWithReviewsResponse>> findBooksWithReviews(String afterId, int size) {
+        return reviewedBookIdsAfter(afterId, size + 1, new ArrayList<>(size + 1)).flatMap(bookIds -> {
+            List<String> pageIds = bookIds.subList(0, Math.min(size, bookIds.size()));
+            Uni<List<BookWithReviewsResponse>> content = pageIds.isEmpty()
+                    ? Uni.createFrom().item(List.of())
+                    : reviewedBooks.aggregate(queries.reviewedBooksPagePipeline(pageIds), deadlines.aggregateOptions())
+                            .collect().asList();
+            return content.map(books -> BookRepository.reviewedBooksPage(books, bookIds, size));
+        });
+    }
+
+    private Uni<List<String>> reviewedBookIdsAfter(String afterId, int limit, List<String> bookIds) {
+        if (bookIds.size() >= limit) {
+            return Uni.createFrom().item(bookIds);
+        }
+        return nextReviewedBookId(afterId).flatMap(next -> {
+            if (next == null) {
+                return Uni.createFrom().item(bookIds);
+            }
+            bookIds.add(next);
+            return reviewedBookIdsAfter(next, limit, bookIds);
+        });
+    }
+
+    private Uni<String> nextReviewedBookId(String afterId) {
+        Uni<String> next = firstBookId(reviewedBookIds, afterId);
+        return queries.archivedReviews()
+                ? next.flatMap(hot -> firstBookId(archivedBookIds, afterId)
+                        .map(archived -> BookRepository.earlierBookId(hot, archived)))
+                : next;
+    }
+
+    private Uni<String> firstBookId(ReactiveMongoCollection<Document> source, String afterId) {
+        FindOptions seek = new FindOptions()
+                .projection(BookRepository.BOOK_ID_ONLY)
+                .sort(Sorts.ascending("bookId"))
+                .limit(1);
+        return source.find(BookRepository.reviewedBookAfter(afterId), deadlines.bound(seek)).collect().first()
+                .map(first -> first != null ? first.getString("bookId") : null);
+    }
+
+    public Uni<Void> embedReview(Review review) {
+        return embeddedReviews.updateOne(Filters.eq("_id", review.bookId), queries.embedReviewUpdate(review))
+                .replaceWithVoid();
+    }
+
+    /**
+     * The single-{@code $facet} pagination of {@link BookRepository}, without
+     * blocking. The reactive client has no client-side operation timeout, so
+     * the request deadline reaches the server as {@code maxTimeMS}.
+     */
+    private static <T> Uni<PageResponse<T>> paginate(ReactiveMongoCollection<FacetPage<T>> source, List<Bson> stages,
+                                                     List<Bson> pageStages, int page, int size,
+                                                     AggregateOptions options) {
+        return source.aggregate(BookRepository.facetPipeline(stages, pageStages, page, size), options)
+                .collect().first()
+                .map(result -> (result != null ? result : FacetPage.<T>empty()).toPage(page, size));
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.repository;
+
+import com.example.config.DurabilityProfiles;
+import com.example.config.ReadProfiles;
+import com.example.config.ReviewArchiveSettings;
+import com.example.deadline.Deadlines;
+import com.example.diagnostics.FlightRecorded;
+import com.example.dto.response.AverageRatingResponse;
+import com.example.model.entity.Review;
+import com.example.pool.PoolGated;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import io.micrometer.core.annotation.Timed;
+import io.quarkus.mongodb.FindOptions;
+import io.quarkus.mongodb.panache.reactive.ReactivePanacheMongoRepositoryBase;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
+import io.quarkus.mongodb.reactive.ReactiveMongoDatabase;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Non-blocking counterpart of {@link ReviewRepository} for
+ * {@code library.execution.mode=reactive}. Supports the document layout,
+ * including the fall-through to {@code reviews_archive}; the bucket layout is
+ * blocking-only (checked at startup by {@code ReactiveModeCheck}).
+ */
+@ApplicationScoped
+@Timed(value = "library.repository", histogram = true)
+@FlightRecorded(collection = "reviews")
+@PoolGated
+public class ReactiveReviewRepository implements ReactivePanacheMongoRepositoryBase<Review, String> {
+
+    private final ReactiveMongoCollection<Document> analyticReviews;
+    private final ReactiveMongoCollection<Review> hot;
+    private final ReactiveMongoCollection<Review> archive;
+    private final Deadlines deadlines;
+    private final boolean archived;
+
+    @Inject
+    ReactiveReviewRepository(ReactiveMongoDatabase database,
+                             ReviewArchiveSettings archiveSettings,
+                             DurabilityProfiles durability,
+                             ReadProfiles readProfiles,
+                             Deadlines deadlines) {
+        this.deadlines = deadlines;
+        this.analyticReviews = readProfiles.apply(durability.apply(
+                database.getCollection(ReviewRepository.REVIEWS_COLLECTION), DurabilityProfiles.REVIEWS),
+                ReadProfiles.ANALYTICS);
+        this.hot = durability.apply(
+                database.getCollection(ReviewRepository.REVIEWS_COLLECTION, Review.class), DurabilityProfiles.REVIEWS);
+        this.archive = durability.apply(
+                database.getCollection(ReviewRepository.ARCHIVE_COLLECTION, Review.class), DurabilityProfiles.ARCHIVE);
+        this.archived = archiveSettings.enabled();
+    }
+
+    /** See {@link ReviewRepository#findPage}. */
+    public Uni<List<Review>> findPage(int page, int size) {
+        long offset = (long) page * size;
+        FindOptions hotPage = new FindOptions().sort(ReviewRepository.NEWEST_FIRST).skip((int) offset).limit(size);
+        return hot.find(new Document(), deadlines.bound(hotPage)).collect().asList().flatMap(hotReviews -> {
+            if (!archived || hotReviews.size() >= size) {
+                return Uni.createFrom().item(hotReviews);
+            }
+            Uni<List<Review>> archivedReviews = !hotReviews.isEmpty()
+                    ? archivePage(ReviewRepository.olderThan(hotReviews.get(hotReviews.size() - 1)), 0,
+                            size - hotReviews.size())
+                    : hot.find(new Document(), deadlines.bound(new FindOptions().sort(ReviewRepository.OLDEST_FIRST).limit(1)))
+                            .collect().first()
+                            .flatMap(oldestHot -> hot
+                                    .countDocuments(new Document(), deadlines.bound(ReviewRepository.countOnIndex()))
+                                    .flatMap(hotCount -> archivePage(
+                                            ReviewRepository.olderThan(oldestHot), Math.max(0, offset - hotCount), size)));
+            return archivedReviews.map(older -> concat(hotReviews, older));
+        });
+    }
+
+    private Uni<List<Review>> archivePage(Bson filter, long skip, int limit) {
+        FindOptions options = new FindOptions().sort(ReviewRepository.NEWEST_FIRST).skip((int) skip).limit(limit);
+        return archive.find(filter, deadlines.bound(options)).collect().asList();
+    }
+
+    /** See {@link ReviewRepository#findByBook}. */
+    public Uni<List<Review>> findByBook(String bookId, Instant beforeCreatedAt, String beforeId, int limit) {
+        Bson filter = ReviewRepository.bookPageFilter(bookId, beforeCreatedAt, beforeId);
+        Bson sort = ReviewRepository.NEWEST_FIRST;
+        return hot.find(filter, deadlines.bound(new FindOptions().sort(sort).limit(limit))).collect().asList()
+                .flatMap(hotReviews -> {
+                    if (!archived || hotReviews.size() >= limit) {
+                        return Uni.createFrom().item(hotReviews);
+                    }
+                    FindOptions rest = new FindOptions().sort(sort).limit(limit - hotReviews.size());
+                    return archive.find(ReviewRepository.archiveContinuation(bookId, filter, hotReviews), deadlines.bound(rest))
+                            .collect().asList()
+                            .map(archivedReviews -> concat(hotReviews, archivedReviews));
+                });
+    }
+
+    public Uni<Optional<Review>> findReview(String id) {
+        return hot.find(Filters.eq("_id", id), deadlines.findOptions()).collect().first().flatMap(hotReview -> {
+            Optional<Review> found = Optional.ofNullable(hotReview);
+            if (found.isPresent() || !archived) {
+                return Uni.createFrom().item(found);
+            }
+            return archive.find(Filters.eq("_id", id), deadlines.findOptions()).collect().first().map(Optional::ofNullable);
+        });
+    }
+
+    /** See {@link ReviewRepository#countReviews}. */
+    public Uni<Long> countReviews() {
+        if (!archived) {
+            return hot.estimatedDocumentCount(deadlines.estimatedCountOptions());
+        }
+        return hot.estimatedDocumentCount(deadlines.estimatedCountOptions())
+                .flatMap(hotCount -> archive.estimatedDocumentCount(deadlines.estimatedCountOptions())
+                        .map(archivedCount -> hotCount + archivedCount));
+    }
+
+    public Uni<Void> insert(Review review) {
+        return hot.insertOne(review).replaceWithVoid();
+    }
+
+    /** Updates the review in whichever tier holds it. */
+    public Uni<Void> update(Review review) {
+        Bson byId = Filters.eq("_id", review.id);
+        Uni<Boolean> replaced = !archived
+                ? Uni.createFrom().item(false)
+                : hot.replaceOne(byId, review).flatMap(hotResult -> hotResult.getMatchedCount() > 0
+                        ? Uni.createFrom().item(true)
+                        : archive.replaceOne(byId, review).map(result -> result.getMatchedCount() > 0));
+        return replaced.flatMap(done -> done
+                ? Uni.createFrom().voidItem()
+                : hot.replaceOne(byId, review, new ReplaceOptions().upsert(true)).replaceWithVoid());
+    }
+
+    public Uni<Boolean> deleteReview(String id) {
+        Bson byId = Filters.eq("_id", id);
+        return hot.deleteOne(byId).flatMap(result -> {
+            if (result.getDeletedCount() > 0 || !archived) {
+                return Uni.createFrom().item(result.getDeletedCount() > 0);
+            }
+            return archive.deleteOne(byId).map(archivedResult -> archivedResult.getDeletedCount() > 0);
+        });
+    }
+
+    public Uni<Optional<AverageRatingResponse>> averageRatingForBook(String bookId) {
+        return analyticReviews.aggregate(ReviewRepository.averageRatingPipeline(bookId, archived), deadlines.aggregateOptions()).collect().first()
+                .map(ReviewRepository::toAverageRating);
+    }
+
+    private static List<Review> concat(List<Review> first, List<Review> second) {
+        List<Review> all = new ArrayList<>(first.size() + second.size());
+        all.addAll(first);
+        all.addAll(second);
+        return all;
+    }
+}
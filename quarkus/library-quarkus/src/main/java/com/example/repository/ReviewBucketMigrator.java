@@ -0,0 +1,174 @@
+package com.example.repository;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One-off migration from the one-document-per-review layout ({@code reviews})
+ * to the bucket layout ({@code review_buckets}). Streams the reviews ordered by
+ * {@code (bookId, createdAt, _id)}, packs consecutive reviews of the same book
+ * into buckets of {@code bucketSize} and writes them with unordered
+ * {@code insertMany} batches. The source collection is left untouched.
+ *
+ * <p>Resumable: a migrated bucket's id is derived from its book and its
+ * position among the book's buckets ({@code <bookId>:<n>}), so running a
+ * stretch again writes the same buckets and the copies are rejected as
+ * duplicate keys. After every batch the caller learns the last book whose
+ * buckets are all written, and can resume after it.
+ *
+ * <p>Plain class (no CDI) so it can also be driven from the playground
+ * benchmark.
+ */
+public class ReviewBucketMigrator {
+
+    private static final Logger LOG = Logger.getLogger(ReviewBucketMigrator.class);
+
+    private final MongoCollection<Document> reviews;
+    private final MongoCollection<Document> buckets;
+    private final int bucketSize;
+
+    public ReviewBucketMigrator(MongoDatabase database, int bucketSize) {
+        this.reviews = database.getCollection(ReviewRepository.REVIEWS_COLLECTION);
+        this.buckets = database.getCollection(ReviewBucketStore.BUCKETS_COLLECTION);
+        this.bucketSize = bucketSize;
+    }
+
+    /** Told, after each written batch, how far the migration got. */
+    public interface Progress {
+
+        /** Every bucket of {@code bookId} and of the books before it is written; {@code migrated} reviews so far. */
+        void completedUpTo(String bookId, long migrated);
+    }
+
+    /**
+     * Copies every review into buckets. Refuses to run when
+     * {@code review_buckets} already has data, so a fresh run never mixes with
+     * buckets written some other way. Returns the number of reviews migrated.
+     */
+    public long migrate(int batchSize) {
+        if (buckets.estimatedDocumentCount() > 0) {
+            LOG.info("Bucket migration skipped — review_buckets already has data.");
+            return 0;
+        }
+        return migrate(batchSize, null, (bookId, migrated) -> { });
+    }
+
+    /**
+     * Copies the reviews of the books after {@code afterBookId} ({@code null}
+     * for all) into buckets, reporting to {@code progress} after each batch.
+     * Buckets already written by an interrupted run are skipped, not
+     * duplicated. Returns the number of reviews read.
+     */
+    public long migrate(int batchSize, String afterBookId, Progress progress) {
+        List<Document> batch = new ArrayList<>(batchSize);
+        List<Document> current = new ArrayList<>(bucketSize);
+        String currentBookId = null;
+        String completedBookId = afterBookId;
+        int bucketIndex = 0;
+        long migrated = 0;
+
+        List<Bson> pipeline = new ArrayList<>();
+        if (afterBookId != null) {
+            pipeline.add(Aggregates.match(Filters.gt("bookId", afterBookId)));
+        }
+        pipeline.add(Aggregates.sort(Sorts.ascending("bookId", "createdAt", "_id")));
+        try (MongoCursor<Document> cursor = reviews.aggregate(pipeline)
+                .allowDiskUse(true)
+                .batchSize(bucketSize * 20)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document review = cursor.next();
+                String bookId = review.getString("bookId");
+                boolean nextBook = !Objects.equals(bookId, currentBookId);
+                if (!current.isEmpty() && (nextBook || current.size() == bucketSize)) {
+                    batch.add(toBucket(currentBookId, bucketIndex++, current));
+                    current = new ArrayList<>(bucketSize);
+                    if (nextBook) {
+                        completedBookId = currentBookId;
+                    }
+                    if (batch.size() >= batchSize) {
+                        flush(batch);
+                        progress.completedUpTo(completedBookId, migrated);
+                    }
+                }
+                if (nextBook) {
+                    bucketIndex = 0;
+                }
+                currentBookId = bookId;
+                review.remove("bookId");
+                current.add(review);
+                migrated++;
+            }
+        }
+        if (!current.isEmpty()) {
+            batch.add(toBucket(currentBookId, bucketIndex, current));
+            completedBookId = currentBookId;
+        }
+        flush(batch);
+        progress.completedUpTo(completedBookId, migrated);
+
+        LOG.infof("Bucket migration complete — %d reviews packed into review_buckets.", migrated);
+        return migrated;
+    }
+
+    /** Writes the batch; buckets an interrupted run already wrote are rejected as duplicate keys and skipped. */
+    private void flush(List<Document> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            buckets.insertMany(batch, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            boolean onlyDuplicates = e.getWriteErrors().stream()
+                    .allMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY);
+            if (!onlyDuplicates || e.getWriteConcernError() != null) {
+                throw e;
+            }
+            LOG.debugf("%d buckets were already migrated.", e.getWriteErrors().size());
+        }
+        batch.clear();
+    }
+
+    private static Document toBucket(String bookId, int index, List<Document> reviews) {
+        double sum = 0;
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        Date first = null;
+        Date last = null;
+        for (Document review : reviews) {
+            double rating = review.get("rating") instanceof Number number ? number.doubleValue() : 0.0;
+            sum += rating;
+            min = Math.min(min, rating);
+            max = Math.max(max, rating);
+            Date createdAt = review.getDate("createdAt");
+            if (createdAt != null) {
+                first = first == null || createdAt.before(first) ? createdAt : first;
+                last = last == null || createdAt.after(last) ? createdAt : last;
+            }
+        }
+        return new Document("_id", bookId + ":" + index)
+                .append("bookId", bookId)
+                .append("count", reviews.size())
+                .append("sum", sum)
+                .append("min", min)
+                .append("max", max)
+                .append("firstCreatedAt", first)
+                .append("lastCreatedAt", last)
+                .append("reviews", reviews);
+    }
+}
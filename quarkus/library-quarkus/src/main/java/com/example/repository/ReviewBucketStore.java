@@ -0,0 +1,290 @@
+package com.example.repository;
+
+import com.example.config.DurabilityProfiles;
+import com.example.config.ReviewStorageSettings;
+import com.example.deadline.Deadlines;
+import com.example.dto.response.AverageRatingResponse;
+import com.example.index.MongoIndex;
+import com.example.model.entity.Review;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Review storage using the <strong>Bucket Pattern</strong>: reviews of a book
+ * are packed into documents of up to {@code bucketSize} reviews in
+ * {@code review_buckets}. Each bucket keeps {@code count}, {@code sum},
+ * {@code min} and {@code max} of its ratings up to date, so per-book rating
+ * aggregates read a handful of buckets instead of one document (and one index
+ * entry) per review.
+ *
+ * <p>Used by {@link ReviewRepository} when
+ * {@code library.reviews.storage.layout=bucket}; callers never see buckets.
+ * Like the repository, every call is bounded by the request deadline through
+ * {@link Deadlines}.
+ */
+@ApplicationScoped
+// Finds the open (not yet full) bucket of a book on insert.
+@MongoIndex(collection = ReviewBucketStore.BUCKETS_COLLECTION, keys = {"bookId", "count"},
+        ifProperty = "library.reviews.storage.layout", havingValue = "bucket")
+// Point lookups of a single review by id (multikey).
+@MongoIndex(collection = ReviewBucketStore.BUCKETS_COLLECTION, keys = "reviews._id",
+        ifProperty = "library.reviews.storage.layout", havingValue = "bucket")
+// Newest buckets overall, walked by the all-reviews page.
+@MongoIndex(collection = ReviewBucketStore.BUCKETS_COLLECTION, keys = "-lastCreatedAt",
+        ifProperty = "library.reviews.storage.layout", havingValue = "bucket")
+// Newest buckets of a book for the latest-reviews lookup.
+@MongoIndex(collection = ReviewBucketStore.BUCKETS_COLLECTION, keys = {"bookId", "-lastCreatedAt"},
+        ifProperty = "library.reviews.storage.layout", havingValue = "bucket")
+public class ReviewBucketStore {
+
+    static final String BUCKETS_COLLECTION = "review_buckets";
+
+    private static final Comparator<Review> NEWEST_FIRST =
+            Comparator.comparing((Review review) -> review.createdAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(review -> review.id)
+                    .reversed();
+
+    private final MongoCollection<Document> buckets;
+    private final int bucketSize;
+    private final Deadlines deadlines;
+
+    @Inject
+    ReviewBucketStore(MongoDatabase database, ReviewStorageSettings settings, DurabilityProfiles durability,
+                      Deadlines deadlines) {
+        this.buckets = durability.apply(database.getCollection(BUCKETS_COLLECTION), DurabilityProfiles.REVIEWS);
+        this.bucketSize = settings.bucketSize();
+        // Bucket reads and writes on the request path are bounded by its deadline.
+        this.deadlines = deadlines;
+    }
+
+    public boolean isEmpty() {
+        return deadlines.bound(buckets).estimatedDocumentCount() == 0;
+    }
+
+    /**
+     * Appends the review to the book's open bucket, creating a new bucket when
+     * every existing one is full — a single upsert, no read first.
+     */
+    public void insert(Review review) {
+        deadlines.bound(buckets).updateOne(
+                Filters.and(Filters.eq("bookId", review.bookId), Filters.lt("count", bucketSize)),
+                Updates.combine(
+                        Updates.push("reviews", toEmbedded(review)),
+                        Updates.inc("count", 1),
+                        Updates.inc("sum", review.rating),
+                        Updates.min("min", review.rating),
+                        Updates.max("max", review.rating),
+                        Updates.min("firstCreatedAt", Date.from(review.createdAt)),
+                        Updates.max("lastCreatedAt", Date.from(review.createdAt)),
+                        Updates.setOnInsert("_id", new ObjectId().toHexString())),
+                new UpdateOptions().upsert(true));
+    }
+
+    public Optional<Review> findById(String id) {
+        Document bucket = deadlines.bound(buckets).find(Filters.eq("reviews._id", id))
+                .projection(Projections.fields(Projections.include("bookId"), Projections.elemMatch("reviews", Filters.eq("_id", id))))
+                .first();
+        if (bucket == null) {
+            return Optional.empty();
+        }
+        List<Document> reviews = bucket.getList("reviews", Document.class, List.of());
+        return reviews.isEmpty()
+                ? Optional.empty()
+                : Optional.of(toReview(reviews.get(0), bucket.getString("bookId")));
+    }
+
+    /** Rewrites the review in place and recomputes the bucket's aggregates in the same update. */
+    public boolean update(Review review) {
+        Document replaceReview = new Document("$set", new Document("reviews", new Document("$map", new Document()
+                .append("input", "$reviews")
+                .append("as", "r")
+                .append("in", new Document("$cond", List.of(
+                        new Document("$eq", List.of("$$r._id", review.id)),
+                        new Document("$mergeObjects", List.of("$$r", new Document()
+                                .append("user", review.user)
+                                .append("rating", review.rating)
+                                .append("text", review.text))),
+                        "$$r"))))));
+
+        return deadlines.bound(buckets)
+                .updateOne(Filters.eq("reviews._id", review.id), List.of(replaceReview, recomputeAggregates()))
+                .getMatchedCount() > 0;
+    }
+
+    /** Removes the review from its bucket, recomputes the aggregates and drops the bucket once empty. */
+    public boolean delete(String id) {
+        Document removeReview = new Document("$set", new Document("reviews", new Document("$filter", new Document()
+                .append("input", "$reviews")
+                .append("as", "r")
+                .append("cond", new Document("$ne", List.of("$$r._id", id))))));
+
+        Document bucket = deadlines.bound(buckets).findOneAndUpdate(
+                Filters.eq("reviews._id", id),
+                List.of(removeReview, recomputeAggregates()),
+                new FindOneAndUpdateOptions()
+                        .projection(Projections.include("count"))
+                        .returnDocument(ReturnDocument.AFTER));
+        if (bucket == null) {
+            return false;
+        }
+        if (bucket.getInteger("count", 0) == 0) {
+            deadlines.bound(buckets)
+                    .deleteOne(Filters.and(Filters.eq("_id", bucket.get("_id")), Filters.eq("count", 0)));
+        }
+        return true;
+    }
+
+    public long count() {
+        Document result = deadlines.bound(buckets).aggregate(List.of(
+                Aggregates.group(null, Accumulators.sum("total", "$count")))).first();
+        return result == null ? 0 : ((Number) result.get("total")).longValue();
+    }
+
+    /**
+     * Returns a single page of reviews across all buckets, most recent first.
+     * Buckets are walked newest first on the {@code -lastCreatedAt} index,
+     * keeping the newest {@code (page + 1) * size} reviews seen; the walk
+     * stops at the first bucket whose newest review is older than all of
+     * them, so only the buckets that can hold the page are read.
+     */
+    public List<Review> findPage(int page, int size) {
+        int wanted = (page + 1) * size;
+        // Oldest of the kept reviews at the head, so it is the one dropped.
+        PriorityQueue<Review> newest = new PriorityQueue<>(wanted + 1, NEWEST_FIRST.reversed());
+        try (MongoCursor<Document> cursor = deadlines.bound(buckets).find()
+                .sort(Sorts.descending("lastCreatedAt"))
+                .batchSize(Math.max(2, wanted / bucketSize + 2))
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document bucket = cursor.next();
+                Date lastCreatedAt = bucket.getDate("lastCreatedAt");
+                Instant oldestKept = newest.size() == wanted ? newest.peek().createdAt : null;
+                if (oldestKept != null && (lastCreatedAt == null || lastCreatedAt.toInstant().isBefore(oldestKept))) {
+                    break;
+                }
+                for (Document embedded : bucket.getList("reviews", Document.class, List.of())) {
+                    newest.add(toReview(embedded, bucket.getString("bookId")));
+                    if (newest.size() > wanted) {
+                        newest.poll();
+                    }
+                }
+            }
+        }
+
+        List<Review> sorted = new ArrayList<>(newest);
+        sorted.sort(NEWEST_FIRST);
+        return new ArrayList<>(sorted.subList(Math.min(page * size, sorted.size()), sorted.size()));
+    }
+
+    /**
+     * Keyset page of one book's reviews, newest first. Only the book's buckets
+     * that still hold reviews older than the cursor are unwound.
+     */
+    public List<Review> findByBook(String bookId, Instant beforeCreatedAt, String beforeId, int limit) {
+        Bson bookBuckets = beforeCreatedAt == null
+                ? Filters.eq("bookId", bookId)
+                : Filters.and(Filters.eq("bookId", bookId), Filters.lte("firstCreatedAt", Date.from(beforeCreatedAt)));
+        List<Bson> pipeline = List.of(
+                Aggregates.match(bookBuckets),
+                Aggregates.unwind("$reviews"),
+                Aggregates.match(ReviewRepository.olderThan("reviews.", beforeCreatedAt, beforeId)),
+                Aggregates.sort(Sorts.descending("reviews.createdAt", "reviews._id")),
+                Aggregates.limit(limit));
+
+        return deadlines.bound(buckets).aggregate(pipeline)
+                .map(doc -> toReview(doc.get("reviews", Document.class), doc.getString("bookId")))
+                .into(new ArrayList<>(limit));
+    }
+
+    /** Average rating from the precomputed bucket sums — one document per bucket, not per review. */
+    public Optional<AverageRatingResponse> averageRatingForBook(String bookId) {
+        List<Bson> pipeline = List.of(
+                Aggregates.match(Filters.eq("bookId", bookId)),
+                Aggregates.group(
+                        "$bookId",
+                        Accumulators.sum("sum", "$sum"),
+                        Accumulators.sum("totalReviews", "$count")));
+
+        Document result = deadlines.bound(buckets).aggregate(pipeline).first();
+        if (result == null) {
+            return Optional.empty();
+        }
+
+        int totalReviews = ((Number) result.get("totalReviews")).intValue();
+        if (totalReviews == 0) {
+            return Optional.empty();
+        }
+        double sum = ((Number) result.get("sum")).doubleValue();
+        return Optional.of(new AverageRatingResponse(result.getString("_id"), sum / totalReviews, totalReviews));
+    }
+
+    /**
+     * Sub-pipeline for a {@code $lookup} on {@code bookId} that returns the
+     * latest {@code limit} reviews of the book. Buckets fill up in time order,
+     * so only the newest few buckets are unwound.
+     */
+    static List<Bson> latestReviews(int limit, int bucketSize) {
+        int bucketsNeeded = (limit + bucketSize - 1) / bucketSize + 1;
+        return List.of(
+                Aggregates.sort(Sorts.descending("lastCreatedAt")),
+                Aggregates.limit(bucketsNeeded),
+                Aggregates.unwind("$reviews"),
+                Aggregates.replaceWith(new Document("$mergeObjects", List.of("$reviews", new Document("bookId", "$bookId")))),
+                Aggregates.sort(Sorts.descending("createdAt")),
+                Aggregates.limit(limit));
+    }
+
+    private static Document recomputeAggregates() {
+        return new Document("$set", new Document()
+                .append("count", new Document("$size", "$reviews"))
+                .append("sum", new Document("$sum", "$reviews.rating"))
+                .append("min", new Document("$min", "$reviews.rating"))
+                .append("max", new Document("$max", "$reviews.rating"))
+                .append("firstCreatedAt", new Document("$min", "$reviews.createdAt"))
+                .append("lastCreatedAt", new Document("$max", "$reviews.createdAt")));
+    }
+
+    static Document toEmbedded(Review review) {
+        return new Document()
+                .append("_id", review.id)
+                .append("user", review.user)
+                .append("rating", review.rating)
+                .append("text", review.text)
+                .append("createdAt", Date.from(review.createdAt));
+    }
+
+    private static Review toReview(Document embedded, String bookId) {
+        Review review = new Review();
+        review.id = embedded.getString("_id");
+        review.bookId = bookId;
+        review.user = embedded.getString("user");
+        review.rating = embedded.get("rating") instanceof Number number ? number.doubleValue() : 0.0;
+        review.text = embedded.getString("text");
+        Date createdAt = embedded.getDate("createdAt");
+        review.createdAt = createdAt != null ? createdAt.toInstant() : null;
+        return review;
+    }
+}
@@ -1,52 +1,319 @@
 package com.example.repository;
 
+import com.example.config.DurabilityProfiles;
+import com.example.config.ReadProfiles;
+import com.example.config.ReviewArchiveSettings;
+import com.example.config.ReviewStorageSettings;
+import com.example.consistency.CausalSessions;
+import com.example.deadline.Deadlines;
+import com.example.diagnostics.FlightRecorded;
 import com.example.dto.response.AverageRatingResponse;
+import com.example.hedge.HedgedReads;
+import com.example.index.MongoIndex;
 import com.example.model.entity.Review;
+import com.example.pool.PoolGated;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.ClientSession;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Accumulators;
 import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.CountOptions;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import io.micrometer.core.annotation.Timed;
 import io.quarkus.mongodb.panache.PanacheMongoRepositoryBase;
-import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Data access for reviews. Callers always work with single {@link Review}s;
+ * depending on {@code library.reviews.storage.layout} they are stored one
+ * document per review in {@code reviews} or packed into buckets by
+ * {@link ReviewBucketStore}.
+ *
+ * <p>With {@code library.reviews.archive.enabled}, old reviews of the document
+ * layout are tiered out to {@code reviews_archive}; every read below falls
+ * through to the archive, so callers still see a single collection.
+ */
 @ApplicationScoped
+@Timed(value = "library.repository", histogram = true)
+@FlightRecorded(collection = "reviews")
+@PoolGated
+// The archive is read the way the hot collection is: per book newest first, and recent first.
+@MongoIndex(collection = ReviewRepository.ARCHIVE_COLLECTION, keys = {"bookId", "-createdAt", "-_id"},
+        ifProperty = "library.reviews.archive.enabled")
+@MongoIndex(collection = ReviewRepository.ARCHIVE_COLLECTION, keys = {"-createdAt", "-_id"},
+        ifProperty = "library.reviews.archive.enabled")
 public class ReviewRepository implements PanacheMongoRepositoryBase<Review, String> {
 
-    private static final String REVIEWS_COLLECTION = "reviews";
+    static final String REVIEWS_COLLECTION = "reviews";
+    static final String ARCHIVE_COLLECTION = "reviews_archive";
+
+    static final Bson NEWEST_FIRST = Sorts.descending("createdAt", "_id");
+    static final Bson OLDEST_FIRST = Sorts.ascending("createdAt", "_id");
 
     private final MongoCollection<Document> reviews;
+    private final MongoCollection<Document> analyticReviews;
+    private final MongoCollection<Review> hot;
+    private final MongoCollection<Review> archive;
+    private final ReviewBucketStore bucketStore;
+    private final CausalSessions sessions;
+    private final HedgedReads hedging;
+    private final Deadlines deadlines;
+    private final boolean bucketed;
+    private final boolean archived;
 
     @Inject
-    ReviewRepository(MongoDatabase database) {
-        this.reviews = database.getCollection(REVIEWS_COLLECTION);
+    ReviewRepository(MongoDatabase database,
+                     ReviewBucketStore bucketStore,
+                     ReviewStorageSettings storage,
+                     ReviewArchiveSettings archiveSettings,
+                     DurabilityProfiles durability,
+                     ReadProfiles readProfiles,
+                     CausalSessions sessions,
+                     HedgedReads hedging,
+                     Deadlines deadlines) {
+        this.reviews = durability.apply(database.getCollection(REVIEWS_COLLECTION), DurabilityProfiles.REVIEWS);
+        this.analyticReviews = readProfiles.apply(reviews, ReadProfiles.ANALYTICS);
+        this.hot = durability.apply(database.getCollection(REVIEWS_COLLECTION, Review.class), DurabilityProfiles.REVIEWS);
+        // The hot copy is deleted once the archive acknowledges it, so the
+        // archive write must be at least as durable as the review was.
+        this.archive = durability.apply(database.getCollection(ARCHIVE_COLLECTION, Review.class), DurabilityProfiles.ARCHIVE);
+        this.bucketStore = bucketStore;
+        this.sessions = sessions;
+        this.hedging = hedging;
+        this.deadlines = deadlines;
+        this.bucketed = storage.layout() == ReviewStorageSettings.Layout.BUCKET;
+        this.archived = archiveSettings.enabled() && !bucketed;
     }
 
-    /** Returns a single page of reviews, most recent first. */
+    /**
+     * Returns a single page of reviews, most recent first. Hot reviews are
+     * newer than archived ones, so the archive continues where the hot
+     * collection ends: the hot page is read first, and only a short page
+     * reads on in the archive, after the last hot review. A review that
+     * {@link #archiveBatch} has copied but not yet deleted from the hot side
+     * is therefore listed once. Only a page past the hot collection counts it.
+     */
     public List<Review> findPage(int page, int size) {
-        return findAll(Sort.by("createdAt", Sort.Direction.Descending)).page(page, size).list();
+        if (bucketed) {
+            return bucketStore.findPage(page, size);
+        }
+        long offset = (long) page * size;
+        List<Review> result = deadlines.bound(hot).find()
+                .sort(NEWEST_FIRST)
+                .skip((int) offset)
+                .limit(size)
+                .into(new ArrayList<>(size));
+        if (!archived || result.size() == size) {
+            return result;
+        }
+
+        Review oldestHot;
+        long archiveOffset = 0;
+        if (!result.isEmpty()) {
+            oldestHot = result.get(result.size() - 1);
+        } else {
+            oldestHot = deadlines.bound(hot).find().sort(OLDEST_FIRST).first();
+            archiveOffset = Math.max(0, offset - deadlines.bound(hot).countDocuments(new Document(), countOnIndex()));
+        }
+        deadlines.bound(archive).find(olderThan(oldestHot))
+                .sort(NEWEST_FIRST)
+                .skip((int) archiveOffset)
+                .limit(size - result.size())
+                .into(result);
+        return result;
+    }
+
+    /**
+     * Up to {@code limit} reviews of a book, newest first, that come after the
+     * keyset position ({@code beforeCreatedAt}, {@code beforeId}); pass
+     * {@code null}s for the first page. An index range scan on
+     * {@code (bookId, createdAt, _id)}, however deep the page.
+     */
+    public List<Review> findByBook(String bookId, Instant beforeCreatedAt, String beforeId, int limit) {
+        if (bucketed) {
+            return bucketStore.findByBook(bookId, beforeCreatedAt, beforeId, limit);
+        }
+
+        Bson filter = bookPageFilter(bookId, beforeCreatedAt, beforeId);
+        // The hot read is hedged when library.hedging.enabled (see HedgedReads).
+        List<Review> result = hedging.read("reviews.findByBook", deadlines.bound(hot),
+                collection -> collection.find(filter).sort(NEWEST_FIRST).limit(limit).into(new ArrayList<>(limit)));
+        if (archived && result.size() < limit) {
+            // Archived reviews are older than every hot one: the page continues
+            // there, after the last hot review so one being moved is not repeated.
+            deadlines.bound(archive).find(archiveContinuation(bookId, filter, result))
+                    .sort(NEWEST_FIRST)
+                    .limit(limit - result.size())
+                    .into(result);
+        }
+        return result;
+    }
+
+    /** Counts the hot reviews on the {@code -createdAt} index instead of scanning the collection. */
+    static CountOptions countOnIndex() {
+        return new CountOptions().hint(NEWEST_FIRST);
+    }
+
+    static Bson bookPageFilter(String bookId, Instant beforeCreatedAt, String beforeId) {
+        return Filters.and(Filters.eq("bookId", bookId), olderThan("", beforeCreatedAt, beforeId));
     }
 
+    /** Archive filter for a book page whose hot part was {@code hotReviews}. */
+    static Bson archiveContinuation(String bookId, Bson filter, List<Review> hotReviews) {
+        if (hotReviews.isEmpty()) {
+            return filter;
+        }
+        Review last = hotReviews.get(hotReviews.size() - 1);
+        return bookPageFilter(bookId, last.createdAt, last.id);
+    }
+
+    /** Keyset predicate for the reviews after {@code review}; everything when it is {@code null}. */
+    static Bson olderThan(Review review) {
+        return review != null ? olderThan("", review.createdAt, review.id) : new Document();
+    }
+
+    /**
+     * Keyset predicate for a {@code (createdAt desc, _id desc)} ordering:
+     * strictly after the given position. Matches everything when
+     * {@code createdAt} is {@code null}. {@code prefix} addresses reviews
+     * nested in another document (e.g. {@code "reviews."}).
+     */
+    static Bson olderThan(String prefix, Instant createdAt, String id) {
+        if (createdAt == null) {
+            return new Document();
+        }
+        Date at = Date.from(createdAt);
+        return Filters.or(
+                Filters.lt(prefix + "createdAt", at),
+                Filters.and(Filters.eq(prefix + "createdAt", at), Filters.lt(prefix + "_id", id)));
+    }
+
+    public Optional<Review> findReview(String id) {
+        if (bucketed) {
+            return bucketStore.findById(id);
+        }
+        Optional<Review> found = Optional.ofNullable(deadlines.bound(hot).find(Filters.eq("_id", id)).first());
+        if (found.isPresent() || !archived) {
+            return found;
+        }
+        return Optional.ofNullable(deadlines.bound(archive).find(Filters.eq("_id", id)).first());
+    }
+
+    /**
+     * Total for the page metadata of {@code GET /reviews}, from collection
+     * metadata rather than a scan: exact except briefly after an unclean
+     * shutdown, and a review being archived may count in both tiers.
+     */
+    public long countReviews() {
+        if (bucketed) {
+            return bucketStore.count();
+        }
+        long hotCount = deadlines.bound(hot).estimatedDocumentCount();
+        return archived ? hotCount + deadlines.bound(archive).estimatedDocumentCount() : hotCount;
+    }
+
+    public void insert(Review review) {
+        if (bucketed) {
+            bucketStore.insert(review);
+        } else {
+            ClientSession session = sessions.current();
+            if (session != null) {
+                deadlines.bound(hot).insertOne(session, review);
+            } else {
+                deadlines.bound(hot).insertOne(review);
+            }
+        }
+    }
+
+    /** Inserts {@code reviews} in one batch, or bucket by bucket with the bucket layout. */
+    public void insertAll(List<Review> reviews) {
+        if (reviews.isEmpty()) {
+            return;
+        }
+        if (bucketed) {
+            reviews.forEach(bucketStore::insert);
+        } else {
+            ClientSession session = sessions.current();
+            if (session != null) {
+                deadlines.bound(hot).insertMany(session, reviews);
+            } else {
+                deadlines.bound(hot).insertMany(reviews);
+            }
+        }
+    }
+
+    /** Updates the review in whichever tier holds it. */
     public void update(Review review) {
-        persistOrUpdate(review);
+        if (bucketed) {
+            bucketStore.update(review);
+            return;
+        }
+        if (archived) {
+            Bson byId = Filters.eq("_id", review.id);
+            if (deadlines.bound(hot).replaceOne(byId, review).getMatchedCount() > 0
+                    || deadlines.bound(archive).replaceOne(byId, review).getMatchedCount() > 0) {
+                return;
+            }
+        }
+        deadlines.bound(hot).replaceOne(Filters.eq("_id", review.id), review, new ReplaceOptions().upsert(true));
+    }
+
+    public boolean deleteReview(String id) {
+        if (bucketed) {
+            return bucketStore.delete(id);
+        }
+        Bson byId = Filters.eq("_id", id);
+        return deadlines.bound(hot).deleteOne(byId).getDeletedCount() > 0
+                || archived && deadlines.bound(archive).deleteOne(byId).getDeletedCount() > 0;
     }
 
     public Optional<AverageRatingResponse> averageRatingForBook(String bookId) {
-        List<Bson> pipeline = List.of(
-                Aggregates.match(Filters.eq("bookId", bookId)),
-                Aggregates.group(
-                        "$bookId",
-                        Accumulators.avg("averageRating", "$rating"),
-                        Accumulators.sum("totalReviews", 1)));
-
-        Document result = reviews.aggregate(pipeline).first();
+        if (bucketed) {
+            return bucketStore.averageRatingForBook(bookId);
+        }
+        // Analytics profile; a client presenting a causal token still sees its own reviews.
+        MongoCollection<Document> source = deadlines.bound(analyticReviews);
+        ClientSession session = sessions.current();
+        return toAverageRating((session != null
+                ? source.aggregate(session, averageRatingPipeline(bookId, archived))
+                : source.aggregate(averageRatingPipeline(bookId, archived))).first());
+    }
+
+    /** Average and count of a book's reviews, over both tiers when {@code archived}; document layout only. */
+    public static List<Bson> averageRatingPipeline(String bookId, boolean archived) {
+        List<Bson> pipeline = new ArrayList<>();
+        pipeline.add(Aggregates.match(Filters.eq("bookId", bookId)));
+        if (archived) {
+            // A review can briefly exist in both tiers while it is being moved;
+            // grouping by _id first counts it once.
+            pipeline.add(Aggregates.unionWith(ARCHIVE_COLLECTION, List.of(Aggregates.match(Filters.eq("bookId", bookId)))));
+            pipeline.add(Aggregates.group("$_id",
+                    Accumulators.first("bookId", "$bookId"),
+                    Accumulators.first("rating", "$rating")));
+        }
+        pipeline.add(Aggregates.group(
+                "$bookId",
+                Accumulators.avg("averageRating", "$rating"),
+                Accumulators.sum("totalReviews", 1)));
+        return pipeline;
+    }
+
+    /** The response for one result of {@link #averageRatingPipeline}; empty without one. */
+    public static Optional<AverageRatingResponse> toAverageRating(Document result) {
         if (result == null) {
             return Optional.empty();
         }
@@ -57,4 +324,36 @@ public class ReviewRepository implements PanacheMongoRepositoryBase<Review, Stri
                 averageRating,
                 result.getInteger("totalReviews", 0)));
     }
+
+    /**
+     * Moves up to {@code batchSize} of the oldest reviews created before
+     * {@code cutoff} to the archive: {@code insertMany} into the archive, then
+     * {@code deleteMany} from the hot collection. Safe to repeat after a crash
+     * between the two steps — reviews already archived are skipped as
+     * duplicates and deleted from the hot side on the next round. Returns the
+     * number of reviews moved.
+     */
+    public int archiveBatch(Instant cutoff, int batchSize) {
+        List<Document> batch = reviews.find(Filters.lt("createdAt", Date.from(cutoff)))
+                .sort(OLDEST_FIRST)
+                .limit(batchSize)
+                .into(new ArrayList<>());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            archive.withDocumentClass(Document.class).insertMany(batch, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            boolean onlyDuplicates = e.getWriteErrors().stream()
+                    .allMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+        }
+
+        List<Object> ids = batch.stream().map(doc -> doc.get("_id")).toList();
+        reviews.deleteMany(Filters.in("_id", ids));
+        return batch.size();
+    }
 }
@@ -1,9 +1,11 @@
 package com.example.resource;
 
 import com.example.dto.request.AuthorRequest;
+import com.example.dto.response.AuthorBooksResponse;
 import com.example.dto.response.AuthorResponse;
 import com.example.dto.response.PageResponse;
 import com.example.service.AuthorService;
+import io.quarkus.arc.properties.IfBuildProperty;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -25,6 +27,7 @@ import jakarta.ws.rs.core.UriInfo;
 import java.net.URI;
 import java.util.List;
 
+@IfBuildProperty(name = "library.execution.authors", stringValue = "blocking", enableIfMissing = true)
 @Path("/authors")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
@@ -49,6 +52,15 @@ public class AuthorResource {
         return authorService.findById(id);
     }
 
+    @GET
+    @Path("/{id}/books")
+    public AuthorBooksResponse findBooks(
+            @PathParam("id") String id,
+            @QueryParam("after") String after,
+            @QueryParam("size") @DefaultValue("20") @Min(1) @Max(100) int size) {
+        return authorService.findBooks(id, after, size);
+    }
+
     @GET
     @Path("/nationality/{nationality}")
     public List<AuthorResponse> findByNationality(@PathParam("nationality") String nationality) {
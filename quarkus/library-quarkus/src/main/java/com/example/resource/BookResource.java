@@ -2,14 +2,18 @@ package com.example.resource;
 
 import com.example.dto.request.BookRequest;
 import com.example.dto.response.AuthorBookCountResponse;
-import com.example.dto.response.BookCategoryResponse;
 import com.example.dto.response.BookResponse;
 import com.example.dto.response.BookWithReviewsResponse;
+import com.example.dto.response.CursorPageResponse;
 import com.example.dto.response.PageResponse;
+import com.example.dto.response.ReviewResponse;
 import com.example.service.BookService;
+import com.example.service.ReviewService;
+import io.quarkus.arc.properties.IfBuildProperty;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.DefaultValue;
@@ -28,15 +32,18 @@ import jakarta.ws.rs.core.UriInfo;
 import java.net.URI;
 import java.util.List;
 
+@IfBuildProperty(name = "library.execution.books", stringValue = "blocking", enableIfMissing = true)
 @Path("/books")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 public class BookResource {
 
     private final BookService bookService;
+    private final ReviewService reviewService;
 
-    public BookResource(BookService bookService) {
+    public BookResource(BookService bookService, ReviewService reviewService) {
         this.bookService = bookService;
+        this.reviewService = reviewService;
     }
 
     @GET
@@ -52,6 +59,22 @@ public class BookResource {
         return bookService.findById(id);
     }
 
+    /**
+     * Reviews of one book, newest first. Pass {@code nextCursor} back as
+     * {@code after} for the next page. Its timestamp is limited to 18 digits,
+     * which always fit in a {@code long}.
+     */
+    @GET
+    @Path("/{id}/reviews")
+    public CursorPageResponse<ReviewResponse> findReviews(
+            @PathParam("id") String id,
+            @QueryParam("after")
+            @Pattern(regexp = "\\d{1,18}:.+", message = "after must be a nextCursor returned by this endpoint")
+            String after,
+            @QueryParam("size") @DefaultValue("20") @Min(1) @Max(100) int size) {
+        return reviewService.findByBook(id, after, size);
+    }
+
     @GET
     @Path("/min-pages/{minPages}")
     public List<BookResponse> findByMinPages(@PathParam("minPages") int minPages) {
@@ -76,12 +99,25 @@ public class BookResource {
         return bookService.longestBooks(limit);
     }
 
+    /**
+     * Without {@code category}, pages over every book ({@link PageResponse}).
+     * With {@code category}, returns only that category keyset-paginated from
+     * the index ({@link CursorPageResponse}); pass {@code nextCursor} back as
+     * {@code after} for the next page.
+     */
     @GET
     @Path("/classify")
-    public PageResponse<BookCategoryResponse> classifyByPageCount(
+    public Response classifyByPageCount(
+            @QueryParam("category")
+            @Pattern(regexp = "short|medium|long", message = "category must be one of short, medium, long")
+            String category,
+            @QueryParam("after") String after,
             @QueryParam("page") @DefaultValue("0") @Min(0) int page,
             @QueryParam("size") @DefaultValue("20") @Min(1) @Max(100) int size) {
-        return bookService.classifyByPageCount(page, size);
+        if (category == null) {
+            return Response.ok(bookService.classifyByPageCount(page, size)).build();
+        }
+        return Response.ok(bookService.findByPageCategory(category, after, size)).build();
     }
 
     @GET
@@ -92,12 +128,16 @@ public class BookResource {
         return bookService.countBooksPerAuthor(page, size);
     }
 
+    /**
+     * Reviewed books keyset-paginated by id; pass {@code nextCursor} back as
+     * {@code after} for the next page.
+     */
     @GET
     @Path("/with-reviews")
-    public PageResponse<BookWithReviewsResponse> booksWithReviews(
-            @QueryParam("page") @DefaultValue("0") @Min(0) int page,
+    public CursorPageResponse<BookWithReviewsResponse> booksWithReviews(
+            @QueryParam("after") String after,
             @QueryParam("size") @DefaultValue("20") @Min(1) @Max(100) int size) {
-        return bookService.booksWithReviews(page, size);
+        return bookService.booksWithReviews(after, size);
     }
 
     @POST
@@ -0,0 +1,77 @@
+package com.example.resource;
+
+import com.example.diagnostics.PinningMonitor;
+import com.example.diagnostics.SlowOperationRecorder;
+import com.example.dto.response.IndexReportResponse;
+import com.example.dto.response.PinningReportResponse;
+import com.example.dto.response.PoolTuningResponse;
+import com.example.dto.response.SlowOperationReportResponse;
+import com.example.index.IndexReconciler;
+import com.example.pool.PoolTuner;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/** Runtime diagnostics for performance work; not part of the library API. */
+@Path("/diagnostics")
+@Produces(MediaType.APPLICATION_JSON)
+public class DiagnosticsResource {
+
+    private final PinningMonitor pinningMonitor;
+    private final IndexReconciler indexReconciler;
+    private final SlowOperationRecorder slowOperationRecorder;
+    private final PoolTuner poolTuner;
+
+    public DiagnosticsResource(PinningMonitor pinningMonitor, IndexReconciler indexReconciler,
+                               SlowOperationRecorder slowOperationRecorder, PoolTuner poolTuner) {
+        this.pinningMonitor = pinningMonitor;
+        this.indexReconciler = indexReconciler;
+        this.slowOperationRecorder = slowOperationRecorder;
+        this.poolTuner = poolTuner;
+    }
+
+    /** Virtual-thread pinning sites recorded since startup (or the last reset), longest total first. */
+    @GET
+    @Path("/pinning")
+    public PinningReportResponse pinning() {
+        return pinningMonitor.report();
+    }
+
+    @DELETE
+    @Path("/pinning")
+    public Response resetPinning() {
+        pinningMonitor.reset();
+        return Response.noContent().build();
+    }
+
+    /** Declared vs. existing indexes, with missing, unused ({@code $indexStats}) and redundant ones flagged. */
+    @GET
+    @Path("/indexes")
+    public IndexReportResponse indexes() {
+        return indexReconciler.report();
+    }
+
+    /** Sampled slow driver commands grouped by query shape, most total time first. */
+    @GET
+    @Path("/slow-operations")
+    public SlowOperationReportResponse slowOperations() {
+        return slowOperationRecorder.report();
+    }
+
+    @DELETE
+    @Path("/slow-operations")
+    public Response resetSlowOperations() {
+        slowOperationRecorder.reset();
+        return Response.noContent().build();
+    }
+
+    /** Current concurrency permits of the pool tuner and its recent changes, oldest first. */
+    @GET
+    @Path("/pool")
+    public PoolTuningResponse pool() {
+        return poolTuner.report();
+    }
+}
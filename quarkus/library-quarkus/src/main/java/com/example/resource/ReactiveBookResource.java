@@ -0,0 +1,167 @@
+package com.example.resource;
+
+import com.example.dto.request.BookRequest;
+import com.example.dto.response.AuthorBookCountResponse;
+import com.example.dto.response.BookResponse;
+import com.example.dto.response.BookWithReviewsResponse;
+import com.example.dto.response.CursorPageResponse;
+import com.example.dto.response.PageResponse;
+import com.example.dto.response.ReviewResponse;
+import com.example.service.ReactiveBookService;
+import com.example.service.ReactiveReviewService;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+
+import java.net.URI;
+
+/**
+ * {@link BookResource} for {@code library.execution.books=reactive}: same paths
+ * and contracts, served on the event loop with {@code Uni}/{@code Multi}.
+ */
+@IfBuildProperty(name = "library.execution.books", stringValue = "reactive")
+@Path("/books")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class ReactiveBookResource {
+
+    private final ReactiveBookService bookService;
+    private final ReactiveReviewService reviewService;
+
+    public ReactiveBookResource(ReactiveBookService bookService, ReactiveReviewService reviewService) {
+        this.bookService = bookService;
+        this.reviewService = reviewService;
+    }
+
+    @GET
+    public Uni<PageResponse<BookResponse>> findAll(
+            @QueryParam("page") @DefaultValue("0") @Min(0) int page,
+            @QueryParam("size") @DefaultValue("20") @Min(1) @Max(100) int size) {
+        return bookService.findAll(page, size);
+    }
+
+    @GET
+    @Path("/{id}")
+    public Uni<BookResponse> findById(@PathParam("id") String id) {
+        return bookService.findById(id);
+    }
+
+    /**
+     * Reviews of one book, newest first. Pass {@code nextCursor} back as
+     * {@code after} for the next page. Its timestamp is limited to 18 digits,
+     * which always fit in a {@code long}.
+     */
+    @GET
+    @Path("/{id}/reviews")
+    public Uni<CursorPageResponse<ReviewResponse>> findReviews(
+            @PathParam("id") String id,
+            @QueryParam("after")
+            @Pattern(regexp = "\\d{1,18}:.+", message = "after must be a nextCursor returned by this endpoint")
+            String after,
+            @QueryParam("size") @DefaultValue("20") @Min(1) @Max(100) int size) {
+        return reviewService.findByBook(id, after, size);
+    }
+
+    @GET
+    @Path("/min-pages/{minPages}")
+    public Multi<BookResponse> findByMinPages(@PathParam("minPages") int minPages) {
+        return bookService.findByMinPages(minPages);
+    }
+
+    @GET
+    @Path("/year/{year}")
+    public Multi<BookResponse> findByYear(@PathParam("year") int year) {
+        return bookService.findByYear(year);
+    }
+
+    @GET
+    @Path("/sort/year")
+    public Multi<BookResponse> sortedByYear(@QueryParam("order") @DefaultValue("desc") String order) {
+        return bookService.sortedByYear(order);
+    }
+
+    @GET
+    @Path("/top/{limit}")
+    public Multi<BookResponse> longestBooks(@PathParam("limit") int limit) {
+        return bookService.longestBooks(limit);
+    }
+
+    /**
+     * Without {@code category}, pages over every book ({@link PageResponse}).
+     * With {@code category}, returns only that category keyset-paginated from
+     * the index ({@link CursorPageResponse}); pass {@code nextCursor} back as
+     * {@code after} for the next page.
+     */
+    @GET
+    @Path("/classify")
+    public Uni<Response> classifyByPageCount(
+            @QueryParam("category")
+            @Pattern(regexp = "short|medium|long", message = "category must be one of short, medium, long")
+            String category,
+            @QueryParam("after") String after,
+            @QueryParam("page") @DefaultValue("0") @Min(0) int page,
+            @QueryParam("size") @DefaultValue("20") @Min(1) @Max(100) int size) {
+        if (category == null) {
+            return bookService.classifyByPageCount(page, size).map(body -> Response.ok(body).build());
+        }
+        return bookService.findByPageCategory(category, after, size).map(body -> Response.ok(body).build());
+    }
+
+    @GET
+    @Path("/per-author")
+    public Uni<PageResponse<AuthorBookCountResponse>> countBooksPerAuthor(
+            @QueryParam("page") @DefaultValue("0") @Min(0) int page,
+            @QueryParam("size") @DefaultValue("20") @Min(1) @Max(100) int size) {
+        return bookService.countBooksPerAuthor(page, size);
+    }
+
+    /**
+     * Reviewed books keyset-paginated by id; pass {@code nextCursor} back as
+     * {@code after} for the next page.
+     */
+    @GET
+    @Path("/with-reviews")
+    public Uni<CursorPageResponse<BookWithReviewsResponse>> booksWithReviews(
+            @QueryParam("after") String after,
+            @QueryParam("size") @DefaultValue("20") @Min(1) @Max(100) int size) {
+        return bookService.booksWithReviews(after, size);
+    }
+
+    @POST
+    public Uni<Response> create(@Valid BookRequest request, @Context UriInfo uriInfo) {
+        return bookService.create(request).map(created -> {
+            URI location = uriInfo.getAbsolutePathBuilder().path(created.id()).build();
+            return Response.created(location).entity(created).build();
+        });
+    }
+
+    @PUT
+    @Path("/{id}")
+    public Uni<BookResponse> update(@PathParam("id") String id, @Valid BookRequest request) {
+        return bookService.update(id, request);
+    }
+
+    @DELETE
+    @Path("/{id}")
+    public Uni<Response> delete(@PathParam("id") String id) {
+        return bookService.delete(id).map(ignored -> Response.noContent().build());
+    }
+}
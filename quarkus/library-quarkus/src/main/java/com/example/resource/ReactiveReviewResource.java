@@ -0,0 +1,75 @@
+package com.example.resource;
+
+import com.example.dto.request.ReviewRequest;
+import com.example.dto.response.AverageRatingResponse;
+import com.example.dto.response.PageResponse;
+import com.example.dto.response.ReviewResponse;
+import com.example.service.ReactiveReviewService;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+
+import java.net.URI;
+
+/** {@link ReviewResource} for {@code library.execution.reviews=reactive}. */
+@IfBuildProperty(name = "library.execution.reviews", stringValue = "reactive")
+@Path("/reviews")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class ReactiveReviewResource {
+
+    private final ReactiveReviewService reviewService;
+
+    public ReactiveReviewResource(ReactiveReviewService reviewService) {
+        this.reviewService = reviewService;
+    }
+
+    @GET
+    public Uni<PageResponse<ReviewResponse>> findAll(
+            @QueryParam("page") @DefaultValue("0") @Min(0) int page,
+            @QueryParam("size") @DefaultValue("20") @Min(1) @Max(100) int size) {
+        return reviewService.findAll(page, size);
+    }
+
+    @GET
+    @Path("/avgRating/{bookId}")
+    public Uni<AverageRatingResponse> getAverageBookRating(@PathParam("bookId") String bookId) {
+        return reviewService.getAverageBookRating(bookId);
+    }
+
+    @POST
+    public Uni<Response> create(@Valid ReviewRequest request, @Context UriInfo uriInfo) {
+        return reviewService.create(request).map(created -> {
+            URI location = uriInfo.getAbsolutePathBuilder().path(created.id()).build();
+            return Response.created(location).entity(created).build();
+        });
+    }
+
+    @PUT
+    @Path("/{id}")
+    public Uni<ReviewResponse> update(@PathParam("id") String id, @Valid ReviewRequest request) {
+        return reviewService.update(id, request);
+    }
+
+    @DELETE
+    @Path("/{id}")
+    public Uni<Response> delete(@PathParam("id") String id) {
+        return reviewService.delete(id).map(ignored -> Response.noContent().build());
+    }
+}
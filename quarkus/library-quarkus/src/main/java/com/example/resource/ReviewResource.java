@@ -5,6 +5,7 @@ import com.example.dto.response.AverageRatingResponse;
 import com.example.dto.response.PageResponse;
 import com.example.dto.response.ReviewResponse;
 import com.example.service.ReviewService;
+import io.quarkus.arc.properties.IfBuildProperty;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -25,6 +26,7 @@ import jakarta.ws.rs.core.UriInfo;
 
 import java.net.URI;
 
+@IfBuildProperty(name = "library.execution.reviews", stringValue = "blocking", enableIfMissing = true)
 @Path("/reviews")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
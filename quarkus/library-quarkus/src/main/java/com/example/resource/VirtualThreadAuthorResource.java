@@ -0,0 +1,22 @@
+package com.example.resource;
+
+import com.example.service.AuthorService;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+/** {@link AuthorResource} on virtual threads ({@code library.execution.authors=virtual-thread}). */
+@IfBuildProperty(name = "library.execution.authors", stringValue = "virtual-thread")
+@RunOnVirtualThread
+@Path("/authors")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class VirtualThreadAuthorResource extends AuthorResource {
+
+    public VirtualThreadAuthorResource(AuthorService authorService) {
+        super(authorService);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.resource;
+
+import com.example.service.BookService;
+import com.example.service.ReviewService;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+/**
+ * {@link BookResource} on virtual threads ({@code library.execution.books=virtual-thread}):
+ * the same blocking code, but each request gets its own virtual thread instead
+ * of a worker-pool thread, so requests waiting on MongoDB no longer hold a
+ * scarce platform thread. Use {@code /diagnostics/pinning} to see whether
+ * anything on the request path pins the carrier thread.
+ */
+@IfBuildProperty(name = "library.execution.books", stringValue = "virtual-thread")
+@RunOnVirtualThread
+@Path("/books")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class VirtualThreadBookResource extends BookResource {
+
+    public VirtualThreadBookResource(BookService bookService, ReviewService reviewService) {
+        super(bookService, reviewService);
+    }
+}
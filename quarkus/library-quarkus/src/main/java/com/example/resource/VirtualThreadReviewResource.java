@@ -0,0 +1,22 @@
+package com.example.resource;
+
+import com.example.service.ReviewService;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+/** {@link ReviewResource} on virtual threads ({@code library.execution.reviews=virtual-thread}). */
+@IfBuildProperty(name = "library.execution.reviews", stringValue = "virtual-thread")
+@RunOnVirtualThread
+@Path("/reviews")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class VirtualThreadReviewResource extends ReviewResource {
+
+    public VirtualThreadReviewResource(ReviewService reviewService) {
+        super(reviewService);
+    }
+}
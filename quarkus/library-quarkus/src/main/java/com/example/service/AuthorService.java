@@ -1,13 +1,20 @@
 package com.example.service;
 
+import com.example.admission.Admitted;
+import com.example.admission.Workload;
+import com.example.config.DurabilityProfiles;
+import com.example.deadline.Deadlines;
 import com.example.dto.request.AuthorRequest;
+import com.example.dto.response.AuthorBooksResponse;
 import com.example.dto.response.AuthorResponse;
+import com.example.dto.response.BookResponse;
+import com.example.dto.response.CursorPageResponse;
 import com.example.dto.response.PageResponse;
 import com.example.exception.ResourceNotFoundException;
 import com.example.mapper.AuthorMapper;
+import com.example.mapper.BookMapper;
 import com.example.model.entity.Author;
-import io.quarkus.panache.common.Page;
-import io.quarkus.panache.common.Sort;
+import com.example.repository.BookRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.bson.types.ObjectId;
@@ -29,49 +36,78 @@ public class AuthorService {
     private static final String RESOURCE = "Author";
 
     private final AuthorMapper authorMapper;
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final DurabilityProfiles durability;
+    private final Deadlines deadlines;
 
     @Inject
-    AuthorService(AuthorMapper authorMapper) {
+    AuthorService(AuthorMapper authorMapper, BookRepository bookRepository, BookMapper bookMapper,
+                  DurabilityProfiles durability, Deadlines deadlines) {
         this.authorMapper = authorMapper;
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+        this.durability = durability;
+        this.deadlines = deadlines;
     }
 
     public PageResponse<AuthorResponse> findAll(int page, int size) {
-        // Active Record: paging is expressed directly on the entity via Panache.
-        List<Author> authors = Author.findAll(Sort.by("name")).page(Page.of(page, size)).list();
+        // Active Record: paging is expressed directly on the entity.
+        List<Author> authors = Author.page(deadlines, page, size);
         List<AuthorResponse> content = authorMapper.toResponseList(authors);
-        return PageResponse.of(content, page, size, Author.count());
+        return PageResponse.of(content, page, size, Author.countAuthors(deadlines));
     }
 
+    @Admitted(Workload.POINT_READ)
     public AuthorResponse findById(String id) {
         return authorMapper.toResponse(getExisting(id));
     }
 
     public List<AuthorResponse> findByNationality(String nationality) {
-        return authorMapper.toResponseList(Author.findByNationality(nationality));
+        return authorMapper.toResponseList(Author.findByNationality(deadlines, nationality));
+    }
+
+    /**
+     * An author's books, keyset-paginated on the {@code authors.authorId}
+     * index, together with aggregate stats over all of them.
+     */
+    public AuthorBooksResponse findBooks(String id, String after, int size) {
+        Author author = getExisting(id);
+        List<BookResponse> fetched = bookMapper.toResponseList(bookRepository.findByAuthorId(id, after, size));
+        return new AuthorBooksResponse(
+                authorMapper.toResponse(author),
+                bookRepository.authorStats(id),
+                CursorPageResponse.of(fetched, size, BookResponse::id));
     }
 
     public AuthorResponse create(AuthorRequest request) {
         Author author = authorMapper.toEntity(request);
         author.id = new ObjectId().toHexString();
-        author.persist();
+        author.insert(durability, deadlines);
+        bookRepository.linkAuthor(author.id, author.name);
         return authorMapper.toResponse(author);
     }
 
     public AuthorResponse update(String id, AuthorRequest request) {
         Author existing = getExisting(id);
+        String previousName = existing.name;
         authorMapper.applyRequest(existing, request);
-        existing.persistOrUpdate();
+        existing.save(durability, deadlines);
+        if (!existing.name.equals(previousName)) {
+            bookRepository.renameAuthor(id, existing.name);
+        }
         return authorMapper.toResponse(existing);
     }
 
     public void delete(String id) {
-        if (!Author.deleteById(id)) {
+        if (!Author.deleteAuthor(durability, deadlines, id)) {
             throw ResourceNotFoundException.of(RESOURCE, id);
         }
+        bookRepository.unlinkAuthor(id);
     }
 
     private Author getExisting(String id) {
-        Author author = Author.findById(id);
+        Author author = Author.findAuthor(deadlines, id);
         if (author == null) {
             throw ResourceNotFoundException.of(RESOURCE, id);
         }
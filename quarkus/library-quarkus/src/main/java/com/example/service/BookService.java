@@ -1,13 +1,18 @@
 package com.example.service;
 
+import com.example.admission.Admitted;
+import com.example.admission.Workload;
+import com.example.deadline.Deadlines;
 import com.example.dto.request.BookRequest;
 import com.example.dto.response.AuthorBookCountResponse;
 import com.example.dto.response.BookCategoryResponse;
 import com.example.dto.response.BookResponse;
 import com.example.dto.response.BookWithReviewsResponse;
+import com.example.dto.response.CursorPageResponse;
 import com.example.dto.response.PageResponse;
 import com.example.exception.ResourceNotFoundException;
 import com.example.mapper.BookMapper;
+import com.example.model.entity.Author;
 import com.example.model.entity.Book;
 import com.example.repository.BookRepository;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -15,6 +20,7 @@ import jakarta.inject.Inject;
 import org.bson.types.ObjectId;
 
 import java.util.List;
+import java.util.Map;
 
 @ApplicationScoped
 public class BookService {
@@ -23,20 +29,23 @@ public class BookService {
 
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
+    private final Deadlines deadlines;
 
     @Inject
-    BookService(BookRepository bookRepository, BookMapper bookMapper) {
+    BookService(BookRepository bookRepository, BookMapper bookMapper, Deadlines deadlines) {
         this.bookRepository = bookRepository;
         this.bookMapper = bookMapper;
+        this.deadlines = deadlines;
     }
 
     public PageResponse<BookResponse> findAll(int page, int size) {
-        List<BookResponse> content = bookMapper.toResponseList(bookRepository.findPage(page, size));
-        return PageResponse.of(content, page, size, bookRepository.count());
+        return PageResponse.of(bookRepository.findPage(page, size), page, size, bookRepository.countBooks());
     }
 
+    @Admitted(Workload.POINT_READ)
     public BookResponse findById(String id) {
-        return bookMapper.toResponse(getExisting(id));
+        return bookRepository.findResponseById(id)
+                .orElseThrow(() -> ResourceNotFoundException.of(RESOURCE, id));
     }
 
     public List<BookResponse> findByMinPages(int minPages) {
@@ -59,37 +68,53 @@ public class BookService {
     public BookResponse create(BookRequest request) {
         Book book = bookMapper.toEntity(request);
         book.id = new ObjectId().toHexString();
-        bookRepository.persist(book);
+        resolveAuthorIds(book);
+        bookRepository.insert(book);
         return bookMapper.toResponse(book);
     }
 
     public BookResponse update(String id, BookRequest request) {
         Book existing = getExisting(id);
         bookMapper.applyRequest(existing, request);
+        resolveAuthorIds(existing);
         bookRepository.update(existing);
         return bookMapper.toResponse(existing);
     }
 
     public void delete(String id) {
-        if (!bookRepository.deleteById(id)) {
+        if (!bookRepository.deleteBook(id)) {
             throw ResourceNotFoundException.of(RESOURCE, id);
         }
     }
 
+    @Admitted(Workload.AGGREGATION)
     public PageResponse<BookCategoryResponse> classifyByPageCount(int page, int size) {
         return bookRepository.classifyByPageCount(page, size);
     }
 
+    public CursorPageResponse<BookCategoryResponse> findByPageCategory(String category, String after, int size) {
+        List<BookCategoryResponse> fetched =
+                bookMapper.toCategoryResponseList(bookRepository.findByPageCategory(category, after, size));
+        return CursorPageResponse.of(fetched, size, BookCategoryResponse::id);
+    }
+
+    @Admitted(Workload.AGGREGATION)
     public PageResponse<AuthorBookCountResponse> countBooksPerAuthor(int page, int size) {
         return bookRepository.countBooksPerAuthor(page, size);
     }
 
-    public PageResponse<BookWithReviewsResponse> booksWithReviews(int page, int size) {
-        return bookRepository.findBooksWithReviews(page, size);
+    @Admitted(Workload.AGGREGATION)
+    public CursorPageResponse<BookWithReviewsResponse> booksWithReviews(String after, int size) {
+        return bookRepository.findBooksWithReviews(after, size);
+    }
+
+    private void resolveAuthorIds(Book book) {
+        Map<String, String> ids = Author.idsByName(deadlines, bookMapper.authorNames(book.authors));
+        book.authors.forEach(ref -> ref.authorId = ids.get(ref.name));
     }
 
     private Book getExisting(String id) {
-        return bookRepository.findByIdOptional(id)
+        return bookRepository.findBook(id)
                 .orElseThrow(() -> ResourceNotFoundException.of(RESOURCE, id));
     }
 }
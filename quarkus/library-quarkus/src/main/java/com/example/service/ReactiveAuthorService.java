@@ -0,0 +1,151 @@
+package com.example.service;
+
+import com.example.admission.Admitted;
+import com.example.admission.Workload;
+import com.example.config.DurabilityProfiles;
+import com.example.deadline.Deadlines;
+import com.example.dto.request.AuthorRequest;
+import com.example.dto.response.AuthorBooksResponse;
+import com.example.dto.response.AuthorResponse;
+import com.example.dto.response.BookResponse;
+import com.example.dto.response.CursorPageResponse;
+import com.example.dto.response.PageResponse;
+import com.example.exception.ResourceNotFoundException;
+import com.example.mapper.AuthorMapper;
+import com.example.mapper.BookMapper;
+import com.example.model.entity.Author;
+import com.example.repository.ReactiveBookRepository;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import io.quarkus.mongodb.FindOptions;
+import io.quarkus.mongodb.reactive.ReactiveMongoCollection;
+import io.quarkus.mongodb.reactive.ReactiveMongoDatabase;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * {@link AuthorService} for {@code library.execution.mode=reactive}.
+ *
+ * <p>{@link Author} is an Active Record on the blocking Panache API, so the
+ * reactive path reads and writes the {@code authors} collection through the
+ * reactive client directly, with the same entity class and the catalog
+ * durability profile. Its reads are bounded by the request deadline through
+ * {@link Deadlines}.
+ */
+@ApplicationScoped
+public class ReactiveAuthorService {
+
+    private static final String RESOURCE = "Author";
+
+    private final ReactiveMongoCollection<Author> authors;
+    private final AuthorMapper authorMapper;
+    private final ReactiveBookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final Deadlines deadlines;
+
+    @Inject
+    ReactiveAuthorService(ReactiveMongoDatabase database,
+                          DurabilityProfiles durability,
+                          AuthorMapper authorMapper,
+                          ReactiveBookRepository bookRepository,
+                          BookMapper bookMapper,
+                          Deadlines deadlines) {
+        this.authors = durability.apply(database.getCollection("authors", Author.class), DurabilityProfiles.CATALOG);
+        this.authorMapper = authorMapper;
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+        this.deadlines = deadlines;
+    }
+
+    public Uni<PageResponse<AuthorResponse>> findAll(int page, int size) {
+        FindOptions options = deadlines.bound(
+                new FindOptions().sort(Sorts.ascending("name")).skip(page * size).limit(size));
+        return Uni.combine().all()
+                .unis(authors.find(new Document(), options).collect().asList(),
+                        authors.countDocuments(new Document(), deadlines.bound(new CountOptions())))
+                .asTuple()
+                .map(pageAndTotal -> PageResponse.of(
+                        authorMapper.toResponseList(pageAndTotal.getItem1()), page, size, pageAndTotal.getItem2()));
+    }
+
+    @Admitted(Workload.POINT_READ)
+    public Uni<AuthorResponse> findById(String id) {
+        return getExisting(id).map(authorMapper::toResponse);
+    }
+
+    public Multi<AuthorResponse> findByNationality(String nationality) {
+        return authors.find(Filters.eq("nationality", nationality), deadlines.findOptions())
+                .map(authorMapper::toResponse);
+    }
+
+    /** See {@link AuthorService#findBooks}. */
+    public Uni<AuthorBooksResponse> findBooks(String id, String after, int size) {
+        return getExisting(id).flatMap(author -> Uni.combine().all()
+                .unis(bookRepository.authorStats(id), bookRepository.findByAuthorId(id, after, size))
+                .asTuple()
+                .map(statsAndBooks -> {
+                    List<BookResponse> fetched = bookMapper.toResponseList(statsAndBooks.getItem2());
+                    return new AuthorBooksResponse(
+                            authorMapper.toResponse(author),
+                            statsAndBooks.getItem1(),
+                            CursorPageResponse.of(fetched, size, BookResponse::id));
+                }));
+    }
+
+    /** See {@link Author#idsByName}. */
+    public Uni<Map<String, String>> idsByName(Collection<String> names) {
+        if (names.isEmpty()) {
+            return Uni.createFrom().item(Map.of());
+        }
+        return authors.find(Filters.in("name", names), deadlines.findOptions()).collect().asList()
+                .map(found -> found.stream()
+                        .collect(Collectors.toMap(a -> a.name, a -> a.id, (first, second) -> first)));
+    }
+
+    public Uni<AuthorResponse> create(AuthorRequest request) {
+        Author author = authorMapper.toEntity(request);
+        author.id = new ObjectId().toHexString();
+        return authors.insertOne(author)
+                .chain(() -> bookRepository.linkAuthor(author.id, author.name))
+                .map(ignored -> authorMapper.toResponse(author));
+    }
+
+    public Uni<AuthorResponse> update(String id, AuthorRequest request) {
+        return getExisting(id).flatMap(existing -> {
+            String previousName = existing.name;
+            authorMapper.applyRequest(existing, request);
+            Uni<Void> saved = authors.replaceOne(Filters.eq("_id", id), existing, new ReplaceOptions().upsert(true))
+                    .replaceWithVoid();
+            if (!existing.name.equals(previousName)) {
+                saved = saved.chain(() -> bookRepository.renameAuthor(id, existing.name));
+            }
+            return saved.map(ignored -> authorMapper.toResponse(existing));
+        });
+    }
+
+    public Uni<Void> delete(String id) {
+        return authors.deleteOne(Filters.eq("_id", id))
+                .invoke(result -> {
+                    if (result.getDeletedCount() == 0) {
+                        throw ResourceNotFoundException.of(RESOURCE, id);
+                    }
+                })
+                .chain(() -> bookRepository.unlinkAuthor(id));
+    }
+
+    private Uni<Author> getExisting(String id) {
+        return authors.find(Filters.eq("_id", id), deadlines.findOptions()).collect().first()
+                .onItem().ifNull().failWith(() -> ResourceNotFoundException.of(RESOURCE, id));
+    }
+}
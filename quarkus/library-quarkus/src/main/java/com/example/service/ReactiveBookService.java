@@ -0,0 +1,128 @@
+package com.example.service;
+
+import com.example.admission.Admitted;
+import com.example.admission.Workload;
+import com.example.dto.request.BookRequest;
+import com.example.dto.response.AuthorBookCountResponse;
+import com.example.dto.response.BookCategoryResponse;
+import com.example.dto.response.BookResponse;
+import com.example.dto.response.BookWithReviewsResponse;
+import com.example.dto.response.CursorPageResponse;
+import com.example.dto.response.PageResponse;
+import com.example.exception.ResourceNotFoundException;
+import com.example.mapper.BookMapper;
+import com.example.model.entity.Book;
+import com.example.repository.ReactiveBookRepository;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.bson.types.ObjectId;
+
+/** {@link BookService} for {@code library.execution.mode=reactive}; same workflow, never blocks. */
+@ApplicationScoped
+public class ReactiveBookService {
+
+    private static final String RESOURCE = "Book";
+
+    private final ReactiveBookRepository bookRepository;
+    private final ReactiveAuthorService authorService;
+    private final BookMapper bookMapper;
+
+    @Inject
+    ReactiveBookService(ReactiveBookRepository bookRepository,
+                        ReactiveAuthorService authorService,
+                        BookMapper bookMapper) {
+        this.bookRepository = bookRepository;
+        this.authorService = authorService;
+        this.bookMapper = bookMapper;
+    }
+
+    public Uni<PageResponse<BookResponse>> findAll(int page, int size) {
+        return Uni.combine().all()
+                .unis(bookRepository.findPage(page, size), bookRepository.countBooks())
+                .asTuple()
+                .map(pageAndTotal -> PageResponse.of(pageAndTotal.getItem1(), page, size, pageAndTotal.getItem2()));
+    }
+
+    @Admitted(Workload.POINT_READ)
+    public Uni<BookResponse> findById(String id) {
+        return bookRepository.findResponseById(id)
+                .map(book -> book.orElseThrow(() -> ResourceNotFoundException.of(RESOURCE, id)));
+    }
+
+    public Multi<BookResponse> findByMinPages(int minPages) {
+        return bookRepository.findByPagesGreaterThan(minPages).map(bookMapper::toResponse);
+    }
+
+    public Multi<BookResponse> findByYear(int year) {
+        return bookRepository.findByYear(year).map(bookMapper::toResponse);
+    }
+
+    public Multi<BookResponse> sortedByYear(String order) {
+        boolean ascending = "asc".equalsIgnoreCase(order);
+        return bookRepository.findSortedByYear(ascending).map(bookMapper::toResponse);
+    }
+
+    public Multi<BookResponse> longestBooks(int limit) {
+        return bookRepository.findLongest(limit).map(bookMapper::toResponse);
+    }
+
+    public Uni<BookResponse> create(BookRequest request) {
+        Book book = bookMapper.toEntity(request);
+        book.id = new ObjectId().toHexString();
+        return resolveAuthorIds(book)
+                .chain(() -> bookRepository.insert(book))
+                .map(ignored -> bookMapper.toResponse(book));
+    }
+
+    public Uni<BookResponse> update(String id, BookRequest request) {
+        return getExisting(id)
+                .invoke(existing -> bookMapper.applyRequest(existing, request))
+                .call(this::resolveAuthorIds)
+                .call(bookRepository::update)
+                .map(bookMapper::toResponse);
+    }
+
+    public Uni<Void> delete(String id) {
+        return bookRepository.deleteBook(id)
+                .invoke(deleted -> {
+                    if (!deleted) {
+                        throw ResourceNotFoundException.of(RESOURCE, id);
+                    }
+                })
+                .replaceWithVoid();
+    }
+
+    @Admitted(Workload.AGGREGATION)
+    public Uni<PageResponse<BookCategoryResponse>> classifyByPageCount(int page, int size) {
+        return bookRepository.classifyByPageCount(page, size);
+    }
+
+    public Uni<CursorPageResponse<BookCategoryResponse>> findByPageCategory(String category, String after, int size) {
+        return bookRepository.findByPageCategory(category, after, size)
+                .map(books -> CursorPageResponse.of(
+                        bookMapper.toCategoryResponseList(books), size, BookCategoryResponse::id));
+    }
+
+    @Admitted(Workload.AGGREGATION)
+    public Uni<PageResponse<AuthorBookCountResponse>> countBooksPerAuthor(int page, int size) {
+        return bookRepository.countBooksPerAuthor(page, size);
+    }
+
+    @Admitted(Workload.AGGREGATION)
+    public Uni<CursorPageResponse<BookWithReviewsResponse>> booksWithReviews(String after, int size) {
+        return bookRepository.findBooksWithReviews(after, size);
+    }
+
+    private Uni<Void> resolveAuthorIds(Book book) {
+        return authorService.idsByName(bookMapper.authorNames(book.authors))
+                .invoke(ids -> book.authors.forEach(ref -> ref.authorId = ids.get(ref.name)))
+                .replaceWithVoid();
+    }
+
+    private Uni<Book> getExisting(String id) {
+        return bookRepository.findBook(id)
+                .map(book -> book.orElseThrow(() -> ResourceNotFoundException.of(RESOURCE, id)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.service;
+
+import com.example.dto.request.ReviewRequest;
+import com.example.dto.response.AverageRatingResponse;
+import com.example.dto.response.CursorPageResponse;
+import com.example.dto.response.PageResponse;
+import com.example.dto.response.ReviewResponse;
+import com.example.exception.ResourceNotFoundException;
+import com.example.mapper.ReviewMapper;
+import com.example.model.entity.Review;
+import com.example.repository.ReactiveBookRepository;
+import com.example.repository.ReactiveReviewRepository;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.bson.types.ObjectId;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Instant;
+
+/** {@link ReviewService} for {@code library.execution.mode=reactive}; same workflow, never blocks. */
+@ApplicationScoped
+public class ReactiveReviewService {
+
+    private static final String RESOURCE = "Review";
+
+    private final ReactiveReviewRepository reviewRepository;
+    private final ReactiveBookRepository bookRepository;
+    private final ReviewMapper reviewMapper;
+    private final ReviewSubsetReconciler subsetReconciler;
+    private final int maxEmbeddedReviews;
+
+    @Inject
+    ReactiveReviewService(ReactiveReviewRepository reviewRepository,
+                          ReactiveBookRepository bookRepository,
+                          ReviewMapper reviewMapper,
+                          ReviewSubsetReconciler subsetReconciler,
+                          @ConfigProperty(name = "library.reviews.max-embedded", defaultValue = "5")
+                          int maxEmbeddedReviews) {
+        this.reviewRepository = reviewRepository;
+        this.bookRepository = bookRepository;
+        this.reviewMapper = reviewMapper;
+        this.subsetReconciler = subsetReconciler;
+        this.maxEmbeddedReviews = maxEmbeddedReviews;
+    }
+
+    public Uni<PageResponse<ReviewResponse>> findAll(int page, int size) {
+        return Uni.combine().all()
+                .unis(reviewRepository.findPage(page, size), reviewRepository.countReviews())
+                .asTuple()
+                .map(pageAndTotal -> PageResponse.of(
+                        reviewMapper.toResponseList(pageAndTotal.getItem1()), page, size, pageAndTotal.getItem2()));
+    }
+
+    /** See {@link ReviewService#findByBook}. */
+    public Uni<CursorPageResponse<ReviewResponse>> findByBook(String bookId, String after, int size) {
+        if (after != null) {
+            return bookRepository.exists(bookId)
+                    .invoke(exists -> {
+                        if (!exists) {
+                            throw ResourceNotFoundException.of("Book", bookId);
+                        }
+                    })
+                    .chain(() -> reviewRepository.findByBook(
+                            bookId, ReviewService.cursorCreatedAt(after), ReviewService.cursorId(after), size + 1))
+                    .map(fetched -> ReviewService.toCursorPage(reviewMapper.toResponseList(fetched), size));
+        }
+        return bookRepository.findBook(bookId)
+                .map(book -> book.orElseThrow(() -> ResourceNotFoundException.of("Book", bookId)))
+                .flatMap(book -> ReviewService.firstPageFromSubset(book, size, maxEmbeddedReviews)
+                        .map(embedded -> Uni.createFrom().item(embedded))
+                        .orElseGet(() -> reviewRepository.findByBook(bookId, null, null, size + 1)))
+                .map(fetched -> ReviewService.toCursorPage(reviewMapper.toResponseList(fetched), size));
+    }
+
+    public Uni<AverageRatingResponse> getAverageBookRating(String bookId) {
+        return reviewRepository.averageRatingForBook(bookId)
+                .map(average -> average.orElseThrow(() -> new ResourceNotFoundException(
+                        "No reviews found for book: " + bookId)));
+    }
+
+    public Uni<ReviewResponse> create(ReviewRequest request) {
+        Review review = reviewMapper.toEntity(request);
+        review.id = new ObjectId().toHexString();
+        review.createdAt = Instant.now();
+
+        return reviewRepository.insert(review)
+                .chain(() -> bookRepository.embedReview(review))
+                .map(ignored -> reviewMapper.toResponse(review));
+    }
+
+    public Uni<ReviewResponse> update(String id, ReviewRequest request) {
+        return getExisting(id)
+                .invoke(existing -> reviewMapper.applyRequest(existing, request))
+                .call(reviewRepository::update)
+                // Only queues the rebuild; it never blocks.
+                .invoke(existing -> subsetReconciler.reconcileBook(existing.bookId))
+                .map(reviewMapper::toResponse);
+    }
+
+    public Uni<Void> delete(String id) {
+        return getExisting(id)
+                .call(existing -> reviewRepository.deleteReview(id).invoke(deleted -> {
+                    if (!deleted) {
+                        throw ResourceNotFoundException.of(RESOURCE, id);
+                    }
+                }))
+                .invoke(existing -> subsetReconciler.reconcileBook(existing.bookId, id))
+                .replaceWithVoid();
+    }
+
+    private Uni<Review> getExisting(String id) {
+        return reviewRepository.findReview(id)
+                .map(review -> review.orElseThrow(() -> ResourceNotFoundException.of(RESOURCE, id)));
+    }
+}
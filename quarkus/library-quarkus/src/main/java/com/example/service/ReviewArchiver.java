@@ -0,0 +1,89 @@
+package com.example.service;
+
+import com.example.config.ReviewArchiveSettings;
+import com.example.config.ReviewStorageSettings;
+import com.example.repository.ReviewRepository;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Hot/cold tiering job: every {@code library.reviews.archive.interval}, moves
+ * reviews older than {@code after-days} from {@code reviews} to
+ * {@code reviews_archive} in batched rounds. Reads keep working across both
+ * tiers through {@link ReviewRepository}.
+ *
+ * <p>Applies to the document layout only; buckets already keep the per-review
+ * footprint small.
+ */
+@ApplicationScoped
+public class ReviewArchiver {
+
+    private static final Logger LOG = Logger.getLogger(ReviewArchiver.class);
+
+    private final ReviewRepository reviewRepository;
+    private final ReviewArchiveSettings settings;
+    private final boolean bucketed;
+
+    private volatile boolean stopped;
+
+    @Inject
+    ReviewArchiver(ReviewRepository reviewRepository,
+                   ReviewArchiveSettings settings,
+                   ReviewStorageSettings storage) {
+        this.reviewRepository = reviewRepository;
+        this.settings = settings;
+        this.bucketed = storage.layout() == ReviewStorageSettings.Layout.BUCKET;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!settings.enabled()) {
+            return;
+        }
+        if (bucketed) {
+            LOG.warn("Review archiving is ignored with the bucket storage layout.");
+            return;
+        }
+        Thread.ofPlatform().name("review-archiver").daemon(true).start(this::run);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        stopped = true;
+    }
+
+    private void run() {
+        try {
+            while (!stopped) {
+                archiveOnce();
+                Thread.sleep(settings.interval().toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Moves every review older than the cutoff, one batch per round. Returns the number moved. */
+    public long archiveOnce() throws InterruptedException {
+        Instant cutoff = Instant.now().minus(settings.afterDays(), ChronoUnit.DAYS);
+        long moved = 0;
+        try {
+            int batch;
+            while (!stopped && (batch = reviewRepository.archiveBatch(cutoff, settings.batchSize())) > 0) {
+                moved += batch;
+                Thread.sleep(settings.pauseMs());
+            }
+        } catch (RuntimeException e) {
+            LOG.errorf(e, "Review archiving stopped after %d reviews; it retries on the next run.", moved);
+        }
+        if (moved > 0) {
+            LOG.infof("Archived %d reviews created before %s.", moved, cutoff);
+        }
+        return moved;
+    }
+}
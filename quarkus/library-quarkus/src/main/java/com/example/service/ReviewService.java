@@ -1,20 +1,26 @@
 package com.example.service;
 
+import com.example.consistency.CausalSessions;
 import com.example.dto.request.ReviewRequest;
 import com.example.dto.response.AverageRatingResponse;
+import com.example.dto.response.CursorPageResponse;
 import com.example.dto.response.PageResponse;
 import com.example.dto.response.ReviewResponse;
 import com.example.exception.ResourceNotFoundException;
 import com.example.mapper.ReviewMapper;
+import com.example.model.entity.Book;
 import com.example.model.entity.Review;
 import com.example.repository.BookRepository;
 import com.example.repository.ReviewRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.bson.types.ObjectId;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
 @ApplicationScoped
 public class ReviewService {
@@ -24,19 +30,88 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final BookRepository bookRepository;
     private final ReviewMapper reviewMapper;
+    private final ReviewSubsetReconciler subsetReconciler;
+    private final CausalSessions sessions;
+    private final int maxEmbeddedReviews;
 
     @Inject
     ReviewService(ReviewRepository reviewRepository,
                   BookRepository bookRepository,
-                  ReviewMapper reviewMapper) {
+                  ReviewMapper reviewMapper,
+                  ReviewSubsetReconciler subsetReconciler,
+                  CausalSessions sessions,
+                  @ConfigProperty(name = "library.reviews.max-embedded", defaultValue = "5")
+                  int maxEmbeddedReviews) {
         this.reviewRepository = reviewRepository;
         this.bookRepository = bookRepository;
         this.reviewMapper = reviewMapper;
+        this.subsetReconciler = subsetReconciler;
+        this.sessions = sessions;
+        this.maxEmbeddedReviews = maxEmbeddedReviews;
     }
 
     public PageResponse<ReviewResponse> findAll(int page, int size) {
         List<ReviewResponse> content = reviewMapper.toResponseList(reviewRepository.findPage(page, size));
-        return PageResponse.of(content, page, size, reviewRepository.count());
+        return PageResponse.of(content, page, size, reviewRepository.countReviews());
+    }
+
+    /**
+     * Reviews of one book, newest first, keyset-paginated on
+     * {@code (createdAt, _id)}. The cursor is {@code <createdAt millis>:<id>}
+     * of the last review returned.
+     *
+     * <p>The first page comes straight from the subset embedded on the book
+     * (loaded anyway to answer 404 for unknown books) when the subset covers
+     * it: either it holds more reviews than the page, or it is not full and
+     * therefore holds all of them. Otherwise, and for every later page, the
+     * reviews are read from the {@code (bookId, createdAt, _id)} index; a
+     * later page checks on the {@code _id} index that the book exists, so an
+     * unknown book is a 404 with or without a cursor.
+     */
+    public CursorPageResponse<ReviewResponse> findByBook(String bookId, String after, int size) {
+        List<Review> fetched;
+        if (after == null) {
+            Book book = bookRepository.findBook(bookId)
+                    .orElseThrow(() -> ResourceNotFoundException.of("Book", bookId));
+            fetched = firstPageFromSubset(book, size, maxEmbeddedReviews)
+                    .orElseGet(() -> reviewRepository.findByBook(bookId, null, null, size + 1));
+        } else {
+            if (!bookRepository.exists(bookId)) {
+                throw ResourceNotFoundException.of("Book", bookId);
+            }
+            fetched = reviewRepository.findByBook(bookId, cursorCreatedAt(after), cursorId(after), size + 1);
+        }
+        return toCursorPage(reviewMapper.toResponseList(fetched), size);
+    }
+
+    /**
+     * The first {@code size + 1} reviews of the book from its embedded subset,
+     * or empty if the subset does not cover the first page.
+     */
+    static Optional<List<Review>> firstPageFromSubset(Book book, int size, int maxEmbeddedReviews) {
+        List<Review> embedded = book.reviews == null ? List.of() : book.reviews;
+        if (embedded.size() <= size && embedded.size() >= maxEmbeddedReviews) {
+            return Optional.empty();
+        }
+        embedded.forEach(review -> review.bookId = book.id);
+        return Optional.of(embedded.stream()
+                .sorted(Comparator.comparing((Review review) -> review.createdAt)
+                        .thenComparing(review -> review.id)
+                        .reversed())
+                .limit(size + 1L)
+                .toList());
+    }
+
+    static CursorPageResponse<ReviewResponse> toCursorPage(List<ReviewResponse> fetched, int size) {
+        return CursorPageResponse.of(fetched, size, review -> review.createdAt().toEpochMilli() + ":" + review.id());
+    }
+
+    static Instant cursorCreatedAt(String cursor) {
+        return Instant.ofEpochMilli(Long.parseLong(cursor.substring(0, cursor.indexOf(':'))));
+    }
+
+    static String cursorId(String cursor) {
+        return cursor.substring(cursor.indexOf(':') + 1);
     }
 
     public AverageRatingResponse getAverageBookRating(String bookId) {
@@ -50,22 +125,30 @@ public class ReviewService {
         review.id = new ObjectId().toHexString();
         review.createdAt = Instant.now();
 
-        reviewRepository.persist(review);
+        // Written in a causally consistent session: the response carries its
+        // token, so the client's next reads (the rating average reads from
+        // secondaries) include this review.
+        sessions.begin();
+        reviewRepository.insert(review);
         bookRepository.embedReview(review);
         return reviewMapper.toResponse(review);
     }
 
     public ReviewResponse update(String id, ReviewRequest request) {
-        Review existing = reviewRepository.findByIdOptional(id)
+        Review existing = reviewRepository.findReview(id)
                 .orElseThrow(() -> ResourceNotFoundException.of(RESOURCE, id));
         reviewMapper.applyRequest(existing, request);
         reviewRepository.update(existing);
+        subsetReconciler.reconcileBook(existing.bookId);
         return reviewMapper.toResponse(existing);
     }
 
     public void delete(String id) {
-        if (!reviewRepository.deleteById(id)) {
+        Review existing = reviewRepository.findReview(id)
+                .orElseThrow(() -> ResourceNotFoundException.of(RESOURCE, id));
+        if (!reviewRepository.deleteReview(id)) {
             throw ResourceNotFoundException.of(RESOURCE, id);
         }
+        subsetReconciler.reconcileBook(existing.bookId, id);
     }
 }
@@ -0,0 +1,185 @@
+package com.example.service;
+
+import com.example.config.ReconcilerSettings;
+import com.example.config.ReviewStorageSettings;
+import com.example.model.entity.JobCheckpoint;
+import com.example.repository.BookRepository;
+import com.example.repository.JobCheckpointRepository;
+import com.example.repository.ReviewRepository;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Keeps the embedded review subset on books (SUBSET PATTERN) consistent with
+ * the full review collection.
+ *
+ * <p>{@link #reconcileBook} runs after a review is updated or deleted and
+ * queues the book for a rebuild (then without the deleted review's embedded
+ * copy) off the request path. A background thread waits
+ * {@code coalesce-ms} for more changes and rebuilds every queued book, up to
+ * {@code batch-size} at a time, with one aggregation; until then
+ * {@code /books/{id}} may still show the old subset. The
+ * full rebuild walks the catalog in {@code _id} order, one aggregation per
+ * batch, and records a checkpoint after every batch: a
+ * restart resumes where it stopped, and a change of
+ * {@code library.reviews.max-embedded} (or of the review layout) starts it
+ * over. Between batches it sleeps long enough to stay under the configured
+ * duty cycle, so it never competes with live traffic for long.
+ */
+@ApplicationScoped
+public class ReviewSubsetReconciler {
+
+    private static final Logger LOG = Logger.getLogger(ReviewSubsetReconciler.class);
+
+    private static final String JOB_ID = "review-subset-reconciler";
+
+    private final BookRepository bookRepository;
+    private final ReviewRepository reviewRepository;
+    private final JobCheckpointRepository checkpoints;
+    private final ReconcilerSettings settings;
+    private final String fingerprint;
+
+    /** Books waiting for a rebuild, with the reviews deleted from each since it was queued. */
+    private final Map<String, Set<String>> pendingBooks = new ConcurrentHashMap<>();
+    private final Semaphore pendingSignal = new Semaphore(0);
+
+    private volatile boolean stopped;
+
+    @Inject
+    ReviewSubsetReconciler(BookRepository bookRepository,
+                           ReviewRepository reviewRepository,
+                           JobCheckpointRepository checkpoints,
+                           ReconcilerSettings settings,
+                           ReviewStorageSettings storage,
+                           @ConfigProperty(name = "library.reviews.max-embedded", defaultValue = "5")
+                           int maxEmbeddedReviews) {
+        this.bookRepository = bookRepository;
+        this.reviewRepository = reviewRepository;
+        this.checkpoints = checkpoints;
+        this.settings = settings;
+        this.fingerprint = "max-embedded=%d;layout=%s".formatted(maxEmbeddedReviews, storage.layout());
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        Thread.ofPlatform().name("review-subset-updates").daemon(true).start(this::reconcilePendingBooks);
+        if (settings.enabled()) {
+            Thread.ofPlatform().name(JOB_ID).daemon(true).start(this::reconcileAll);
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        stopped = true;
+        pendingSignal.release();
+    }
+
+    /** Queues the book for a rebuild after one of its reviews changed. */
+    public void reconcileBook(String bookId) {
+        queue(bookId, null);
+    }
+
+    /** Queues the book for a rebuild after {@code deletedReviewId} was deleted from it. */
+    public void reconcileBook(String bookId, String deletedReviewId) {
+        queue(bookId, deletedReviewId);
+    }
+
+    private void queue(String bookId, String deletedReviewId) {
+        pendingBooks.compute(bookId, (id, deleted) -> {
+            Set<String> deletedReviewIds = deleted != null ? deleted : new HashSet<>();
+            if (deletedReviewId != null) {
+                deletedReviewIds.add(deletedReviewId);
+            }
+            return deletedReviewIds;
+        });
+        pendingSignal.release();
+    }
+
+    private void reconcilePendingBooks() {
+        while (!stopped) {
+            try {
+                pendingSignal.acquire();
+                Thread.sleep(settings.coalesceMs());
+                pendingSignal.drainPermits();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            while (!pendingBooks.isEmpty()) {
+                List<String> bookIds = new ArrayList<>();
+                Set<String> deletedReviewIds = new HashSet<>();
+                Iterator<String> pending = pendingBooks.keySet().iterator();
+                while (pending.hasNext() && bookIds.size() < settings.batchSize()) {
+                    String bookId = pending.next();
+                    Set<String> deleted = pendingBooks.remove(bookId);
+                    if (deleted != null) {
+                        bookIds.add(bookId);
+                        deletedReviewIds.addAll(deleted);
+                    }
+                }
+                try {
+                    bookRepository.reconcileEmbeddedReviewsOfBooks(bookIds, deletedReviewIds);
+                } catch (RuntimeException e) {
+                    LOG.errorf(e, "Rebuilding the review subset of %d books failed; the next full rebuild repairs them.",
+                            bookIds.size());
+                }
+            }
+        }
+    }
+
+    /** Runs (or resumes) the full rebuild on the calling thread. */
+    public void reconcileAll() {
+        JobCheckpoint checkpoint = checkpoints.findByIdOptional(JOB_ID).orElse(null);
+        String lastKey = null;
+        if (checkpoint != null && fingerprint.equals(checkpoint.fingerprint)) {
+            if (checkpoint.completed) {
+                LOG.debug("Embedded review subsets already reconciled for the current configuration.");
+                return;
+            }
+            lastKey = checkpoint.lastKey;
+            LOG.infof("Resuming embedded review reconciliation after book %s.", lastKey);
+        } else {
+            LOG.infof("Reconciling embedded review subsets (%s).", fingerprint);
+        }
+
+        long batches = 0;
+        try {
+            while (!stopped) {
+                long start = System.nanoTime();
+                String upToKey = bookRepository.findBookIdAfter(lastKey, settings.batchSize());
+                bookRepository.reconcileEmbeddedReviews(lastKey, upToKey);
+                batches++;
+
+                boolean completed = upToKey == null;
+                checkpoints.save(JOB_ID, fingerprint, upToKey, completed);
+                if (completed) {
+                    LOG.infof("Embedded review subsets reconciled in %d batches.", batches);
+                    return;
+                }
+                lastKey = upToKey;
+                throttle(System.nanoTime() - start);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            LOG.errorf(e, "Embedded review reconciliation stopped after book %s; it resumes on next start.", lastKey);
+        }
+    }
+
+    private void throttle(long batchNanos) throws InterruptedException {
+        long dutyCyclePauseMs = (long) (batchNanos / 1_000_000.0 * (1 / settings.maxDutyCycle() - 1));
+        Thread.sleep(Math.max(settings.pauseMs(), dutyCyclePauseMs));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Seeding and index builds run in the background after startup; tests that
+ * depend on the seeded data wait for {@code /q/health/ready} first.
+ */
+public final class DataReady {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private DataReady() {
+    }
+
+    public static void await() throws InterruptedException {
+        Instant deadline = Instant.now().plus(TIMEOUT);
+        while (given().when().get("/q/health/ready").statusCode() != 200) {
+            if (Instant.now().isAfter(deadline)) {
+                throw new AssertionError("Data not ready after " + TIMEOUT + ": "
+                        + given().when().get("/q/health/ready").asString());
+            }
+            Thread.sleep(200);
+        }
+    }
+}
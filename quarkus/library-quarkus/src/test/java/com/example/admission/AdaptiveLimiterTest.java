@@ -0,0 +1,127 @@
+package com.example.admission;
+
+import com.example.config.AdmissionSettings;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link AdaptiveLimiter} on a controlled clock: fast calls under load add one
+ * per round trip, slow or timed-out ones halve the limit once per latency
+ * target, and the limit stays within the budget.
+ */
+class AdaptiveLimiterTest {
+
+    private static final Duration TARGET = Duration.ofMillis(100);
+    private static final double BACKOFF = 0.5;
+
+    private long now = TimeUnit.SECONDS.toNanos(1_000);
+
+    @Test
+    void fastCallsUnderLoad_growTheLimitOncePerRoundTrip() {
+        AdaptiveLimiter limiter = limiter(10, 2, 20);
+        acquire(limiter, 10);
+
+        limiter.release(millis(10), false);
+        assertEquals(11, limiter.limit());
+        limiter.release(millis(10), false);
+        limiter.release(millis(10), false);
+        assertEquals(11, limiter.limit(), "grew twice within one round trip");
+
+        advance(TARGET.toMillis());
+        limiter.release(millis(10), false);
+        assertEquals(12, limiter.limit());
+    }
+
+    @Test
+    void fastCallsWithoutLoad_leaveTheLimit() {
+        AdaptiveLimiter limiter = limiter(10, 2, 20);
+        acquire(limiter, 1);
+
+        limiter.release(millis(10), false);
+
+        assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    void slowCallsAndTimeouts_cutTheLimitOncePerLatencyTarget() {
+        AdaptiveLimiter limiter = limiter(16, 1, 20);
+        acquire(limiter, 4);
+
+        limiter.release(millis(250), false);
+        assertEquals(8, limiter.limit());
+        advance(50);
+        limiter.release(millis(250), false);
+        assertEquals(8, limiter.limit(), "cut twice within one latency target");
+
+        advance(TARGET.toMillis());
+        limiter.release(millis(10), true);
+        assertEquals(4, limiter.limit(), "a timeout counts as overload however fast it failed");
+    }
+
+    @Test
+    void limit_staysWithinTheBudget() {
+        AdaptiveLimiter limiter = limiter(4, 2, 6);
+        for (int round = 0; round < 10; round++) {
+            acquire(limiter, limiter.limit() - limiter.inFlight());
+            limiter.release(millis(10), false);
+            advance(TARGET.toMillis());
+        }
+        assertEquals(6, limiter.limit());
+        acquire(limiter, limiter.limit() - limiter.inFlight());
+        assertFalse(limiter.tryAcquire(), "admitted over the limit");
+
+        while (limiter.inFlight() > 0) {
+            limiter.release(millis(500), false);
+            advance(TARGET.toMillis());
+        }
+        assertEquals(2, limiter.limit());
+    }
+
+    private AdaptiveLimiter limiter(int initial, int min, int max) {
+        return new AdaptiveLimiter(Workload.POINT_READ, budget(initial, min, max), BACKOFF, () -> now);
+    }
+
+    private static void acquire(AdaptiveLimiter limiter, int calls) {
+        for (int i = 0; i < calls; i++) {
+            assertTrue(limiter.tryAcquire(), "rejected under the limit");
+        }
+    }
+
+    private void advance(long millis) {
+        now += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static AdmissionSettings.Budget budget(int initial, int min, int max) {
+        return new AdmissionSettings.Budget() {
+            @Override
+            public int initialLimit() {
+                return initial;
+            }
+
+            @Override
+            public int minLimit() {
+                return min;
+            }
+
+            @Override
+            public int maxLimit() {
+                return max;
+            }
+
+            @Override
+            public Duration latencyTarget() {
+                return TARGET;
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.config;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The durability profiles of {@code application.properties} resolve to the
+ * concerns they name and are set on the collections handed to the
+ * repositories. An unknown profile leaves the client defaults, and a blank
+ * write concern is rejected.
+ */
+@QuarkusTest
+class DurabilityProfilesTest {
+
+    private static final WriteConcern JOURNALED_MAJORITY = WriteConcern.MAJORITY.withJournal(true);
+
+    @Inject
+    DurabilityProfiles durability;
+
+    @Inject
+    MongoDatabase database;
+
+    @Test
+    void configuredProfiles_reachTheCollection() {
+        assertConcerns(DurabilityProfiles.CATALOG, JOURNALED_MAJORITY, ReadConcern.MAJORITY);
+        assertConcerns(DurabilityProfiles.REVIEWS, new WriteConcern(1).withJournal(false), ReadConcern.LOCAL);
+        assertConcerns(DurabilityProfiles.ARCHIVE, JOURNALED_MAJORITY, ReadConcern.LOCAL);
+    }
+
+    @Test
+    void unknownProfile_keepsTheClientDefaults() {
+        MongoCollection<Document> books = database.getCollection("books");
+        assertSame(books, durability.apply(books, "no-such-profile"));
+    }
+
+    @Test
+    void blankWriteConcern_isRejected() {
+        assertThrows(IllegalArgumentException.class, () -> DurabilityProfiles.writeConcern("", true));
+        assertThrows(IllegalArgumentException.class, () -> DurabilityProfiles.writeConcern("  ", false));
+    }
+
+    private void assertConcerns(String profile, WriteConcern writeConcern, ReadConcern readConcern) {
+        MongoCollection<Document> collection = durability.apply(database.getCollection("books"), profile);
+        assertEquals(writeConcern, collection.getWriteConcern(), profile);
+        assertEquals(readConcern, collection.getReadConcern(), profile);
+    }
+}
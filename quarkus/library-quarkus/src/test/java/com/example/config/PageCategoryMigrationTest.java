@@ -0,0 +1,66 @@
+package com.example.config;
+
+import com.example.DataReady;
+import com.example.repository.JobCheckpointRepository;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Books categorized with other thresholds (or not at all) are rewritten when
+ * the thresholds recorded with the categories differ from the configured ones.
+ */
+@QuarkusTest
+class PageCategoryMigrationTest {
+
+    private static final String STALE_ID = "page-category-test-stale";
+    private static final String MISSING_ID = "page-category-test-missing";
+
+    @Inject
+    PageCategoryMigration migration;
+
+    @Inject
+    PageCategorySettings settings;
+
+    @Inject
+    JobCheckpointRepository checkpoints;
+
+    @Inject
+    MongoDatabase database;
+
+    @AfterEach
+    void removeBooks() {
+        database.getCollection("books").deleteMany(Filters.in("_id", List.of(STALE_ID, MISSING_ID)));
+    }
+
+    @Test
+    void changedThresholds_recategorizeExistingBooks() throws InterruptedException {
+        DataReady.await();
+        MongoCollection<Document> books = database.getCollection("books");
+        int mediumPages = settings.shortMaxPages() + 1;
+        books.insertOne(new Document("_id", STALE_ID).append("title", "Stale category")
+                .append("pages", mediumPages).append("pageCategory", "short"));
+        books.insertOne(new Document("_id", MISSING_ID).append("title", "No category")
+                .append("pages", mediumPages));
+        checkpoints.save("page-category", "short-max-pages=1;medium-max-pages=2", null, true);
+
+        migration.migrate();
+
+        assertEquals("medium", category(books, STALE_ID));
+        assertEquals("medium", category(books, MISSING_ID));
+        assertEquals(settings.fingerprint(), checkpoints.findById("page-category").fingerprint);
+    }
+
+    private static String category(MongoCollection<Document> books, String id) {
+        return books.find(Filters.eq("_id", id)).first().getString("pageCategory");
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.consistency;
+
+import com.example.DataReady;
+import com.example.config.MongoSettings;
+import com.example.config.ReadProfiles;
+import com.mongodb.ReadPreference;
+import com.mongodb.Tag;
+import com.mongodb.TagSet;
+import com.mongodb.client.MongoDatabase;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Read profiles and read-your-writes against MongoDB Dev Services, which runs
+ * a single-member replica set: sessions, cluster times and {@code afterClusterTime}
+ * reads behave as on a larger set, there is just no secondary to lag.
+ */
+@QuarkusTest
+class ReadRoutingTest {
+
+    @Inject
+    ReadProfiles readProfiles;
+
+    @Inject
+    MongoDatabase database;
+
+    @BeforeAll
+    static void awaitSeededData() throws InterruptedException {
+        DataReady.await();
+    }
+
+    @Test
+    void analyticsProfile_readsFromSecondaries() {
+        ReadPreference analytics = readProfiles.apply(database.getCollection("books"), ReadProfiles.ANALYTICS)
+                .getReadPreference();
+
+        assertEquals(ReadPreference.secondaryPreferred(90, TimeUnit.SECONDS), analytics);
+    }
+
+    @Test
+    void readProfile_withTagSets_keepsTheirOrder() {
+        MongoSettings.ReadProfile profile = new MongoSettings.ReadProfile() {
+            @Override
+            public String readPreference() {
+                return "secondary";
+            }
+
+            @Override
+            public OptionalLong maxStalenessSeconds() {
+                return OptionalLong.of(120);
+            }
+
+            @Override
+            public Optional<List<String>> tagSets() {
+                return Optional.of(List.of("usage:analytics;dc:east", "*"));
+            }
+        };
+
+        assertEquals(ReadPreference.secondary(List.of(
+                        new TagSet(List.of(new Tag("usage", "analytics"), new Tag("dc", "east"))),
+                        new TagSet()), 120, TimeUnit.SECONDS),
+                ReadProfiles.readPreference(profile));
+    }
+
+    @Test
+    void createdReview_isReadBackWithItsCausalToken() {
+        String bookId = given()
+                .queryParam("size", 1)
+                .when().get("/books")
+                .then().statusCode(200)
+                .extract().path("content[0].id");
+
+        Response created = given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("bookId", bookId, "user", "causal", "rating", 4.0, "text", "Read back right away"))
+                .when().post("/reviews")
+                .then().statusCode(201)
+                .extract().response();
+        String token = created.getHeader(CausalTokenFilter.HEADER);
+        assertNotNull(token, "POST /reviews returned no causal token");
+        assertNotNull(CausalToken.decode(token).operationTime());
+
+        given()
+                .header(CausalTokenFilter.HEADER, token)
+                .when().get("/reviews/avgRating/{bookId}", bookId)
+                .then()
+                    .statusCode(200)
+                    .header(CausalTokenFilter.HEADER, org.hamcrest.Matchers.notNullValue())
+                    .body("bookId", is(bookId))
+                    .body("totalReviews", greaterThanOrEqualTo(1));
+    }
+
+    @Test
+    void createdReview_isListedWithItsBookWithItsCausalToken() {
+        String bookId = given()
+                .queryParam("size", 1)
+                .when().get("/books/with-reviews")
+                .then().statusCode(200)
+                .extract().path("content[0].id");
+
+        String token = given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("bookId", bookId, "user", "causal", "rating", 5.0, "text", "Listed right away"))
+                .when().post("/reviews")
+                .then().statusCode(201)
+                .extract().header(CausalTokenFilter.HEADER);
+        assertNotNull(token, "POST /reviews returned no causal token");
+
+        given()
+                .header(CausalTokenFilter.HEADER, token)
+                .queryParam("size", 1)
+                .when().get("/books/with-reviews")
+                .then()
+                    .statusCode(200)
+                    .header(CausalTokenFilter.HEADER, org.hamcrest.Matchers.notNullValue())
+                    .body("content[0].id", is(bookId))
+                    .body("content[0].reviews.text", hasItem("Listed right away"));
+    }
+
+    @Test
+    void malformedCausalToken_returns400() {
+        given()
+                .header(CausalTokenFilter.HEADER, "not-a-token")
+                .when().get("/reviews/avgRating/{bookId}", "any")
+                .then()
+                    .statusCode(400)
+                    .body("status", is(400));
+    }
+}
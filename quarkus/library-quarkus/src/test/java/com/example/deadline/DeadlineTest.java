@@ -0,0 +1,125 @@
+package com.example.deadline;
+
+import com.example.DataReady;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Gives {@code /books/per-author} a budget that is spent before its first
+ * MongoDB call and checks that the request ends in {@code 504} with the
+ * {@code ApiError} body, and is counted as
+ * {@code library.deadline.exceeded} for its path template. Endpoints under
+ * the default budget are unaffected.
+ *
+ * <p>{@code /authors/{id}} keeps a short budget on a one-connection pool: while
+ * a slow query holds the connection, the author read waits for it and is cut
+ * at the budget with {@code 504} instead of waiting the query out.
+ */
+@QuarkusTest
+@TestProfile(DeadlineTest.SpentBudget.class)
+class DeadlineTest {
+
+    private static final String ENDPOINT = "/books/per-author";
+    private static final Duration AUTHOR_BUDGET = Duration.ofMillis(300);
+    private static final Duration SLOW_QUERY = Duration.ofSeconds(3);
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    MongoDatabase database;
+
+    public static class SpentBudget implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "library.deadlines.enabled", "true",
+                    "library.deadlines.endpoints.\"" + ENDPOINT + "\"", "0ms",
+                    "library.deadlines.endpoints.\"/authors/{id}\"", AUTHOR_BUDGET.toMillis() + "ms",
+                    "mongodb.pool.max-size", "1");
+        }
+    }
+
+    @Test
+    void spentBudget_endsIn504AndIsCounted() {
+        double before = exceeded();
+
+        given()
+                .when().get(ENDPOINT)
+                .then()
+                    .statusCode(504)
+                    .body("status", equalTo(504))
+                    .body("error", equalTo("Gateway Timeout"))
+                    .body("message", containsString(ENDPOINT));
+
+        assertEquals(before + 1, exceeded(), 0.0);
+    }
+
+    @Test
+    void slowRead_isCutAtTheAuthorBudget() throws InterruptedException {
+        DataReady.await();
+        MongoCollection<Document> authors = database.getCollection("authors");
+        String id = authors.find().first().getString("_id");
+        Thread slowQuery = Thread.ofPlatform().start(() -> authors
+                .find(new Document("$where", "sleep(" + SLOW_QUERY.toMillis() + ") || true"))
+                .first());
+        try {
+            awaitConnectionCheckedOut();
+            long start = System.nanoTime();
+
+            given()
+                    .when().get("/authors/{id}", id)
+                    .then()
+                        .statusCode(504)
+                        .body("status", equalTo(504));
+
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            assertTrue(elapsed.compareTo(SLOW_QUERY.dividedBy(2)) < 0,
+                    () -> "the read waited " + elapsed + " for a " + AUTHOR_BUDGET + " budget");
+        } finally {
+            slowQuery.join();
+        }
+    }
+
+    @Test
+    void defaultBudget_leavesOtherEndpointsAlone() {
+        given()
+                .when().get("/books")
+                .then().statusCode(200);
+    }
+
+    private void awaitConnectionCheckedOut() throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            Gauge checkedOut = registry.find("mongodb.pool.checked-out").gauge();
+            if (checkedOut != null && checkedOut.value() >= 1) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("the slow query never checked out the connection");
+    }
+
+    private double exceeded() {
+        Counter counter = registry.find("library.deadline.exceeded").tag("endpoint", ENDPOINT).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.diagnostics;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * {@link QueryShape} normalization: commands that differ only in their values
+ * share a shape, while sort orders, pipeline stages and field paths, which
+ * decide the plan, keep shapes apart.
+ */
+class QueryShapeTest {
+
+    @Test
+    void filterValuesAndPageBounds_shareAShape() {
+        QueryShape first = find("""
+                {find: "books", filter: {pageCategory: "long", _id: {$gt: "a1"}}, sort: {_id: 1}, limit: 20,
+                 $db: "library", lsid: {id: 1}}""");
+        QueryShape next = find("""
+                {find: "books", filter: {pageCategory: "short", _id: {$gt: "ff"}}, sort: {_id: 1}, limit: 50,
+                 $db: "library", lsid: {id: 2}, maxTimeMS: 900}""");
+
+        assertEquals(first.fingerprint(), next.fingerprint());
+        assertEquals("""
+                {"find": "books", "filter": {"pageCategory": "?", "_id": {"$gt": "?"}}, "sort": {"_id": 1}, \
+                "limit": "?"}""", first.json());
+        assertEquals("books", first.collection());
+    }
+
+    @Test
+    void anotherSortOrder_isAnotherShape() {
+        assertNotEquals(
+                find("{find: \"books\", filter: {year: 1999}, sort: {year: 1}}").fingerprint(),
+                find("{find: \"books\", filter: {year: 1999}, sort: {year: -1}}").fingerprint());
+    }
+
+    @Test
+    void inListsOfAnyLength_shareAShape() {
+        assertEquals(
+                find("{find: \"books\", filter: {_id: {$in: [\"a\"]}}}").fingerprint(),
+                find("{find: \"books\", filter: {_id: {$in: [\"a\", \"b\", \"c\"]}}}").fingerprint());
+    }
+
+    @Test
+    void pipelineKeepsFieldPathsAndDropsLiterals() {
+        QueryShape shape = QueryShape.of("aggregate", BsonDocument.parse("""
+                {aggregate: "reviews", pipeline: [
+                  {$match: {bookId: "b1"}},
+                  {$group: {_id: "$bookId", averageRating: {$avg: "$rating"}}},
+                  {$skip: 40}, {$limit: 20}],
+                 cursor: {}}"""));
+
+        assertEquals("""
+                {"aggregate": "reviews", "pipeline": [{"$match": {"bookId": "?"}}, \
+                {"$group": {"_id": "$bookId", "averageRating": {"$avg": "$rating"}}}, {"$skip": "?"}, {"$limit": "?"}]}""",
+                shape.json());
+    }
+
+    @Test
+    void insertedBatch_keepsEachDocumentShapeOnce() {
+        QueryShape one = QueryShape.of("insert", BsonDocument.parse("""
+                {insert: "reviews", documents: [{_id: "r1", rating: 4}]}"""));
+        QueryShape many = QueryShape.of("insert", BsonDocument.parse("""
+                {insert: "reviews", documents: [{_id: "r1", rating: 4}, {_id: "r2", rating: 2}, {_id: "r3", rating: 5}]}"""));
+
+        assertEquals(one.fingerprint(), many.fingerprint());
+        assertEquals("{\"insert\": \"reviews\", \"documents\": [{\"_id\": \"?\", \"rating\": \"?\"}]}", many.json());
+    }
+
+    @Test
+    void getMore_dropsTheCursorId() {
+        QueryShape shape = QueryShape.of("getMore", BsonDocument.parse(
+                "{getMore: {$numberLong: \"8123456789\"}, collection: \"books\", batchSize: 101}"));
+
+        assertEquals("{\"getMore\": \"?\", \"collection\": \"books\"}", shape.json());
+        assertEquals("books", shape.collection());
+    }
+
+    private static QueryShape find(String command) {
+        return QueryShape.of("find", BsonDocument.parse(command));
+    }
+}
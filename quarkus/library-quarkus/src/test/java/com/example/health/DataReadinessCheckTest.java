@@ -0,0 +1,37 @@
+package com.example.health;
+
+import com.example.DataReady;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+
+/** Liveness is up right away; readiness once seeding and index builds report done. */
+@QuarkusTest
+class DataReadinessCheckTest {
+
+    @Test
+    void live_withoutWaitingForData() {
+        given()
+            .when().get("/q/health/live")
+            .then()
+                .statusCode(200)
+                .body("status", is("UP"));
+    }
+
+    @Test
+    void ready_onceStartupTasksAreDone() throws InterruptedException {
+        DataReady.await();
+
+        given()
+            .when().get("/q/health/ready")
+            .then()
+                .statusCode(200)
+                .body("status", is("UP"))
+                .body("checks.name", hasItem("data"))
+                .body("checks.find { it.name == 'data' }.data.seed", is("done"))
+                .body("checks.find { it.name == 'data' }.data.indexes", is("done"));
+    }
+}
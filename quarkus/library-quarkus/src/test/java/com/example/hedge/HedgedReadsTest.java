@@ -0,0 +1,88 @@
+package com.example.hedge;
+
+import com.example.DataReady;
+import com.example.model.entity.Review;
+import com.example.pool.ConcurrencyPermits;
+import com.example.repository.ReviewRepository;
+import com.mongodb.client.MongoDatabase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hedges follow the cut first attempt on the caller's thread and permit: with
+ * a single permit and a hedge threshold at the fastest reads, hedges are sent
+ * and answer without a second permit, and every read answers.
+ */
+@QuarkusTest
+@TestProfile(HedgedReadsTest.OnePermit.class)
+class HedgedReadsTest {
+
+    private static final String OPERATION = "reviews.findByBook";
+    private static final int READS = 500;
+
+    @Inject
+    ReviewRepository reviewRepository;
+
+    @Inject
+    ConcurrencyPermits permits;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    MongoDatabase database;
+
+    public static class OnePermit implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "library.hedging.enabled", "true",
+                    "library.hedging.percentile", "0.01",
+                    "library.hedging.min-delay", "0ms",
+                    "library.hedging.budget", "1.0",
+                    "mongodb.pool.auto-tune.enabled", "true",
+                    "mongodb.pool.auto-tune.initial-permits", "1",
+                    "mongodb.pool.auto-tune.min-permits", "1",
+                    "mongodb.pool.auto-tune.max-permits", "1",
+                    "mongodb.pool.auto-tune.interval", "1h",
+                    "mongodb.pool.auto-tune.max-wait", "30s");
+        }
+    }
+
+    @Test
+    void hedges_runOnTheCallersPermit() throws InterruptedException {
+        DataReady.await();
+        String bookId = database.getCollection("reviews").find().first().getString("bookId");
+        double sentBefore = count("library.hedge.sent");
+        double winsBefore = count("library.hedge.wins");
+
+        for (int i = 0; i < READS; i++) {
+            List<Review> reviews = reviewRepository.findByBook(bookId, null, null, 10);
+            assertFalse(reviews.isEmpty());
+        }
+
+        assertEquals(1, permits.limit());
+        assertEquals(0, permits.inUse(), "a permit outlived its read");
+        double sent = count("library.hedge.sent") - sentBefore;
+        assertTrue(sent > 0, "no read reached the hedge threshold");
+        assertEquals(sent, count("library.hedge.wins") - winsBefore, 0.0, "a hedge did not answer");
+    }
+
+    private double count(String name) {
+        Counter counter = registry.find(name).tag("operation", OPERATION).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.index;
+
+import com.example.DataReady;
+import com.example.model.entity.Author;
+import com.example.model.entity.Book;
+import com.example.model.entity.Review;
+import com.example.repository.ReviewBucketStore;
+import com.example.repository.ReviewRepository;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The {@link MongoIndex} classes are found in the build-time Jandex index,
+ * and an existing index with the declared keys but other options does not
+ * count as the declared one.
+ */
+@QuarkusTest
+class IndexReconcilerTest {
+
+    private static final Document NATIONALITY = new Document("nationality", 1);
+
+    @Inject
+    IndexReconciler reconciler;
+
+    @Inject
+    MongoDatabase database;
+
+    @Test
+    void declaringClasses_areFoundInTheBuildTimeIndex() {
+        List<Class<?>> classes = IndexRegistry.declaringClasses(Thread.currentThread().getContextClassLoader());
+
+        assertTrue(classes.containsAll(List.of(
+                        Author.class, Book.class, Review.class, ReviewRepository.class, ReviewBucketStore.class)),
+                () -> "declaring classes: " + classes);
+    }
+
+    @Test
+    void indexWithOtherOptions_isMissing() throws InterruptedException {
+        DataReady.await();
+        assertTrue(reconciler.missing().isEmpty(), () -> "missing before the test: " + reconciler.missing());
+        MongoCollection<Document> authors = database.getCollection("authors");
+        String name = authors.createIndex(NATIONALITY);
+        authors.dropIndex(name);
+        authors.createIndex(NATIONALITY, new IndexOptions().name(name).sparse(true));
+        try {
+            List<IndexDefinition> missing = reconciler.missing();
+
+            assertEquals(1, missing.size(), () -> "missing: " + missing);
+            assertEquals("authors", missing.getFirst().collection());
+            assertEquals(IndexKeys.of(NATIONALITY), missing.getFirst().keys());
+        } finally {
+            authors.dropIndex(name);
+            authors.createIndex(NATIONALITY, new IndexOptions().name(name));
+        }
+    }
+}
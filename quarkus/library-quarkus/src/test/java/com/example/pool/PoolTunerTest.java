@@ -0,0 +1,230 @@
+package com.example.pool;
+
+import com.example.DataReady;
+import com.example.config.MongoSettings;
+import com.example.dto.response.PoolDecisionResponse;
+import com.example.dto.response.PoolTuningResponse;
+import com.example.repository.BookRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs a step load (one caller, then many, then one again) through
+ * {@link BookRepository} against MongoDB Dev Services with auto-tuning on and
+ * a short interval, and checks that the permits grow under the step, shrink
+ * after it and never leave their bounds, and that a burst of rejected
+ * non-blocking acquisitions grows them too. Latency-based shrinking is turned off
+ * for the application's tuner: on a shared test machine the unloaded baseline
+ * is too noisy to assert on. It is checked on a separate tuner fed with
+ * command latencies directly.
+ */
+@QuarkusTest
+@TestProfile(PoolTunerTest.AutoTune.class)
+class PoolTunerTest {
+
+    private static final int MIN_PERMITS = 2;
+    private static final int MAX_PERMITS = 16;
+
+    @Inject
+    BookRepository bookRepository;
+
+    @Inject
+    ConcurrencyPermits permits;
+
+    @Inject
+    PoolTuner tuner;
+
+    @Inject
+    MongoSettings settings;
+
+    @Inject
+    MeterRegistry registry;
+
+    public static class AutoTune implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "mongodb.pool.auto-tune.enabled", "true",
+                    "mongodb.pool.auto-tune.initial-permits", String.valueOf(MIN_PERMITS),
+                    "mongodb.pool.auto-tune.min-permits", String.valueOf(MIN_PERMITS),
+                    "mongodb.pool.auto-tune.max-permits", String.valueOf(MAX_PERMITS),
+                    "mongodb.pool.auto-tune.interval", "250ms",
+                    "mongodb.pool.auto-tune.wait-target", "1ms",
+                    "mongodb.pool.auto-tune.latency-tolerance", "1000",
+                    "mongodb.pool.auto-tune.max-wait", "30s");
+        }
+    }
+
+    @Test
+    void permitsFollowAStepLoad() throws Exception {
+        DataReady.await();
+        List<Integer> limits = new ArrayList<>();
+
+        load(1, Duration.ofSeconds(2), limits);
+        int beforeStep = permits.limit();
+
+        limits.clear();
+        load(24, Duration.ofSeconds(4), limits);
+        int peak = limits.stream().mapToInt(Integer::intValue).max().orElseThrow();
+        assertTrue(peak > beforeStep, "permits did not grow under the step: " + limits);
+
+        limits.clear();
+        load(1, Duration.ofSeconds(4), limits);
+        assertTrue(permits.limit() < peak, "permits did not shrink after the step: " + limits);
+
+        PoolTuningResponse report = tuner.report();
+        assertFalse(report.decisions().isEmpty());
+        assertTrue(report.decisions().stream().anyMatch(decision -> decision.to() > decision.from()));
+        assertTrue(report.decisions().stream().anyMatch(decision -> decision.to() < decision.from()));
+        for (PoolDecisionResponse decision : report.decisions()) {
+            assertTrue(decision.to() >= MIN_PERMITS && decision.to() <= MAX_PERMITS, decision.toString());
+            assertFalse(decision.reason().isBlank(), decision.toString());
+        }
+    }
+
+    @Test
+    void rejectionBurst_growsThePermits() {
+        permits.resize(MIN_PERMITS);
+        int held = 0;
+        while (permits.tryAcquire()) {
+            held++;
+        }
+        try {
+            // Reactive callers never wait: a burst of rejections must read as a missed wait target.
+            for (int i = 0; i < 50; i++) {
+                assertFalse(permits.tryAcquire());
+            }
+            tuner.tune();
+        } finally {
+            for (int i = 0; i < held; i++) {
+                permits.release();
+            }
+        }
+
+        // The background tuner may have drained the burst first; either run must have grown the permits.
+        assertTrue(tuner.report().decisions().stream()
+                        .anyMatch(decision -> decision.to() > decision.from()
+                                && decision.reason().contains("found no permit free")),
+                "rejections did not grow the permits: " + tuner.report().decisions());
+    }
+
+    @Test
+    void latencyAboveBaseline_shrinksThePermits() {
+        ConcurrencyPermits ownPermits = new ConcurrencyPermits(settings);
+        ownPermits.resize(MAX_PERMITS);
+        PoolTuner latencySensitive = new PoolTuner(
+                latencyTolerance(2.0), settings.pool().maxSize(), ownPermits, registry);
+
+        commands(latencySensitive, 20, Duration.ofMillis(1));
+        latencySensitive.tune();
+        int beforeSlowdown = ownPermits.limit();
+        commands(latencySensitive, 20, Duration.ofMillis(10));
+        latencySensitive.tune();
+
+        assertTrue(ownPermits.limit() < beforeSlowdown,
+                "permits did not shrink: " + latencySensitive.report().decisions());
+        PoolDecisionResponse last = latencySensitive.report().decisions().getLast();
+        assertEquals(beforeSlowdown, last.from());
+        assertTrue(last.reason().startsWith("command latency"), last.toString());
+    }
+
+    private static void commands(PoolTuner tuner, int count, Duration latency) {
+        for (int i = 0; i < count; i++) {
+            tuner.recordCommand(latency.toNanos());
+        }
+    }
+
+    /** The profile's auto-tune settings with another {@code latency-tolerance}. */
+    private MongoSettings.AutoTune latencyTolerance(double tolerance) {
+        MongoSettings.AutoTune profile = settings.pool().autoTune();
+        return new MongoSettings.AutoTune() {
+            @Override
+            public boolean enabled() {
+                return profile.enabled();
+            }
+
+            @Override
+            public int initialPermits() {
+                return profile.initialPermits();
+            }
+
+            @Override
+            public int minPermits() {
+                return profile.minPermits();
+            }
+
+            @Override
+            public int maxPermits() {
+                return profile.maxPermits();
+            }
+
+            @Override
+            public Duration interval() {
+                return profile.interval();
+            }
+
+            @Override
+            public Duration waitTarget() {
+                return profile.waitTarget();
+            }
+
+            @Override
+            public double latencyTolerance() {
+                return tolerance;
+            }
+
+            @Override
+            public Duration maxWait() {
+                return profile.maxWait();
+            }
+        };
+    }
+
+    /** {@code callers} threads reading pages back to back for {@code duration}, sampling the limit meanwhile. */
+    private void load(int callers, Duration duration, List<Integer> limits) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                calls.add(executor.submit(() -> {
+                    while (running.get()) {
+                        bookRepository.findBooksWithReviews(null, 20);
+                    }
+                    return null;
+                }));
+            }
+            long end = System.nanoTime() + duration.toNanos();
+            while (System.nanoTime() < end) {
+                int limit = permits.limit();
+                assertTrue(limit >= MIN_PERMITS && limit <= MAX_PERMITS, "limit out of bounds: " + limit);
+                limits.add(limit);
+                Thread.sleep(50);
+            }
+            running.set(false);
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
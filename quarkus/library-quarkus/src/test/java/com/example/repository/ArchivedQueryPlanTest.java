@@ -0,0 +1,159 @@
+package com.example.repository;
+
+import com.example.DataReady;
+import com.example.index.IndexReconciler;
+import com.example.model.entity.Review;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.repository.PlanExpectation.idLookup;
+import static com.example.repository.PlanExpectation.index;
+import static com.example.repository.PlanExpectation.metadataCount;
+import static com.example.repository.PlanTestData.bookId;
+
+/**
+ * {@link QueryPlanTest} for {@code library.reviews.archive.enabled=true}: the
+ * plan reviews older than {@link #CUTOFF} are moved to
+ * {@code reviews_archive}, and the reads that fall through to the archive
+ * must use its indexes too.
+ */
+@QuarkusTest
+@TestProfile(ArchivedQueryPlanTest.Archiving.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ArchivedQueryPlanTest {
+
+    /** About half of the plan reviews, which span the 1,000 days before 2025. */
+    private static final Instant CUTOFF = Instant.parse("2023-08-20T00:00:00Z");
+    private static final int SIZE = 20;
+
+    @Inject
+    MongoDatabase database;
+
+    @Inject
+    BookRepository bookRepository;
+
+    @Inject
+    ReviewRepository reviewRepository;
+
+    @Inject
+    IndexReconciler indexReconciler;
+
+    private PlanHarness plans;
+
+    public static class Archiving implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            // The archiver never runs on its own; the data is archived by PlanTestData.
+            return Map.of(
+                    "library.reviews.archive.enabled", "true",
+                    "library.reviews.archive.interval", "1000h");
+        }
+    }
+
+    @BeforeAll
+    void loadData() throws InterruptedException {
+        DataReady.await();
+        PlanTestData.load(database);
+        PlanTestData.archive(database, CUTOFF);
+        plans = new PlanHarness(database);
+        PlanHarness.awaitIndexes(indexReconciler);
+    }
+
+    @AfterAll
+    void removeData() {
+        PlanTestData.remove(database);
+    }
+
+    @Test
+    void reviews_findPage_intoTheArchive() {
+        int lastHotPage = (int) (database.getCollection(ReviewRepository.REVIEWS_COLLECTION).countDocuments() / SIZE);
+        plans.assertPlan("ReviewRepository.findPage(last hot page)", () -> reviewRepository.findPage(lastHotPage, SIZE),
+                index("createdAt"));
+    }
+
+    @Test
+    void reviews_findPage_pastTheHotCollection() {
+        int pastHot = (int) (database.getCollection(ReviewRepository.REVIEWS_COLLECTION).countDocuments() / SIZE) + 2;
+        plans.assertPlan("ReviewRepository.findPage(past hot)", () -> reviewRepository.findPage(pastHot, SIZE),
+                index("createdAt"));
+    }
+
+    @Test
+    void reviews_findByBook() {
+        // More than any plan book has, so the page always continues in the archive.
+        plans.assertPlan("ReviewRepository.findByBook", () -> reviewRepository.findByBook(bookId(1), null, null, 50),
+                index("bookId", "createdAt", "_id").docsPerResult(1));
+    }
+
+    @Test
+    void reviews_findReview() {
+        String archivedId = archivedReview().id;
+        plans.assertPlan("ReviewRepository.findReview", () -> reviewRepository.findReview(archivedId),
+                idLookup());
+    }
+
+    @Test
+    void reviews_countReviews() {
+        plans.assertPlan("ReviewRepository.countReviews", () -> reviewRepository.countReviews(),
+                metadataCount());
+    }
+
+    @Test
+    void reviews_update() {
+        Review review = archivedReview();
+        plans.assertPlan("ReviewRepository.update", () -> reviewRepository.update(review),
+                idLookup());
+    }
+
+    @Test
+    void reviews_deleteReview() {
+        plans.assertPlan("ReviewRepository.deleteReview",
+                () -> reviewRepository.deleteReview(PlanTestData.PREFIX + "review-missing"),
+                idLookup());
+    }
+
+    @Test
+    void reviews_averageRatingForBook() {
+        plans.assertPlan("ReviewRepository.averageRatingForBook", () -> reviewRepository.averageRatingForBook(bookId(1)),
+                index("bookId"));
+    }
+
+    @Test
+    void reviews_archiveBatch() {
+        plans.assertPlan("ReviewRepository.archiveBatch",
+                () -> reviewRepository.archiveBatch(Instant.parse("1900-01-01T00:00:00Z"), 100),
+                index("createdAt"));
+    }
+
+    @Test
+    void books_findBooksWithReviews() {
+        plans.assertPlan("BookRepository.findBooksWithReviews", () -> bookRepository.findBooksWithReviews(null, 10),
+                index("bookId"));
+    }
+
+    @Test
+    void books_reconcileEmbeddedReviewsOfBooks() {
+        plans.assertPlan("BookRepository.reconcileEmbeddedReviewsOfBooks",
+                () -> bookRepository.reconcileEmbeddedReviewsOfBooks(List.of(bookId(17), bookId(19)), List.of()),
+                index("_id"));
+    }
+
+    private Review archivedReview() {
+        return database.getCollection(ReviewRepository.ARCHIVE_COLLECTION, Review.class)
+                .find(Filters.regex("_id", "^" + PlanTestData.PREFIX))
+                .first();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.repository;
+
+import com.example.DataReady;
+import com.example.index.IndexReconciler;
+import com.example.model.entity.Review;
+import com.mongodb.client.MongoDatabase;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.example.repository.PlanExpectation.collectionScan;
+import static com.example.repository.PlanExpectation.index;
+import static com.example.repository.PlanTestData.bookId;
+
+/**
+ * {@link QueryPlanTest} for {@code library.reviews.storage.layout=bucket}: the
+ * plan reviews are packed into {@code review_buckets} through
+ * {@link ReviewBucketStore}, and every review read and write must find its
+ * buckets through an index.
+ */
+@QuarkusTest
+@TestProfile(BucketedQueryPlanTest.Buckets.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BucketedQueryPlanTest {
+
+    private static final String SORTS_UNWOUND = "orders the reviews unwound from one book's buckets";
+
+    @Inject
+    MongoDatabase database;
+
+    @Inject
+    BookRepository bookRepository;
+
+    @Inject
+    ReviewRepository reviewRepository;
+
+    @Inject
+    ReviewBucketStore bucketStore;
+
+    @Inject
+    IndexReconciler indexReconciler;
+
+    private PlanHarness plans;
+
+    public static class Buckets implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("library.reviews.storage.layout", "bucket");
+        }
+    }
+
+    @BeforeAll
+    void loadData() throws InterruptedException {
+        DataReady.await();
+        PlanTestData.load(database);
+        PlanTestData.bucket(database, bucketStore);
+        plans = new PlanHarness(database);
+        PlanHarness.awaitIndexes(indexReconciler);
+    }
+
+    @AfterAll
+    void removeData() {
+        PlanTestData.remove(database);
+    }
+
+    @Test
+    void reviews_findPage() {
+        plans.assertPlan("ReviewRepository.findPage", () -> reviewRepository.findPage(2, 20),
+                index("lastCreatedAt"));
+    }
+
+    @Test
+    void reviews_findByBook() {
+        plans.assertPlan("ReviewRepository.findByBook", () -> reviewRepository.findByBook(bookId(1), null, null, 10),
+                index("bookId").allowBlockingSort(SORTS_UNWOUND));
+    }
+
+    @Test
+    void reviews_findByBook_afterCursor() {
+        List<Review> first = reviewRepository.findByBook(bookId(1), null, null, 3);
+        Review last = first.get(first.size() - 1);
+        plans.assertPlan("ReviewRepository.findByBook(after)",
+                () -> reviewRepository.findByBook(bookId(1), last.createdAt, last.id, 10),
+                index("bookId").allowBlockingSort(SORTS_UNWOUND));
+    }
+
+    @Test
+    void reviews_findReview() {
+        plans.assertPlan("ReviewRepository.findReview",
+                () -> reviewRepository.findReview(PlanTestData.PREFIX + "review-00001-00"),
+                index("reviews._id").docsPerResult(1));
+    }
+
+    @Test
+    void reviews_countReviews() {
+        plans.assertPlan("ReviewRepository.countReviews", () -> reviewRepository.countReviews(),
+                collectionScan("sums the counts of all buckets: one document per bucket, not per review"));
+    }
+
+    @Test
+    void reviews_update() {
+        Review review = reviewRepository.findReview(PlanTestData.PREFIX + "review-00002-00").orElseThrow();
+        plans.assertPlan("ReviewRepository.update", () -> reviewRepository.update(review),
+                index("reviews._id"));
+    }
+
+    @Test
+    void reviews_deleteReview() {
+        plans.assertPlan("ReviewRepository.deleteReview",
+                () -> reviewRepository.deleteReview(PlanTestData.PREFIX + "review-missing"),
+                index("reviews._id"));
+    }
+
+    @Test
+    void reviews_averageRatingForBook() {
+        plans.assertPlan("ReviewRepository.averageRatingForBook", () -> reviewRepository.averageRatingForBook(bookId(1)),
+                index("bookId"));
+    }
+
+    @Test
+    void books_findBooksWithReviews() {
+        plans.assertPlan("BookRepository.findBooksWithReviews", () -> bookRepository.findBooksWithReviews(null, 10),
+                index("bookId"));
+    }
+
+    @Test
+    void books_reconcileEmbeddedReviewsOfBooks() {
+        plans.assertPlan("BookRepository.reconcileEmbeddedReviewsOfBooks",
+                () -> bookRepository.reconcileEmbeddedReviewsOfBooks(List.of(bookId(17), bookId(19)), List.of()),
+                index("_id"));
+    }
+}
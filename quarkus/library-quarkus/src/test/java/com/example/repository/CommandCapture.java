@@ -0,0 +1,43 @@
+package com.example.repository;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Records the commands the calling thread sends while a capture is open, so
+ * {@link PlanHarness} can explain exactly what a repository method ran. Quarkus
+ * registers {@code CommandListener} implementations on the client by itself;
+ * state is static because the client may create its own instance.
+ */
+public class CommandCapture implements CommandListener {
+
+    /** Commands that select documents with a query plan; inserts, getMore, index admin etc. have none. */
+    private static final Set<String> EXPLAINABLE = Set.of(
+            "find", "aggregate", "count", "distinct", "update", "delete", "findAndModify");
+
+    private static final ThreadLocal<List<BsonDocument>> CAPTURED = new ThreadLocal<>();
+
+    static void start() {
+        CAPTURED.set(new ArrayList<>());
+    }
+
+    static List<BsonDocument> stop() {
+        List<BsonDocument> commands = CAPTURED.get();
+        CAPTURED.remove();
+        return commands == null ? List.of() : commands;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        // The sync driver publishes events on the thread that runs the operation.
+        List<BsonDocument> commands = CAPTURED.get();
+        if (commands != null && EXPLAINABLE.contains(event.getCommandName())) {
+            commands.add(event.getCommand().clone());
+        }
+    }
+}
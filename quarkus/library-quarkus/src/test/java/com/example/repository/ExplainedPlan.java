@@ -0,0 +1,175 @@
+package com.example.repository;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The parts of one {@code explain("executionStats")} output the plan
+ * assertions look at: the winning plan's stages, what the query examined, the
+ * aggregation stages that ran outside the query layer, and how many
+ * {@code $lookup}s scanned their foreign collection. Reads both the classic
+ * and the slot-based (SBE) explain formats.
+ */
+final class ExplainedPlan {
+
+    /** One stage of the winning plan, {@code depth} levels below the root. */
+    record Stage(int depth, String name, String indexName, List<String> keyFields, String keyPattern) {
+
+        boolean usesIndex() {
+            return keyPattern != null || name.equals("IDHACK") || name.startsWith("EXPRESS");
+        }
+
+        /** Fields of the index this stage reads; point lookups by {@code _id} read the {@code _id} index. */
+        List<String> indexFields() {
+            return keyPattern != null ? keyFields : List.of("_id");
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder line = new StringBuilder("  ".repeat(depth)).append(name);
+            if (indexName != null) {
+                line.append(' ').append(indexName);
+            }
+            if (keyPattern != null) {
+                line.append(' ').append(keyPattern);
+            }
+            return line.toString();
+        }
+    }
+
+    private final String command;
+    private final List<Stage> stages = new ArrayList<>();
+    private final List<String> pipeline = new ArrayList<>();
+    private final boolean statsAvailable;
+    private long keysExamined;
+    private long docsExamined;
+    private long returned;
+    private long lookupCollectionScans;
+
+    private ExplainedPlan(String command, Document explain, boolean statsAvailable) {
+        this.command = command;
+        this.statsAvailable = statsAvailable;
+
+        List<Document> winningPlans = new ArrayList<>();
+        collect(explain, "winningPlan", winningPlans);
+        for (Document winningPlan : winningPlans) {
+            Document plan = winningPlan.get("queryPlan", Document.class);
+            addStages(plan != null ? plan : winningPlan, 0);
+        }
+
+        List<Document> executionStats = new ArrayList<>();
+        collect(explain, "executionStats", executionStats);
+        for (Document stats : executionStats) {
+            keysExamined += number(stats, "totalKeysExamined");
+            docsExamined += number(stats, "totalDocsExamined");
+            returned += number(stats, "nReturned");
+        }
+
+        for (Document stage : explain.getList("stages", Document.class, List.of())) {
+            String name = stage.keySet().stream().filter(key -> key.startsWith("$")).findFirst().orElse("?");
+            pipeline.add(name);
+            if (name.equals("$lookup")) {
+                lookupCollectionScans += number(stage, "collectionScans");
+            }
+        }
+    }
+
+    static ExplainedPlan of(String command, Document explain, boolean statsAvailable) {
+        return new ExplainedPlan(command, explain, statsAvailable);
+    }
+
+    List<Stage> stages() {
+        return stages;
+    }
+
+    boolean collectionScan() {
+        return stages.stream().anyMatch(stage -> stage.name().equals("COLLSCAN"));
+    }
+
+    /** A {@code SORT} in the plan, or a {@code $sort} the query layer could not absorb. */
+    boolean blockingSort() {
+        return stages.stream().anyMatch(stage -> stage.name().equals("SORT")) || pipeline.contains("$sort");
+    }
+
+    boolean statsAvailable() {
+        return statsAvailable;
+    }
+
+    long keysExamined() {
+        return keysExamined;
+    }
+
+    long docsExamined() {
+        return docsExamined;
+    }
+
+    long returned() {
+        return returned;
+    }
+
+    long lookupCollectionScans() {
+        return lookupCollectionScans;
+    }
+
+    String render() {
+        StringBuilder text = new StringBuilder(command).append(System.lineSeparator());
+        stages.forEach(stage -> text.append("    ").append(stage).append(System.lineSeparator()));
+        if (!pipeline.isEmpty()) {
+            text.append("    pipeline: ").append(String.join(" -> ", pipeline)).append(System.lineSeparator());
+        }
+        text.append(statsAvailable
+                ? "    examined: %d keys, %d docs for %d returned".formatted(keysExamined, docsExamined, returned)
+                : "    examined: (no executionStats for this command)");
+        if (lookupCollectionScans > 0) {
+            text.append(", %d $lookup collection scans".formatted(lookupCollectionScans));
+        }
+        return text.toString();
+    }
+
+    private void addStages(Document node, int depth) {
+        String name = node.getString("stage");
+        if (name == null) {
+            return;
+        }
+        Document keyPattern = node.get("keyPattern", Document.class);
+        stages.add(new Stage(depth,
+                name,
+                node.getString("indexName"),
+                keyPattern != null ? List.copyOf(keyPattern.keySet()) : List.of(),
+                keyPattern != null ? keyPattern.toJson() : null));
+        if (name.equals("EQ_LOOKUP") && "NestedLoopJoin".equals(node.getString("strategy"))) {
+            lookupCollectionScans++;
+        }
+        Document input = node.get("inputStage", Document.class);
+        if (input != null) {
+            addStages(input, depth + 1);
+        }
+        for (Document child : node.getList("inputStages", Document.class, List.of())) {
+            addStages(child, depth + 1);
+        }
+    }
+
+    /** Every document stored under {@code key}, at any depth; rejected plans are skipped. */
+    private static void collect(Object node, String key, List<Document> found) {
+        if (node instanceof Document document) {
+            document.forEach((name, value) -> {
+                if (name.equals("rejectedPlans")) {
+                    return;
+                }
+                if (name.equals(key) && value instanceof Document match) {
+                    found.add(match);
+                } else {
+                    collect(value, key, found);
+                }
+            });
+        } else if (node instanceof List<?> list) {
+            list.forEach(element -> collect(element, key, found));
+        }
+    }
+
+    private static long number(Document document, String key) {
+        return document.get(key) instanceof Number number ? number.longValue() : 0;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * What the plans of one repository method must look like. Strict by default:
+ * no {@code COLLSCAN}, no {@code $lookup} scanning its foreign collection and
+ * no blocking sort, unless the expectation says why one is acceptable.
+ */
+final class PlanExpectation {
+
+    /** One difference, printed as a {@code -}/{@code +} pair. */
+    record Mismatch(String expected, String actual) {
+    }
+
+    private List<String> indexFields;
+    private String stage;
+    private String scanReason;
+    private String sortReason;
+    private double docsPerResult = -1;
+    private double keysPerResult = -1;
+
+    private PlanExpectation() {
+    }
+
+    /** Reads through an index whose key pattern starts with {@code fields}. */
+    static PlanExpectation index(String... fields) {
+        PlanExpectation expectation = new PlanExpectation();
+        expectation.indexFields = List.of(fields);
+        return expectation;
+    }
+
+    /** Point lookup on {@code _id} ({@code IDHACK}, {@code EXPRESS_*} or an {@code _id} index scan). */
+    static PlanExpectation idLookup() {
+        return index("_id").docsPerResult(1);
+    }
+
+    /** Answered from collection metadata ({@code RECORD_STORE_FAST_COUNT}): no index, no scan. */
+    static PlanExpectation metadataCount() {
+        PlanExpectation expectation = new PlanExpectation();
+        expectation.stage = "RECORD_STORE_FAST_COUNT";
+        return expectation;
+    }
+
+    /** Scans the collection on purpose; {@code reason} documents why that is acceptable. */
+    static PlanExpectation collectionScan(String reason) {
+        PlanExpectation expectation = new PlanExpectation();
+        expectation.scanReason = reason;
+        expectation.sortReason = reason;
+        return expectation;
+    }
+
+    PlanExpectation allowBlockingSort(String reason) {
+        this.sortReason = reason;
+        return this;
+    }
+
+    /** At most {@code max} documents fetched per document returned by the query layer. */
+    PlanExpectation docsPerResult(double max) {
+        this.docsPerResult = max;
+        return this;
+    }
+
+    /** At most {@code max} index keys examined per document returned by the query layer. */
+    PlanExpectation keysPerResult(double max) {
+        this.keysPerResult = max;
+        return this;
+    }
+
+    List<Mismatch> check(List<ExplainedPlan> plans) {
+        List<Mismatch> mismatches = new ArrayList<>();
+        if (plans.isEmpty()) {
+            mismatches.add(new Mismatch("a query with a plan", "no explainable command was sent"));
+            return mismatches;
+        }
+
+        if (indexFields != null && plans.stream().flatMap(plan -> plan.stages().stream())
+                .noneMatch(stage -> stage.usesIndex() && startsWith(stage.indexFields(), indexFields))) {
+            mismatches.add(new Mismatch("index on " + indexFields, "indexes used: " + indexesUsed(plans)));
+        }
+        if (stage != null && plans.stream().flatMap(plan -> plan.stages().stream())
+                .noneMatch(candidate -> candidate.name().equals(stage))) {
+            mismatches.add(new Mismatch(stage, "stages: " + plans.stream()
+                    .flatMap(plan -> plan.stages().stream())
+                    .map(ExplainedPlan.Stage::name)
+                    .distinct()
+                    .collect(Collectors.joining(", "))));
+        }
+        if (scanReason == null) {
+            plans.stream().filter(ExplainedPlan::collectionScan).findFirst().ifPresent(plan ->
+                    mismatches.add(new Mismatch("no COLLSCAN", "COLLSCAN")));
+            long lookupScans = plans.stream().mapToLong(ExplainedPlan::lookupCollectionScans).sum();
+            if (lookupScans > 0) {
+                mismatches.add(new Mismatch("$lookup through an index", lookupScans + " $lookup collection scans"));
+            }
+        }
+        if (sortReason == null && plans.stream().anyMatch(ExplainedPlan::blockingSort)) {
+            mismatches.add(new Mismatch("sort served by the index", "blocking (in-memory) sort"));
+        }
+
+        List<ExplainedPlan> withStats = plans.stream().filter(ExplainedPlan::statsAvailable).toList();
+        long returned = Math.max(1, withStats.stream().mapToLong(ExplainedPlan::returned).sum());
+        long docs = withStats.stream().mapToLong(ExplainedPlan::docsExamined).sum();
+        long keys = withStats.stream().mapToLong(ExplainedPlan::keysExamined).sum();
+        if (docsPerResult >= 0 && docs > docsPerResult * returned) {
+            mismatches.add(new Mismatch(
+                    "docsExamined <= %s x %d returned".formatted(docsPerResult, returned), "docsExamined " + docs));
+        }
+        if (keysPerResult >= 0 && keys > keysPerResult * returned) {
+            mismatches.add(new Mismatch(
+                    "keysExamined <= %s x %d returned".formatted(keysPerResult, returned), "keysExamined " + keys));
+        }
+        return mismatches;
+    }
+
+    String describe() {
+        List<String> parts = new ArrayList<>();
+        if (indexFields != null) {
+            parts.add("index on " + indexFields);
+        }
+        if (stage != null) {
+            parts.add(stage);
+        }
+        parts.add(scanReason == null ? "no COLLSCAN" : "COLLSCAN accepted (" + scanReason + ")");
+        parts.add(sortReason == null ? "no blocking sort" : "blocking sort accepted (" + sortReason + ")");
+        if (docsPerResult >= 0) {
+            parts.add("docs/returned <= " + docsPerResult);
+        }
+        if (keysPerResult >= 0) {
+            parts.add("keys/returned <= " + keysPerResult);
+        }
+        return String.join(", ", parts);
+    }
+
+    private static boolean startsWith(List<String> fields, List<String> prefix) {
+        return fields.size() >= prefix.size() && fields.subList(0, prefix.size()).equals(prefix);
+    }
+
+    private static String indexesUsed(List<ExplainedPlan> plans) {
+        String used = plans.stream()
+                .flatMap(plan -> plan.stages().stream())
+                .filter(ExplainedPlan.Stage::usesIndex)
+                .map(stage -> stage.indexFields().toString())
+                .distinct()
+                .collect(Collectors.joining(", "));
+        return used.isEmpty() ? "none" : used;
+    }
+}
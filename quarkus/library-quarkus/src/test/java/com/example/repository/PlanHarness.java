@@ -0,0 +1,121 @@
+package com.example.repository;
+
+import com.example.index.IndexReconciler;
+import com.example.metrics.DriverCommands;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoDatabase;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs a repository method, captures the commands it sent (see
+ * {@link CommandCapture}), explains each one with {@code executionStats} and
+ * checks the plans against a {@link PlanExpectation}. A failure prints what
+ * was expected against what the server did, followed by every explained plan.
+ */
+final class PlanHarness {
+
+    private static final int MAX_DETAIL = 200;
+    private static final Duration INDEX_BUILD_TIMEOUT = Duration.ofSeconds(60);
+
+    private final MongoDatabase database;
+
+    PlanHarness(MongoDatabase database) {
+        this.database = database;
+    }
+
+    /** Declared indexes are built in the background after startup; plans are only meaningful once they exist. */
+    static void awaitIndexes(IndexReconciler indexReconciler) throws InterruptedException {
+        Instant deadline = Instant.now().plus(INDEX_BUILD_TIMEOUT);
+        while (!indexReconciler.missing().isEmpty() && Instant.now().isBefore(deadline)) {
+            Thread.sleep(200);
+        }
+        assertTrue(indexReconciler.missing().isEmpty(), () -> "Indexes not built: " + indexReconciler.missing());
+    }
+
+    void assertPlan(String method, Runnable call, PlanExpectation expected) {
+        List<BsonDocument> commands;
+        CommandCapture.start();
+        try {
+            call.run();
+        } finally {
+            commands = CommandCapture.stop();
+        }
+
+        List<ExplainedPlan> plans = commands.stream().map(this::explain).toList();
+        List<PlanExpectation.Mismatch> mismatches = expected.check(plans);
+        if (!mismatches.isEmpty()) {
+            fail(diff(method, expected, mismatches, plans));
+        }
+    }
+
+    private ExplainedPlan explain(BsonDocument command) {
+        BsonDocument query = explainable(command);
+        String label = describe(query);
+        try {
+            return ExplainedPlan.of(label, runExplain(query, "executionStats"), true);
+        } catch (MongoCommandException e) {
+            // Pipelines ending in $merge/$out only explain with queryPlanner verbosity.
+            return ExplainedPlan.of(label, runExplain(query, "queryPlanner"), false);
+        }
+    }
+
+    private Document runExplain(BsonDocument query, String verbosity) {
+        return database.runCommand(new Document("explain", query).append("verbosity", verbosity));
+    }
+
+    /** The command as the server would explain it: driver fields removed, one statement per write. */
+    private static BsonDocument explainable(BsonDocument command) {
+        BsonDocument query = new BsonDocument();
+        command.forEach((name, value) -> {
+            if (DriverCommands.DRIVER_FIELDS.contains(name)) {
+                return;
+            }
+            if ((name.equals("updates") || name.equals("deletes")) && value.isArray() && value.asArray().size() > 1) {
+                value = new BsonArray(List.of(value.asArray().get(0)));
+            }
+            query.append(name, value);
+        });
+        return query;
+    }
+
+    private static String describe(BsonDocument query) {
+        String commandName = query.getFirstKey();
+        BsonValue detail = switch (commandName) {
+            case "find" -> query.get("filter");
+            case "aggregate" -> query.get("pipeline");
+            case "update" -> query.getArray("updates").get(0).asDocument().get("q");
+            case "delete" -> query.getArray("deletes").get(0).asDocument().get("q");
+            default -> query.get("query");
+        };
+        String text = detail == null ? "{}" : detail.isDocument() ? detail.asDocument().toJson() : detail.toString();
+        if (text.length() > MAX_DETAIL) {
+            text = text.substring(0, MAX_DETAIL) + "...";
+        }
+        BsonValue target = query.get(commandName);
+        return "%s %s %s".formatted(commandName, target.isString() ? target.asString().getValue() : target, text);
+    }
+
+    private static String diff(String method, PlanExpectation expected, List<PlanExpectation.Mismatch> mismatches,
+                               List<ExplainedPlan> plans) {
+        String nl = System.lineSeparator();
+        StringBuilder text = new StringBuilder("Query plan regression in ").append(method).append(nl)
+                .append("  expected: ").append(expected.describe()).append(nl);
+        for (PlanExpectation.Mismatch mismatch : mismatches) {
+            text.append("  - ").append(mismatch.expected()).append(nl)
+                    .append("  + ").append(mismatch.actual()).append(nl);
+        }
+        text.append("Plans:").append(nl);
+        plans.forEach(plan -> text.append("  ").append(plan.render()).append(nl));
+        return text.toString();
+    }
+}
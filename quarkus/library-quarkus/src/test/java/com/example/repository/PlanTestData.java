@@ -0,0 +1,132 @@
+package com.example.repository;
+
+import com.example.model.entity.Review;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic catalog for the plan tests, large enough that a collection
+ * scan or a blocking sort shows in the examined counts: {@value #BOOKS} books
+ * over {@value #AUTHORS} authors, and a skewed number of reviews per book.
+ * Every id starts with {@value #PREFIX}, so the data sits next to the seeded
+ * catalog and is removed again afterwards. {@link #archive} and
+ * {@link #bucket} lay the reviews out for the archive and bucket
+ * configurations.
+ */
+final class PlanTestData {
+
+    static final String PREFIX = "plan-";
+    static final int BOOKS = 2_000;
+    static final int AUTHORS = 100;
+    static final int NATIONALITIES = 8;
+
+    private static final long SEED = 42;
+    private static final int BATCH = 1_000;
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private PlanTestData() {
+    }
+
+    static String bookId(int index) {
+        return PREFIX + "book-%05d".formatted(index);
+    }
+
+    static String authorId(int index) {
+        return PREFIX + "author-%03d".formatted(index);
+    }
+
+    static String authorName(int index) {
+        return "Plan Author %03d".formatted(index);
+    }
+
+    static String nationality(int index) {
+        return "Plan-Nationality-" + index;
+    }
+
+    static void load(MongoDatabase database) {
+        Random random = new Random(SEED);
+
+        List<Document> authors = new ArrayList<>(AUTHORS);
+        for (int i = 0; i < AUTHORS; i++) {
+            authors.add(new Document("_id", authorId(i))
+                    .append("name", authorName(i))
+                    .append("nationality", nationality(i % NATIONALITIES))
+                    .append("birthYear", 1930 + random.nextInt(60)));
+        }
+        insert(database.getCollection("authors"), authors);
+
+        List<Document> books = new ArrayList<>(BOOKS);
+        List<Document> reviews = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            int pages = 50 + random.nextInt(1_450);
+            // Long-tail authorship: low author numbers write most of the books.
+            int author = (int) (AUTHORS * Math.pow(random.nextDouble(), 3));
+            books.add(new Document("_id", bookId(i))
+                    .append("title", "Plan Book " + Integer.toString(random.nextInt(1_000_000), 36))
+                    .append("pages", pages)
+                    .append("year", 1950 + random.nextInt(75))
+                    .append("pageCategory", pages <= 250 ? "short" : pages <= 500 ? "medium" : "long")
+                    .append("authors", List.of(new Document("authorId", authorId(author)).append("name", authorName(author))))
+                    .append("reviews", List.of()));
+
+            // Skewed reviews: a few books get many, most get a handful or none.
+            int reviewCount = Math.max(0, 40 / (1 + random.nextInt(20)) - 2);
+            for (int r = 0; r < reviewCount; r++) {
+                reviews.add(new Document("_id", PREFIX + "review-%05d-%02d".formatted(i, r))
+                        .append("bookId", bookId(i))
+                        .append("user", "reader" + random.nextInt(500))
+                        .append("rating", 1 + random.nextInt(5))
+                        .append("text", "Plan review")
+                        .append("createdAt", Date.from(NOW.minus(random.nextInt(1_000), ChronoUnit.DAYS))));
+            }
+        }
+        insert(database.getCollection("books"), books);
+        insert(database.getCollection("reviews"), reviews);
+    }
+
+    /** Moves the plan reviews created before {@code cutoff} to the archive tier. */
+    static void archive(MongoDatabase database, Instant cutoff) {
+        Bson old = Filters.and(planIds(), Filters.lt("createdAt", Date.from(cutoff)));
+        MongoCollection<Document> reviews = database.getCollection(ReviewRepository.REVIEWS_COLLECTION);
+        insert(database.getCollection(ReviewRepository.ARCHIVE_COLLECTION), reviews.find(old).into(new ArrayList<>()));
+        reviews.deleteMany(old);
+    }
+
+    /** Packs the plan reviews into buckets through {@code bucketStore}, oldest first as they would have arrived. */
+    static void bucket(MongoDatabase database, ReviewBucketStore bucketStore) {
+        database.getCollection(ReviewRepository.REVIEWS_COLLECTION, Review.class).find(planIds())
+                .sort(Sorts.ascending("createdAt"))
+                .forEach(bucketStore::insert);
+        database.getCollection(ReviewRepository.REVIEWS_COLLECTION).deleteMany(planIds());
+    }
+
+    static void remove(MongoDatabase database) {
+        for (String collection : List.of("authors", "books", "reviews", ReviewRepository.ARCHIVE_COLLECTION)) {
+            database.getCollection(collection).deleteMany(planIds());
+        }
+        database.getCollection(ReviewBucketStore.BUCKETS_COLLECTION).deleteMany(Filters.regex("bookId", "^" + PREFIX));
+    }
+
+    private static Bson planIds() {
+        return Filters.regex("_id", "^" + PREFIX);
+    }
+
+    private static void insert(MongoCollection<Document> collection, List<Document> documents) {
+        for (int from = 0; from < documents.size(); from += BATCH) {
+            collection.insertMany(documents.subList(from, Math.min(documents.size(), from + BATCH)),
+                    new InsertManyOptions().ordered(false));
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.example.repository;
+
+import com.example.DataReady;
+import com.example.config.DurabilityProfiles;
+import com.example.deadline.Deadlines;
+import com.example.index.IndexReconciler;
+import com.example.model.entity.Author;
+import com.example.model.entity.Book;
+import com.example.model.entity.Review;
+import com.mongodb.client.MongoDatabase;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.time.Instant;
+import java.util.List;
+
+import static com.example.repository.PlanExpectation.collectionScan;
+import static com.example.repository.PlanExpectation.idLookup;
+import static com.example.repository.PlanExpectation.index;
+import static com.example.repository.PlanExpectation.metadataCount;
+import static com.example.repository.PlanTestData.authorId;
+import static com.example.repository.PlanTestData.authorName;
+import static com.example.repository.PlanTestData.bookId;
+
+/**
+ * Query-plan regression tests: every public query of {@link BookRepository},
+ * {@link ReviewRepository} and {@link Author} is run against MongoDB Dev
+ * Services loaded with {@link PlanTestData}, and the commands it sent are
+ * explained with {@code executionStats} (see {@link PlanHarness}). A method
+ * that starts scanning a collection, sorting in memory or examining more
+ * documents than it returns fails here with the plan printed.
+ *
+ * <p>Insert-only methods send no query and have no plan to check. The
+ * methods whose queries change with the review archive or the bucket layout
+ * are checked again in those configurations by {@link ArchivedQueryPlanTest}
+ * and {@link BucketedQueryPlanTest}.
+ */
+@QuarkusTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    @Inject
+    MongoDatabase database;
+
+    @Inject
+    BookRepository bookRepository;
+
+    @Inject
+    DurabilityProfiles durability;
+
+    @Inject
+    Deadlines deadlines;
+
+    @Inject
+    ReviewRepository reviewRepository;
+
+    @Inject
+    IndexReconciler indexReconciler;
+
+    private PlanHarness plans;
+
+    @BeforeAll
+    void loadData() throws InterruptedException {
+        // Let the seeder find an empty database and finish before the plan data goes in.
+        DataReady.await();
+        PlanTestData.load(database);
+        plans = new PlanHarness(database);
+        PlanHarness.awaitIndexes(indexReconciler);
+    }
+
+    @AfterAll
+    void removeData() {
+        PlanTestData.remove(database);
+    }
+
+    // --- BookRepository -------------------------------------------------
+
+    @Test
+    void books_findPage() {
+        plans.assertPlan("BookRepository.findPage", () -> bookRepository.findPage(3, 20),
+                index("title"));
+    }
+
+    @Test
+    void books_countBooks() {
+        plans.assertPlan("BookRepository.countBooks", () -> bookRepository.countBooks(),
+                metadataCount());
+    }
+
+    @Test
+    void books_findBook() {
+        plans.assertPlan("BookRepository.findBook", () -> bookRepository.findBook(bookId(7)),
+                idLookup());
+    }
+
+    @Test
+    void books_findResponseById() {
+        plans.assertPlan("BookRepository.findResponseById", () -> bookRepository.findResponseById(bookId(7)),
+                idLookup());
+    }
+
+    @Test
+    void books_findByPagesGreaterThan() {
+        plans.assertPlan("BookRepository.findByPagesGreaterThan", () -> bookRepository.findByPagesGreaterThan(1_400),
+                index("pages").docsPerResult(1));
+    }
+
+    @Test
+    void books_findByYear() {
+        plans.assertPlan("BookRepository.findByYear", () -> bookRepository.findByYear(1999),
+                index("year").docsPerResult(1));
+    }
+
+    @Test
+    void books_findSortedByYear() {
+        plans.assertPlan("BookRepository.findSortedByYear", () -> bookRepository.findSortedByYear(false),
+                index("year").docsPerResult(1));
+    }
+
+    @Test
+    void books_findLongest() {
+        plans.assertPlan("BookRepository.findLongest", () -> bookRepository.findLongest(10),
+                index("pages").docsPerResult(1));
+    }
+
+    @Test
+    void books_update() {
+        Book book = bookRepository.findById(bookId(11));
+        plans.assertPlan("BookRepository.update", () -> bookRepository.update(book),
+                idLookup());
+    }
+
+    @Test
+    void books_deleteBook() {
+        plans.assertPlan("BookRepository.deleteBook", () -> bookRepository.deleteBook(bookId(-1)),
+                idLookup());
+    }
+
+    @Test
+    void books_exists() {
+        plans.assertPlan("BookRepository.exists", () -> bookRepository.exists(bookId(3)),
+                idLookup());
+    }
+
+    @Test
+    void books_classifyByPageCount() {
+        plans.assertPlan("BookRepository.classifyByPageCount", () -> bookRepository.classifyByPageCount(0, 20),
+                collectionScan("offset pages over the whole catalog; one category is paged by findByPageCategory"));
+    }
+
+    @Test
+    void books_findByPageCategory() {
+        plans.assertPlan("BookRepository.findByPageCategory", () -> bookRepository.findByPageCategory("long", null, 20),
+                index("pageCategory", "_id").docsPerResult(1));
+    }
+
+    @Test
+    void books_findByPageCategory_afterCursor() {
+        plans.assertPlan("BookRepository.findByPageCategory(after)",
+                () -> bookRepository.findByPageCategory("long", bookId(1_000), 20),
+                index("pageCategory", "_id").docsPerResult(1));
+    }
+
+    @Test
+    void books_backfillPageCategory() {
+        plans.assertPlan("BookRepository.backfillPageCategory", () -> bookRepository.backfillPageCategory(250, 500, 100),
+                index("pageCategory"));
+    }
+
+    @Test
+    void books_recategorizePages() {
+        plans.assertPlan("BookRepository.recategorizePages", () -> bookRepository.recategorizePages(250, 500, 100),
+                collectionScan("compares every stored category with the thresholds; runs once per threshold change"));
+    }
+
+    @Test
+    void books_findByAuthorId() {
+        plans.assertPlan("BookRepository.findByAuthorId", () -> bookRepository.findByAuthorId(authorId(3), null, 20),
+                index("authors.authorId", "_id").docsPerResult(1));
+    }
+
+    @Test
+    void books_authorStats() {
+        plans.assertPlan("BookRepository.authorStats", () -> bookRepository.authorStats(authorId(3)),
+                index("authors.authorId").docsPerResult(1));
+    }
+
+    @Test
+    void books_renameAuthor() {
+        plans.assertPlan("BookRepository.renameAuthor", () -> bookRepository.renameAuthor(authorId(5), authorName(5)),
+                index("authors.authorId"));
+    }
+
+    @Test
+    void books_linkAuthor() {
+        plans.assertPlan("BookRepository.linkAuthor", () -> bookRepository.linkAuthor(authorId(-1), "Plan Nobody"),
+                index("authors.name"));
+    }
+
+    @Test
+    void books_backfillAuthorRefs() {
+        plans.assertPlan("BookRepository.backfillAuthorRefs", () -> bookRepository.backfillAuthorRefs(100),
+                collectionScan("$type on authors cannot use an index; a batched startup migration"));
+    }
+
+    @Test
+    void books_countBooksPerAuthor() {
+        plans.assertPlan("BookRepository.countBooksPerAuthor", () -> bookRepository.countBooksPerAuthor(0, 20),
+                collectionScan("groups the whole catalog by author"));
+    }
+
+    @Test
+    void books_findBooksWithReviews() {
+        plans.assertPlan("BookRepository.findBooksWithReviews", () -> bookRepository.findBooksWithReviews(null, 10),
+                index("bookId"));
+    }
+
+    @Test
+    void books_embedReview() {
+        Review review = new Review();
+        review.id = PlanTestData.PREFIX + "review-embedded";
+        review.bookId = bookId(13);
+        review.user = "plan";
+        review.rating = 4;
+        review.text = "Embedded by the plan test";
+        review.createdAt = Instant.now();
+        plans.assertPlan("BookRepository.embedReview", () -> bookRepository.embedReview(review),
+                idLookup());
+    }
+
+    @Test
+    void books_findBookIdAfter() {
+        plans.assertPlan("BookRepository.findBookIdAfter", () -> bookRepository.findBookIdAfter(bookId(100), 50),
+                index("_id"));
+    }
+
+    @Test
+    void books_reconcileEmbeddedReviews() {
+        plans.assertPlan("BookRepository.reconcileEmbeddedReviews",
+                () -> bookRepository.reconcileEmbeddedReviews(bookId(100), bookId(150)),
+                index("_id"));
+    }
+
+    @Test
+    void books_reconcileEmbeddedReviewsOfBooks() {
+        plans.assertPlan("BookRepository.reconcileEmbeddedReviewsOfBooks",
+                () -> bookRepository.reconcileEmbeddedReviewsOfBooks(List.of(bookId(17), bookId(19)), List.of()),
+                index("_id"));
+    }
+
+    // --- ReviewRepository -----------------------------------------------
+
+    @Test
+    void reviews_findPage() {
+        plans.assertPlan("ReviewRepository.findPage", () -> reviewRepository.findPage(2, 20),
+                index("createdAt"));
+    }
+
+    @Test
+    void reviews_findByBook() {
+        plans.assertPlan("ReviewRepository.findByBook", () -> reviewRepository.findByBook(bookId(1), null, null, 10),
+                index("bookId", "createdAt", "_id").docsPerResult(1));
+    }
+
+    @Test
+    void reviews_findByBook_afterCursor() {
+        List<Review> first = reviewRepository.findByBook(bookId(1), null, null, 3);
+        Review last = first.get(first.size() - 1);
+        plans.assertPlan("ReviewRepository.findByBook(after)",
+                () -> reviewRepository.findByBook(bookId(1), last.createdAt, last.id, 10),
+                index("bookId", "createdAt", "_id").docsPerResult(1));
+    }
+
+    @Test
+    void reviews_findReview() {
+        plans.assertPlan("ReviewRepository.findReview",
+                () -> reviewRepository.findReview(PlanTestData.PREFIX + "review-00001-00"),
+                idLookup());
+    }
+
+    @Test
+    void reviews_countReviews() {
+        plans.assertPlan("ReviewRepository.countReviews", () -> reviewRepository.countReviews(),
+                metadataCount());
+    }
+
+    @Test
+    void reviews_update() {
+        Review review = reviewRepository.findReview(PlanTestData.PREFIX + "review-00002-00").orElseThrow();
+        plans.assertPlan("ReviewRepository.update", () -> reviewRepository.update(review),
+                idLookup());
+    }
+
+    @Test
+    void reviews_deleteReview() {
+        plans.assertPlan("ReviewRepository.deleteReview",
+                () -> reviewRepository.deleteReview(PlanTestData.PREFIX + "review-missing"),
+                idLookup());
+    }
+
+    @Test
+    void reviews_averageRatingForBook() {
+        plans.assertPlan("ReviewRepository.averageRatingForBook", () -> reviewRepository.averageRatingForBook(bookId(1)),
+                index("bookId").docsPerResult(1));
+    }
+
+    @Test
+    void reviews_archiveBatch() {
+        // A cutoff before any review: the query runs, nothing is moved.
+        plans.assertPlan("ReviewRepository.archiveBatch",
+                () -> reviewRepository.archiveBatch(Instant.parse("1900-01-01T00:00:00Z"), 100),
+                index("createdAt"));
+    }
+
+    // --- Author (Active Record) -----------------------------------------
+
+    @Test
+    void authors_findAuthor() {
+        plans.assertPlan("Author.findAuthor", () -> Author.findAuthor(deadlines, authorId(2)),
+                idLookup());
+    }
+
+    @Test
+    void authors_page() {
+        plans.assertPlan("Author.page", () -> Author.page(deadlines, 1, 20),
+                index("name"));
+    }
+
+    @Test
+    void authors_findByNationality() {
+        plans.assertPlan("Author.findByNationality",
+                () -> Author.findByNationality(deadlines, PlanTestData.nationality(3)),
+                index("nationality").docsPerResult(1));
+    }
+
+    @Test
+    void authors_idsByName() {
+        plans.assertPlan("Author.idsByName", () -> Author.idsByName(deadlines, List.of(authorName(1), authorName(2))),
+                index("name").docsPerResult(1));
+    }
+
+    @Test
+    void authors_save() {
+        Author author = Author.findById(authorId(4));
+        plans.assertPlan("Author.save", () -> author.save(durability, deadlines),
+                idLookup());
+    }
+
+    @Test
+    void authors_deleteAuthor() {
+        plans.assertPlan("Author.deleteAuthor", () -> Author.deleteAuthor(durability, deadlines, authorId(-1)),
+                idLookup());
+    }
+}
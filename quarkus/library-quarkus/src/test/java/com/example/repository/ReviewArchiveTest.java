@@ -0,0 +1,130 @@
+package com.example.repository;
+
+import com.example.dto.response.AverageRatingResponse;
+import com.example.model.entity.Review;
+import com.example.service.ReviewArchiver;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hot/cold tiering against MongoDB Dev Services: after
+ * {@link ReviewArchiver#archiveOnce()} moves a book's old reviews to
+ * {@code reviews_archive}, {@link ReviewRepository} still lists, finds,
+ * averages, updates and deletes them as if they were never moved, and a
+ * review caught between the archive insert and the hot delete is listed once.
+ */
+@QuarkusTest
+@TestProfile(ReviewArchiveTest.Archiving.class)
+class ReviewArchiveTest {
+
+    @Inject
+    ReviewRepository reviewRepository;
+
+    @Inject
+    ReviewArchiver archiver;
+
+    @Inject
+    MongoDatabase database;
+
+    public static class Archiving implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "library.reviews.archive.enabled", "true",
+                    "library.reviews.archive.after-days", "180",
+                    "library.reviews.archive.pause-ms", "0",
+                    "library.reviews.archive.interval", "1000h");
+        }
+    }
+
+    @Test
+    void archivedReviews_areStillReadAndWrittenThroughTheRepository() throws InterruptedException {
+        String bookId = new ObjectId().toHexString();
+        Review oldest = insert(bookId, 400, 1);
+        Review old = insert(bookId, 200, 2);
+        Review recent = insert(bookId, 1, 5);
+
+        archiver.archiveOnce();
+        assertArchived(oldest.id);
+        assertArchived(old.id);
+        assertNotNull(reviews().find(Filters.eq("_id", recent.id)).first(), "a recent review was archived");
+
+        assertEquals(List.of(recent.id, old.id, oldest.id), ids(reviewRepository.findByBook(bookId, null, null, 10)));
+        assertEquals(List.of(old.id, oldest.id),
+                ids(reviewRepository.findByBook(bookId, recent.createdAt, recent.id, 10)),
+                "the keyset page after the hot reviews continues into the archive");
+        assertEquals(old.id, reviewRepository.findReview(old.id).orElseThrow().id);
+
+        AverageRatingResponse average = reviewRepository.averageRatingForBook(bookId).orElseThrow();
+        assertEquals(3, average.totalReviews());
+        assertEquals(8 / 3.0, average.averageRating(), 1e-9);
+
+        old.rating = 4;
+        reviewRepository.update(old);
+        assertEquals(4.0, reviewRepository.findReview(old.id).orElseThrow().rating, 1e-9);
+        assertArchived(old.id);
+
+        assertTrue(reviewRepository.deleteReview(oldest.id));
+        assertFalse(reviewRepository.findReview(oldest.id).isPresent());
+        assertFalse(reviewRepository.deleteReview(oldest.id));
+    }
+
+    @Test
+    void reviewBeingArchived_isListedOnce() {
+        String bookId = new ObjectId().toHexString();
+        Review old = insert(bookId, 300, 2);
+        Review recent = insert(bookId, 1, 5);
+        // archiveBatch has copied the review but not yet deleted the hot copy.
+        database.getCollection(ReviewRepository.ARCHIVE_COLLECTION, Review.class).insertOne(old);
+
+        assertEquals(List.of(recent.id, old.id), ids(reviewRepository.findByBook(bookId, null, null, 10)));
+        assertEquals(List.of(old.id), ids(reviewRepository.findByBook(bookId, recent.createdAt, recent.id, 10)));
+    }
+
+    private Review insert(String bookId, int daysAgo, double rating) {
+        Review review = new Review();
+        review.id = new ObjectId().toHexString();
+        review.bookId = bookId;
+        review.user = "archive-test";
+        review.rating = rating;
+        review.text = daysAgo + " days old";
+        review.createdAt = Instant.now().minus(daysAgo, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS);
+        reviewRepository.insert(review);
+        return review;
+    }
+
+    /** The review lives in the archive only, not in both tiers. */
+    private void assertArchived(String id) {
+        assertNull(reviews().find(Filters.eq("_id", id)).first(), id + " is still in the hot collection");
+        assertNotNull(database.getCollection(ReviewRepository.ARCHIVE_COLLECTION).find(Filters.eq("_id", id)).first(),
+                id + " is not in the archive");
+    }
+
+    private MongoCollection<Document> reviews() {
+        return database.getCollection("reviews");
+    }
+
+    private static List<String> ids(List<Review> reviews) {
+        return reviews.stream().map(review -> review.id).toList();
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.repository;
+
+import com.example.dto.response.AverageRatingResponse;
+import com.example.model.entity.Review;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The bucket layout against MongoDB Dev Services, with buckets of three
+ * reviews: the precomputed {@code count}, {@code sum}, {@code min} and
+ * {@code max} follow every insert, update and delete, a full bucket rolls over
+ * into a new one, and a bucket emptied by a delete is removed. The
+ * all-reviews page reads across books in time order, and the migration from
+ * {@code reviews} can run again without duplicating buckets. Every test
+ * writes reviews of its own book id.
+ */
+@QuarkusTest
+@TestProfile(ReviewBucketStoreTest.SmallBuckets.class)
+class ReviewBucketStoreTest {
+
+    private static final int BUCKET_SIZE = 3;
+
+    @Inject
+    ReviewBucketStore store;
+
+    @Inject
+    MongoDatabase database;
+
+    public static class SmallBuckets implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "library.reviews.storage.layout", "bucket",
+                    "library.reviews.storage.bucket-size", String.valueOf(BUCKET_SIZE));
+        }
+    }
+
+    @Test
+    void insert_keepsAggregatesAndRollsOverAtBucketSize() {
+        String bookId = newBookId();
+        List<Review> reviews = insert(bookId, 5, 1, 3, 4);
+
+        List<Document> buckets = buckets(bookId);
+        assertEquals(2, buckets.size());
+        assertAggregates(buckets.get(0), 3, 9, 1, 5);
+        assertAggregates(buckets.get(1), 1, 4, 4, 4);
+        assertEquals(reviews.get(3).id, buckets.get(1).getList("reviews", Document.class).get(0).getString("_id"));
+
+        AverageRatingResponse average = store.averageRatingForBook(bookId).orElseThrow();
+        assertEquals(4, average.totalReviews());
+        assertEquals(13 / 4.0, average.averageRating(), 1e-9);
+    }
+
+    @Test
+    void update_recomputesTheBucketAggregates() {
+        String bookId = newBookId();
+        List<Review> reviews = insert(bookId, 5, 1, 3);
+
+        Review changed = reviews.get(1);
+        changed.rating = 4;
+        assertTrue(store.update(changed));
+
+        assertAggregates(buckets(bookId).get(0), 3, 12, 3, 5);
+        assertEquals(4.0, store.findById(changed.id).orElseThrow().rating, 1e-9);
+    }
+
+    @Test
+    void delete_recomputesAggregatesAndRemovesAnEmptiedBucket() {
+        String bookId = newBookId();
+        List<Review> reviews = insert(bookId, 5, 1, 3, 4);
+
+        assertTrue(store.delete(reviews.get(0).id));
+        List<Document> buckets = buckets(bookId);
+        assertEquals(2, buckets.size());
+        assertAggregates(buckets.get(0), 2, 4, 1, 3);
+
+        assertTrue(store.delete(reviews.get(3).id));
+        buckets = buckets(bookId);
+        assertEquals(1, buckets.size(), "the emptied bucket was not removed");
+        assertAggregates(buckets.get(0), 2, 4, 1, 3);
+
+        assertFalse(store.delete(reviews.get(3).id));
+        assertEquals(2, store.averageRatingForBook(bookId).orElseThrow().totalReviews());
+    }
+
+    @Test
+    void insert_afterADelete_fillsTheOpenBucketFirst() {
+        String bookId = newBookId();
+        List<Review> reviews = insert(bookId, 2, 2, 2);
+
+        assertTrue(store.delete(reviews.get(1).id));
+        insert(bookId, 5);
+
+        List<Document> buckets = buckets(bookId);
+        assertEquals(1, buckets.size());
+        assertAggregates(buckets.get(0), 3, 9, 2, 5);
+    }
+
+    @Test
+    void findPage_interleavesBooksNewestFirst() {
+        // Later than anything else in the collection, so these reviews are the first pages.
+        Instant base = Instant.parse("2100-01-01T00:00:00Z");
+        String first = newBookId();
+        String second = newBookId();
+        List<String> ids = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                Review review = review(i % 2 == 0 ? first : second, 3, base.plusSeconds(i));
+                store.insert(review);
+                ids.add(0, review.id);
+            }
+
+            assertEquals(ids.subList(0, 3), store.findPage(0, 3).stream().map(review -> review.id).toList());
+            assertEquals(ids.subList(3, 6), store.findPage(1, 3).stream().map(review -> review.id).toList());
+        } finally {
+            database.getCollection(ReviewBucketStore.BUCKETS_COLLECTION)
+                    .deleteMany(Filters.in("bookId", List.of(first, second)));
+        }
+    }
+
+    @Test
+    void migration_runTwice_writesEachBucketOnce() {
+        // Sorts after every ObjectId book id, so migrating "after zz" only touches this book.
+        String bookId = "zz-migration-test";
+        MongoCollection<Document> reviews = database.getCollection(ReviewRepository.REVIEWS_COLLECTION);
+        Instant createdAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        for (int i = 0; i < 7; i++) {
+            reviews.insertOne(ReviewBucketStore.toEmbedded(review(bookId, 4, createdAt.plusSeconds(i)))
+                    .append("bookId", bookId));
+        }
+        try {
+            ReviewBucketMigrator migrator = new ReviewBucketMigrator(database, BUCKET_SIZE);
+            migrator.migrate(2, "zz", (last, migrated) -> { });
+            migrator.migrate(2, "zz", (last, migrated) -> { });
+
+            List<Document> buckets = buckets(bookId);
+            assertEquals(3, buckets.size());
+            assertAggregates(buckets.get(0), 3, 12, 4, 4);
+            assertAggregates(buckets.get(2), 1, 4, 4, 4);
+        } finally {
+            reviews.deleteMany(Filters.eq("bookId", bookId));
+            database.getCollection(ReviewBucketStore.BUCKETS_COLLECTION).deleteMany(Filters.eq("bookId", bookId));
+        }
+    }
+
+    private static Review review(String bookId, double rating, Instant createdAt) {
+        Review review = new Review();
+        review.id = new ObjectId().toHexString();
+        review.bookId = bookId;
+        review.user = "bucket-test";
+        review.rating = rating;
+        review.text = "Review at " + createdAt;
+        review.createdAt = createdAt;
+        return review;
+    }
+
+    private List<Review> insert(String bookId, double... ratings) {
+        Instant createdAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        List<Review> reviews = new ArrayList<>();
+        for (int i = 0; i < ratings.length; i++) {
+            Review review = new Review();
+            review.id = new ObjectId().toHexString();
+            review.bookId = bookId;
+            review.user = "bucket-test";
+            review.rating = ratings[i];
+            review.text = "Review " + i;
+            review.createdAt = createdAt.plusSeconds(i);
+            store.insert(review);
+            reviews.add(review);
+        }
+        return reviews;
+    }
+
+    /** The book's buckets, oldest first. */
+    private List<Document> buckets(String bookId) {
+        MongoCollection<Document> buckets = database.getCollection(ReviewBucketStore.BUCKETS_COLLECTION);
+        return buckets.find(Filters.eq("bookId", bookId))
+                .sort(Sorts.ascending("firstCreatedAt"))
+                .into(new ArrayList<>());
+    }
+
+    private static void assertAggregates(Document bucket, int count, double sum, double min, double max) {
+        assertEquals(count, bucket.getInteger("count"), "count of " + bucket.toJson());
+        assertEquals(count, bucket.getList("reviews", Document.class).size(), "reviews of " + bucket.toJson());
+        assertEquals(sum, ((Number) bucket.get("sum")).doubleValue(), 1e-9, "sum of " + bucket.toJson());
+        assertEquals(min, ((Number) bucket.get("min")).doubleValue(), 1e-9, "min of " + bucket.toJson());
+        assertEquals(max, ((Number) bucket.get("max")).doubleValue(), 1e-9, "max of " + bucket.toJson());
+    }
+
+    private static String newBookId() {
+        return new ObjectId().toHexString();
+    }
+}
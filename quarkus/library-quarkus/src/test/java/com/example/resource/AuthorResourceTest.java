@@ -0,0 +1,85 @@
+package com.example.resource;
+
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * The extended author references on books follow the author's lifecycle:
+ * linked when an author with the referenced name is created, renamed with
+ * the author, and unlinked (name kept) when the author is deleted.
+ */
+@QuarkusTest
+class AuthorResourceTest {
+
+    @Inject
+    MongoDatabase database;
+
+    @Test
+    void authorReferences_followCreateRenameAndDelete() {
+        String name = "Link Test " + UUID.randomUUID();
+        String bookId = createBook(name);
+        assertNull(authorRef(bookId).get("authorId"), "a reference to an unknown author must not have an id");
+
+        String authorId = given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("name", name, "nationality", "Test", "birthYear", 1970))
+                .when().post("/authors")
+                .then().statusCode(201)
+                .extract().path("id");
+        assertEquals(authorId, authorRef(bookId).getString("authorId"));
+        given()
+                .when().get("/authors/{id}/books", authorId)
+                .then()
+                    .statusCode(200)
+                    .body("books.content.id", hasItem(bookId));
+
+        String renamed = name + " (renamed)";
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("name", renamed, "nationality", "Test", "birthYear", 1970))
+                .when().put("/authors/{id}", authorId)
+                .then().statusCode(200);
+        given()
+                .when().get("/books/{id}", bookId)
+                .then()
+                    .statusCode(200)
+                    .body("authors", hasItem(renamed))
+                    .body("authors", not(hasItem(name)));
+
+        given()
+                .when().delete("/authors/{id}", authorId)
+                .then().statusCode(204);
+        Document ref = authorRef(bookId);
+        assertNull(ref.get("authorId"), "the deleted author's id is still referenced");
+        assertEquals(renamed, ref.getString("name"));
+    }
+
+    private static String createBook(String author) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("title", "Linked Book", "pages", 120, "year", 2020, "authors", List.of(author)))
+                .when().post("/books")
+                .then().statusCode(201)
+                .extract().path("id");
+    }
+
+    private Document authorRef(String bookId) {
+        Document book = database.getCollection("books").find(Filters.eq("_id", bookId)).first();
+        return book.getList("authors", Document.class).get(0);
+    }
+}
@@ -1,19 +1,44 @@
 package com.example.resource;
 
+import com.example.DataReady;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
 import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import io.restassured.specification.RequestSpecification;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
  * Black-box tests for the Book API. Boots the application with MongoDB Dev
- * Services (requires a container runtime such as Docker/Podman).
+ * Services (requires a container runtime such as Docker/Podman). The review
+ * paging tests also reach into MongoDB to show where a page was read from.
  */
 @QuarkusTest
 class BookResourceTest {
 
+    @Inject
+    MongoDatabase database;
+
+    @BeforeAll
+    static void awaitSeededData() throws InterruptedException {
+        DataReady.await();
+    }
+
     @Test
     void findAll_returnsPagedSeededBooks() {
         given()
@@ -39,6 +64,30 @@ class BookResourceTest {
                 .body("status", org.hamcrest.Matchers.is(400));
     }
 
+    @Test
+    void classify_withCategory_returnsKeysetPageOfThatCategory() {
+        given()
+            .queryParam("category", "long")
+            .queryParam("size", 3)
+            .when().get("/books/classify")
+            .then()
+                .statusCode(200)
+                .body("content.size()", org.hamcrest.Matchers.is(3))
+                .body("content.pageCategory", everyItem(org.hamcrest.Matchers.is("long")))
+                .body("nextCursor", notNullValue())
+                .body("last", org.hamcrest.Matchers.is(false));
+    }
+
+    @Test
+    void classify_withUnknownCategory_returns400() {
+        given()
+            .queryParam("category", "huge")
+            .when().get("/books/classify")
+            .then()
+                .statusCode(400)
+                .body("status", org.hamcrest.Matchers.is(400));
+    }
+
     @Test
     void create_withValidPayload_returns201AndLocation() {
         given()
@@ -88,4 +137,105 @@ class BookResourceTest {
                 .body("status", org.hamcrest.Matchers.is(404))
                 .body("error", org.hamcrest.Matchers.is("Not Found"));
     }
+
+    @Test
+    void findReviews_unknownBook_returns404() {
+        given()
+            .when().get("/books/{id}/reviews", "does-not-exist")
+            .then()
+                .statusCode(404);
+    }
+
+    @Test
+    void findReviews_unknownBookWithCursor_returns404() {
+        given()
+            .queryParam("after", "1700000000000:abc")
+            .when().get("/books/{id}/reviews", "does-not-exist")
+            .then()
+                .statusCode(404);
+    }
+
+    @Test
+    void findReviews_firstPage_comesFromTheEmbeddedSubset() {
+        String bookId = createBook();
+        String older = createReview(bookId, "Older");
+        String newer = createReview(bookId, "Newer");
+        // Only the copies embedded on the book are left to answer from.
+        database.getCollection("reviews").deleteMany(Filters.eq("bookId", bookId));
+
+        given()
+            .queryParam("size", 5)
+            .when().get("/books/{id}/reviews", bookId)
+            .then()
+                .statusCode(200)
+                .body("content.id", contains(newer, older))
+                .body("last", org.hamcrest.Matchers.is(true));
+    }
+
+    @Test
+    void findReviews_followingTheCursor_continuesWithoutGapsOrDuplicates() {
+        String bookId = createBook();
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            created.add(createReview(bookId, "Review " + i));
+        }
+
+        List<String> listed = new ArrayList<>();
+        String after = null;
+        boolean last = false;
+        while (!last) {
+            RequestSpecification request = given().queryParam("size", 3);
+            if (after != null) {
+                request.queryParam("after", after);
+            }
+            JsonPath body = request
+                .when().get("/books/{id}/reviews", bookId)
+                .then().statusCode(200)
+                .extract().jsonPath();
+            listed.addAll(body.getList("content.id", String.class));
+            after = body.getString("nextCursor");
+            last = body.getBoolean("last");
+        }
+
+        Collections.reverse(created);
+        assertEquals(created, listed, "pages are not the book's reviews newest first, each once");
+    }
+
+    @Test
+    void findReviews_withMalformedCursor_returns400() {
+        given()
+            .queryParam("after", "not-a-cursor")
+            .when().get("/books/{id}/reviews", "does-not-exist")
+            .then()
+                .statusCode(400)
+                .body("status", org.hamcrest.Matchers.is(400));
+    }
+
+    @Test
+    void findReviews_withOverflowingCursor_returns400() {
+        given()
+            .queryParam("after", "9999999999999999999:abc")
+            .when().get("/books/{id}/reviews", "does-not-exist")
+            .then()
+                .statusCode(400)
+                .body("status", org.hamcrest.Matchers.is(400));
+    }
+
+    private static String createBook() {
+        return given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("title", "Paged Reviews", "pages", 210, "year", 2020, "authors", List.of("Cursor Tester")))
+            .when().post("/books")
+            .then().statusCode(201)
+            .extract().path("id");
+    }
+
+    private static String createReview(String bookId, String text) {
+        return given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("bookId", bookId, "user", "cursor-test", "rating", 4.0, "text", text))
+            .when().post("/reviews")
+            .then().statusCode(201)
+            .extract().path("id");
+    }
 }
@@ -0,0 +1,95 @@
+package com.example.resource;
+
+import com.example.DataReady;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.path.json.JsonPath;
+import io.restassured.specification.RequestSpecification;
+import jakarta.inject.Inject;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@code /books/with-reviews} is keyset-paginated by book id: following
+ * {@code nextCursor} continues in id order without repeating a book, and a
+ * review whose book no longer exists takes no row.
+ */
+@QuarkusTest
+class BooksWithReviewsTest {
+
+    private static final int SIZE = 20;
+    /** Sorts after every book id, so the orphan is the only reviewed book after {@link #BEFORE_MISSING_BOOK_ID}. */
+    private static final String MISSING_BOOK_ID = "ffffffffffffffffffffffff";
+    private static final String BEFORE_MISSING_BOOK_ID = "fffffffffffffffffffffffe";
+
+    @Inject
+    MongoDatabase database;
+
+    @Test
+    void followingTheCursor_continuesInIdOrderWithoutRepeats() throws InterruptedException {
+        DataReady.await();
+        List<String> ids = new ArrayList<>();
+        String after = null;
+        for (int page = 0; page < 3; page++) {
+            RequestSpecification request = given().queryParam("size", SIZE);
+            if (after != null) {
+                request.queryParam("after", after);
+            }
+            JsonPath body = request
+                    .when().get("/books/with-reviews")
+                    .then().statusCode(200)
+                    .extract().jsonPath();
+            ids.addAll(body.getList("content.id", String.class));
+            after = body.getString("nextCursor");
+            if (body.getBoolean("last")) {
+                break;
+            }
+        }
+
+        assertFalse(ids.isEmpty(), "no reviewed books listed");
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0,
+                    "pages are not in strictly ascending id order at " + ids.get(i));
+        }
+    }
+
+    @Test
+    void orphanedReview_takesNoRow() throws InterruptedException {
+        DataReady.await();
+        MongoCollection<Document> reviews = database.getCollection("reviews");
+        String orphanId = new ObjectId().toHexString();
+        reviews.insertOne(new Document("_id", orphanId)
+                .append("bookId", MISSING_BOOK_ID)
+                .append("user", "orphan-test")
+                .append("rating", 3.0)
+                .append("text", "Review of a deleted book")
+                .append("createdAt", new Date()));
+        try {
+            given()
+                    .queryParam("size", SIZE)
+                    .queryParam("after", BEFORE_MISSING_BOOK_ID)
+                    .when().get("/books/with-reviews")
+                    .then()
+                        .statusCode(200)
+                        .body("content", hasSize(0))
+                        .body("last", is(true))
+                        .body("nextCursor", nullValue());
+        } finally {
+            reviews.deleteOne(Filters.eq("_id", orphanId));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.resource;
+
+import com.example.DataReady;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Smoke test of {@code library.execution.mode=reactive}: the build selects the
+ * {@code Reactive*Resource} variants, and the book, review and author
+ * endpoints answer through the reactive repositories and the pipelines they
+ * share with the blocking ones.
+ */
+@QuarkusTest
+@TestProfile(ReactiveModeTest.Reactive.class)
+class ReactiveModeTest {
+
+    @Inject
+    Instance<ReactiveBookResource> reactiveBooks;
+
+    @Inject
+    Instance<BookResource> blockingBooks;
+
+    public static class Reactive implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("library.execution.mode", "reactive");
+        }
+    }
+
+    @Test
+    void reactiveResources_areTheOnesBuilt() {
+        assertTrue(reactiveBooks.isResolvable(), "ReactiveBookResource is not active");
+        assertFalse(blockingBooks.isResolvable(), "BookResource is active in reactive mode");
+    }
+
+    @Test
+    void books_areListedAndFound() throws InterruptedException {
+        DataReady.await();
+        String id = given()
+                .queryParam("size", 5)
+                .when().get("/books")
+                .then()
+                    .statusCode(200)
+                    .body("content", hasSize(5))
+                .extract().path("content[0].id");
+
+        given()
+                .when().get("/books/{id}", id)
+                .then()
+                    .statusCode(200)
+                    .body("id", is(id));
+    }
+
+    @Test
+    void reviews_areWrittenPagedAndAveraged() throws InterruptedException {
+        DataReady.await();
+        String bookId = given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("title", "Reactive Reviews", "pages", 180, "year", 2021, "authors", List.of("Mode Tester")))
+                .when().post("/books")
+                .then().statusCode(201)
+                .extract().path("id");
+        for (int i = 0; i < 3; i++) {
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(Map.of("bookId", bookId, "user", "reactive-test", "rating", 4.0, "text", "Review " + i))
+                    .when().post("/reviews")
+                    .then()
+                        .statusCode(201)
+                        .body("id", notNullValue());
+        }
+
+        String cursor = given()
+                .queryParam("size", 2)
+                .when().get("/books/{id}/reviews", bookId)
+                .then()
+                    .statusCode(200)
+                    .body("content", hasSize(2))
+                    .body("last", is(false))
+                .extract().path("nextCursor");
+        given()
+                .queryParam("size", 2)
+                .queryParam("after", cursor)
+                .when().get("/books/{id}/reviews", bookId)
+                .then()
+                    .statusCode(200)
+                    .body("content", hasSize(1))
+                    .body("last", is(true));
+
+        given()
+                .when().get("/reviews/avgRating/{bookId}", bookId)
+                .then()
+                    .statusCode(200)
+                    .body("totalReviews", is(3));
+    }
+
+    @Test
+    void booksWithReviews_andAuthors_answer() throws InterruptedException {
+        DataReady.await();
+        given()
+                .queryParam("size", 5)
+                .when().get("/books/with-reviews")
+                .then()
+                    .statusCode(200)
+                    .body("content.size()", greaterThanOrEqualTo(1));
+
+        given()
+                .queryParam("size", 5)
+                .when().get("/authors")
+                .then()
+                    .statusCode(200)
+                    .body("content.size()", greaterThanOrEqualTo(1));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.resource;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.hamcrest.Matcher;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * The embedded review subset on a book follows review writes: a deleted
+ * review disappears from {@code /books/{id}} even when it was the newest or
+ * the only one. Rebuilds after an update or delete run in the background, so
+ * the checks poll until the subset catches up.
+ */
+@QuarkusTest
+class ReviewResourceTest {
+
+    @Test
+    void deleteLatestReview_removesItFromTheBook() throws InterruptedException {
+        String bookId = createBook();
+        String older = createReview(bookId, "First");
+        String latest = createReview(bookId, "Second");
+        given()
+                .when().get("/books/{id}", bookId)
+                .then().statusCode(200)
+                .body("reviews.id", containsInAnyOrder(older, latest));
+
+        given()
+                .when().delete("/reviews/{id}", latest)
+                .then().statusCode(204);
+
+        awaitEmbeddedReviewIds(bookId, allOf(not(hasItem(latest)), contains(older)));
+    }
+
+    @Test
+    void deleteOnlyReview_leavesTheBookWithoutReviews() throws InterruptedException {
+        String bookId = createBook();
+        String only = createReview(bookId, "Only");
+
+        given()
+                .when().delete("/reviews/{id}", only)
+                .then().statusCode(204);
+
+        awaitEmbeddedReviewIds(bookId, empty());
+    }
+
+    private static void awaitEmbeddedReviewIds(String bookId, Matcher<? super List<String>> expected)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        List<String> ids;
+        do {
+            ids = given()
+                    .when().get("/books/{id}", bookId)
+                    .then().statusCode(200)
+                    .extract().path("reviews.id");
+            if (expected.matches(ids)) {
+                return;
+            }
+            Thread.sleep(50);
+        } while (System.nanoTime() < deadline);
+        assertThat(ids, expected);
+    }
+
+    private static String createBook() {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("title", "Reviewed Book", "pages", 180, "year", 2021, "authors", List.of("Review Tester")))
+                .when().post("/books")
+                .then().statusCode(201)
+                .extract().path("id");
+    }
+
+    private static String createReview(String bookId, String text) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("bookId", bookId, "user", "subset-test", "rating", 4.0, "text", text))
+                .when().post("/reviews")
+                .then().statusCode(201)
+                .extract().path("id");
+    }
+}